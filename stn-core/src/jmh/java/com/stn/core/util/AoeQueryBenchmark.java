@@ -0,0 +1,268 @@
+package com.stn.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of area-of-effect abilities: 30 howlers (32-block howl, hostiles
+ * only) and 20 electric zombies (3-block lightning, every team) in one
+ * horde, against a world holding a number of other entities elsewhere, half
+ * of them non-living (items, orbs, projectiles).
+ *
+ * Compares the shared cache filled lazily from section-bounded lookups
+ * (current), a full pass over every entity on the first query (previous),
+ * and one box query per ability (before the shared service). The single
+ * howl cases are the sparse tick where one ability fires alone.
+ *
+ * The world is a map of 16-block entity sections searched the way the
+ * game's entity lookup is, so no game world is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AoeQueryBenchmark {
+
+    private static final int TEAMS = AoeQueryService.Team.values().length;
+    private static final int PLAYER = AoeQueryService.Team.PLAYER.ordinal();
+    private static final int HOSTILE = AoeQueryService.Team.HOSTILE.ordinal();
+    private static final int NOT_LIVING = -1;
+
+    private static final double HOWL_RANGE = 32.0;
+    private static final double ELECTRIC_RADIUS = 3.0;
+    private static final double PADDING = 2.0;
+    private static final int HOSTILES_ONLY = 1 << HOSTILE;
+    private static final int ALL_TEAMS = (1 << TEAMS) - 1;
+
+    private record Mob(int team, double x, double y, double z) {}
+
+    @Param({"1000", "10000"})
+    public int otherEntities;
+
+    private final List<Mob> all = new ArrayList<>();
+    private final Long2ObjectOpenHashMap<List<Mob>> sections = new Long2ObjectOpenHashMap<>();
+    private final List<Mob> howlers = new ArrayList<>();
+    private final List<Mob> electrics = new ArrayList<>();
+
+    private CellBuckets<Mob> lazy;
+    private CellBuckets.Source<Mob> source;
+    @SuppressWarnings("unchecked")
+    private final Long2ObjectOpenHashMap<List<Mob>>[] fullPass = new Long2ObjectOpenHashMap[TEAMS];
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(7);
+
+        // The horde, within 24 blocks of the origin
+        for (int i = 0; i < 30; i++) {
+            howlers.add(add(HOSTILE, random.nextDouble(-24, 24), 64, random.nextDouble(-24, 24)));
+        }
+        for (int i = 0; i < 20; i++) {
+            electrics.add(add(HOSTILE, random.nextDouble(-24, 24), 64, random.nextDouble(-24, 24)));
+        }
+        for (int i = 0; i < 150; i++) {
+            add(HOSTILE, random.nextDouble(-24, 24), 64, random.nextDouble(-24, 24));
+        }
+        for (int i = 0; i < 4; i++) {
+            add(PLAYER, random.nextDouble(-16, 16), 64, random.nextDouble(-16, 16));
+        }
+
+        // Everything else loaded in the dimension
+        for (int i = 0; i < otherEntities; i++) {
+            int team = i % 2 == 0 ? NOT_LIVING : random.nextInt(TEAMS);
+            add(team, random.nextDouble(-1024, 1024), random.nextDouble(0, 128), random.nextDouble(-1024, 1024));
+        }
+
+        lazy = new CellBuckets<>(TEAMS);
+        source = this::collect;
+        for (int i = 0; i < TEAMS; i++) {
+            fullPass[i] = new Long2ObjectOpenHashMap<>();
+        }
+    }
+
+    private Mob add(int team, double x, double y, double z) {
+        Mob mob = new Mob(team, x, y, z);
+        all.add(mob);
+        sections.computeIfAbsent(key(CellBuckets.cell(x), CellBuckets.cell(y), CellBuckets.cell(z)), k -> new ArrayList<>()).add(mob);
+        return mob;
+    }
+
+    // Like World.getEntitiesByClass: visit sections near the box, keep living entities whose box meets it
+    private void collect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, CellBuckets.Sink<Mob> sink) {
+        for (int x = CellBuckets.cell(minX - 2); x <= CellBuckets.cell(maxX + 2); x++) {
+            for (int y = CellBuckets.cell(minY - 2); y <= CellBuckets.cell(maxY + 2); y++) {
+                for (int z = CellBuckets.cell(minZ - 2); z <= CellBuckets.cell(maxZ + 2); z++) {
+                    List<Mob> section = sections.get(key(x, y, z));
+                    if (section == null) {
+                        continue;
+                    }
+                    for (Mob mob : section) {
+                        if (mob.team() != NOT_LIVING && mob.x() + 0.3 > minX && mob.x() - 0.3 < maxX
+                                && mob.y() + 1.95 > minY && mob.y() < maxY && mob.z() + 0.3 > minZ && mob.z() - 0.3 < maxZ) {
+                            sink.accept(mob, mob.team(), mob.x(), mob.y(), mob.z());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | (long) y & 0xFFFL;
+    }
+
+    @Benchmark
+    public int hordeLazyCells() {
+        lazy.clear();
+        int hits = 0;
+        for (Mob howler : howlers) {
+            hits += queryLazy(howler, HOWL_RANGE, HOSTILES_ONLY);
+        }
+        for (Mob electric : electrics) {
+            hits += queryLazy(electric, ELECTRIC_RADIUS, ALL_TEAMS);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int hordeFullPass() {
+        buildFullPass();
+        int hits = 0;
+        for (Mob howler : howlers) {
+            hits += queryFullPass(howler, HOWL_RANGE, HOSTILES_ONLY);
+        }
+        for (Mob electric : electrics) {
+            hits += queryFullPass(electric, ELECTRIC_RADIUS, ALL_TEAMS);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int hordePerAbilityQuery() {
+        int hits = 0;
+        for (Mob howler : howlers) {
+            hits += queryDirect(howler, HOWL_RANGE, HOSTILES_ONLY);
+        }
+        for (Mob electric : electrics) {
+            hits += queryDirect(electric, ELECTRIC_RADIUS, ALL_TEAMS);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int singleHowlLazyCells() {
+        lazy.clear();
+        return queryLazy(howlers.get(0), HOWL_RANGE, HOSTILES_ONLY);
+    }
+
+    @Benchmark
+    public int singleHowlFullPass() {
+        buildFullPass();
+        return queryFullPass(howlers.get(0), HOWL_RANGE, HOSTILES_ONLY);
+    }
+
+    @Benchmark
+    public int singleHowlPerAbilityQuery() {
+        return queryDirect(howlers.get(0), HOWL_RANGE, HOSTILES_ONLY);
+    }
+
+    private int queryLazy(Mob at, double radius, int teamMask) {
+        double reach = radius + PADDING;
+        int minX = CellBuckets.cell(at.x() - reach), maxX = CellBuckets.cell(at.x() + reach);
+        int minY = CellBuckets.cell(at.y() - reach), maxY = CellBuckets.cell(at.y() + reach);
+        int minZ = CellBuckets.cell(at.z() - reach), maxZ = CellBuckets.cell(at.z() + reach);
+        lazy.fill(minX, minY, minZ, maxX, maxY, maxZ, source);
+
+        int hits = 0;
+        for (int team = 0; team < TEAMS; team++) {
+            if ((teamMask & (1 << team)) == 0 || lazy.isEmpty(team)) {
+                continue;
+            }
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        hits += countWithin(lazy.get(team, x, y, z), at, radius);
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    // The previous service: one pass over every entity, bucketing the living ones
+    private void buildFullPass() {
+        for (Long2ObjectOpenHashMap<List<Mob>> teamCells : fullPass) {
+            teamCells.clear();
+        }
+        for (Mob mob : all) {
+            if (mob.team() == NOT_LIVING) {
+                continue;
+            }
+            fullPass[mob.team()].computeIfAbsent(key(CellBuckets.cell(mob.x()), CellBuckets.cell(mob.y()), CellBuckets.cell(mob.z())),
+                k -> new ArrayList<>()).add(mob);
+        }
+    }
+
+    private int queryFullPass(Mob at, double radius, int teamMask) {
+        double reach = radius + PADDING;
+        int hits = 0;
+        for (int team = 0; team < TEAMS; team++) {
+            if ((teamMask & (1 << team)) == 0 || fullPass[team].isEmpty()) {
+                continue;
+            }
+            for (int x = CellBuckets.cell(at.x() - reach); x <= CellBuckets.cell(at.x() + reach); x++) {
+                for (int y = CellBuckets.cell(at.y() - reach); y <= CellBuckets.cell(at.y() + reach); y++) {
+                    for (int z = CellBuckets.cell(at.z() - reach); z <= CellBuckets.cell(at.z() + reach); z++) {
+                        hits += countWithin(fullPass[team].get(key(x, y, z)), at, radius);
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    // Before the service: each ability ran its own box query and list
+    private int queryDirect(Mob at, double radius, int teamMask) {
+        List<Mob> found = new ArrayList<>();
+        collect(at.x() - radius, at.y() - radius, at.z() - radius, at.x() + radius, at.y() + radius, at.z() + radius,
+            (mob, team, x, y, z) -> {
+                if ((teamMask & (1 << team)) != 0) {
+                    found.add(mob);
+                }
+            });
+        return countWithin(found, at, radius);
+    }
+
+    private static int countWithin(List<Mob> mobs, Mob at, double radius) {
+        if (mobs == null) {
+            return 0;
+        }
+        int hits = 0;
+        double radiusSq = radius * radius;
+        for (int i = 0; i < mobs.size(); i++) {
+            Mob mob = mobs.get(i);
+            double dx = mob.x() - at.x(), dy = mob.y() - at.y(), dz = mob.z() - at.z();
+            if (dx * dx + dy * dy + dz * dz <= radiusSq) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,161 @@
+package com.stn.core.util;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.world.PersistentState;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * One autosave of a keyed state where 1% of its records changed since the
+ * last one: appending the changed records to the journal against encoding
+ * every record to NBT and writing the compressed file, as the state's .dat
+ * save does. Records are shaped like a player's gamestage data.
+ *
+ * Both write to a temp directory without syncing, and the full save runs
+ * here on the calling thread rather than the game's IO workers, so compare
+ * the encode plus write cost, not server tick time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateJournalBenchmark {
+
+    private record Player(String name, int days, int kills, int nights, int deaths) {
+        static final Codec<Player> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.STRING.fieldOf("name").forGetter(Player::name),
+            Codec.INT.fieldOf("days").forGetter(Player::days),
+            Codec.INT.fieldOf("kills").forGetter(Player::kills),
+            Codec.INT.fieldOf("nights").forGetter(Player::nights),
+            Codec.INT.fieldOf("deaths").forGetter(Player::deaths)
+        ).apply(instance, Player::new));
+
+        Player kill() {
+            return new Player(name, days, kills + 1, nights, deaths);
+        }
+    }
+
+    private static final Codec<Map<String, Player>> STATE_CODEC = Codec.unboundedMap(Codec.STRING, Player.CODEC);
+
+    private static final class Players extends PersistentState implements StateJournal.Target<Player> {
+        final Map<String, Player> values = new HashMap<>();
+        int generation = 0;
+
+        @Override
+        public int getJournalGeneration() {
+            return generation;
+        }
+
+        @Override
+        public void setJournalGeneration(int generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public @Nullable Player getJournalValue(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void applyJournalValue(String key, @Nullable Player value) {
+            values.put(key, value);
+        }
+    }
+
+    @Param({"1000", "10000"})
+    public int records;
+
+    private Path dir;
+    private Players state;
+    private StateJournal<Player> journal;
+    private String[] keys;
+    private int changed;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("stn-journal");
+        state = new Players();
+        keys = new String[records];
+        SplittableRandom random = new SplittableRandom(12);
+        for (int i = 0; i < records; i++) {
+            keys[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+            state.values.put(keys[i], new Player("player" + i, random.nextInt(400), random.nextInt(20_000),
+                random.nextInt(40), random.nextInt(50)));
+        }
+        changed = records / 100;
+        // Never compacts, so every save measured is an append
+        journal = StateJournal.open(dir.resolve("players.journal"), state, Player.CODEC, Integer.MAX_VALUE);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws IOException {
+        Files.deleteIfExists(dir.resolve("players.journal"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    // The kills since the last autosave
+    private void play(boolean journaled) {
+        for (int i = 0; i < changed; i++) {
+            String key = keys[next];
+            next = (next + 1) % keys.length;
+            state.values.put(key, state.values.get(key).kill());
+            if (journaled) {
+                journal.markDirty(key);
+            }
+        }
+    }
+
+    @Benchmark
+    public int journal() {
+        play(true);
+        journal.beforeSave();
+        return journal.getRecordCount();
+    }
+
+    @Benchmark
+    public NbtCompound fullSave() throws IOException {
+        play(false);
+        NbtCompound nbt = new NbtCompound();
+        nbt.put("data", STATE_CODEC.encodeStart(NbtOps.INSTANCE, state.values).getOrThrow());
+        NbtIo.writeCompressed(nbt, dir.resolve("players.dat"));
+        return nbt;
+    }
+}
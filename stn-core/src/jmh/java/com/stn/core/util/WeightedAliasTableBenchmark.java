@@ -0,0 +1,125 @@
+package com.stn.core.util;
+
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One horde mob pick at a random gamestage from 0 to 200: a per-bracket
+ * alias table found by binary search over the minGamestage thresholds (as
+ * GamestageBracketTable does) against streaming the registry through a
+ * gamestage filter, summing the weights and walking a cumulative roll, as
+ * HordeMobRegistry.selectRandomMob did before.
+ *
+ * {@code mobs} is the registry size: the four vanilla zombies alone, then
+ * with custom zombies registered on top. Entries are plain records, so the
+ * linear pick skips the category checks it also made in game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedAliasTableBenchmark {
+
+    private static final int PICKS = 1024;
+    private static final int MAX_GAMESTAGE = 200;
+
+    private record Mob(int weight, int minGamestage) {}
+
+    @Param({"4", "16", "64"})
+    public int mobs;
+
+    private final List<Mob> registry = new ArrayList<>();
+    private int[] thresholds;
+    private WeightedAliasTable<Mob>[] tables;
+
+    private int[] gamestages;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        SplittableRandom setup = new SplittableRandom(9);
+        for (int i = 0; i < mobs; i++) {
+            // Vanilla zombies from the start, custom ones unlocking through the game
+            registry.add(new Mob(1 + setup.nextInt(20), i < 4 ? 0 : setup.nextInt(MAX_GAMESTAGE / 5) * 5));
+        }
+
+        thresholds = registry.stream().mapToInt(Mob::minGamestage).distinct().sorted().toArray();
+        @SuppressWarnings("unchecked")
+        WeightedAliasTable<Mob>[] built = new WeightedAliasTable[thresholds.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            int bracketStart = thresholds[i];
+            built[i] = WeightedAliasTable.build(
+                registry.stream().filter(mob -> mob.minGamestage() <= bracketStart).toList(), Mob::weight);
+        }
+        tables = built;
+
+        gamestages = new int[PICKS];
+        for (int i = 0; i < PICKS; i++) {
+            gamestages[i] = setup.nextInt(MAX_GAMESTAGE + 1);
+        }
+        random = Random.create(9);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PICKS)
+    public int aliasTable() {
+        int weights = 0;
+        for (int gamestage : gamestages) {
+            int index = Arrays.binarySearch(thresholds, gamestage);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            Mob mob = tables[index].sample(random);
+            weights += mob.weight();
+        }
+        return weights;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PICKS)
+    public int linearPick() {
+        int weights = 0;
+        for (int gamestage : gamestages) {
+            weights += pickLinear(gamestage).weight();
+        }
+        return weights;
+    }
+
+    private Mob pickLinear(int gamestage) {
+        List<Mob> available = registry.stream()
+            .filter(mob -> gamestage >= mob.minGamestage())
+            .toList();
+
+        int totalWeight = available.stream().mapToInt(Mob::weight).sum();
+        int roll = random.nextInt(totalWeight);
+
+        int accumulated = 0;
+        for (Mob mob : available) {
+            accumulated += mob.weight();
+            if (roll < accumulated) {
+                return mob;
+            }
+        }
+
+        return available.get(0);
+    }
+}
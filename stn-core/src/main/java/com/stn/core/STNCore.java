@@ -1,12 +1,16 @@
 package com.stn.core;
 
+import com.stn.core.api.BlockBreakTable;
 import com.stn.core.api.STNEvents;
 import com.stn.core.api.ISurvivalNightProvider;
 import com.stn.core.api.IGamestageProvider;
 import com.stn.core.api.ISoundEmitter;
 import com.stn.core.api.IDurabilityProvider;
 import com.stn.core.api.IBlockProtectionProvider;
+import com.stn.core.util.AoeQueryService;
+import com.stn.core.util.StateJournal;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
@@ -35,6 +39,19 @@ public class STNCore implements ModInitializer {
         // Register events
         STNEvents.init();
 
+        // Recompile the mob block break table so datapack tags are honored
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            if (!client) {
+                BlockBreakTable.rebuild();
+            }
+        });
+
+        // Flush journaled persistent state on world saves
+        StateJournal.registerEvents();
+
+        // Per-tick area-of-effect lookups shared by special mobs
+        AoeQueryService.init();
+
         LOGGER.info("Survive The Night - Core initialized!");
     }
 
@@ -76,6 +93,7 @@ public class STNCore implements ModInitializer {
             LOGGER.warn("BlockProtectionProvider already registered, overwriting!");
         }
         blockProtectionProvider = provider;
+        BlockBreakTable.invalidate();
         LOGGER.info("BlockProtectionProvider registered: {}", provider.getClass().getSimpleName());
     }
 
@@ -0,0 +1,159 @@
+package com.stn.core.api;
+
+import com.stn.core.STNCore;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled lookup table of which block states mobs may break.
+ * Indexed by raw block state id, so a lookup is a single array read instead
+ * of a chain of block comparisons and tag checks.
+ *
+ * The table is compiled from contributors: the base rules (set by stn-mobai)
+ * run first, then registered contributors (e.g. stn-fortifications for
+ * reinforced blocks), then the block protection provider. Later writers
+ * override earlier ones. The table is rebuilt whenever tags are reloaded so
+ * datapack tags are honored.
+ */
+public final class BlockBreakTable {
+
+    // Flag bits
+    public static final int BREAKABLE = 1;
+    public static final int DOOR = 1 << 1;   // Doors and fence gates - mobs path to these first
+    public static final int WOOD = 1 << 2;   // Break time uses the breaker's wood multiplier
+    public static final int STONE = 1 << 3;  // Break time uses the breaker's stone multiplier
+
+    private static final List<Contributor> contributors = new ArrayList<>();
+    private static Contributor baseRules;
+
+    private static volatile Table table;
+
+    private BlockBreakTable() {}
+
+    /**
+     * Writes rules into the table during a rebuild.
+     */
+    @FunctionalInterface
+    public interface Contributor {
+        void contribute(Writer writer);
+    }
+
+    /**
+     * Set the base rules, applied before any other contributor.
+     */
+    public static synchronized void setBaseRules(Contributor rules) {
+        baseRules = rules;
+        invalidate();
+    }
+
+    /**
+     * Register a contributor, applied after the base rules in registration order.
+     */
+    public static synchronized void registerContributor(Contributor contributor) {
+        contributors.add(contributor);
+        invalidate();
+    }
+
+    /**
+     * Discard the compiled table; it is recompiled on next lookup.
+     */
+    public static void invalidate() {
+        table = null;
+    }
+
+    /**
+     * Recompile the table from all contributors. Called on tag reload.
+     */
+    public static synchronized void rebuild() {
+        Writer writer = new Writer(Block.STATE_IDS.size());
+
+        if (baseRules != null) {
+            baseRules.contribute(writer);
+        }
+        for (Contributor contributor : contributors) {
+            contributor.contribute(writer);
+        }
+
+        IBlockProtectionProvider protectionProvider = STNCore.getBlockProtectionProvider();
+        if (protectionProvider != null) {
+            protectionProvider.contributeBreakRules(writer);
+        }
+
+        table = new Table(writer.flags);
+        STNCore.LOGGER.debug("Block break table rebuilt for {} block states", writer.flags.length);
+    }
+
+    public static int getFlags(BlockState state) {
+        Table current = getTable();
+        int id = Block.getRawIdFromState(state);
+        return id >= 0 && id < current.flags.length ? current.flags[id] : 0;
+    }
+
+    public static boolean isBreakable(BlockState state) {
+        return (getFlags(state) & BREAKABLE) != 0;
+    }
+
+    public static boolean isDoor(BlockState state) {
+        return (getFlags(state) & DOOR) != 0;
+    }
+
+    private static Table getTable() {
+        Table current = table;
+        if (current == null) {
+            rebuild();
+            current = table;
+        }
+        return current;
+    }
+
+    private record Table(byte[] flags) {}
+
+    /**
+     * Mutable view of the table while it is being compiled.
+     */
+    public static final class Writer {
+        private final byte[] flags;
+
+        private Writer(int size) {
+            this.flags = new byte[size];
+        }
+
+        /**
+         * Set the flags for a single state.
+         */
+        public void set(BlockState state, int stateFlags) {
+            int id = Block.getRawIdFromState(state);
+            if (id < 0 || id >= flags.length) return;
+            flags[id] = (byte) stateFlags;
+        }
+
+        /**
+         * Set the flags for every state of a block.
+         */
+        public void setBlock(Block block, int stateFlags) {
+            for (BlockState state : block.getStateManager().getStates()) {
+                set(state, stateFlags);
+            }
+        }
+
+        /**
+         * Mark every state of a block as unbreakable by mobs.
+         */
+        public void markUnbreakable(Block block) {
+            for (BlockState state : block.getStateManager().getStates()) {
+                int id = Block.getRawIdFromState(state);
+                if (id >= 0 && id < flags.length) {
+                    flags[id] &= ~BREAKABLE;
+                }
+            }
+        }
+
+        public int getFlags(BlockState state) {
+            int id = Block.getRawIdFromState(state);
+            return id >= 0 && id < flags.length ? flags[id] : 0;
+        }
+    }
+}
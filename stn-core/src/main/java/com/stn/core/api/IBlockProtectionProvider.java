@@ -28,4 +28,13 @@ public interface IBlockProtectionProvider {
      */
     @Nullable
     String getProtectionType(World world, BlockPos pos);
+
+    /**
+     * Write state-wide break rules into the mob block break table.
+     * Called whenever the table is rebuilt, after all other contributors.
+     * Position-based protection is still checked through {@link #isProtected}.
+     * @param writer the table being compiled
+     */
+    default void contributeBreakRules(BlockBreakTable.Writer writer) {
+    }
 }
@@ -0,0 +1,140 @@
+package com.stn.core.util;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.mob.Monster;
+import net.minecraft.entity.passive.MerchantEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Shared area-of-effect lookups for living entities in one world.
+ *
+ * Living entities are bucketed by team into a spatial hash of 16-block
+ * cells that is filled lazily during the tick: a query asks the world (a
+ * section-bounded lookup) only for the cells its radius covers that no
+ * earlier query this tick has filled, so a lone ability costs about what its
+ * own box query did and overlapping abilities in a horde share the work.
+ * Queries hand matches to a consumer, so no result list is allocated.
+ *
+ * Entities are bucketed by where they were when their cell was filled, and
+ * cells are padded slightly to cover movement since. Distances are checked
+ * against the current position. Entities that died earlier in the tick are
+ * skipped.
+ */
+public class AoeQueryService {
+
+    public enum Team {
+        PLAYER,
+        HOSTILE,
+        VILLAGER,
+        OTHER;
+
+        public static Team of(LivingEntity entity) {
+            if (entity instanceof PlayerEntity) return PLAYER;
+            if (entity instanceof Monster) return HOSTILE;
+            if (entity instanceof MerchantEntity) return VILLAGER;
+            return OTHER;
+        }
+    }
+
+    public static final Set<Team> ALL_TEAMS = EnumSet.allOf(Team.class);
+
+    private static final double MOVEMENT_PADDING = 2.0; // Blocks an entity may have moved since bucketing
+
+    private static final Map<RegistryKey<World>, AoeQueryService> SERVICES = new ConcurrentHashMap<>();
+
+    private final ServerWorld world;
+    private final CellBuckets<LivingEntity> cells = new CellBuckets<>(Team.values().length);
+    private final CellBuckets.Source<LivingEntity> source;
+    private long filledAt = Long.MIN_VALUE;
+
+    private AoeQueryService(ServerWorld world) {
+        this.world = world;
+        this.source = (minX, minY, minZ, maxX, maxY, maxZ, sink) -> {
+            for (LivingEntity living : world.getEntitiesByClass(LivingEntity.class, new Box(minX, minY, minZ, maxX, maxY, maxZ),
+                    living -> living.isAlive() && !living.isSpectator())) {
+                sink.accept(living, Team.of(living).ordinal(), living.getX(), living.getY(), living.getZ());
+            }
+        };
+    }
+
+    public static AoeQueryService get(ServerWorld world) {
+        return SERVICES.computeIfAbsent(world.getRegistryKey(), k -> new AoeQueryService(world));
+    }
+
+    /**
+     * Register lifecycle hooks. Called once from the mod initializer.
+     */
+    public static void init() {
+        // Release entity references between ticks
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            AoeQueryService service = SERVICES.get(world.getRegistryKey());
+            if (service != null) {
+                service.clear();
+            }
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> SERVICES.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Pass each living entity of the given teams within a radius of a point
+     * (feet position, inclusive) to a consumer. The consumer may damage or
+     * kill entities; entities added during the tick may not be seen.
+     */
+    public void forEachInRadius(Vec3d center, double radius, Set<Team> teams, Consumer<LivingEntity> consumer) {
+        long now = world.getTime();
+        if (filledAt != now) {
+            clear();
+            filledAt = now;
+        }
+
+        double reach = radius + MOVEMENT_PADDING;
+        int minX = CellBuckets.cell(center.x - reach), maxX = CellBuckets.cell(center.x + reach);
+        int minY = CellBuckets.cell(center.y - reach), maxY = CellBuckets.cell(center.y + reach);
+        int minZ = CellBuckets.cell(center.z - reach), maxZ = CellBuckets.cell(center.z + reach);
+        cells.fill(minX, minY, minZ, maxX, maxY, maxZ, source);
+        double radiusSq = radius * radius;
+
+        for (Team team : teams) {
+            int index = team.ordinal();
+            if (cells.isEmpty(index)) {
+                continue;
+            }
+
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        List<LivingEntity> entities = cells.get(index, x, y, z);
+                        if (entities == null) {
+                            continue;
+                        }
+                        for (int i = 0; i < entities.size(); i++) {
+                            LivingEntity entity = entities.get(i);
+                            if (entity.isAlive() && entity.squaredDistanceTo(center) <= radiusSq) {
+                                consumer.accept(entity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        cells.clear();
+        filledAt = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,124 @@
+package com.stn.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spatial hash of entities in 16-block cells, split by team and filled on
+ * demand. A fill only fetches the cells in its range that no earlier fill
+ * has covered since the last clear, so one small query costs one bounded
+ * lookup and overlapping queries share the work.
+ */
+final class CellBuckets<T> {
+
+    static final int CELL_SHIFT = 4;
+
+    /**
+     * Looks up entities whose bounding box meets a box (the world's
+     * section-backed entity lookup in game).
+     */
+    interface Source<T> {
+        void collect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Sink<T> sink);
+    }
+
+    interface Sink<T> {
+        void accept(T entity, int team, double x, double y, double z);
+    }
+
+    // Per team: cell -> entities whose position was in it when it was filled
+    private final Long2ObjectOpenHashMap<List<T>>[] cells;
+    private final LongOpenHashSet filled = new LongOpenHashSet();
+
+    @SuppressWarnings("unchecked")
+    CellBuckets(int teams) {
+        cells = new Long2ObjectOpenHashMap[teams];
+        for (int i = 0; i < teams; i++) {
+            cells[i] = new Long2ObjectOpenHashMap<>();
+        }
+    }
+
+    /**
+     * Make sure every cell in the (inclusive) cell range is filled.
+     */
+    void fill(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Source<T> source) {
+        // Shrink the range to the cells not filled yet
+        int fromX = Integer.MAX_VALUE, fromY = Integer.MAX_VALUE, fromZ = Integer.MAX_VALUE;
+        int toX = Integer.MIN_VALUE, toY = Integer.MIN_VALUE, toZ = Integer.MIN_VALUE;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    if (!filled.contains(key(x, y, z))) {
+                        fromX = Math.min(fromX, x);
+                        fromY = Math.min(fromY, y);
+                        fromZ = Math.min(fromZ, z);
+                        toX = Math.max(toX, x);
+                        toY = Math.max(toY, y);
+                        toZ = Math.max(toZ, z);
+                    }
+                }
+            }
+        }
+        if (fromX > toX) {
+            return;
+        }
+
+        int lowX = fromX, lowY = fromY, lowZ = fromZ, highX = toX, highY = toY, highZ = toZ;
+        source.collect(lowX << CELL_SHIFT, lowY << CELL_SHIFT, lowZ << CELL_SHIFT,
+            (highX + 1) << CELL_SHIFT, (highY + 1) << CELL_SHIFT, (highZ + 1) << CELL_SHIFT,
+            (entity, team, x, y, z) -> {
+                int cellX = cell(x), cellY = cell(y), cellZ = cell(z);
+                if (cellX < lowX || cellX > highX || cellY < lowY || cellY > highY || cellZ < lowZ || cellZ > highZ) {
+                    return; // Only reached in by its bounding box
+                }
+                long key = key(cellX, cellY, cellZ);
+                if (!filled.contains(key)) {
+                    cells[team].computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+                }
+            });
+
+        for (int x = lowX; x <= highX; x++) {
+            for (int y = lowY; y <= highY; y++) {
+                for (int z = lowZ; z <= highZ; z++) {
+                    filled.add(key(x, y, z));
+                }
+            }
+        }
+    }
+
+    boolean isEmpty(int team) {
+        return cells[team].isEmpty();
+    }
+
+    /**
+     * Entities of a team in a filled cell, or null if there are none.
+     */
+    List<T> get(int team, int x, int y, int z) {
+        return cells[team].get(key(x, y, z));
+    }
+
+    int getFilledCount() {
+        return filled.size();
+    }
+
+    void clear() {
+        if (filled.isEmpty()) {
+            return;
+        }
+        for (Long2ObjectOpenHashMap<List<T>> teamCells : cells) {
+            teamCells.clear();
+        }
+        filled.clear();
+    }
+
+    static int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    // Same layout as BlockPos.asLong, without loading game classes
+    private static long key(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | (long) y & 0xFFFL;
+    }
+}
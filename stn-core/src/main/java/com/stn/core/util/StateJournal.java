@@ -0,0 +1,349 @@
+package com.stn.core.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.JsonOps;
+import com.stn.core.STNCore;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.World;
+import net.minecraft.world.dimension.DimensionType;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of changed records for a keyed PersistentState.
+ *
+ * Instead of marking the whole state dirty on every change, the owner marks
+ * individual keys dirty. On each world save only those records are appended
+ * to world/data/&lt;id&gt;.journal as JSON lines, and the state's .dat file is
+ * left alone. Once the journal reaches its threshold (or at shutdown) the
+ * state is marked dirty so the save writes it in full, and the journal is
+ * moved aside to &lt;id&gt;.journal.old.
+ *
+ * The game writes .dat files off the server thread, and nothing tells us
+ * when that write lands, so the moved-aside journal is kept through the
+ * next save as well and only deleted at the one after (or once the server
+ * has stopped). Until then it is replayed along with the live journal.
+ *
+ * Each full save bumps a generation number stored in the state. Journal lines
+ * carry the generation they were written under, so after a crash lines older
+ * than the last full save on disk are skipped. Lines hold the whole record,
+ * so replaying one twice is harmless. Each line is prefixed with a CRC32 of
+ * its JSON so torn or damaged records are skipped instead of applied.
+ */
+public final class StateJournal<V> {
+
+    /**
+     * Hooks a journaled PersistentState provides.
+     */
+    public interface Target<V> {
+        int getJournalGeneration();
+
+        void setJournalGeneration(int generation);
+
+        /**
+         * Current value of a record, or null if it no longer exists.
+         */
+        @Nullable V getJournalValue(String key);
+
+        /**
+         * Apply a replayed record (null value = removed).
+         */
+        void applyJournalValue(String key, @Nullable V value);
+    }
+
+    // Journals opened this session, flushed together on each world save
+    private static final List<StateJournal<?>> OPEN = new ArrayList<>();
+
+    private final PersistentState state;
+    private final Target<V> target;
+    private final Codec<V> codec;
+    private final Path file;
+    private final Path previousFile;
+    private final int compactThreshold;
+
+    private final Set<String> dirtyKeys = new LinkedHashSet<>();
+    private int recordCount = 0;
+    private boolean compactRequested = false;
+    // Saves left before the moved-aside journal is deleted (0 = none kept)
+    private int previousSavesLeft = 0;
+    // Highest generation seen while replaying
+    private int newestGeneration = 0;
+
+    private <S extends PersistentState & Target<V>> StateJournal(S state, Codec<V> codec, Path file, int compactThreshold) {
+        this.state = state;
+        this.target = state;
+        this.codec = codec;
+        this.file = file;
+        this.previousFile = file.resolveSibling(file.getFileName() + ".old");
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Hook server save/stop events. Called once from the core mod initializer.
+     */
+    public static void registerEvents() {
+        ServerLifecycleEvents.BEFORE_SAVE.register((server, flush, force) -> {
+            for (StateJournal<?> journal : OPEN) {
+                journal.beforeSave();
+            }
+        });
+
+        // Compact everything into the main state files on shutdown
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            for (StateJournal<?> journal : OPEN) {
+                journal.compactRequested = true;
+            }
+        });
+
+        // The final save has been written by now
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            for (StateJournal<?> journal : OPEN) {
+                journal.deletePrevious();
+            }
+            OPEN.clear();
+        });
+    }
+
+    /**
+     * Open the journal for a freshly loaded state and replay any records
+     * written since its last full save.
+     */
+    public static <V, S extends PersistentState & Target<V>> StateJournal<V> open(MinecraftServer server, RegistryKey<World> worldKey,
+                                                                                     String stateId, S state, Codec<V> codec,
+                                                                                     int compactThreshold) {
+        Path dataDir = DimensionType.getSaveDirectory(worldKey, server.getSavePath(WorldSavePath.ROOT)).resolve("data");
+        StateJournal<V> journal = open(dataDir.resolve(stateId + ".journal"), state, codec, compactThreshold);
+        OPEN.add(journal);
+        return journal;
+    }
+
+    // Open a journal at an explicit path without hooking it into server saves
+    static <V, S extends PersistentState & Target<V>> StateJournal<V> open(Path file, S state, Codec<V> codec, int compactThreshold) {
+        StateJournal<V> journal = new StateJournal<>(state, codec, file, compactThreshold);
+        journal.replay();
+        return journal;
+    }
+
+    /**
+     * Record that a key changed; its current value is written at the next save.
+     */
+    public void markDirty(String key) {
+        dirtyKeys.add(key);
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public int getPendingCount() {
+        return dirtyKeys.size();
+    }
+
+    private void replay() {
+        // The moved-aside journal first; its records are older than the live one's
+        boolean hasPrevious = Files.exists(previousFile);
+        int replayed = hasPrevious ? replay(previousFile) : 0;
+        if (hasPrevious) {
+            previousSavesLeft = 2;
+        }
+        if (Files.exists(file)) {
+            replayed += replay(file);
+        }
+
+        if (replayed > 0) {
+            STNCore.LOGGER.info("Recovered {} records from {}", replayed, file.getFileName());
+        }
+        // Start past every generation replayed, so the next full save outdates them all
+        if (newestGeneration > target.getJournalGeneration()) {
+            target.setJournalGeneration(newestGeneration);
+        }
+        // Fold whatever was there into the next save
+        compactRequested = recordCount > 0 || hasPrevious;
+    }
+
+    // Apply one journal file's records, returning how many were replayed
+    private int replay(Path path) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            STNCore.LOGGER.error("Failed to read journal {}", path, e);
+            return 0;
+        }
+
+        int generation = target.getJournalGeneration();
+        int replayed = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            // Damaged lines still count so the next save compacts them away
+            if (path.equals(file)) {
+                recordCount++;
+            }
+
+            JsonObject record = parseRecord(line);
+            if (record == null) {
+                // Torn write from a crash, or a damaged line - later records are still whole
+                STNCore.LOGGER.warn("Skipping damaged record on line {} of {}", i + 1, path);
+                continue;
+            }
+
+            // Newer generations mean the full save that started them never reached disk
+            int recordGeneration = record.get("gen").getAsInt();
+            if (recordGeneration < generation) {
+                continue;  // Already part of the last full save
+            }
+            newestGeneration = Math.max(newestGeneration, recordGeneration);
+
+            String key = record.get("key").getAsString();
+            JsonElement value = record.get("value");
+            if (value == null) {
+                target.applyJournalValue(key, null);
+            } else {
+                codec.parse(JsonOps.INSTANCE, value)
+                    .resultOrPartial(error -> STNCore.LOGGER.warn("Skipping bad journal record {}: {}", key, error))
+                    .ifPresent(decoded -> target.applyJournalValue(key, decoded));
+            }
+            replayed++;
+        }
+        return replayed;
+    }
+
+    // Check a line's checksum and parse it, or null if it is damaged
+    @Nullable
+    private static JsonObject parseRecord(String line) {
+        int split = line.indexOf(' ');
+        if (split <= 0) {
+            return null;
+        }
+
+        String json = line.substring(split + 1);
+        try {
+            if (Long.parseLong(line.substring(0, split), 16) != checksum(json)) {
+                return null;
+            }
+            JsonObject record = JsonParser.parseString(json).getAsJsonObject();
+            return record.has("gen") && record.has("key") ? record : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long checksum(String json) {
+        CRC32 crc = new CRC32();
+        crc.update(json.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    void beforeSave() {
+        if (previousSavesLeft > 0 && --previousSavesLeft == 0) {
+            deletePrevious();
+        }
+
+        if (compactRequested || recordCount >= compactThreshold) {
+            compactRequested = false;
+            state.markDirty();
+        }
+
+        if (state.isDirty()) {
+            // This save writes the whole state; everything journaled so far is superseded
+            target.setJournalGeneration(target.getJournalGeneration() + 1);
+            dirtyKeys.clear();
+            moveAside();
+            return;
+        }
+
+        if (dirtyKeys.isEmpty()) {
+            return;
+        }
+
+        int generation = target.getJournalGeneration();
+        StringBuilder out = new StringBuilder();
+        int written = 0;
+        for (String key : dirtyKeys) {
+            JsonObject record = new JsonObject();
+            record.addProperty("gen", generation);
+            record.addProperty("key", key);
+
+            V value = target.getJournalValue(key);
+            if (value != null) {
+                JsonElement encoded = codec.encodeStart(JsonOps.INSTANCE, value)
+                    .resultOrPartial(error -> STNCore.LOGGER.warn("Failed to journal record {}: {}", key, error))
+                    .orElse(null);
+                if (encoded == null) {
+                    continue;
+                }
+                record.add("value", encoded);
+            }
+
+            String json = record.toString();
+            out.append(Long.toHexString(checksum(json))).append(' ').append(json).append('\n');
+            written++;
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, out, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            recordCount += written;
+            dirtyKeys.clear();
+        } catch (IOException e) {
+            // Fall back to a full save rather than lose the changes
+            STNCore.LOGGER.error("Failed to append to journal {}, saving {} in full", file, e);
+            target.setJournalGeneration(target.getJournalGeneration() + 1);
+            state.markDirty();
+            dirtyKeys.clear();
+            moveAside();
+        }
+    }
+
+    // Keep the superseded journal until the full save replacing it is surely on disk
+    private void moveAside() {
+        if (!Files.exists(file)) {
+            recordCount = 0;
+            return;
+        }
+
+        try {
+            if (Files.exists(previousFile)) {
+                // Still keeping the last one; both go together
+                Files.write(previousFile, Files.readAllBytes(file), StandardOpenOption.APPEND);
+                Files.delete(file);
+            } else {
+                Files.move(file, previousFile);
+            }
+            recordCount = 0;
+            previousSavesLeft = 2;
+        } catch (IOException e) {
+            // Left in place; its old lines are skipped on replay and the next full save tries again
+            STNCore.LOGGER.warn("Failed to move journal {} aside", file, e);
+        }
+    }
+
+    private void deletePrevious() {
+        try {
+            Files.deleteIfExists(previousFile);
+        } catch (IOException e) {
+            STNCore.LOGGER.warn("Failed to delete journal {}", previousFile, e);
+        }
+        previousSavesLeft = 0;
+    }
+}
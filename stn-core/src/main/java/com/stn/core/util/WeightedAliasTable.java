@@ -0,0 +1,144 @@
+package com.stn.core.util;
+
+import net.minecraft.util.math.random.Random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable weighted sampler using Vose's alias method.
+ * Building is O(n); each sample is one column roll plus one biased coin, O(1).
+ *
+ * Works in integer weight units so the sampled distribution matches a
+ * cumulative-weight roll exactly.
+ */
+public final class WeightedAliasTable<T> {
+
+    private static final WeightedAliasTable<?> EMPTY = new WeightedAliasTable<>(List.of(), new int[0], new int[0], 0);
+
+    private final List<T> items;
+    private final int[] threshold;  // Roll below this (out of totalWeight) keeps the column's own item
+    private final int[] alias;
+    private final int totalWeight;
+
+    private WeightedAliasTable(List<T> items, int[] threshold, int[] alias, int totalWeight) {
+        this.items = items;
+        this.threshold = threshold;
+        this.alias = alias;
+        this.totalWeight = totalWeight;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> WeightedAliasTable<T> empty() {
+        return (WeightedAliasTable<T>) EMPTY;
+    }
+
+    /**
+     * Build a table from items and their weights. Items with weight <= 0 are skipped.
+     */
+    public static <T> WeightedAliasTable<T> build(List<T> source, ToIntFunction<T> weightFunction) {
+        List<T> items = new ArrayList<>(source.size());
+        List<Integer> weights = new ArrayList<>(source.size());
+        long total = 0;
+
+        for (T item : source) {
+            int weight = weightFunction.applyAsInt(item);
+            if (weight > 0) {
+                items.add(item);
+                weights.add(weight);
+                total += weight;
+            }
+        }
+
+        int n = items.size();
+        if (n == 0) {
+            return empty();
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total weight exceeds " + Integer.MAX_VALUE);
+        }
+        int totalWeight = (int) total;
+
+        // Scale each weight by n so the average column holds exactly totalWeight
+        long[] scaled = new long[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) weights.get(i) * n;
+            if (scaled[i] < totalWeight) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        int[] threshold = new int[n];
+        int[] alias = new int[n];
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            threshold[less] = (int) scaled[less];
+            alias[less] = more;
+
+            scaled[more] -= totalWeight - scaled[less];
+            if (scaled[more] < totalWeight) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Leftovers are full columns
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            threshold[index] = totalWeight;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            threshold[index] = totalWeight;
+            alias[index] = index;
+        }
+
+        return new WeightedAliasTable<>(List.copyOf(items), threshold, alias, totalWeight);
+    }
+
+    /**
+     * Sample an item, or null if the table is empty.
+     */
+    public T sample(Random random) {
+        int n = items.size();
+        if (n == 0) {
+            return null;
+        }
+
+        return sample(random.nextInt(n), random.nextInt(totalWeight));
+    }
+
+    // The item picked by a given column and roll (0 <= roll < totalWeight)
+    T sample(int column, int roll) {
+        return roll < threshold[column] ? items.get(column) : items.get(alias[column]);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,108 @@
+package com.stn.core.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CellBucketsTest {
+
+    private record Mob(String name, int team, double x, double y, double z) {}
+
+    // Box lookup over a flat list, counting how many boxes were asked for
+    private final class ListSource implements CellBuckets.Source<Mob> {
+        final List<Mob> mobs = new ArrayList<>();
+        final List<double[]> boxes = new ArrayList<>();
+
+        @Override
+        public void collect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, CellBuckets.Sink<Mob> sink) {
+            boxes.add(new double[] {minX, minY, minZ, maxX, maxY, maxZ});
+            for (Mob mob : mobs) {
+                // Half-block wide bounding box, like a zombie
+                if (mob.x() + 0.3 > minX && mob.x() - 0.3 < maxX && mob.y() + 1.9 > minY && mob.y() < maxY
+                        && mob.z() + 0.3 > minZ && mob.z() - 0.3 < maxZ) {
+                    sink.accept(mob, mob.team(), mob.x(), mob.y(), mob.z());
+                }
+            }
+        }
+    }
+
+    private ListSource source;
+    private CellBuckets<Mob> buckets;
+
+    @BeforeEach
+    void setUp() {
+        source = new ListSource();
+        buckets = new CellBuckets<>(2);
+    }
+
+    @Test
+    void fillFetchesOnlyTheQueriedCells() {
+        source.mobs.add(new Mob("near", 0, 5, 64, 5));
+        source.mobs.add(new Mob("far", 0, 500, 64, 500));
+
+        buckets.fill(0, 4, 0, 0, 4, 0, source);
+        assertEquals(1, source.boxes.size());
+        assertEquals(List.of(source.mobs.get(0)), buckets.get(0, 0, 4, 0));
+        assertNull(buckets.get(0, 31, 4, 31));
+        assertEquals(1, buckets.getFilledCount());
+    }
+
+    @Test
+    void overlappingFillsShareCellsWithoutDuplicates() {
+        source.mobs.add(new Mob("a", 0, 20, 64, 20));
+        source.mobs.add(new Mob("b", 1, 40, 64, 8));
+
+        buckets.fill(0, 4, 0, 1, 4, 1, source);
+        buckets.fill(1, 4, 0, 2, 4, 1, source);
+        buckets.fill(0, 4, 0, 2, 4, 1, source);
+
+        // The second fill only asks for the new column of cells; the third asks for nothing
+        assertEquals(2, source.boxes.size());
+        assertEquals(32.0, source.boxes.get(1)[0]);
+        assertEquals(1, buckets.get(0, 1, 4, 1).size());
+        assertEquals(1, buckets.get(1, 2, 4, 0).size());
+        assertEquals(6, buckets.getFilledCount());
+    }
+
+    @Test
+    void entityReachingInFromOutsideIsLeftForItsOwnCell() {
+        // Stands just past the edge of cell x=0; its bounding box pokes back in
+        Mob edge = new Mob("edge", 0, 16.1, 64, 5);
+        source.mobs.add(edge);
+
+        buckets.fill(0, 4, 0, 0, 4, 0, source);
+        assertNull(buckets.get(0, 0, 4, 0));
+
+        buckets.fill(1, 4, 0, 1, 4, 0, source);
+        assertEquals(List.of(edge), buckets.get(0, 1, 4, 0));
+    }
+
+    @Test
+    void clearForgetsFilledCells() {
+        source.mobs.add(new Mob("a", 0, 5, 64, 5));
+        buckets.fill(0, 4, 0, 0, 4, 0, source);
+        buckets.clear();
+
+        assertNull(buckets.get(0, 0, 4, 0));
+        buckets.fill(0, 4, 0, 0, 4, 0, source);
+        assertEquals(2, source.boxes.size());
+        assertEquals(1, buckets.get(0, 0, 4, 0).size());
+    }
+
+    @Test
+    void negativeCoordinatesFloorIntoTheirCell() {
+        assertEquals(-1, CellBuckets.cell(-0.5));
+        assertEquals(-1, CellBuckets.cell(-16));
+        assertEquals(-2, CellBuckets.cell(-16.01));
+
+        Mob mob = new Mob("west", 0, -3, 64, -20);
+        source.mobs.add(mob);
+        buckets.fill(-1, 4, -2, -1, 4, -2, source);
+        assertEquals(List.of(mob), buckets.get(0, -1, 4, -2));
+    }
+}
@@ -0,0 +1,282 @@
+package com.stn.core.util;
+
+import com.mojang.serialization.Codec;
+import net.minecraft.world.PersistentState;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StateJournalTest {
+
+    private static final int THRESHOLD = 3;
+
+    // Minimal journaled state; "saving" it copies it to the stand-in .dat file
+    private static final class TestState extends PersistentState implements StateJournal.Target<Integer> {
+        final Map<String, Integer> values = new HashMap<>();
+        int generation = 0;
+
+        TestState copy() {
+            TestState copy = new TestState();
+            copy.values.putAll(values);
+            copy.generation = generation;
+            return copy;
+        }
+
+        @Override
+        public int getJournalGeneration() {
+            return generation;
+        }
+
+        @Override
+        public void setJournalGeneration(int generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public @Nullable Integer getJournalValue(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void applyJournalValue(String key, @Nullable Integer value) {
+            if (value == null) {
+                values.remove(key);
+            } else {
+                values.put(key, value);
+            }
+        }
+    }
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private TestState state;
+    private TestState saved;
+    private StateJournal<Integer> journal;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("test.journal");
+        state = new TestState();
+        saved = state.copy();
+        journal = StateJournal.open(file, state, Codec.INT, THRESHOLD);
+    }
+
+    private void set(String key, int value) {
+        state.values.put(key, value);
+        journal.markDirty(key);
+    }
+
+    // One world save: journal first, then the full state if it is dirty
+    private void save() {
+        journal.beforeSave();
+        if (state.isDirty()) {
+            saved = state.copy();
+            state.setDirty(false);
+        }
+    }
+
+    // Throw away the live state and load it back from the last full save plus the journal
+    private void crash() {
+        state = saved.copy();
+        journal = StateJournal.open(file, state, Codec.INT, THRESHOLD);
+    }
+
+    private List<String> lines() throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8);
+    }
+
+    private Path previous() {
+        return dir.resolve("test.journal.old");
+    }
+
+    // A full save whose .dat write has been started but has not reached disk
+    private void saveInFlight() {
+        state.markDirty();
+        journal.beforeSave();
+        state.setDirty(false);
+    }
+
+    @Test
+    void journaledRecordsSurviveCrash() {
+        set("a", 1);
+        save();
+        set("b", 2);
+        save();
+        assertTrue(saved.values.isEmpty());
+
+        crash();
+        assertEquals(Map.of("a", 1, "b", 2), state.values);
+    }
+
+    @Test
+    void truncatedTailRecordIsSkipped() throws IOException {
+        set("a", 1);
+        set("b", 2);
+        save();
+
+        String whole = lines().get(1);
+        Files.writeString(file, whole.substring(0, whole.length() / 2), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        set("a", 7);  // Never saved
+
+        crash();
+        assertEquals(Map.of("a", 1, "b", 2), state.values);
+
+        // The torn line is folded away by a full save rather than appended after
+        save();
+        assertEquals(state.values, saved.values);
+        save();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void badChecksumMidFileSkipsOnlyThatRecord() throws IOException {
+        set("a", 1);
+        save();
+        set("b", 2);
+        save();
+        set("c", 3);
+        save();
+
+        List<String> lines = lines();
+        assertEquals(3, lines.size());
+        lines.set(1, lines.get(1).replace("\"value\":2", "\"value\":9"));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        crash();
+        assertEquals(Map.of("a", 1, "c", 3), state.values);
+    }
+
+    @Test
+    void staleRecordsAreNotReplayedAfterCompaction() {
+        set("a", 1);
+        save();
+        set("a", 2);
+        set("b", 1);
+        save();
+        assertEquals(THRESHOLD, journal.getRecordCount());
+
+        // Threshold reached: this save writes the state in full under a new generation
+        save();
+        assertEquals(Map.of("a", 2, "b", 1), saved.values);
+        assertEquals(1, saved.generation);
+
+        // Crash before the old journal is deleted - its a=1 record must not win
+        set("a", 5);
+        crash();
+        assertEquals(Map.of("a", 2, "b", 1), state.values);
+    }
+
+    @Test
+    void recordsAfterCompactionAreReplayed() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            set("a", i);
+            save();
+        }
+        save();
+        assertEquals(1, saved.generation);
+
+        set("a", 10);
+        set("b", 4);
+        state.values.remove("b");
+        save();
+        assertEquals(2, journal.getRecordCount());
+
+        crash();
+        assertEquals(Map.of("a", 10), state.values);
+        assertNull(state.getJournalValue("b"));
+    }
+
+    @Test
+    void fullSaveNotYetOnDiskIsRecoveredFromTheOldJournal() {
+        set("a", 1);
+        save();
+        set("b", 2);
+        save();
+
+        saveInFlight();
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(previous()));
+
+        // Crash before the .dat lands: the last full save on disk is still generation 0
+        crash();
+        assertEquals(Map.of("a", 1, "b", 2), state.values);
+    }
+
+    @Test
+    void recordsJournaledAfterAnUnwrittenFullSaveAreReplayed() {
+        set("a", 1);
+        save();
+        saveInFlight();
+
+        // Journaled under generation 1 while the generation 1 .dat is still being written
+        set("a", 2);
+        set("c", 3);
+        save();
+
+        crash();
+        assertEquals(Map.of("a", 2, "c", 3), state.values);
+
+        // The next full save must outdate the generation 1 records just replayed
+        assertEquals(1, state.generation);
+        set("a", 5);
+        save();
+        assertEquals(2, saved.generation);
+        crash();
+        assertEquals(Map.of("a", 5, "c", 3), state.values);
+    }
+
+    @Test
+    void oldJournalIsKeptThroughTheNextSave() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            set("a", i);
+            save();
+        }
+        save();
+        assertEquals(1, saved.generation);
+        assertTrue(Files.exists(previous()));
+
+        set("b", 1);
+        save();
+        assertTrue(Files.exists(previous()));
+
+        save();
+        assertFalse(Files.exists(previous()));
+        assertTrue(Files.exists(file));
+        crash();
+        assertEquals(Map.of("a", THRESHOLD - 1, "b", 1), state.values);
+    }
+
+    @Test
+    void journalLeftByACrashIsKeptWithTheOldOne() throws IOException {
+        set("a", 1);
+        save();
+        saveInFlight();
+        set("b", 2);
+        save();
+        crash();
+
+        // The compacting save after recovery also goes unwritten; both journals' records are kept
+        saveInFlight();
+        assertFalse(Files.exists(file));
+        assertEquals(2, Files.readAllLines(previous(), StandardCharsets.UTF_8).size());
+        crash();
+        assertEquals(Map.of("a", 1, "b", 2), state.values);
+    }
+}
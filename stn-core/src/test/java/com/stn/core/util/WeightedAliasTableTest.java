@@ -0,0 +1,99 @@
+package com.stn.core.util;
+
+import net.minecraft.util.math.random.Random;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeightedAliasTableTest {
+
+    private record Entry(String name, int weight) {}
+
+    // How often each item comes up over every (column, roll) pair - exactly weight * size
+    private static Map<String, Integer> exactCounts(WeightedAliasTable<Entry> table) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int column = 0; column < table.size(); column++) {
+            for (int roll = 0; roll < table.getTotalWeight(); roll++) {
+                counts.merge(table.sample(column, roll).name(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static void assertExact(List<Entry> entries) {
+        WeightedAliasTable<Entry> table = WeightedAliasTable.build(entries, Entry::weight);
+        Map<String, Integer> counts = exactCounts(table);
+
+        Map<String, Integer> expected = new HashMap<>();
+        for (Entry entry : entries) {
+            if (entry.weight() > 0) {
+                expected.put(entry.name(), entry.weight() * table.size());
+            }
+        }
+        assertEquals(expected, counts);
+    }
+
+    @Test
+    void distributionMatchesWeightsExactly() {
+        assertExact(List.of(new Entry("a", 1), new Entry("b", 2), new Entry("c", 3), new Entry("d", 4)));
+        assertExact(List.of(new Entry("zombie", 100), new Entry("spider", 30), new Entry("creeper", 7), new Entry("witch", 1)));
+        assertExact(List.of(new Entry("a", 5), new Entry("b", 5), new Entry("c", 5)));
+    }
+
+    @Test
+    void distributionMatchesWeightsForManyItems() {
+        List<Entry> entries = new ArrayList<>();
+        Random random = Random.create(42);
+        for (int i = 0; i < 50; i++) {
+            entries.add(new Entry("mob" + i, 1 + random.nextInt(40)));
+        }
+        assertExact(entries);
+    }
+
+    @Test
+    void zeroAndNegativeWeightsAreSkipped() {
+        WeightedAliasTable<Entry> table = WeightedAliasTable.build(
+            List.of(new Entry("a", 0), new Entry("b", 3), new Entry("c", -2), new Entry("d", 1)), Entry::weight);
+        assertEquals(2, table.size());
+        assertEquals(4, table.getTotalWeight());
+        assertEquals(Map.of("b", 6, "d", 2), exactCounts(table));
+    }
+
+    @Test
+    void emptyTableSamplesNull() {
+        WeightedAliasTable<Entry> table = WeightedAliasTable.build(List.of(new Entry("a", 0)), Entry::weight);
+        assertTrue(table.isEmpty());
+        assertNull(table.sample(Random.create(1)));
+    }
+
+    @Test
+    void sampledFrequenciesFollowWeights() {
+        List<Entry> entries = List.of(new Entry("a", 1), new Entry("b", 3), new Entry("c", 6));
+        WeightedAliasTable<Entry> table = WeightedAliasTable.build(entries, Entry::weight);
+        Random random = Random.create(1234);
+
+        int samples = 200_000;
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < samples; i++) {
+            counts.merge(table.sample(random).name(), 1, Integer::sum);
+        }
+        for (Entry entry : entries) {
+            double expected = (double) entry.weight() / table.getTotalWeight();
+            assertEquals(expected, (double) counts.get(entry.name()) / samples, 0.01, entry.name());
+        }
+    }
+
+    @Test
+    void totalWeightOverflowIsRejected() {
+        List<Entry> entries = List.of(new Entry("a", Integer.MAX_VALUE), new Entry("b", 1));
+        assertThrows(IllegalArgumentException.class, () -> WeightedAliasTable.build(entries, Entry::weight));
+    }
+}
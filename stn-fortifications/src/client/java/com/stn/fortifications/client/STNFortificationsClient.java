@@ -1,7 +1,12 @@
 package com.stn.fortifications.client;
 
 import com.stn.fortifications.STNFortifications;
+import com.stn.fortifications.client.network.ClientBlockDurabilityCache;
+import com.stn.fortifications.network.DurabilityBatchPayload;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientWorldEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 
 /**
  * Client-side initializer for STN Fortifications.
@@ -13,8 +18,19 @@ public class STNFortificationsClient implements ClientModInitializer {
     public void onInitializeClient() {
         STNFortifications.LOGGER.info("Survive The Night - Fortifications (Client) initialized!");
 
+        // Register client network handler for batched durability updates
+        ClientPlayNetworking.registerGlobalReceiver(DurabilityBatchPayload.ID, (payload, context) -> {
+            context.client().execute(() -> ClientBlockDurabilityCache.applyBatch(payload));
+        });
+
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            client.execute(ClientBlockDurabilityCache::clear);
+        });
+
+        // Positions in the old dimension mean nothing in the new one
+        ClientWorldEvents.AFTER_CLIENT_WORLD_CHANGE.register((client, world) -> ClientBlockDurabilityCache.clear());
+
         // TODO: Register damage overlay renderer
         // TODO: Register durability HUD
-        // TODO: Register client network handlers
     }
 }
@@ -0,0 +1,63 @@
+package com.stn.fortifications.client.network;
+
+import com.stn.fortifications.network.DurabilityBatchPayload;
+import com.stn.fortifications.network.DurabilityRequestPayload;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Client-side cache of block durability received from the server.
+ * Filled from per-chunk durability batches and from answers to requests for
+ * blocks the client has not heard about; cleared on disconnect and world change.
+ */
+public class ClientBlockDurabilityCache {
+
+    private static final long REQUEST_RETRY_MS = 1000; // Ask again if no answer arrived by then
+
+    private static final Long2ObjectOpenHashMap<DurabilityData> CACHE = new Long2ObjectOpenHashMap<>();
+    // Block pos -> time the last request for it was sent
+    private static final Long2LongOpenHashMap PENDING = new Long2LongOpenHashMap();
+
+    /**
+     * Apply a batch of durability updates from the server.
+     */
+    public static void applyBatch(DurabilityBatchPayload payload) {
+        for (int i = 0; i < payload.size(); i++) {
+            long pos = payload.getPos(i).asLong();
+            CACHE.put(pos, new DurabilityData(payload.current()[i], payload.max()[i]));
+            PENDING.remove(pos);
+        }
+    }
+
+    /**
+     * Get cached durability for a block. If there is none, ask the server for
+     * it (at most once a second per block) and return null until it answers.
+     */
+    public static DurabilityData getOrRequestDurability(BlockPos pos) {
+        long packed = pos.asLong();
+        DurabilityData data = CACHE.get(packed);
+        if (data != null) {
+            return data;
+        }
+
+        long now = Util.getMeasuringTimeMs();
+        if (PENDING.containsKey(packed) && now - PENDING.get(packed) < REQUEST_RETRY_MS) {
+            return null;
+        }
+        if (ClientPlayNetworking.canSend(DurabilityRequestPayload.ID)) {
+            ClientPlayNetworking.send(new DurabilityRequestPayload(pos.toImmutable()));
+            PENDING.put(packed, now);
+        }
+        return null;
+    }
+
+    public static void clear() {
+        CACHE.clear();
+        PENDING.clear();
+    }
+
+    public record DurabilityData(int current, int max) {}
+}
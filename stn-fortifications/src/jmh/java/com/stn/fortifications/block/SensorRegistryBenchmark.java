@@ -0,0 +1,144 @@
+package com.stn.fortifications.block;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One sensor scan of a 48x48 base with 64 motion sensors on its perimeter
+ * wall, facing out, and 200 hostiles milling around it within 24 blocks of
+ * the wall. Compares the registry's merged queries and spatial hash against
+ * one box query per sensor, as each sensor's own scheduled tick did before.
+ *
+ * Hostiles are kept in per-chunk lists and tested box by box, like the
+ * entity section lookup getEntitiesByClass does, but without its section
+ * walk or entity filters; both sides pay the same for a query, so the gap
+ * comes from how many queries and intersection tests each makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensorRegistryBenchmark {
+
+    private static final int SENSORS = 64;
+    private static final int HOSTILES = 200;
+    private static final int HALF_SIZE = 24;
+
+    private final Long2ObjectOpenHashMap<List<Box>> hostilesByChunk = new Long2ObjectOpenHashMap<>();
+    private final List<BlockPos> sensorPositions = new ArrayList<>();
+    private final List<Box> detectionBoxes = new ArrayList<>();
+
+    private SensorRegistry registry;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        // 16 sensors per wall, facing away from the base
+        for (int i = 0; i < SENSORS; i++) {
+            int along = -HALF_SIZE + (i % 16) * 3;
+            BlockPos pos;
+            Direction facing;
+            switch (i / 16) {
+                case 0 -> { pos = new BlockPos(along, 66, -HALF_SIZE); facing = Direction.NORTH; }
+                case 1 -> { pos = new BlockPos(along, 66, HALF_SIZE); facing = Direction.SOUTH; }
+                case 2 -> { pos = new BlockPos(HALF_SIZE, 66, along); facing = Direction.EAST; }
+                default -> { pos = new BlockPos(-HALF_SIZE, 66, along); facing = Direction.WEST; }
+            }
+            sensorPositions.add(pos);
+            detectionBoxes.add(MotionSensorBlock.getDetectionBox(pos, facing));
+        }
+
+        SplittableRandom random = new SplittableRandom(15);
+        for (int i = 0; i < HOSTILES; i++) {
+            double x, z;
+            do {
+                x = random.nextDouble(-HALF_SIZE - 24, HALF_SIZE + 24);
+                z = random.nextDouble(-HALF_SIZE - 24, HALF_SIZE + 24);
+            } while (Math.abs(x) < HALF_SIZE && Math.abs(z) < HALF_SIZE);
+            double y = 64 + random.nextInt(4);
+            Box hostile = new Box(x - 0.3, y, z - 0.3, x + 0.3, y + 1.95, z + 0.3);
+            hostilesByChunk.computeIfAbsent(ChunkPos.toLong(MathHelper.floor(x) >> 4, MathHelper.floor(z) >> 4),
+                k -> new ArrayList<>()).add(hostile);
+        }
+
+        registry = new SensorRegistry(new SensorRegistry.SensorWorld() {
+            @Override
+            public void forEachHostile(Box area, Consumer<Box> boundingBoxes) {
+                query(area, boundingBoxes);
+            }
+
+            @Override
+            public boolean applyResult(BlockPos pos, boolean detected) {
+                return true;
+            }
+        });
+        for (int i = 0; i < SENSORS; i++) {
+            registry.register(sensorPositions.get(i), detectionBoxes.get(i));
+        }
+        registry.scan();
+    }
+
+    private void query(Box area, Consumer<Box> boundingBoxes) {
+        // Chunks padded by two blocks, as entity lookups pad sections
+        int minX = MathHelper.floor(area.minX - 2) >> 4, maxX = MathHelper.floor(area.maxX + 2) >> 4;
+        int minZ = MathHelper.floor(area.minZ - 2) >> 4, maxZ = MathHelper.floor(area.maxZ + 2) >> 4;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                List<Box> hostiles = hostilesByChunk.get(ChunkPos.toLong(x, z));
+                if (hostiles == null) {
+                    continue;
+                }
+                for (Box hostile : hostiles) {
+                    if (hostile.intersects(area)) {
+                        boundingBoxes.accept(hostile);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int registryScan() {
+        registry.scan();
+        return registry.getSensorCount();
+    }
+
+    @Benchmark
+    public int perSensorQuery() {
+        int detected = 0;
+        for (Box box : detectionBoxes) {
+            List<Box> found = new ArrayList<>();
+            query(box, found::add);
+            if (!found.isEmpty()) {
+                detected++;
+            }
+        }
+        return detected;
+    }
+}
@@ -0,0 +1,162 @@
+package com.stn.fortifications.block;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of 100 mobs standing on a 20-block strip of iron spikes (one
+ * DAMAGE_COUNT per hit, broken at 15 and put straight back), with a player
+ * watching from close by. Every mob collides every tick. Compares the
+ * accumulator against applying damage, effects and degradation on every
+ * collision as the trap blocks did before it.
+ *
+ * Besides time per tick, the counters report packets (a particle burst and a
+ * sound each, for the one watching player) and block updates (a DAMAGE_COUNT
+ * write or a break) per tick. Mobs reach the strip over the first cooldown,
+ * so their hits are spread over ticks rather than landing together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrapDamageBenchmark {
+
+    private static final int MOBS = 100;
+    private static final int SPIKES = 20;
+    private static final int DAMAGE_PER_HIT = 1;
+    private static final int MAX_DAMAGE_COUNT = 15;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Traffic {
+        long ticks;
+        long packets;
+        long blockUpdates;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ticks = 0;
+            packets = 0;
+            blockUpdates = 0;
+        }
+
+        public double packetsPerTick() {
+            return ticks == 0 ? 0 : (double) packets / ticks;
+        }
+
+        public double blockUpdatesPerTick() {
+            return ticks == 0 ? 0 : (double) blockUpdates / ticks;
+        }
+    }
+
+    private Block spike;
+    private BlockPos[] spikes;
+    private int[] damage;
+    private int[] mobSpike;
+    private double[] mobX;
+    private double[] mobZ;
+
+    private long tick;
+    private TrapDamageAccumulator accumulator;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        // Any block will do as the cooldown key; the sink below stands in for the world
+        spike = Blocks.IRON_BARS;
+
+        spikes = new BlockPos[SPIKES];
+        for (int i = 0; i < SPIKES; i++) {
+            spikes[i] = new BlockPos(i, 64, 0);
+        }
+        damage = new int[SPIKES];
+
+        SplittableRandom random = new SplittableRandom(14);
+        mobSpike = new int[MOBS];
+        mobX = new double[MOBS];
+        mobZ = new double[MOBS];
+        for (int i = 0; i < MOBS; i++) {
+            mobSpike[i] = random.nextInt(SPIKES);
+            mobX[i] = spikes[mobSpike[i]].getX() + random.nextDouble();
+            mobZ[i] = random.nextDouble();
+        }
+
+        accumulator = new TrapDamageAccumulator(() -> tick);
+    }
+
+    // Returns whether the spike broke (and was replaced)
+    private boolean degrade(int index, int amount) {
+        damage[index] += amount;
+        if (damage[index] >= MAX_DAMAGE_COUNT) {
+            damage[index] = 0;
+            return true;
+        }
+        return false;
+    }
+
+    // Mobs still on their way until their slot in the first cooldown
+    private boolean arrived(int mob) {
+        return tick >= mob % TrapDamageAccumulator.HIT_COOLDOWN_TICKS;
+    }
+
+    @Benchmark
+    public int accumulated(Traffic traffic) {
+        tick++;
+        int hits = 0;
+        for (int mob = 0; mob < MOBS; mob++) {
+            if (arrived(mob) && accumulator.tryHit(spikes[mobSpike[mob]], spike, mob, mobX[mob], 65.0, mobZ[mob])) {
+                hits++;
+            }
+        }
+
+        accumulator.flush((pos, block, blockHits, center) -> {
+            traffic.packets += 2;
+            traffic.blockUpdates++;
+            if (degrade(pos.getX(), DAMAGE_PER_HIT * blockHits)) {
+                traffic.packets++; // Break sound
+            }
+        });
+        traffic.ticks++;
+        return hits;
+    }
+
+    @Benchmark
+    public int perCollision(Traffic traffic) {
+        tick++;
+        int hits = 0;
+        for (int mob = 0; mob < MOBS; mob++) {
+            if (!arrived(mob)) {
+                continue;
+            }
+            hits++;
+            traffic.packets += 2;
+            traffic.blockUpdates++;
+            if (degrade(mobSpike[mob], DAMAGE_PER_HIT)) {
+                traffic.packets++;
+            }
+        }
+        traffic.ticks++;
+        return hits;
+    }
+}
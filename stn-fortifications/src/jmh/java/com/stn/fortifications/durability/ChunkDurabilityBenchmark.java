@@ -0,0 +1,114 @@
+package com.stn.fortifications.durability;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Damage, lookup and save/load cost of the per-chunk durability store at
+ * 10k, 100k and 1M tracked blocks. Blocks are spread over chunks the way a
+ * large base would be: 1024 per chunk across its lowest sections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkDurabilityBenchmark {
+
+    private static final int BLOCKS_PER_CHUNK = 1024;
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int trackedBlocks;
+
+    private ChunkDurability[] chunks;
+    private ByteBuffer[] saved;
+    // Chunk, section and local position for each probe
+    private int[] probeChunks;
+    private int[] probeSections;
+    private short[] probeLocals;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(1);
+        chunks = new ChunkDurability[Math.max(1, trackedBlocks / BLOCKS_PER_CHUNK)];
+        for (int c = 0; c < chunks.length; c++) {
+            ChunkDurability chunk = new ChunkDurability();
+            while (chunk.size() < Math.min(BLOCKS_PER_CHUNK, trackedBlocks)) {
+                chunk.put(random.nextInt(4), (short) random.nextInt(4096), 1 + random.nextInt(1000));
+            }
+            chunks[c] = chunk;
+        }
+
+        saved = new ByteBuffer[chunks.length];
+        for (int c = 0; c < chunks.length; c++) {
+            saved[c] = chunks[c].toBytes();
+        }
+
+        probeChunks = new int[LOOKUPS];
+        probeSections = new int[LOOKUPS];
+        probeLocals = new short[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probeChunks[i] = random.nextInt(chunks.length);
+            probeSections[i] = random.nextInt(4);
+            probeLocals[i] = (short) random.nextInt(4096);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int lookup() {
+        int sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += chunks[probeChunks[i]].get(probeSections[i], probeLocals[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void damage() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            ChunkDurability chunk = chunks[probeChunks[i]];
+            int current = chunk.get(probeSections[i], probeLocals[i]);
+            if (current > 0) {
+                // Wrap around instead of untracking so the population stays fixed
+                chunk.put(probeSections[i], probeLocals[i], current > 1 ? current - 1 : 1000);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void saveAll(Blackhole blackhole) {
+        for (ChunkDurability chunk : chunks) {
+            blackhole.consume(chunk.toBytes());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void loadAll(Blackhole blackhole) {
+        for (ByteBuffer bytes : saved) {
+            blackhole.consume(ChunkDurability.fromBytes(bytes));
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package com.stn.fortifications;
 
 import com.stn.core.STNCore;
+import com.stn.core.api.BlockBreakTable;
+import com.stn.fortifications.block.FenceNetworkManager;
+import com.stn.fortifications.block.ReinforcedBlock;
+import com.stn.fortifications.block.SensorRegistry;
+import com.stn.fortifications.block.TrapDamageAccumulator;
+import com.stn.fortifications.durability.BlockDurabilityManager;
+import com.stn.fortifications.durability.DurabilityProvider;
+import com.stn.fortifications.network.FortificationsNetworking;
 import com.stn.fortifications.registry.STNBlocks;
 import net.fabricmc.api.ModInitializer;
 import org.slf4j.Logger;
@@ -21,6 +29,25 @@ public class STNFortifications implements ModInitializer {
         // Register blocks and items
         STNBlocks.register();
 
+        // Register network payloads and durability batching
+        FortificationsNetworking.register();
+
+        // Block durability storage (chunk attachments) and STNCore provider
+        BlockDurabilityManager.init();
+        STNCore.registerDurabilityProvider(new DurabilityProvider());
+
+        // Electric fence power networks
+        FenceNetworkManager.init();
+
+        // End-of-tick trap damage and effects
+        TrapDamageAccumulator.init();
+
+        // Shared motion sensor scanning
+        SensorRegistry.init();
+
+        // Zombie-proof reinforced blocks are never targeted by mob block breaking
+        BlockBreakTable.registerContributor(ReinforcedBlock::contributeAllBreakRules);
+
         LOGGER.info("Survive The Night - Fortifications initialized!");
     }
 }
@@ -23,6 +23,7 @@ import net.minecraft.state.property.IntProperty;
 import net.minecraft.state.property.Properties;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.util.math.random.Random;
@@ -35,7 +36,7 @@ import net.minecraft.world.tick.ScheduledTickView;
  * Barbed wire that slows and damages entities passing through.
  * Connects horizontally like a fence.
  */
-public class BarbedWireBlock extends Block implements Waterloggable {
+public class BarbedWireBlock extends Block implements Waterloggable, TrapDamageAccumulator.Trap {
 
     public static final BooleanProperty NORTH = Properties.NORTH;
     public static final BooleanProperty SOUTH = Properties.SOUTH;
@@ -153,10 +154,11 @@ public class BarbedWireBlock extends Block implements Waterloggable {
 
             // Slow the entity significantly
             entity.setVelocity(entity.getVelocity().multiply(SLOW_FACTOR, 1.0, SLOW_FACTOR));
-            entity.slowMovement(state, new net.minecraft.util.math.Vec3d(SLOW_FACTOR, 1.0, SLOW_FACTOR));
+            entity.slowMovement(state, new Vec3d(SLOW_FACTOR, 1.0, SLOW_FACTOR));
 
-            // Damage on movement
-            if (entity.getVelocity().horizontalLengthSquared() > 0.0001) {
+            // Damage on movement (batched per block per tick)
+            if (entity.getVelocity().horizontalLengthSquared() > 0.0001
+                    && TrapDamageAccumulator.get(serverWorld).tryHit(pos, this, livingEntity)) {
                 float damage = DAMAGE;
 
                 // More damage to hostile mobs
@@ -167,57 +169,55 @@ public class BarbedWireBlock extends Block implements Waterloggable {
                 DamageSource damageSource = serverWorld.getDamageSources().cactus();
 
                 livingEntity.damage(serverWorld, damageSource, damage);
-
-                // Visual effects
-                serverWorld.spawnParticles(
-                        ParticleTypes.DAMAGE_INDICATOR,
-                        entity.getX(),
-                        entity.getY() + 0.5,
-                        entity.getZ(),
-                        1,
-                        0.1, 0.1, 0.1,
-                        0.05
-                );
-
-                // Sound effect
-                if (world.random.nextInt(5) == 0) {
-                    world.playSound(
-                        null,
-                        pos,
-                        SoundEvents.BLOCK_CHAIN_BREAK,
-                        SoundCategory.BLOCKS,
-                        0.3f,
-                        1.5f
-                    );
-                }
-
-                // Degrade the barbed wire
-                degradeWire(world, pos, state);
             }
         }
     }
 
-    private void degradeWire(World world, BlockPos pos, BlockState state) {
-        int currentDamage = state.get(DAMAGE_COUNT);
-        int damagePerHit = Math.max(1, 16 / (MAX_DURABILITY / 50));
+    @Override
+    public IntProperty getDamageCountProperty() {
+        return DAMAGE_COUNT;
+    }
 
-        int newDamage = currentDamage + damagePerHit;
+    @Override
+    public int getDamagePerHit() {
+        return Math.max(1, 16 / (MAX_DURABILITY / 50));
+    }
 
-        if (newDamage >= 15) {
-            // Wire is destroyed
-            world.breakBlock(pos, false);
+    @Override
+    public void spawnHitEffects(ServerWorld world, BlockPos pos, Vec3d center, int hits, int particles) {
+        world.spawnParticles(
+                ParticleTypes.DAMAGE_INDICATOR,
+                center.x,
+                center.y,
+                center.z,
+                particles,
+                0.1 + 0.1 * Math.min(hits, 4), 0.1, 0.1 + 0.1 * Math.min(hits, 4),
+                0.05
+        );
+
+        // Sound effect
+        if (world.random.nextInt(5) == 0) {
             world.playSound(
                 null,
                 pos,
                 SoundEvents.BLOCK_CHAIN_BREAK,
                 SoundCategory.BLOCKS,
-                1.0f,
-                0.8f
+                0.3f,
+                1.5f
             );
-        } else if (newDamage > currentDamage) {
-            // Update damage state
-            world.setBlockState(pos, state.with(DAMAGE_COUNT, Math.min(newDamage, 15)));
         }
     }
 
+    @Override
+    public void playBreakSound(ServerWorld world, BlockPos pos) {
+        world.playSound(
+            null,
+            pos,
+            SoundEvents.BLOCK_CHAIN_BREAK,
+            SoundCategory.BLOCKS,
+            1.0f,
+            0.8f
+        );
+    }
+
 }
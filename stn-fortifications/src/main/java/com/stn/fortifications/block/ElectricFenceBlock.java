@@ -25,6 +25,7 @@ import net.minecraft.state.property.IntProperty;
 import net.minecraft.state.property.Properties;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.util.shape.VoxelShapes;
@@ -34,18 +35,14 @@ import net.minecraft.world.WorldView;
 import net.minecraft.world.block.WireOrientation;
 import net.minecraft.world.tick.ScheduledTickView;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
-
 /**
  * Electric fence that requires redstone power.
  * Stuns and damages zombies when powered.
  * Connects horizontally like a fence.
- * Power chains through connected fences like powered rails.
+ * Power chains through connected fences like powered rails; connected
+ * fences are tracked as networks by {@link FenceNetworkManager}.
  */
-public class ElectricFenceBlock extends Block implements Waterloggable {
+public class ElectricFenceBlock extends Block implements Waterloggable, TrapDamageAccumulator.Trap {
 
     public static final BooleanProperty POWERED = Properties.POWERED;
     public static final BooleanProperty NORTH = Properties.NORTH;
@@ -63,7 +60,6 @@ public class ElectricFenceBlock extends Block implements Waterloggable {
 
     private static final float SHOCK_DAMAGE = 4.0f;
     private static final int STUN_DURATION = 40; // 2 seconds
-    private static final int MAX_CHAIN_LENGTH = 64; // Maximum fences that can be powered from one source
     private static final int MAX_DURABILITY = 300; // More durable than barbed wire
 
     public ElectricFenceBlock(Settings settings) {
@@ -94,8 +90,9 @@ public class ElectricFenceBlock extends Block implements Waterloggable {
         BlockState eastState = world.getBlockState(pos.east());
         BlockState westState = world.getBlockState(pos.west());
 
-        // Check if we receive power directly or through chain
-        boolean powered = world.isReceivingRedstonePower(pos) || isConnectedToPowerSource(world, pos);
+        // Best guess from direct power or a powered neighbour; the network corrects it once placed
+        boolean powered = world.isReceivingRedstonePower(pos) || isPoweredFence(northState) || isPoweredFence(southState)
+            || isPoweredFence(eastState) || isPoweredFence(westState);
 
         return getDefaultState()
             .with(POWERED, powered)
@@ -106,6 +103,10 @@ public class ElectricFenceBlock extends Block implements Waterloggable {
             .with(WATERLOGGED, fluidState.getFluid() == Fluids.WATER);
     }
 
+    private static boolean isPoweredFence(BlockState state) {
+        return state.getBlock() instanceof ElectricFenceBlock && state.get(POWERED);
+    }
+
     private boolean canConnect(BlockState state, BlockView world, BlockPos pos) {
         return state.getBlock() instanceof ElectricFenceBlock ||
                state.getBlock() instanceof BarbedWireBlock ||
@@ -131,17 +132,17 @@ public class ElectricFenceBlock extends Block implements Waterloggable {
                 case WEST -> state.with(WEST, shouldConnect);
                 default -> state;
             };
-
-            // Schedule a tick to recalculate power when a neighbor changes
-            tickView.scheduleBlockTick(pos, this, 1);
         }
         return state;
     }
 
     @Override
     public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        // Recalculate power state
-        boolean shouldBePowered = isConnectedToPowerSource(world, pos);
+        // Re-read direct power; the network updates every fence if its power flips
+        FenceNetworkManager networks = FenceNetworkManager.get(world);
+        networks.onPowerChanged(pos);
+
+        boolean shouldBePowered = networks.isPowered(pos);
         if (state.get(POWERED) != shouldBePowered) {
             world.setBlockState(pos, state.with(POWERED, shouldBePowered), Block.NOTIFY_ALL);
 
@@ -182,95 +183,17 @@ public class ElectricFenceBlock extends Block implements Waterloggable {
     }
 
     /**
-     * When a fence is broken, notify all connected fences to recalculate power
+     * When a fence is broken, split or shrink its network
      */
     @Override
     protected void onStateReplaced(BlockState state, ServerWorld world, BlockPos pos, boolean moved) {
         BlockState newState = world.getBlockState(pos);
         if (!state.isOf(newState.getBlock())) {
-            // This fence was removed, schedule updates for neighbors
-            for (Direction dir : Direction.Type.HORIZONTAL) {
-                BlockPos neighborPos = pos.offset(dir);
-                BlockState neighborState = world.getBlockState(neighborPos);
-                if (neighborState.getBlock() instanceof ElectricFenceBlock) {
-                    world.scheduleBlockTick(neighborPos, this, 1);
-                }
-            }
+            FenceNetworkManager.get(world).onFenceRemoved(pos);
         }
         super.onStateReplaced(state, world, pos, moved);
     }
 
-    /**
-     * Check if this fence is connected to a redstone power source through the chain
-     */
-    private boolean isConnectedToPowerSource(World world, BlockPos startPos) {
-        Set<BlockPos> visited = new HashSet<>();
-        Queue<BlockPos> queue = new LinkedList<>();
-        queue.add(startPos);
-
-        while (!queue.isEmpty() && visited.size() < MAX_CHAIN_LENGTH) {
-            BlockPos pos = queue.poll();
-            if (visited.contains(pos)) continue;
-            visited.add(pos);
-
-            // Check if this position receives redstone power directly
-            if (world.isReceivingRedstonePower(pos)) {
-                return true;
-            }
-
-            // Add connected electric fences to queue
-            for (Direction dir : Direction.Type.HORIZONTAL) {
-                BlockPos neighborPos = pos.offset(dir);
-                BlockState neighborState = world.getBlockState(neighborPos);
-                if (neighborState.getBlock() instanceof ElectricFenceBlock && !visited.contains(neighborPos)) {
-                    queue.add(neighborPos);
-                }
-            }
-        }
-
-        return false;
-    }
-
-    /**
-     * Recalculate power for all connected fences
-     */
-    private void recalculateChainPower(World world, BlockPos startPos) {
-        Set<BlockPos> visited = new HashSet<>();
-        Queue<BlockPos> queue = new LinkedList<>();
-        queue.add(startPos);
-
-        // First, find if any fence in the chain has direct power
-        boolean chainHasPower = isConnectedToPowerSource(world, startPos);
-
-        // Reset queue for updating
-        visited.clear();
-        queue.clear();
-        queue.add(startPos);
-
-        while (!queue.isEmpty() && visited.size() < MAX_CHAIN_LENGTH) {
-            BlockPos pos = queue.poll();
-            if (visited.contains(pos)) continue;
-            visited.add(pos);
-
-            BlockState state = world.getBlockState(pos);
-            if (state.getBlock() instanceof ElectricFenceBlock) {
-                // Update power state if different
-                if (state.get(POWERED) != chainHasPower) {
-                    world.setBlockState(pos, state.with(POWERED, chainHasPower), Block.NOTIFY_ALL);
-                }
-
-                // Add connected electric fences to queue
-                for (Direction dir : Direction.Type.HORIZONTAL) {
-                    BlockPos neighborPos = pos.offset(dir);
-                    BlockState neighborState = world.getBlockState(neighborPos);
-                    if (neighborState.getBlock() instanceof ElectricFenceBlock && !visited.contains(neighborPos)) {
-                        queue.add(neighborPos);
-                    }
-                }
-            }
-        }
-    }
-
     // Called when entity collides with block
     protected void onEntityCollision(BlockState state, World world, BlockPos pos, Entity entity) {
         if (world.isClient() || !state.get(POWERED) || !(world instanceof ServerWorld serverWorld)) {
@@ -283,6 +206,11 @@ public class ElectricFenceBlock extends Block implements Waterloggable {
                 return;
             }
 
+            // One shock per entity per cooldown; effects and degradation are batched per block
+            if (!TrapDamageAccumulator.get(serverWorld).tryHit(pos, this, livingEntity)) {
+                return;
+            }
+
             // Apply shock damage
             float damage = SHOCK_DAMAGE;
 
@@ -311,63 +239,60 @@ public class ElectricFenceBlock extends Block implements Waterloggable {
                     (world.random.nextDouble() - 0.5) * 0.5
                 )
             );
+        }
+    }
 
-            // Visual effects - electric spark particles
-            for (int i = 0; i < 10; i++) {
-                serverWorld.spawnParticles(
-                    ParticleTypes.ELECTRIC_SPARK,
-                    entity.getX() + (world.random.nextDouble() - 0.5) * 0.5,
-                    entity.getY() + world.random.nextDouble() * entity.getHeight(),
-                    entity.getZ() + (world.random.nextDouble() - 0.5) * 0.5,
-                    1,
-                    0.1, 0.1, 0.1,
-                    0.1
-                );
-            }
+    @Override
+    public IntProperty getDamageCountProperty() {
+        return DAMAGE_COUNT;
+    }
 
-            // Zap sound
-            world.playSound(
-                null,
-                pos,
-                SoundEvents.ENTITY_LIGHTNING_BOLT_IMPACT,
-                SoundCategory.BLOCKS,
-                0.5f,
-                1.5f + world.random.nextFloat() * 0.5f
-            );
+    @Override
+    public int getDamagePerHit() {
+        return Math.max(1, 16 / (MAX_DURABILITY / 50));
+    }
 
-            // Degrade the electric fence
-            degradeFence(world, pos, state);
-        }
+    @Override
+    public void spawnHitEffects(ServerWorld world, BlockPos pos, Vec3d center, int hits, int particles) {
+        // Visual effects - one electric spark burst for everything shocked this tick
+        world.spawnParticles(
+            ParticleTypes.ELECTRIC_SPARK,
+            center.x,
+            center.y,
+            center.z,
+            particles,
+            0.25 + 0.1 * Math.min(hits, 4), 0.5, 0.25 + 0.1 * Math.min(hits, 4),
+            0.1
+        );
+
+        // Zap sound
+        world.playSound(
+            null,
+            pos,
+            SoundEvents.ENTITY_LIGHTNING_BOLT_IMPACT,
+            SoundCategory.BLOCKS,
+            0.5f,
+            1.5f + world.random.nextFloat() * 0.5f
+        );
     }
 
-    private void degradeFence(World world, BlockPos pos, BlockState state) {
-        int currentDamage = state.get(DAMAGE_COUNT);
-        int damagePerHit = Math.max(1, 16 / (MAX_DURABILITY / 50));
-
-        int newDamage = currentDamage + damagePerHit;
-
-        if (newDamage >= 15) {
-            // Fence is destroyed
-            world.breakBlock(pos, false);
-            world.playSound(
-                null,
-                pos,
-                SoundEvents.BLOCK_ANVIL_BREAK,
-                SoundCategory.BLOCKS,
-                1.0f,
-                1.2f
-            );
-        } else if (newDamage > currentDamage) {
-            // Update damage state
-            world.setBlockState(pos, state.with(DAMAGE_COUNT, Math.min(newDamage, 15)));
-        }
+    @Override
+    public void playBreakSound(ServerWorld world, BlockPos pos) {
+        world.playSound(
+            null,
+            pos,
+            SoundEvents.BLOCK_ANVIL_BREAK,
+            SoundCategory.BLOCKS,
+            1.0f,
+            1.2f
+        );
     }
 
     @Override
     protected void onBlockAdded(BlockState state, World world, BlockPos pos, BlockState oldState, boolean notify) {
-        if (!world.isClient() && !state.isOf(oldState.getBlock())) {
-            // Schedule tick to calculate initial power state
-            world.scheduleBlockTick(pos, this, 1);
+        if (world instanceof ServerWorld serverWorld && !state.isOf(oldState.getBlock())) {
+            // Join neighbouring networks and take on their power state
+            FenceNetworkManager.get(serverWorld).onFencePlaced(pos);
         }
     }
 }
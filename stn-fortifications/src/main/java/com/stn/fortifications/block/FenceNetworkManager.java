@@ -0,0 +1,439 @@
+package com.stn.fortifications.block;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connected electric fence networks for one world.
+ *
+ * Fences are grouped into disjoint sets keyed by packed BlockPos longs. Sets
+ * are kept flat: every fence maps straight to its network id, and merging two
+ * networks relabels the smaller one, so lookups are O(1) and each fence is
+ * relabelled at most O(log n) times. Each network counts the fences that
+ * receive redstone power directly; the network is powered while that count
+ * is above zero.
+ *
+ * Placing a fence and redstone changes update the networks incrementally.
+ * Breaking a fence only rebuilds its network when a split is possible (the
+ * fence joined two or more others). Networks are discovered lazily by a
+ * flood fill the first time a fence is queried, so nothing is saved.
+ *
+ * Only loaded chunks are ever read: an unloaded chunk is a network boundary,
+ * and a network is forgotten as soon as one of its chunks unloads. It is
+ * rediscovered the next time one of its fences is queried.
+ */
+public class FenceNetworkManager {
+
+    private static final Map<RegistryKey<World>, FenceNetworkManager> MANAGERS = new ConcurrentHashMap<>();
+
+    private static final int NONE = -1;
+
+    private static class Network {
+        final LongOpenHashSet members = new LongOpenHashSet();
+        int poweredCount = 0;
+
+        boolean isPowered() {
+            return poweredCount > 0;
+        }
+    }
+
+    /**
+     * The blocks a manager reads and writes. Package-private so the network
+     * logic can be exercised without a server world.
+     */
+    interface FenceWorld {
+        boolean isLoaded(long packed);
+
+        boolean isFence(long packed);
+
+        boolean isReceivingPower(long packed);
+
+        // Set a fence's POWERED state; returns whether it changed
+        boolean setPowered(long packed, boolean powered);
+
+        void playPowerOnSound(long packed);
+    }
+
+    private final FenceWorld world;
+
+    private final Long2IntOpenHashMap networkOf = new Long2IntOpenHashMap();
+    private final Int2ObjectOpenHashMap<Network> networks = new Int2ObjectOpenHashMap<>();
+    // Fences that receive redstone power themselves
+    private final LongOpenHashSet directlyPowered = new LongOpenHashSet();
+    // Chunk -> tracked fences in it, for eviction on unload
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> fencesByChunk = new Long2ObjectOpenHashMap<>();
+    private int nextId = 0;
+
+    FenceNetworkManager(FenceWorld world) {
+        this.world = world;
+        networkOf.defaultReturnValue(NONE);
+    }
+
+    public static FenceNetworkManager get(ServerWorld world) {
+        return MANAGERS.computeIfAbsent(world.getRegistryKey(), k -> new FenceNetworkManager(new ServerFenceWorld(world)));
+    }
+
+    /**
+     * Register lifecycle hooks. Called once from the mod initializer.
+     */
+    public static void init() {
+        ServerWorldEvents.UNLOAD.register((server, world) -> MANAGERS.remove(world.getRegistryKey()));
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            FenceNetworkManager manager = MANAGERS.get(world.getRegistryKey());
+            if (manager != null) {
+                manager.onChunkUnloaded(chunk.getPos().toLong());
+            }
+        });
+    }
+
+    /**
+     * Whether the fence at a position is part of a powered network.
+     */
+    public boolean isPowered(BlockPos pos) {
+        return isPowered(pos.asLong());
+    }
+
+    boolean isPowered(long packed) {
+        int id = ensureTracked(packed);
+        return id != NONE && networks.get(id).isPowered();
+    }
+
+    /**
+     * A fence was placed: join it with any neighbouring networks.
+     */
+    public void onFencePlaced(BlockPos pos) {
+        onFencePlaced(pos.asLong());
+    }
+
+    void onFencePlaced(long packed) {
+        if (networkOf.containsKey(packed)) {
+            return;
+        }
+
+        int id = createNetwork();
+        addMember(id, packed, world.isReceivingPower(packed));
+
+        for (Direction dir : Direction.Type.HORIZONTAL) {
+            int neighborId = ensureTracked(BlockPos.offset(packed, dir));
+            if (neighborId != NONE) {
+                id = union(id, neighborId);
+            }
+        }
+
+        syncStates(id);
+    }
+
+    /**
+     * A fence was removed: drop it, and rebuild its network if removing it
+     * may have split the network in two.
+     */
+    public void onFenceRemoved(BlockPos pos) {
+        onFenceRemoved(pos.asLong());
+    }
+
+    void onFenceRemoved(long packed) {
+        int id = networkOf.get(packed);
+        if (id == NONE) {
+            return;
+        }
+
+        Network network = networks.get(id);
+        removeMember(network, packed);
+
+        int connections = 0;
+        for (Direction dir : Direction.Type.HORIZONTAL) {
+            if (networkOf.get(BlockPos.offset(packed, dir)) == id) {
+                connections++;
+            }
+        }
+
+        if (network.members.isEmpty()) {
+            networks.remove(id);
+        } else if (connections < 2) {
+            // An end of the chain - the rest stays connected
+            syncStates(id);
+        } else {
+            rebuild(id);
+        }
+    }
+
+    /**
+     * Re-read whether a fence receives redstone power directly.
+     */
+    public void onPowerChanged(BlockPos pos) {
+        onPowerChanged(pos.asLong());
+    }
+
+    void onPowerChanged(long packed) {
+        int id = ensureTracked(packed);
+        if (id == NONE) {
+            return;
+        }
+
+        boolean receiving = world.isReceivingPower(packed);
+        if (receiving == directlyPowered.contains(packed)) {
+            return;
+        }
+
+        Network network = networks.get(id);
+        boolean wasPowered = network.isPowered();
+        if (receiving) {
+            directlyPowered.add(packed);
+            network.poweredCount++;
+        } else {
+            directlyPowered.remove(packed);
+            network.poweredCount--;
+        }
+
+        if (network.isPowered() != wasPowered) {
+            syncStates(id);
+        }
+    }
+
+    /**
+     * A chunk unloaded: forget every network with a fence in it, since its
+     * power count can no longer be kept up to date.
+     */
+    void onChunkUnloaded(long chunkPos) {
+        LongOpenHashSet fences = fencesByChunk.get(chunkPos);
+        if (fences == null) {
+            return;
+        }
+
+        IntOpenHashSet stale = new IntOpenHashSet();
+        for (LongIterator it = fences.iterator(); it.hasNext(); ) {
+            stale.add(networkOf.get(it.nextLong()));
+        }
+        for (int id : stale) {
+            Network network = networks.remove(id);
+            for (LongIterator it = network.members.iterator(); it.hasNext(); ) {
+                untrack(it.nextLong());
+            }
+        }
+    }
+
+    public int getNetworkCount() {
+        return networks.size();
+    }
+
+    public int getTrackedFenceCount() {
+        return networkOf.size();
+    }
+
+    // Look up a position's network, discovering it if the fence is not tracked yet
+    private int ensureTracked(long packed) {
+        int id = networkOf.get(packed);
+        if (id != NONE) {
+            return id;
+        }
+        if (!isFence(packed)) {
+            return NONE;
+        }
+        return discover(packed);
+    }
+
+    // Flood fill the untracked fences connected to a position into a new network,
+    // stopping at unloaded chunks and joining any tracked network it touches
+    private int discover(long start) {
+        int id = createNetwork();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        LongArrayList touched = new LongArrayList();
+        queue.enqueue(start);
+        addMember(id, start, world.isReceivingPower(start));
+
+        while (!queue.isEmpty()) {
+            long packed = queue.dequeueLong();
+            for (Direction dir : Direction.Type.HORIZONTAL) {
+                long neighbor = BlockPos.offset(packed, dir);
+                int neighborId = networkOf.get(neighbor);
+                if (neighborId == NONE) {
+                    if (isFence(neighbor)) {
+                        addMember(id, neighbor, world.isReceivingPower(neighbor));
+                        queue.enqueue(neighbor);
+                    }
+                } else if (neighborId != id) {
+                    // Tracked before a chunk between them loaded
+                    touched.add(neighbor);
+                }
+            }
+        }
+
+        if (!touched.isEmpty()) {
+            for (int i = 0; i < touched.size(); i++) {
+                id = union(id, networkOf.get(touched.getLong(i)));
+            }
+            syncStates(id);
+        }
+        return id;
+    }
+
+    // Split a network back into its connected parts
+    private void rebuild(int id) {
+        Network old = networks.remove(id);
+        for (LongIterator it = old.members.iterator(); it.hasNext(); ) {
+            untrack(it.nextLong());
+        }
+
+        for (LongIterator it = old.members.iterator(); it.hasNext(); ) {
+            long packed = it.nextLong();
+            if (!networkOf.containsKey(packed) && isFence(packed)) {
+                syncStates(discover(packed));
+            }
+        }
+    }
+
+    // Merge two networks, relabelling the smaller one; returns the surviving id
+    private int union(int a, int b) {
+        if (a == b) {
+            return a;
+        }
+
+        Network first = networks.get(a);
+        Network second = networks.get(b);
+        if (first.members.size() < second.members.size()) {
+            return union(b, a);
+        }
+
+        for (LongIterator it = second.members.iterator(); it.hasNext(); ) {
+            long packed = it.nextLong();
+            networkOf.put(packed, a);
+            first.members.add(packed);
+        }
+        first.poweredCount += second.poweredCount;
+        networks.remove(b);
+        return a;
+    }
+
+    private int createNetwork() {
+        int id = nextId++;
+        networks.put(id, new Network());
+        return id;
+    }
+
+    private void addMember(int id, long packed, boolean receivingPower) {
+        Network network = networks.get(id);
+        networkOf.put(packed, id);
+        network.members.add(packed);
+        if (receivingPower && directlyPowered.add(packed)) {
+            network.poweredCount++;
+        }
+        fencesByChunk.computeIfAbsent(chunkOf(packed), k -> new LongOpenHashSet()).add(packed);
+    }
+
+    private void removeMember(Network network, long packed) {
+        network.members.remove(packed);
+        if (directlyPowered.contains(packed)) {
+            network.poweredCount--;
+        }
+        untrack(packed);
+    }
+
+    // Forget a fence's network, power and chunk entries (not its network's member set)
+    private void untrack(long packed) {
+        networkOf.remove(packed);
+        directlyPowered.remove(packed);
+        long chunk = chunkOf(packed);
+        LongOpenHashSet fences = fencesByChunk.get(chunk);
+        if (fences != null && fences.remove(packed) && fences.isEmpty()) {
+            fencesByChunk.remove(chunk);
+        }
+    }
+
+    // Bring every fence's POWERED state in line with its network
+    private void syncStates(int id) {
+        Network network = networks.get(id);
+        boolean powered = network.isPowered();
+        long firstChanged = 0L;
+        boolean changed = false;
+
+        for (LongIterator it = network.members.iterator(); it.hasNext(); ) {
+            long packed = it.nextLong();
+            // Never load a chunk just to update a fence in it
+            if (world.isLoaded(packed) && world.setPowered(packed, powered) && !changed) {
+                firstChanged = packed;
+                changed = true;
+            }
+        }
+
+        // One hum per network rather than one per fence
+        if (powered && changed) {
+            world.playPowerOnSound(firstChanged);
+        }
+    }
+
+    private boolean isFence(long packed) {
+        return world.isLoaded(packed) && world.isFence(packed);
+    }
+
+    private static long chunkOf(long packed) {
+        return ChunkPos.toLong(
+            ChunkSectionPos.getSectionCoord(BlockPos.unpackLongX(packed)),
+            ChunkSectionPos.getSectionCoord(BlockPos.unpackLongZ(packed))
+        );
+    }
+
+    private static final class ServerFenceWorld implements FenceWorld {
+        private final ServerWorld world;
+        private final BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        ServerFenceWorld(ServerWorld world) {
+            this.world = world;
+        }
+
+        @Override
+        public boolean isLoaded(long packed) {
+            return world.isChunkLoaded(
+                ChunkSectionPos.getSectionCoord(BlockPos.unpackLongX(packed)),
+                ChunkSectionPos.getSectionCoord(BlockPos.unpackLongZ(packed))
+            );
+        }
+
+        @Override
+        public boolean isFence(long packed) {
+            return world.getBlockState(pos.set(packed)).getBlock() instanceof ElectricFenceBlock;
+        }
+
+        @Override
+        public boolean isReceivingPower(long packed) {
+            return world.isReceivingRedstonePower(pos.set(packed));
+        }
+
+        @Override
+        public boolean setPowered(long packed, boolean powered) {
+            BlockState state = world.getBlockState(pos.set(packed));
+            if (!(state.getBlock() instanceof ElectricFenceBlock) || state.get(ElectricFenceBlock.POWERED) == powered) {
+                return false;
+            }
+            // Power does not change the fence's connections, so neighbours need no update
+            world.setBlockState(pos, state.with(ElectricFenceBlock.POWERED, powered), Block.NOTIFY_LISTENERS);
+            return true;
+        }
+
+        @Override
+        public void playPowerOnSound(long packed) {
+            world.playSound(null, BlockPos.fromLong(packed), SoundEvents.BLOCK_BEACON_ACTIVATE, SoundCategory.BLOCKS, 0.3f, 2.0f);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ShapeContext;
 import net.minecraft.block.Waterloggable;
-import net.minecraft.entity.mob.HostileEntity;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.fluid.Fluids;
 import net.minecraft.item.ItemPlacementContext;
@@ -27,12 +26,11 @@ import net.minecraft.world.World;
 import net.minecraft.world.WorldView;
 import net.minecraft.world.tick.ScheduledTickView;
 
-import java.util.List;
-
 /**
  * Wall-mounted motion sensor that detects hostile mobs.
  * Outputs redstone signal when hostile entities are detected in front of it.
  * Detection range: 8 blocks in facing direction.
+ * Scanning is shared between sensors through {@link SensorRegistry}.
  */
 public class MotionSensorBlock extends Block implements Waterloggable {
 
@@ -43,7 +41,6 @@ public class MotionSensorBlock extends Block implements Waterloggable {
     private static final int DETECTION_RANGE = 8;
     private static final int DETECTION_WIDTH = 4;
     private static final int DETECTION_HEIGHT = 3;
-    private static final int SCAN_INTERVAL = 10; // ticks (0.5 seconds)
 
     // Wall-mounted shapes (2 pixels thick)
     private static final VoxelShape NORTH_SHAPE = Block.createCuboidShape(4, 4, 14, 12, 12, 16);
@@ -130,42 +127,42 @@ public class MotionSensorBlock extends Block implements Waterloggable {
 
     @Override
     protected void onBlockAdded(BlockState state, World world, BlockPos pos, BlockState oldState, boolean notify) {
-        if (!world.isClient() && !state.isOf(oldState.getBlock())) {
-            // Start scanning for mobs
-            world.scheduleBlockTick(pos, this, SCAN_INTERVAL);
+        if (world instanceof ServerWorld serverWorld && !state.isOf(oldState.getBlock())) {
+            // Start scanning for mobs; the registry picks it up again whenever its chunk loads
+            SensorRegistry.get(serverWorld).register(pos, getDetectionBox(pos, state.get(FACING)));
         }
     }
 
     @Override
-    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        // Scan for hostile mobs
-        boolean detected = detectHostileMobs(world, pos, state.get(FACING));
-        boolean currentlyPowered = state.get(POWERED);
-
-        if (detected != currentlyPowered) {
-            world.setBlockState(pos, state.with(POWERED, detected), Block.NOTIFY_ALL);
+    protected void onStateReplaced(BlockState state, ServerWorld world, BlockPos pos, boolean moved) {
+        if (!state.isOf(world.getBlockState(pos).getBlock())) {
+            SensorRegistry.get(world).unregister(pos);
+        }
+        super.onStateReplaced(state, world, pos, moved);
+    }
 
-            // Play sound on detection
-            if (detected) {
-                world.playSound(null, pos, SoundEvents.BLOCK_NOTE_BLOCK_BELL.value(),
-                    SoundCategory.BLOCKS, 0.5f, 2.0f);
+    /**
+     * Apply a changed scan result from the sensor registry.
+     */
+    void setDetected(ServerWorld world, BlockPos pos, BlockState state, boolean detected) {
+        world.setBlockState(pos, state.with(POWERED, detected), Block.NOTIFY_ALL);
 
-                // Spawn particles
-                spawnDetectionParticles(world, pos, state.get(FACING));
-            }
+        // Play sound on detection
+        if (detected) {
+            world.playSound(null, pos, SoundEvents.BLOCK_NOTE_BLOCK_BELL.value(),
+                SoundCategory.BLOCKS, 0.5f, 2.0f);
 
-            // Notify neighbors of redstone change
-            world.updateNeighbors(pos, this);
-            world.updateNeighbors(pos.offset(state.get(FACING).getOpposite()), this);
+            // Spawn particles
+            spawnDetectionParticles(world, pos, state.get(FACING));
         }
 
-        // Schedule next scan
-        world.scheduleBlockTick(pos, this, SCAN_INTERVAL);
+        // Notify neighbors of redstone change
+        world.updateNeighbors(pos, this);
+        world.updateNeighbors(pos.offset(state.get(FACING).getOpposite()), this);
     }
 
-    private boolean detectHostileMobs(ServerWorld world, BlockPos pos, Direction facing) {
+    static Box getDetectionBox(BlockPos pos, Direction facing) {
         Vec3d sensorPos = Vec3d.ofCenter(pos);
-        Vec3d facingVec = Vec3d.of(facing.getVector());
 
         // Create detection box in front of sensor
         // Box extends DETECTION_RANGE blocks forward, DETECTION_WIDTH blocks to each side
@@ -193,26 +190,15 @@ public class MotionSensorBlock extends Block implements Waterloggable {
                 minZ = sensorPos.z - DETECTION_WIDTH;
                 maxZ = sensorPos.z + DETECTION_WIDTH;
             }
-            case WEST -> {
+            default -> {
                 minX = sensorPos.x - DETECTION_RANGE;
                 maxX = sensorPos.x;
                 minZ = sensorPos.z - DETECTION_WIDTH;
                 maxZ = sensorPos.z + DETECTION_WIDTH;
             }
-            default -> {
-                return false;
-            }
         }
 
-        Box detectionArea = new Box(minX, minY, minZ, maxX, maxY, maxZ);
-
-        List<HostileEntity> mobs = world.getEntitiesByClass(
-            HostileEntity.class,
-            detectionArea,
-            entity -> !entity.isSpectator() && entity.isAlive()
-        );
-
-        return !mobs.isEmpty();
+        return new Box(minX, minY, minZ, maxX, maxY, maxZ);
     }
 
     private void spawnDetectionParticles(ServerWorld world, BlockPos pos, Direction facing) {
@@ -1,8 +1,10 @@
 package com.stn.fortifications.block;
 
+import com.stn.core.api.BlockBreakTable;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.Registries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.BlockView;
 
@@ -39,6 +41,28 @@ public class ReinforcedBlock extends Block {
         return this.getBlastResistance() / 6.0f;
     }
 
+    /**
+     * Write this block's zombie break rules into the mob block break table.
+     * Zombie-proof variants are never targeted; others keep the flags the
+     * base rules gave them.
+     */
+    public void contributeBreakRules(BlockBreakTable.Writer writer) {
+        if (zombieProof) {
+            writer.markUnbreakable(this);
+        }
+    }
+
+    /**
+     * Break table contributor for every registered reinforced block.
+     */
+    public static void contributeAllBreakRules(BlockBreakTable.Writer writer) {
+        for (Block block : Registries.BLOCK) {
+            if (block instanceof ReinforcedBlock reinforced) {
+                reinforced.contributeBreakRules(writer);
+            }
+        }
+    }
+
     @Override
     public float calcBlockBreakingDelta(BlockState state, PlayerEntity player, BlockView world, BlockPos pos) {
         // Players can still break reinforced blocks normally
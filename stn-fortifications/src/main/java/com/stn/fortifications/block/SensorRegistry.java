@@ -0,0 +1,284 @@
+package com.stn.fortifications.block;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.mob.HostileEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Motion sensors registered in one world, scanned together.
+ *
+ * Detection boxes that overlap or sit close together are merged into a few
+ * query boxes. Every scan interval the registry asks the world for hostiles
+ * in each query box, which only visits the entity sections it covers, and
+ * buckets them into a spatial hash of 8-block cells. Each sensor then tests
+ * the few cells its detection box overlaps. Only sensors whose detection
+ * result changed get a block state and redstone update.
+ *
+ * Sensors register when placed and when their chunk loads, and drop out when
+ * it unloads, so they need no block ticks of their own.
+ */
+public class SensorRegistry {
+
+    public static final int SCAN_INTERVAL = 10; // ticks (0.5 seconds)
+
+    private static final int CELL_SHIFT = 3;
+    private static final double MERGE_MARGIN = 8.0; // Merge query boxes closer than this
+
+    private static final Map<RegistryKey<World>, SensorRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * The world as the scan sees it.
+     */
+    interface SensorWorld {
+        /**
+         * Bounding boxes of live, non-spectator hostiles inside an area.
+         */
+        void forEachHostile(Box area, Consumer<Box> boundingBoxes);
+
+        /**
+         * Apply a scan result to the sensor at a position, if it changed.
+         * @return false if the block there is no longer a sensor
+         */
+        boolean applyResult(BlockPos pos, boolean detected);
+    }
+
+    private final SensorWorld world;
+
+    // Sensor position -> detection box
+    private final Long2ObjectOpenHashMap<Box> sensors = new Long2ObjectOpenHashMap<>();
+    // Merged detection boxes queried each scan (rebuilt when sensors change)
+    private final List<Box> queryBoxes = new ArrayList<>();
+    private boolean queryBoxesDirty = false;
+
+    // Bounding boxes of the hostiles found in the query boxes during the current scan
+    private final Long2ObjectOpenHashMap<List<Box>> hostilesByCell = new Long2ObjectOpenHashMap<>();
+
+    private SensorRegistry(ServerWorld world) {
+        this(new SensorWorld() {
+            @Override
+            public void forEachHostile(Box area, Consumer<Box> boundingBoxes) {
+                for (HostileEntity hostile : world.getEntitiesByClass(HostileEntity.class, area,
+                        hostile -> !hostile.isSpectator() && hostile.isAlive())) {
+                    boundingBoxes.accept(hostile.getBoundingBox());
+                }
+            }
+
+            @Override
+            public boolean applyResult(BlockPos pos, boolean detected) {
+                BlockState state = world.getBlockState(pos);
+                if (!(state.getBlock() instanceof MotionSensorBlock sensor)) {
+                    return false;
+                }
+                if (detected != state.get(MotionSensorBlock.POWERED)) {
+                    sensor.setDetected(world, pos.toImmutable(), state, detected);
+                }
+                return true;
+            }
+        });
+    }
+
+    SensorRegistry(SensorWorld world) {
+        this.world = world;
+    }
+
+    public static SensorRegistry get(ServerWorld world) {
+        return REGISTRIES.computeIfAbsent(world.getRegistryKey(), k -> new SensorRegistry(world));
+    }
+
+    /**
+     * Register tick and lifecycle hooks. Called once from the mod initializer.
+     */
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            SensorRegistry registry = REGISTRIES.get(world.getRegistryKey());
+            if (registry != null && world.getTime() % SCAN_INTERVAL == 0) {
+                registry.scan();
+            }
+        });
+
+        // Sensors placed before this session or before the chunk last unloaded
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> get(world).onChunkLoad(chunk));
+
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            SensorRegistry registry = REGISTRIES.get(world.getRegistryKey());
+            if (registry != null) {
+                registry.onChunkUnload(chunk.getPos());
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> REGISTRIES.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Start (or keep) scanning for a sensor. Safe to call repeatedly.
+     */
+    public void register(BlockPos pos, Box detectionBox) {
+        Box previous = sensors.put(pos.asLong(), detectionBox);
+        if (!detectionBox.equals(previous)) {
+            queryBoxesDirty = true;
+        }
+    }
+
+    public void unregister(BlockPos pos) {
+        if (sensors.remove(pos.asLong()) != null) {
+            queryBoxesDirty = true;
+        }
+    }
+
+    public int getSensorCount() {
+        return sensors.size();
+    }
+
+    int getQueryBoxCount() {
+        if (queryBoxesDirty) {
+            rebuildQueryBoxes();
+        }
+        return queryBoxes.size();
+    }
+
+    private static boolean isSensor(BlockState state) {
+        return state.getBlock() instanceof MotionSensorBlock;
+    }
+
+    private void onChunkLoad(WorldChunk chunk) {
+        ChunkSection[] sections = chunk.getSectionArray();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int index = 0; index < sections.length; index++) {
+            ChunkSection section = sections[index];
+            // Palette check first; only sections that may hold a sensor are walked
+            if (section.isEmpty() || !section.hasAny(SensorRegistry::isSensor)) {
+                continue;
+            }
+
+            int baseY = ChunkSectionPos.getBlockCoord(chunk.sectionIndexToCoord(index));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        BlockState state = section.getBlockState(x, y, z);
+                        if (isSensor(state)) {
+                            pos.set(chunk.getPos().getStartX() + x, baseY + y, chunk.getPos().getStartZ() + z);
+                            register(pos, MotionSensorBlock.getDetectionBox(pos, state.get(MotionSensorBlock.FACING)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    void onChunkUnload(ChunkPos chunkPos) {
+        if (sensors.isEmpty()) {
+            return;
+        }
+        // Sensors register again when the chunk loads
+        if (sensors.keySet().removeIf(packed -> BlockPos.unpackLongX(packed) >> 4 == chunkPos.x
+                && BlockPos.unpackLongZ(packed) >> 4 == chunkPos.z)) {
+            queryBoxesDirty = true;
+        }
+    }
+
+    void scan() {
+        if (sensors.isEmpty()) {
+            return;
+        }
+        if (queryBoxesDirty) {
+            rebuildQueryBoxes();
+        }
+
+        // One section-backed query per merged box instead of one per sensor
+        hostilesByCell.clear();
+        for (Box queryBox : queryBoxes) {
+            // Bucketed by the entity's position: the bottom centre of its box
+            world.forEachHostile(queryBox, bounds -> hostilesByCell.computeIfAbsent(
+                cellKey((bounds.minX + bounds.maxX) * 0.5, bounds.minY, (bounds.minZ + bounds.maxZ) * 0.5),
+                k -> new ArrayList<>()).add(bounds));
+        }
+
+        // Copy out: updating a sensor can remove it from the registry
+        List<Long2ObjectMap.Entry<Box>> entries = new ArrayList<>(sensors.long2ObjectEntrySet());
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (Long2ObjectMap.Entry<Box> entry : entries) {
+            pos.set(entry.getLongKey());
+            boolean detected = !hostilesByCell.isEmpty() && anyHostileIn(entry.getValue());
+            if (!world.applyResult(pos, detected)) {
+                unregister(pos);
+            }
+        }
+        hostilesByCell.clear();
+    }
+
+    private boolean anyHostileIn(Box box) {
+        // Entities are bucketed by position but detected by bounding box; pad by one cell
+        int minX = cell(box.minX) - 1, maxX = cell(box.maxX) + 1;
+        int minY = cell(box.minY) - 1, maxY = cell(box.maxY) + 1;
+        int minZ = cell(box.minZ) - 1, maxZ = cell(box.maxZ) + 1;
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    List<Box> hostiles = hostilesByCell.get(BlockPos.asLong(x, y, z));
+                    if (hostiles == null) {
+                        continue;
+                    }
+                    for (Box hostile : hostiles) {
+                        if (hostile.intersects(box)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void rebuildQueryBoxes() {
+        List<Box> merged = new ArrayList<>(sensors.values());
+
+        // Union boxes within the margin of each other until none are left to merge
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < merged.size(); i++) {
+                Box grown = merged.get(i).expand(MERGE_MARGIN);
+                for (int j = merged.size() - 1; j > i; j--) {
+                    if (grown.intersects(merged.get(j))) {
+                        merged.set(i, merged.get(i).union(merged.remove(j)));
+                        grown = merged.get(i).expand(MERGE_MARGIN);
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        queryBoxes.clear();
+        queryBoxes.addAll(merged);
+        queryBoxesDirty = false;
+    }
+
+    private static int cell(double coordinate) {
+        return MathHelper.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(double x, double y, double z) {
+        return BlockPos.asLong(cell(x), cell(y), cell(z));
+    }
+}
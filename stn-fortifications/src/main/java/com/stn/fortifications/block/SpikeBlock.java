@@ -15,6 +15,7 @@ import net.minecraft.sound.SoundEvents;
 import net.minecraft.state.StateManager;
 import net.minecraft.state.property.IntProperty;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.BlockView;
@@ -24,7 +25,7 @@ import net.minecraft.world.World;
  * Spike block that damages entities walking on it.
  * Inspired by 7 Days to Die's spike traps.
  */
-public class SpikeBlock extends Block {
+public class SpikeBlock extends Block implements TrapDamageAccumulator.Trap {
 
     public static final IntProperty DAMAGE_COUNT = IntProperty.of("damage_count", 0, 15);
 
@@ -67,6 +68,16 @@ public class SpikeBlock extends Block {
                 return;
             }
 
+            // Slow the entity
+            livingEntity.setVelocity(
+                livingEntity.getVelocity().multiply(0.5, 1.0, 0.5)
+            );
+
+            // Damage, effects and degradation are batched per block per tick
+            if (!TrapDamageAccumulator.get(serverWorld).tryHit(pos, this, livingEntity)) {
+                return;
+            }
+
             // Damage the entity
             DamageSource damageSource = serverWorld.getDamageSources().cactus();
 
@@ -77,58 +88,51 @@ public class SpikeBlock extends Block {
             }
 
             livingEntity.damage(serverWorld, damageSource, damage);
+        }
+    }
 
-            // Slow the entity
-            livingEntity.setVelocity(
-                livingEntity.getVelocity().multiply(0.5, 1.0, 0.5)
-            );
-
-            // Visual effects
-            serverWorld.spawnParticles(
-                ParticleTypes.DAMAGE_INDICATOR,
-                entity.getX(),
-                entity.getY() + 0.5,
-                entity.getZ(),
-                3,
-                0.2, 0.2, 0.2,
-                0.1
-            );
+    @Override
+    public IntProperty getDamageCountProperty() {
+        return DAMAGE_COUNT;
+    }
 
-            world.playSound(
-                null,
-                pos,
-                SoundEvents.ENTITY_PLAYER_HURT,
-                SoundCategory.BLOCKS,
-                0.5f,
-                1.0f
-            );
+    @Override
+    public int getDamagePerHit() {
+        return Math.max(1, 16 / (maxDurability / 50));
+    }
 
-            // Degrade the spike block
-            degradeSpike(world, pos, state);
-        }
+    @Override
+    public void spawnHitEffects(ServerWorld world, BlockPos pos, Vec3d center, int hits, int particles) {
+        world.spawnParticles(
+            ParticleTypes.DAMAGE_INDICATOR,
+            center.x,
+            center.y,
+            center.z,
+            particles,
+            0.2 + 0.1 * Math.min(hits, 4), 0.2, 0.2 + 0.1 * Math.min(hits, 4),
+            0.1
+        );
+
+        world.playSound(
+            null,
+            pos,
+            SoundEvents.ENTITY_PLAYER_HURT,
+            SoundCategory.BLOCKS,
+            0.5f,
+            1.0f
+        );
     }
 
-    private void degradeSpike(World world, BlockPos pos, BlockState state) {
-        int currentDamage = state.get(DAMAGE_COUNT);
-        int damagePerHit = Math.max(1, 16 / (maxDurability / 50));
-
-        int newDamage = currentDamage + damagePerHit;
-
-        if (newDamage >= 15) {
-            // Spike is destroyed
-            world.breakBlock(pos, false);
-            world.playSound(
-                null,
-                pos,
-                SoundEvents.BLOCK_WOOD_BREAK,
-                SoundCategory.BLOCKS,
-                1.0f,
-                1.0f
-            );
-        } else if (newDamage > currentDamage) {
-            // Update damage state
-            world.setBlockState(pos, state.with(DAMAGE_COUNT, Math.min(newDamage, 15)));
-        }
+    @Override
+    public void playBreakSound(ServerWorld world, BlockPos pos) {
+        world.playSound(
+            null,
+            pos,
+            SoundEvents.BLOCK_WOOD_BREAK,
+            SoundCategory.BLOCKS,
+            1.0f,
+            1.0f
+        );
     }
 
 }
@@ -0,0 +1,205 @@
+package com.stn.fortifications.block;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.state.property.IntProperty;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Gathers trap collisions for one world during a tick.
+ *
+ * Each entity can be hit by a given trap block type once per cooldown. Hits
+ * on a block are counted through the tick and applied at the end of it: the
+ * block's DAMAGE_COUNT is written (or the block broken) once, and one particle
+ * burst plus sound is sent for all the entities it hit. Effects are scaled
+ * down with distance to the nearest player and skipped when nobody is close
+ * enough to see them.
+ */
+public class TrapDamageAccumulator {
+
+    /**
+     * A block that degrades as it hurts entities.
+     */
+    public interface Trap {
+        IntProperty getDamageCountProperty();
+
+        /**
+         * DAMAGE_COUNT added per hit.
+         */
+        int getDamagePerHit();
+
+        /**
+         * Spawn the combined hit effects for a tick.
+         * @param center average position of the entities hit
+         * @param particles particle budget for the burst (at least 1)
+         */
+        void spawnHitEffects(ServerWorld world, BlockPos pos, Vec3d center, int hits, int particles);
+
+        void playBreakSound(ServerWorld world, BlockPos pos);
+    }
+
+    public static final int HIT_COOLDOWN_TICKS = 10; // Matches vanilla hurt invulnerability
+    private static final int MAX_DAMAGE_COUNT = 15;
+
+    private static final double FULL_EFFECTS_RANGE = 16.0;
+    private static final double EFFECTS_RANGE = 48.0;
+    private static final int MAX_PARTICLES_PER_BURST = 20;
+    private static final int COOLDOWN_PRUNE_INTERVAL = 200;
+
+    private static final Map<RegistryKey<World>, TrapDamageAccumulator> ACCUMULATORS = new ConcurrentHashMap<>();
+
+    private static class PendingHits {
+        final Block block;
+        int hits = 0;
+        double sumX, sumY, sumZ;
+
+        PendingHits(Block block) {
+            this.block = block;
+        }
+    }
+
+    /**
+     * Receives each block's hits for the tick at flush.
+     */
+    interface HitSink {
+        void apply(BlockPos pos, Block block, int hits, Vec3d center);
+    }
+
+    private final ServerWorld world;
+    private final LongSupplier clock;
+
+    private final Long2ObjectOpenHashMap<PendingHits> pending = new Long2ObjectOpenHashMap<>();
+    // Per trap block type: entity id -> first tick it can be hit again
+    private final Map<Block, Int2LongOpenHashMap> cooldowns = new IdentityHashMap<>();
+
+    private TrapDamageAccumulator(ServerWorld world) {
+        this.world = world;
+        this.clock = world::getTime;
+    }
+
+    // Without a world: hits are only handed to the sink given to flush
+    TrapDamageAccumulator(LongSupplier clock) {
+        this.world = null;
+        this.clock = clock;
+    }
+
+    public static TrapDamageAccumulator get(ServerWorld world) {
+        return ACCUMULATORS.computeIfAbsent(world.getRegistryKey(), k -> new TrapDamageAccumulator(world));
+    }
+
+    /**
+     * Register tick and lifecycle hooks. Called once from the mod initializer.
+     */
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            TrapDamageAccumulator accumulator = ACCUMULATORS.get(world.getRegistryKey());
+            if (accumulator != null) {
+                accumulator.flush();
+            }
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> ACCUMULATORS.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Claim a hit of an entity by a trap block. Returns false while the
+     * entity is still on cooldown for this trap type; otherwise starts the
+     * cooldown and counts the hit toward the block's end-of-tick update.
+     */
+    public boolean tryHit(BlockPos pos, Block trap, LivingEntity entity) {
+        return tryHit(pos, trap, entity.getId(), entity.getX(), entity.getY() + entity.getHeight() * 0.5, entity.getZ());
+    }
+
+    // The hit centre is the entity's middle, not its feet
+    boolean tryHit(BlockPos pos, Block trap, int entityId, double x, double centerY, double z) {
+        long now = clock.getAsLong();
+        Int2LongOpenHashMap trapCooldowns = cooldowns.computeIfAbsent(trap, k -> new Int2LongOpenHashMap());
+        if (trapCooldowns.get(entityId) > now) {
+            return false;
+        }
+        trapCooldowns.put(entityId, now + HIT_COOLDOWN_TICKS);
+
+        PendingHits hits = pending.computeIfAbsent(pos.asLong(), k -> new PendingHits(trap));
+        hits.hits++;
+        hits.sumX += x;
+        hits.sumY += centerY;
+        hits.sumZ += z;
+        return true;
+    }
+
+    private void flush() {
+        flush(this::apply);
+    }
+
+    void flush(HitSink sink) {
+        if (!pending.isEmpty()) {
+            BlockPos.Mutable pos = new BlockPos.Mutable();
+            for (Long2ObjectMap.Entry<PendingHits> entry : pending.long2ObjectEntrySet()) {
+                PendingHits hits = entry.getValue();
+                pos.set(entry.getLongKey());
+                sink.apply(pos.toImmutable(), hits.block, hits.hits,
+                    new Vec3d(hits.sumX / hits.hits, hits.sumY / hits.hits, hits.sumZ / hits.hits));
+            }
+            pending.clear();
+        }
+
+        long now = clock.getAsLong();
+        if (now % COOLDOWN_PRUNE_INTERVAL == 0) {
+            for (Int2LongOpenHashMap trapCooldowns : cooldowns.values()) {
+                trapCooldowns.values().removeIf(until -> until <= now);
+            }
+        }
+    }
+
+    private void apply(BlockPos pos, Block block, int hits, Vec3d center) {
+        BlockState state = world.getBlockState(pos);
+        if (state.getBlock() != block || !(block instanceof Trap trap)) {
+            return;  // Broken or replaced during the tick
+        }
+
+        int particles = getParticleBudget(center, hits);
+        if (particles > 0) {
+            trap.spawnHitEffects(world, pos, center, hits, particles);
+        }
+
+        IntProperty damageCount = trap.getDamageCountProperty();
+        int currentDamage = state.get(damageCount);
+        int newDamage = currentDamage + trap.getDamagePerHit() * hits;
+
+        if (newDamage >= MAX_DAMAGE_COUNT) {
+            world.breakBlock(pos, false);
+            trap.playBreakSound(world, pos);
+        } else if (newDamage > currentDamage) {
+            world.setBlockState(pos, state.with(damageCount, newDamage));
+        }
+    }
+
+    // Full burst for nearby players, a thinner one further out, nothing out of range
+    private int getParticleBudget(Vec3d center, int hits) {
+        PlayerEntity observer = world.getClosestPlayer(center.x, center.y, center.z, EFFECTS_RANGE, false);
+        if (observer == null) {
+            return 0;
+        }
+
+        int budget = Math.min(MAX_PARTICLES_PER_BURST, hits * 3);
+        if (observer.squaredDistanceTo(center) > FULL_EFFECTS_RANGE * FULL_EFFECTS_RANGE) {
+            budget /= 4;
+        }
+        return Math.max(1, budget);
+    }
+}
@@ -0,0 +1,223 @@
+package com.stn.fortifications.durability;
+
+import com.stn.core.api.STNEvents;
+import com.stn.fortifications.STNFortifications;
+import com.stn.fortifications.network.FortificationsNetworking;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks durability of player-placed blocks that mobs attack.
+ *
+ * Durability lives in a {@link ChunkDurability} attachment on each chunk, so it
+ * is saved with the chunk and unloaded with it. Chunks without tracked blocks
+ * carry no attachment at all. Queries against unloaded chunks treat the block
+ * as untracked. An entry is dropped as soon as a different block replaces the
+ * tracked one, whatever replaced it, so a new block never inherits old damage.
+ */
+public class BlockDurabilityManager {
+
+    public static final AttachmentType<ChunkDurability> CHUNK_DURABILITY = AttachmentRegistry.create(
+        Identifier.of(STNFortifications.MOD_ID, "block_durability"),
+        builder -> builder.persistent(ChunkDurability.CODEC)
+    );
+
+    private static final Map<RegistryKey<World>, BlockDurabilityManager> MANAGERS = new ConcurrentHashMap<>();
+
+    private final ServerWorld world;
+
+    private BlockDurabilityManager(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static BlockDurabilityManager get(ServerWorld world) {
+        return MANAGERS.computeIfAbsent(world.getRegistryKey(), k -> new BlockDurabilityManager(world));
+    }
+
+    /**
+     * Register lifecycle hooks. Called once from the mod initializer.
+     */
+    public static void init() {
+        ServerWorldEvents.UNLOAD.register((server, world) -> MANAGERS.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Called after every block state change in a server world. Breaking,
+     * explosions, pistons, fluids and commands all end up here; state-only
+     * changes such as damage stages keep the entry.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        if (oldState.isOf(newState.getBlock())) {
+            return;
+        }
+        get(world).untrackBlock(world, pos);
+    }
+
+    /**
+     * Check if a block is tracked (has a stored durability and still has durability).
+     */
+    public boolean isTracked(World world, BlockPos pos) {
+        return getStoredDurability(world, pos) >= 0 && getMaxDurabilityAt(world, pos) > 0;
+    }
+
+    /**
+     * Start tracking a block at full durability. Does nothing if it is already
+     * tracked or the block has no durability.
+     */
+    public void registerBlock(BlockPos pos, BlockState state) {
+        int max = BlockDurabilityUtil.getMaxDurability(state);
+        if (max <= 0) {
+            return;
+        }
+
+        WorldChunk chunk = world.getWorldChunk(pos);
+        ChunkDurability store = getOrCreateStore(chunk);
+        int sectionIndex = world.getSectionIndex(pos.getY());
+        short local = packLocal(pos);
+
+        if (store.get(sectionIndex, local) < 0) {
+            store.put(sectionIndex, local, max);
+            chunk.markNeedsSaving();
+        }
+    }
+
+    /**
+     * Get the current durability of a block, or -1 if not tracked.
+     */
+    public int getDurability(World world, BlockPos pos) {
+        int stored = getStoredDurability(world, pos);
+        if (stored < 0) {
+            return -1;
+        }
+        // The block may have been swapped for a weaker one since it was tracked
+        return Math.min(stored, getMaxDurabilityAt(world, pos));
+    }
+
+    /**
+     * Get the maximum durability for the block currently at a position.
+     */
+    public int getMaxDurabilityAt(World world, BlockPos pos) {
+        return BlockDurabilityUtil.getMaxDurability(world.getBlockState(pos));
+    }
+
+    /**
+     * Get durability as a fraction of max (0.0 - 1.0), or 1.0 if not tracked.
+     */
+    public float getDurabilityPercent(World world, BlockPos pos) {
+        int max = getMaxDurabilityAt(world, pos);
+        int current = getDurability(world, pos);
+        if (current < 0 || max <= 0) {
+            return 1.0f;
+        }
+        return (float) current / max;
+    }
+
+    /**
+     * Damage a tracked block.
+     * @return true if durability reached 0 and the block should break
+     */
+    public boolean damageBlock(World world, BlockPos pos, int damage) {
+        int current = getDurability(world, pos);
+        if (current < 0) {
+            return false;
+        }
+
+        int remaining = Math.max(0, current - damage);
+        if (remaining == 0) {
+            untrackBlock(world, pos);
+            if (world instanceof ServerWorld serverWorld) {
+                STNEvents.BLOCK_DESTROYED.invoker().onBlockDestroyed(serverWorld, pos);
+            }
+            return true;
+        }
+
+        setDurability(world, pos, remaining);
+        if (world instanceof ServerWorld serverWorld) {
+            STNEvents.BLOCK_DAMAGED.invoker().onBlockDamaged(serverWorld, pos, damage, remaining);
+        }
+        return false;
+    }
+
+    /**
+     * Repair a tracked block by up to the given amount.
+     * @return the amount actually repaired
+     */
+    public int repairBlockAmount(World world, BlockPos pos, int amount) {
+        int current = getDurability(world, pos);
+        int max = getMaxDurabilityAt(world, pos);
+        if (current < 0 || current >= max || amount <= 0) {
+            return 0;
+        }
+
+        int repaired = Math.min(amount, max - current);
+        setDurability(world, pos, current + repaired);
+        if (world instanceof ServerWorld serverWorld) {
+            STNEvents.BLOCK_REPAIRED.invoker().onBlockRepaired(serverWorld, pos, repaired, current + repaired);
+            // Keep client HUD caches in step with every repair path
+            FortificationsNetworking.broadcastDurabilityUpdate(serverWorld, pos, current + repaired, max);
+        }
+        return repaired;
+    }
+
+    /**
+     * Stop tracking a block. Removes the chunk attachment once it is empty.
+     */
+    public void untrackBlock(World world, BlockPos pos) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(pos.getX() >> 4, pos.getZ() >> 4);
+        if (chunk == null) {
+            return;
+        }
+
+        ChunkDurability store = chunk.getAttached(CHUNK_DURABILITY);
+        if (store != null && store.remove(world.getSectionIndex(pos.getY()), packLocal(pos))) {
+            if (store.isEmpty()) {
+                chunk.removeAttached(CHUNK_DURABILITY);
+            }
+            chunk.markNeedsSaving();
+        }
+    }
+
+    private void setDurability(World world, BlockPos pos, int durability) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(pos.getX() >> 4, pos.getZ() >> 4);
+        if (chunk == null) {
+            return;
+        }
+
+        getOrCreateStore(chunk).put(world.getSectionIndex(pos.getY()), packLocal(pos), durability);
+        chunk.markNeedsSaving();
+    }
+
+    private int getStoredDurability(World world, BlockPos pos) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(pos.getX() >> 4, pos.getZ() >> 4);
+        if (chunk == null) {
+            return -1;
+        }
+
+        ChunkDurability store = chunk.getAttached(CHUNK_DURABILITY);
+        return store != null ? store.get(world.getSectionIndex(pos.getY()), packLocal(pos)) : -1;
+    }
+
+    private static ChunkDurability getOrCreateStore(WorldChunk chunk) {
+        ChunkDurability store = chunk.getAttached(CHUNK_DURABILITY);
+        if (store == null) {
+            store = new ChunkDurability();
+            chunk.setAttached(CHUNK_DURABILITY, store);
+        }
+        return store;
+    }
+
+    private static short packLocal(BlockPos pos) {
+        return (short) (((pos.getY() & 15) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15));
+    }
+}
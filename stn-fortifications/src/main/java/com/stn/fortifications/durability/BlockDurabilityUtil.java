@@ -0,0 +1,95 @@
+package com.stn.fortifications.durability;
+
+import com.stn.fortifications.registry.STNBlocks;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.StainedGlassPaneBlock;
+import net.minecraft.registry.tag.BlockTags;
+
+/**
+ * Material durability values for player-placed blocks.
+ * Shared by the server durability manager and client HUDs.
+ */
+public class BlockDurabilityUtil {
+
+    /**
+     * Get the maximum durability for a block state.
+     * @return max durability, or 0 if the block does not track durability
+     */
+    public static int getMaxDurability(BlockState state) {
+        if (state.isAir()) {
+            return 0;
+        }
+
+        Block block = state.getBlock();
+
+        // Obsidian
+        if (block == Blocks.OBSIDIAN || block == Blocks.CRYING_OBSIDIAN) {
+            return 5000;
+        }
+
+        // Metal blocks
+        if (block == Blocks.DIAMOND_BLOCK || block == Blocks.NETHERITE_BLOCK) {
+            return 1000;
+        }
+        if (block == Blocks.IRON_BLOCK || block == STNBlocks.REINFORCED_IRON || block == STNBlocks.STEEL_BLOCK) {
+            return 600;
+        }
+
+        // Stone and brick
+        if (state.isIn(BlockTags.BASE_STONE_OVERWORLD) || state.isIn(BlockTags.STONE_BRICKS)
+            || block == Blocks.BRICKS || block == Blocks.SMOOTH_STONE) {
+            return 400;
+        }
+
+        // Cobblestone
+        if (block == Blocks.COBBLESTONE || block == Blocks.MOSSY_COBBLESTONE
+            || block == Blocks.COBBLESTONE_WALL || block == Blocks.COBBLESTONE_STAIRS
+            || block == Blocks.COBBLESTONE_SLAB || block == STNBlocks.REINFORCED_COBBLESTONE) {
+            return 250;
+        }
+
+        // Wood
+        if (state.isIn(BlockTags.LOGS) || state.isIn(BlockTags.PLANKS)
+            || state.isIn(BlockTags.WOODEN_DOORS) || state.isIn(BlockTags.WOODEN_TRAPDOORS)
+            || state.isIn(BlockTags.WOODEN_FENCES) || state.isIn(BlockTags.FENCE_GATES)
+            || state.isIn(BlockTags.WOODEN_STAIRS) || state.isIn(BlockTags.WOODEN_SLABS)
+            || block == STNBlocks.REINFORCED_WOOD) {
+            return 150;
+        }
+
+        // Netherrack
+        if (block == Blocks.NETHERRACK) {
+            return 100;
+        }
+
+        // Dirt and sand
+        if (state.isIn(BlockTags.DIRT) || state.isIn(BlockTags.SAND) || block == Blocks.GRAVEL) {
+            return 50;
+        }
+
+        // Glass and leaves
+        if (state.isIn(BlockTags.IMPERMEABLE) || state.isIn(BlockTags.LEAVES)
+            || block == Blocks.GLASS_PANE || block instanceof StainedGlassPaneBlock) {
+            return 20;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Get a display name for the durability tier of a max durability value.
+     */
+    public static String getDurabilityTierName(int maxDurability) {
+        if (maxDurability >= 5000) return "Obsidian";
+        if (maxDurability >= 1000) return "Diamond";
+        if (maxDurability >= 600) return "Iron";
+        if (maxDurability >= 400) return "Stone";
+        if (maxDurability >= 250) return "Cobblestone";
+        if (maxDurability >= 150) return "Wood";
+        if (maxDurability >= 100) return "Soft";
+        if (maxDurability >= 50) return "Weak";
+        return "Fragile";
+    }
+}
@@ -0,0 +1,134 @@
+package com.stn.fortifications.durability;
+
+import com.mojang.serialization.Codec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Durability of tracked blocks within one chunk, stored as a chunk attachment.
+ * Each chunk section that holds tracked blocks gets its own small
+ * {@link DurabilityMap} keyed by section-local position.
+ *
+ * Serialized as a single byte array:
+ * version, section count, then per section its index, entry count and
+ * (position, durability) short pairs.
+ */
+public final class ChunkDurability {
+    private static final byte FORMAT_VERSION = 1;
+
+    public static final Codec<ChunkDurability> CODEC =
+        Codec.BYTE_BUFFER.xmap(ChunkDurability::fromBytes, ChunkDurability::toBytes);
+
+    private DurabilityMap[] sections = new DurabilityMap[0];
+    private int size;
+
+    /**
+     * @return the durability, or -1 if the block is not tracked
+     */
+    public int get(int sectionIndex, short local) {
+        if (sectionIndex < 0 || sectionIndex >= sections.length || sections[sectionIndex] == null) {
+            return -1;
+        }
+        return sections[sectionIndex].get(local);
+    }
+
+    public void put(int sectionIndex, short local, int durability) {
+        if (sectionIndex < 0) {
+            return;
+        }
+        if (sectionIndex >= sections.length) {
+            sections = Arrays.copyOf(sections, sectionIndex + 1);
+        }
+
+        DurabilityMap section = sections[sectionIndex];
+        if (section == null) {
+            section = new DurabilityMap();
+            sections[sectionIndex] = section;
+        }
+
+        int before = section.size();
+        section.put(local, (short) Math.min(Short.MAX_VALUE, Math.max(0, durability)));
+        size += section.size() - before;
+    }
+
+    public boolean remove(int sectionIndex, short local) {
+        if (sectionIndex < 0 || sectionIndex >= sections.length || sections[sectionIndex] == null) {
+            return false;
+        }
+
+        DurabilityMap section = sections[sectionIndex];
+        if (!section.remove(local)) {
+            return false;
+        }
+
+        size--;
+        if (section.isEmpty()) {
+            sections[sectionIndex] = null;
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    ByteBuffer toBytes() {
+        int sectionCount = 0;
+        for (DurabilityMap section : sections) {
+            if (section != null) sectionCount++;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(3 + sectionCount * 3 + size * 4);
+        buffer.put(FORMAT_VERSION);
+        buffer.putShort((short) sectionCount);
+
+        for (int sectionIndex = 0; sectionIndex < sections.length; sectionIndex++) {
+            DurabilityMap section = sections[sectionIndex];
+            if (section == null) continue;
+
+            buffer.put((byte) sectionIndex);
+            buffer.putShort((short) section.size());
+            section.forEach((local, durability) -> {
+                buffer.putShort(local);
+                buffer.putShort(durability);
+            });
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    static ChunkDurability fromBytes(ByteBuffer bytes) {
+        ByteBuffer buffer = bytes.duplicate();
+        ChunkDurability chunk = new ChunkDurability();
+        if (!buffer.hasRemaining() || buffer.get() != FORMAT_VERSION) {
+            return chunk;
+        }
+
+        int sectionCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < sectionCount; i++) {
+            int sectionIndex = buffer.get() & 0xFF;
+            int count = buffer.getShort() & 0xFFFF;
+
+            if (sectionIndex >= chunk.sections.length) {
+                chunk.sections = Arrays.copyOf(chunk.sections, sectionIndex + 1);
+            }
+            DurabilityMap section = new DurabilityMap(count);
+            for (int j = 0; j < count; j++) {
+                section.put(buffer.getShort(), buffer.getShort());
+            }
+
+            if (!section.isEmpty()) {
+                chunk.sections[sectionIndex] = section;
+                chunk.size += section.size();
+            }
+        }
+
+        return chunk;
+    }
+}
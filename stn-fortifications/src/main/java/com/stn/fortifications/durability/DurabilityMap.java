@@ -0,0 +1,158 @@
+package com.stn.fortifications.durability;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from a section-local block position (short) to a
+ * durability value (short). Linear probing with backward-shift deletion, so
+ * there are no tombstones and no boxing; a tracked block costs 4 bytes plus
+ * table slack.
+ */
+final class DurabilityMap {
+    // Section-local positions only use the low 12 bits, so -1 never collides
+    private static final short EMPTY = -1;
+
+    @FunctionalInterface
+    interface Visitor {
+        void accept(short local, short durability);
+    }
+
+    private short[] keys;
+    private short[] values;
+    private int mask;
+    private int size;
+
+    DurabilityMap() {
+        this(4);
+    }
+
+    DurabilityMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * @return the durability, or -1 if the position is not present
+     */
+    int get(short local) {
+        int slot = hash(local) & mask;
+        short key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == local) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    void put(short local, short durability) {
+        int slot = hash(local) & mask;
+        short key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == local) {
+                values[slot] = durability;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = local;
+        values[slot] = durability;
+        size++;
+
+        // Keep load factor at or below 1/2
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    boolean remove(short local) {
+        int slot = hash(local) & mask;
+        short key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == local) {
+                size--;
+                shiftKeys(slot);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    // Close the gap left by a removal by moving back entries displaced past it
+    private void shiftKeys(int slot) {
+        int last;
+        for (;;) {
+            last = slot;
+            slot = (slot + 1) & mask;
+
+            short key;
+            for (;;) {
+                if ((key = keys[slot]) == EMPTY) {
+                    keys[last] = EMPTY;
+                    return;
+                }
+                int ideal = hash(key) & mask;
+                if (last <= slot ? (last >= ideal || ideal > slot) : (last >= ideal && ideal > slot)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            keys[last] = key;
+            values[last] = values[slot];
+        }
+    }
+
+    private void rehash(int capacity) {
+        short[] oldKeys = keys;
+        short[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            short key = oldKeys[i];
+            if (key == EMPTY) continue;
+
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new short[capacity];
+        values = new short[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+        return Math.max(8, capacity);
+    }
+
+    private static int hash(short local) {
+        int h = (local & 0xFFFF) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
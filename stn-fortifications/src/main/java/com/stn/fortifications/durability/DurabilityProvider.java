@@ -0,0 +1,66 @@
+package com.stn.fortifications.durability;
+
+import com.stn.core.api.IDurabilityProvider;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Exposes the block durability system to other STN mods through STNCore.
+ */
+public class DurabilityProvider implements IDurabilityProvider {
+
+    @Override
+    public boolean isTracked(World world, BlockPos pos) {
+        return world instanceof ServerWorld serverWorld && BlockDurabilityManager.get(serverWorld).isTracked(world, pos);
+    }
+
+    @Override
+    public int getDurability(World world, BlockPos pos) {
+        if (!(world instanceof ServerWorld serverWorld)) return -1;
+        return BlockDurabilityManager.get(serverWorld).getDurability(world, pos);
+    }
+
+    @Override
+    public int getMaxDurability(World world, BlockPos pos) {
+        if (!isTracked(world, pos)) return -1;
+        return BlockDurabilityManager.get((ServerWorld) world).getMaxDurabilityAt(world, pos);
+    }
+
+    @Override
+    public float getDurabilityPercent(World world, BlockPos pos) {
+        if (!(world instanceof ServerWorld serverWorld)) return 1.0f;
+        return BlockDurabilityManager.get(serverWorld).getDurabilityPercent(world, pos);
+    }
+
+    @Override
+    public boolean damageBlock(World world, BlockPos pos, int damage) {
+        if (!(world instanceof ServerWorld serverWorld)) return false;
+        return BlockDurabilityManager.get(serverWorld).damageBlock(world, pos, damage);
+    }
+
+    @Override
+    public boolean repairBlock(World world, BlockPos pos, int amount) {
+        if (!(world instanceof ServerWorld serverWorld)) return false;
+        return BlockDurabilityManager.get(serverWorld).repairBlockAmount(world, pos, amount) > 0;
+    }
+
+    @Override
+    public boolean fullyRepairBlock(World world, BlockPos pos) {
+        if (!(world instanceof ServerWorld serverWorld)) return false;
+        BlockDurabilityManager manager = BlockDurabilityManager.get(serverWorld);
+        return manager.repairBlockAmount(world, pos, manager.getMaxDurabilityAt(world, pos)) > 0;
+    }
+
+    @Override
+    public void trackBlock(ServerWorld world, BlockPos pos) {
+        BlockDurabilityManager.get(world).registerBlock(pos, world.getBlockState(pos));
+    }
+
+    @Override
+    public void untrackBlock(World world, BlockPos pos) {
+        if (world instanceof ServerWorld serverWorld) {
+            BlockDurabilityManager.get(serverWorld).untrackBlock(world, pos);
+        }
+    }
+}
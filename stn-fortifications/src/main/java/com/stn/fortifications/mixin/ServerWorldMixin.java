@@ -0,0 +1,23 @@
+package com.stn.fortifications.mixin;
+
+import com.stn.fortifications.durability.BlockDurabilityManager;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to observe every block state change in a server world.
+ * Drops stored durability when the block at a tracked position is replaced.
+ */
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    @Inject(method = "onBlockStateChanged", at = @At("TAIL"))
+    private void stn_onBlockStateChanged(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        BlockDurabilityManager.onBlockChanged((ServerWorld) (Object) this, pos, oldState, newState);
+    }
+}
@@ -0,0 +1,94 @@
+package com.stn.fortifications.network;
+
+import com.stn.fortifications.STNFortifications;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Packet payload carrying all durability changes within one chunk for a tick.
+ * Positions are written chunk-relative (y as var int, x/z packed into one byte)
+ * so a batch costs a few bytes per block instead of a full packet each.
+ * Chunk coordinates and y are zigzag encoded, so small negative values stay
+ * as short as positive ones instead of taking five bytes each.
+ */
+public record DurabilityBatchPayload(
+    int chunkX,
+    int chunkZ,
+    int[] ys,
+    byte[] localXZ,
+    int[] current,
+    int[] max
+) implements CustomPayload {
+
+    public static final CustomPayload.Id<DurabilityBatchPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(STNFortifications.MOD_ID, "durability_batch"));
+
+    public static final PacketCodec<RegistryByteBuf, DurabilityBatchPayload> CODEC =
+        PacketCodec.of(DurabilityBatchPayload::write, DurabilityBatchPayload::read);
+
+    /**
+     * A batch holding a single block.
+     */
+    public static DurabilityBatchPayload of(BlockPos pos, int current, int max) {
+        return new DurabilityBatchPayload(pos.getX() >> 4, pos.getZ() >> 4,
+            new int[] {pos.getY()}, new byte[] {(byte) (((pos.getZ() & 15) << 4) | (pos.getX() & 15))},
+            new int[] {current}, new int[] {max});
+    }
+
+    public int size() {
+        return ys.length;
+    }
+
+    public BlockPos getPos(int index) {
+        int local = localXZ[index] & 0xFF;
+        return new BlockPos((chunkX << 4) + (local & 15), ys[index], (chunkZ << 4) + (local >> 4));
+    }
+
+    private void write(RegistryByteBuf buf) {
+        buf.writeVarInt(zigzag(chunkX));
+        buf.writeVarInt(zigzag(chunkZ));
+        buf.writeVarInt(ys.length);
+        for (int i = 0; i < ys.length; i++) {
+            buf.writeVarInt(zigzag(ys[i]));
+            buf.writeByte(localXZ[i]);
+            buf.writeVarInt(current[i]);
+            buf.writeVarInt(max[i]);
+        }
+    }
+
+    private static DurabilityBatchPayload read(RegistryByteBuf buf) {
+        int chunkX = unzigzag(buf.readVarInt());
+        int chunkZ = unzigzag(buf.readVarInt());
+        int count = buf.readVarInt();
+
+        int[] ys = new int[count];
+        byte[] localXZ = new byte[count];
+        int[] current = new int[count];
+        int[] max = new int[count];
+        for (int i = 0; i < count; i++) {
+            ys[i] = unzigzag(buf.readVarInt());
+            localXZ[i] = buf.readByte();
+            current[i] = buf.readVarInt();
+            max[i] = buf.readVarInt();
+        }
+
+        return new DurabilityBatchPayload(chunkX, chunkZ, ys, localXZ, current, max);
+    }
+
+    // Interleave signs (0, -1, 1, -2, ...) so the var int length follows the magnitude
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,26 @@
+package com.stn.fortifications.network;
+
+import com.stn.fortifications.STNFortifications;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Client request for one block's durability, sent when the HUD looks at a
+ * block it has no cached value for. Answered with a one-entry batch.
+ */
+public record DurabilityRequestPayload(BlockPos pos) implements CustomPayload {
+
+    public static final CustomPayload.Id<DurabilityRequestPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(STNFortifications.MOD_ID, "durability_request"));
+
+    public static final PacketCodec<RegistryByteBuf, DurabilityRequestPayload> CODEC =
+        PacketCodec.tuple(BlockPos.PACKET_CODEC, DurabilityRequestPayload::pos, DurabilityRequestPayload::new);
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,109 @@
+package com.stn.fortifications.network;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects durability changes during a world tick and sends them as one
+ * batched payload per chunk at the end of the tick.
+ *
+ * Many mobs damaging the same block in one tick collapse into a single entry
+ * holding the final durability, and each batch only goes to players tracking
+ * the chunk the blocks are in.
+ */
+public final class DurabilityUpdateBatcher {
+
+    // Pending updates per world: chunk -> (block pos -> packed current/max)
+    private static final Map<RegistryKey<World>, Long2ObjectOpenHashMap<Long2LongOpenHashMap>> PENDING = new ConcurrentHashMap<>();
+
+    private DurabilityUpdateBatcher() {}
+
+    /**
+     * Queue a durability update. Later updates to the same block in the
+     * same tick replace earlier ones.
+     */
+    public static void queue(ServerWorld world, BlockPos pos, int current, int max) {
+        queue(PENDING.computeIfAbsent(world.getRegistryKey(), k -> new Long2ObjectOpenHashMap<>()), pos, current, max);
+    }
+
+    // Queue into one world's pending chunks
+    static void queue(Long2ObjectOpenHashMap<Long2LongOpenHashMap> chunks, BlockPos pos, int current, int max) {
+        long chunkKey = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+        Long2LongOpenHashMap blocks = chunks.get(chunkKey);
+        if (blocks == null) {
+            blocks = new Long2LongOpenHashMap();
+            chunks.put(chunkKey, blocks);
+        }
+
+        blocks.put(pos.asLong(), ((long) current << 32) | (max & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Send all pending updates for a world. Called at the end of each world tick.
+     */
+    public static void flush(ServerWorld world) {
+        Long2ObjectOpenHashMap<Long2LongOpenHashMap> chunks = PENDING.get(world.getRegistryKey());
+        if (chunks == null || chunks.isEmpty()) {
+            return;
+        }
+
+        for (Long2ObjectMap.Entry<Long2LongOpenHashMap> chunkEntry : chunks.long2ObjectEntrySet()) {
+            ChunkPos chunkPos = new ChunkPos(chunkEntry.getLongKey());
+
+            Collection<ServerPlayerEntity> trackers = PlayerLookup.tracking(world, chunkPos);
+            if (trackers.isEmpty()) {
+                continue;
+            }
+
+            DurabilityBatchPayload payload = buildPayload(chunkPos, chunkEntry.getValue());
+            for (ServerPlayerEntity player : trackers) {
+                ServerPlayNetworking.send(player, payload);
+            }
+        }
+
+        chunks.clear();
+    }
+
+    /**
+     * Drop pending updates for a world (on world unload).
+     */
+    public static void clear(ServerWorld world) {
+        PENDING.remove(world.getRegistryKey());
+    }
+
+    static DurabilityBatchPayload buildPayload(ChunkPos chunkPos, Long2LongOpenHashMap blocks) {
+        int count = blocks.size();
+        int[] ys = new int[count];
+        byte[] localXZ = new byte[count];
+        int[] current = new int[count];
+        int[] max = new int[count];
+
+        int i = 0;
+        for (Long2LongMap.Entry entry : blocks.long2LongEntrySet()) {
+            long pos = entry.getLongKey();
+            long value = entry.getLongValue();
+
+            ys[i] = BlockPos.unpackLongY(pos);
+            localXZ[i] = (byte) (((BlockPos.unpackLongZ(pos) & 15) << 4) | (BlockPos.unpackLongX(pos) & 15));
+            current[i] = (int) (value >> 32);
+            max[i] = (int) value;
+            i++;
+        }
+
+        return new DurabilityBatchPayload(chunkPos.x, chunkPos.z, ys, localXZ, current, max);
+    }
+}
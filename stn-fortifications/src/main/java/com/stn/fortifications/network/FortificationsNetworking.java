@@ -0,0 +1,57 @@
+package com.stn.fortifications.network;
+
+import com.stn.fortifications.durability.BlockDurabilityManager;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Server-side networking for fortifications.
+ * Durability updates are batched per chunk and sent at the end of each world tick;
+ * clients ask for blocks they have no value for yet.
+ */
+public class FortificationsNetworking {
+
+    // Requests further away than this are ignored (well past hammer reach)
+    private static final double MAX_REQUEST_DISTANCE = 16.0;
+
+    public static void register() {
+        PayloadTypeRegistry.playS2C().register(DurabilityBatchPayload.ID, DurabilityBatchPayload.CODEC);
+        PayloadTypeRegistry.playC2S().register(DurabilityRequestPayload.ID, DurabilityRequestPayload.CODEC);
+
+        ServerPlayNetworking.registerGlobalReceiver(DurabilityRequestPayload.ID,
+            (payload, context) -> answerRequest(context.player(), payload.pos()));
+
+        ServerTickEvents.END_WORLD_TICK.register(DurabilityUpdateBatcher::flush);
+        ServerWorldEvents.UNLOAD.register((server, world) -> DurabilityUpdateBatcher.clear(world));
+    }
+
+    // Send one block's durability to the player who asked; untracked blocks are at full durability
+    private static void answerRequest(ServerPlayerEntity player, BlockPos pos) {
+        ServerWorld world = (ServerWorld) player.getWorld();
+        if (!pos.isWithinDistance(player.getPos(), MAX_REQUEST_DISTANCE)
+                || !world.isChunkLoaded(pos.getX() >> 4, pos.getZ() >> 4)) {
+            return;
+        }
+
+        BlockDurabilityManager manager = BlockDurabilityManager.get(world);
+        int max = manager.getMaxDurabilityAt(world, pos);
+        if (max <= 0) {
+            return;
+        }
+        int current = manager.getDurability(world, pos);
+        ServerPlayNetworking.send(player, DurabilityBatchPayload.of(pos, current < 0 ? max : current, max));
+    }
+
+    /**
+     * Send a block's durability to players tracking its chunk.
+     * Sent with the end-of-tick batch, not immediately.
+     */
+    public static void broadcastDurabilityUpdate(ServerWorld world, BlockPos pos, int current, int max) {
+        DurabilityUpdateBatcher.queue(world, pos, current, max);
+    }
+}
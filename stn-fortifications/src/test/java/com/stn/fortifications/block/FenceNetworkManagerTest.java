@@ -0,0 +1,241 @@
+package com.stn.fortifications.block;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FenceNetworkManagerTest {
+
+    // A flat grid of fences at y = 64
+    private static final class Grid implements FenceNetworkManager.FenceWorld {
+        final LongOpenHashSet fences = new LongOpenHashSet();
+        final LongOpenHashSet sources = new LongOpenHashSet();
+        final LongOpenHashSet poweredStates = new LongOpenHashSet();
+        final LongOpenHashSet unloadedChunks = new LongOpenHashSet();
+        int reads = 0;
+
+        @Override
+        public boolean isLoaded(long packed) {
+            return !unloadedChunks.contains(ChunkPos.toLong(BlockPos.unpackLongX(packed) >> 4, BlockPos.unpackLongZ(packed) >> 4));
+        }
+
+        @Override
+        public boolean isFence(long packed) {
+            if (!isLoaded(packed)) {
+                throw new AssertionError("Read a fence in an unloaded chunk");
+            }
+            reads++;
+            return fences.contains(packed);
+        }
+
+        @Override
+        public boolean isReceivingPower(long packed) {
+            return sources.contains(packed);
+        }
+
+        @Override
+        public boolean setPowered(long packed, boolean powered) {
+            if (!isLoaded(packed)) {
+                throw new AssertionError("Wrote a fence in an unloaded chunk");
+            }
+            return powered ? poweredStates.add(packed) : poweredStates.remove(packed);
+        }
+
+        @Override
+        public void playPowerOnSound(long packed) {
+        }
+    }
+
+    private Grid grid;
+    private FenceNetworkManager manager;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Grid();
+        manager = new FenceNetworkManager(grid);
+    }
+
+    private static long at(int x, int z) {
+        return BlockPos.asLong(x, 64, z);
+    }
+
+    private long place(int x, int z) {
+        long packed = at(x, z);
+        grid.fences.add(packed);
+        manager.onFencePlaced(packed);
+        return packed;
+    }
+
+    private void remove(int x, int z) {
+        long packed = at(x, z);
+        grid.fences.remove(packed);
+        grid.sources.remove(packed);
+        grid.poweredStates.remove(packed);
+        manager.onFenceRemoved(packed);
+    }
+
+    private void power(int x, int z, boolean on) {
+        long packed = at(x, z);
+        if (on) {
+            grid.sources.add(packed);
+        } else {
+            grid.sources.remove(packed);
+        }
+        manager.onPowerChanged(packed);
+    }
+
+    @Test
+    void placingBetweenTwoNetworksMergesThem() {
+        place(0, 0);
+        place(2, 0);
+        assertEquals(2, manager.getNetworkCount());
+
+        power(0, 0, true);
+        assertFalse(manager.isPowered(at(2, 0)));
+
+        place(1, 0);
+        assertEquals(1, manager.getNetworkCount());
+        assertTrue(manager.isPowered(at(2, 0)));
+        assertTrue(grid.poweredStates.contains(at(2, 0)));
+    }
+
+    @Test
+    void breakingMiddleFenceSplitsNetwork() {
+        for (int x = 0; x < 5; x++) {
+            place(x, 0);
+        }
+        power(0, 0, true);
+        assertEquals(1, manager.getNetworkCount());
+        assertTrue(manager.isPowered(at(4, 0)));
+
+        remove(2, 0);
+        assertEquals(2, manager.getNetworkCount());
+        assertTrue(manager.isPowered(at(1, 0)));
+        assertFalse(manager.isPowered(at(3, 0)));
+        assertFalse(grid.poweredStates.contains(at(4, 0)));
+        assertEquals(4, manager.getTrackedFenceCount());
+    }
+
+    @Test
+    void breakingEndFenceKeepsNetwork() {
+        for (int x = 0; x < 4; x++) {
+            place(x, 0);
+        }
+        power(3, 0, true);
+
+        remove(0, 0);
+        assertEquals(1, manager.getNetworkCount());
+        assertTrue(manager.isPowered(at(1, 0)));
+    }
+
+    @Test
+    void breakingPoweredFenceOfRingUnpowersIt() {
+        // 3x3 ring: removing one fence leaves it connected
+        for (int x = 0; x < 3; x++) {
+            for (int z = 0; z < 3; z++) {
+                if (x != 1 || z != 1) {
+                    place(x, z);
+                }
+            }
+        }
+        power(0, 0, true);
+        assertTrue(manager.isPowered(at(2, 2)));
+
+        remove(0, 0);
+        assertEquals(1, manager.getNetworkCount());
+        assertFalse(manager.isPowered(at(2, 2)));
+        assertTrue(grid.poweredStates.isEmpty());
+    }
+
+    @Test
+    void powerCountsEveryDirectSource() {
+        for (int x = 0; x < 3; x++) {
+            place(x, 0);
+        }
+        power(0, 0, true);
+        power(2, 0, true);
+        power(0, 0, false);
+        assertTrue(manager.isPowered(at(1, 0)));
+
+        power(2, 0, false);
+        assertFalse(manager.isPowered(at(1, 0)));
+    }
+
+    @Test
+    void discoveryStopsAtUnloadedChunks() {
+        // Chunk 0 holds x 0..15, chunk 1 holds x 16..31
+        for (int x = 10; x < 20; x++) {
+            grid.fences.add(at(x, 0));
+        }
+        grid.unloadedChunks.add(ChunkPos.toLong(1, 0));
+
+        assertFalse(manager.isPowered(at(10, 0)));
+        assertEquals(6, manager.getTrackedFenceCount());
+    }
+
+    @Test
+    void unloadingChunkEvictsItsNetworks() {
+        for (int x = 10; x < 20; x++) {
+            place(x, 0);
+        }
+        place(0, 5);
+        power(19, 0, true);
+        assertTrue(manager.isPowered(at(10, 0)));
+
+        manager.onChunkUnloaded(ChunkPos.toLong(1, 0));
+        grid.unloadedChunks.add(ChunkPos.toLong(1, 0));
+        assertEquals(1, manager.getNetworkCount());
+        assertEquals(1, manager.getTrackedFenceCount());
+
+        // Rediscovered from the loaded half only
+        assertFalse(manager.isPowered(at(10, 0)));
+        assertEquals(7, manager.getTrackedFenceCount());
+    }
+
+    @Test
+    void chunkLoadingBetweenNetworksJoinsThemOnDiscovery() {
+        for (int x = 10; x < 40; x++) {
+            grid.fences.add(at(x, 0));
+        }
+        grid.sources.add(at(39, 0));
+        grid.unloadedChunks.add(ChunkPos.toLong(1, 0));
+
+        assertFalse(manager.isPowered(at(10, 0)));
+        assertTrue(manager.isPowered(at(39, 0)));
+        assertEquals(2, manager.getNetworkCount());
+
+        grid.unloadedChunks.remove(ChunkPos.toLong(1, 0));
+        manager.onPowerChanged(at(20, 0));
+        assertEquals(1, manager.getNetworkCount());
+        assertTrue(manager.isPowered(at(10, 0)));
+        assertTrue(grid.poweredStates.contains(at(10, 0)));
+    }
+
+    @Test
+    void longRingIsDiscoveredOnce() {
+        // 500-fence ring around a 126x126 square
+        int side = 125;
+        for (int i = 0; i < side; i++) {
+            grid.fences.add(at(i, 0));
+            grid.fences.add(at(side, i));
+            grid.fences.add(at(side - i, side));
+            grid.fences.add(at(0, side - i));
+        }
+        assertEquals(500, grid.fences.size());
+        grid.sources.add(at(0, 0));
+
+        assertTrue(manager.isPowered(at(side, side)));
+        int reads = grid.reads;
+        for (int i = 0; i < side; i++) {
+            assertTrue(manager.isPowered(at(i, 0)));
+        }
+        assertEquals(reads, grid.reads);
+        assertEquals(500, manager.getTrackedFenceCount());
+    }
+}
@@ -0,0 +1,185 @@
+package com.stn.fortifications.block;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SensorRegistryTest {
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    // Hostile bounding boxes and sensor states, without a server
+    private static class FakeWorld implements SensorRegistry.SensorWorld {
+        final List<Box> hostiles = new ArrayList<>();
+        final Map<BlockPos, Boolean> powered = new HashMap<>();
+        final List<BlockPos> updates = new ArrayList<>();
+        int queries = 0;
+
+        @Override
+        public void forEachHostile(Box area, Consumer<Box> boundingBoxes) {
+            queries++;
+            for (Box hostile : hostiles) {
+                if (hostile.intersects(area)) {
+                    boundingBoxes.accept(hostile);
+                }
+            }
+        }
+
+        @Override
+        public boolean applyResult(BlockPos pos, boolean detected) {
+            Boolean state = powered.get(pos);
+            if (state == null) {
+                return false;
+            }
+            if (state != detected) {
+                powered.put(pos.toImmutable(), detected);
+                updates.add(pos.toImmutable());
+            }
+            return true;
+        }
+    }
+
+    private FakeWorld world;
+    private SensorRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        world = new FakeWorld();
+        registry = new SensorRegistry(world);
+    }
+
+    private void place(BlockPos pos, Direction facing) {
+        world.powered.put(pos, false);
+        registry.register(pos, MotionSensorBlock.getDetectionBox(pos, facing));
+    }
+
+    // A zombie-sized box standing at a position
+    private static Box mob(double x, double y, double z) {
+        return new Box(x - 0.3, y, z - 0.3, x + 0.3, y + 1.95, z + 0.3);
+    }
+
+    @Test
+    void onlyChangedResultsAreApplied() {
+        BlockPos sensor = new BlockPos(0, 64, 0);
+        place(sensor, Direction.NORTH);
+
+        registry.scan();
+        assertTrue(world.updates.isEmpty());
+
+        // Four blocks in front of a north-facing sensor
+        world.hostiles.add(mob(0.5, 64, -4));
+        registry.scan();
+        registry.scan();
+        assertEquals(List.of(sensor), world.updates);
+        assertTrue(world.powered.get(sensor));
+
+        world.hostiles.clear();
+        registry.scan();
+        assertEquals(2, world.updates.size());
+        assertFalse(world.powered.get(sensor));
+    }
+
+    @Test
+    void hostilesBehindTheSensorAreIgnored() {
+        BlockPos sensor = new BlockPos(0, 64, 0);
+        place(sensor, Direction.NORTH);
+
+        world.hostiles.add(mob(0.5, 64, 4));
+        registry.scan();
+        assertTrue(world.updates.isEmpty());
+    }
+
+    @Test
+    void removedSensorsDropOutOnTheNextScan() {
+        place(new BlockPos(0, 64, 0), Direction.NORTH);
+        place(new BlockPos(100, 64, 0), Direction.NORTH);
+
+        // Broken without passing through onStateReplaced, e.g. by a structure overwrite
+        world.powered.remove(new BlockPos(100, 64, 0));
+        registry.scan();
+        assertEquals(1, registry.getSensorCount());
+    }
+
+    @Test
+    void unloadingAChunkDropsOnlyItsSensors() {
+        place(new BlockPos(1, 64, 1), Direction.NORTH);
+        place(new BlockPos(15, 70, 15), Direction.EAST);
+        place(new BlockPos(16, 64, 1), Direction.NORTH);
+        place(new BlockPos(-1, 64, 1), Direction.NORTH);
+
+        registry.onChunkUnload(new ChunkPos(0, 0));
+        assertEquals(2, registry.getSensorCount());
+
+        // Registering again on load is idempotent
+        place(new BlockPos(16, 64, 1), Direction.NORTH);
+        assertEquals(2, registry.getSensorCount());
+    }
+
+    @Test
+    void sensorsAlongOneWallShareAQuery() {
+        for (int x = 0; x < 32; x += 4) {
+            place(new BlockPos(x, 64, 0), Direction.NORTH);
+        }
+        place(new BlockPos(500, 64, 500), Direction.NORTH);
+        assertEquals(2, registry.getQueryBoxCount());
+
+        registry.scan();
+        assertEquals(2, world.queries);
+    }
+
+    @Test
+    void randomBasesAgreeWithAPerSensorCheck() {
+        SplittableRandom random = new SplittableRandom(15);
+        Direction[] facings = {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
+
+        for (int round = 0; round < 50; round++) {
+            setUp();
+            Map<BlockPos, Box> boxes = new HashMap<>();
+            for (int i = 0; i < 32; i++) {
+                BlockPos pos = new BlockPos(random.nextInt(-64, 64), random.nextInt(60, 72), random.nextInt(-64, 64));
+                Direction facing = facings[random.nextInt(facings.length)];
+                place(pos, facing);
+                boxes.put(pos, MotionSensorBlock.getDetectionBox(pos, facing));
+            }
+            for (int i = 0; i < 100; i++) {
+                world.hostiles.add(mob(random.nextDouble(-80, 80), random.nextInt(56, 76), random.nextDouble(-80, 80)));
+            }
+
+            registry.scan();
+
+            Set<BlockPos> expected = new HashSet<>();
+            for (Map.Entry<BlockPos, Box> entry : boxes.entrySet()) {
+                for (Box hostile : world.hostiles) {
+                    if (hostile.intersects(entry.getValue())) {
+                        expected.add(entry.getKey());
+                        break;
+                    }
+                }
+            }
+            assertEquals(expected, new HashSet<>(world.updates), "round " + round);
+        }
+    }
+}
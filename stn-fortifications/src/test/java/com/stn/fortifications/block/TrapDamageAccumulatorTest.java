@@ -0,0 +1,107 @@
+package com.stn.fortifications.block;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrapDamageAccumulatorTest {
+
+    private static final BlockPos SPIKE = new BlockPos(0, 64, 0);
+    private static final BlockPos NEXT_SPIKE = new BlockPos(1, 64, 0);
+
+    private static Block spike;
+    private static Block wire;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        // Stand-ins for two trap types; the accumulator only keys cooldowns by block
+        spike = Blocks.IRON_BARS;
+        wire = Blocks.COBWEB;
+    }
+
+    private record Applied(Block block, int hits, Vec3d center) {
+    }
+
+    private long tick;
+    private TrapDamageAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        tick = 0;
+        accumulator = new TrapDamageAccumulator(() -> tick);
+    }
+
+    private Map<BlockPos, Applied> endTick() {
+        Map<BlockPos, Applied> applied = new HashMap<>();
+        accumulator.flush((pos, block, hits, center) -> applied.put(pos, new Applied(block, hits, center)));
+        tick++;
+        return applied;
+    }
+
+    private boolean hit(BlockPos pos, Block trap, int entity) {
+        return accumulator.tryHit(pos, trap, entity, pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5);
+    }
+
+    @Test
+    void hitsOnABlockAreAppliedOnceAtTheEndOfTheTick() {
+        assertTrue(accumulator.tryHit(SPIKE, spike, 1, 0.2, 65.0, 0.2));
+        assertTrue(accumulator.tryHit(SPIKE, spike, 2, 0.8, 66.0, 0.6));
+        assertTrue(hit(NEXT_SPIKE, spike, 3));
+
+        Map<BlockPos, Applied> applied = endTick();
+        assertEquals(2, applied.size());
+        assertEquals(2, applied.get(SPIKE).hits());
+        assertEquals(new Vec3d(0.5, 65.5, 0.4), applied.get(SPIKE).center());
+        assertEquals(1, applied.get(NEXT_SPIKE).hits());
+
+        // Nothing left over for the next tick
+        assertTrue(endTick().isEmpty());
+    }
+
+    @Test
+    void anEntityIsHitOncePerCooldownPerTrapType() {
+        assertTrue(hit(SPIKE, spike, 1));
+        assertFalse(hit(SPIKE, spike, 1));
+        assertFalse(hit(NEXT_SPIKE, spike, 1)); // Same type, another block
+        assertTrue(hit(SPIKE, wire, 1)); // Another type
+        endTick();
+
+        for (int i = 1; i < TrapDamageAccumulator.HIT_COOLDOWN_TICKS; i++) {
+            assertFalse(hit(SPIKE, spike, 1), "tick " + tick);
+            assertTrue(endTick().isEmpty());
+        }
+        assertTrue(hit(SPIKE, spike, 1));
+    }
+
+    @Test
+    void aCrowdLandsOneHitEachPerCooldown() {
+        int hits = 0;
+        int applied = 0;
+        for (int t = 0; t < 10 * TrapDamageAccumulator.HIT_COOLDOWN_TICKS; t++) {
+            for (int mob = 0; mob < 100; mob++) {
+                if (hit(mob % 2 == 0 ? SPIKE : NEXT_SPIKE, spike, mob)) {
+                    hits++;
+                }
+            }
+            applied += endTick().size();
+        }
+        assertEquals(100 * 10, hits);
+        // Everyone lands together, so each block is written once per cooldown
+        assertEquals(2 * 10, applied);
+    }
+}
@@ -0,0 +1,86 @@
+package com.stn.fortifications.durability;
+
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtOps;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkDurabilityTest {
+
+    private static void assertSameEntries(ChunkDurability expected, ChunkDurability actual, int sections) {
+        assertEquals(expected.size(), actual.size());
+        for (int section = 0; section < sections; section++) {
+            for (short local = 0; local < 4096; local++) {
+                assertEquals(expected.get(section, local), actual.get(section, local));
+            }
+        }
+    }
+
+    private static ChunkDurability randomChunk(long seed, int entries) {
+        Random random = new Random(seed);
+        ChunkDurability chunk = new ChunkDurability();
+        for (int i = 0; i < entries; i++) {
+            chunk.put(random.nextInt(24), (short) random.nextInt(4096), random.nextInt(2000));
+        }
+        return chunk;
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        ChunkDurability chunk = randomChunk(7, 5_000);
+        ChunkDurability loaded = ChunkDurability.fromBytes(chunk.toBytes());
+        assertSameEntries(chunk, loaded, 24);
+    }
+
+    @Test
+    void roundTripsThroughNbtCodec() {
+        ChunkDurability chunk = randomChunk(11, 500);
+        NbtElement nbt = ChunkDurability.CODEC.encodeStart(NbtOps.INSTANCE, chunk).getOrThrow();
+        ChunkDurability loaded = ChunkDurability.CODEC.parse(NbtOps.INSTANCE, nbt).getOrThrow();
+        assertSameEntries(chunk, loaded, 24);
+    }
+
+    @Test
+    void emptyChunkRoundTrips() {
+        ChunkDurability loaded = ChunkDurability.fromBytes(new ChunkDurability().toBytes());
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    void removedEntriesAreNotWritten() {
+        ChunkDurability chunk = new ChunkDurability();
+        chunk.put(3, (short) 10, 50);
+        chunk.put(3, (short) 11, 60);
+        chunk.put(20, (short) 4095, 70);
+        chunk.remove(3, (short) 10);
+        chunk.remove(20, (short) 4095);
+
+        ChunkDurability loaded = ChunkDurability.fromBytes(chunk.toBytes());
+        assertEquals(1, loaded.size());
+        assertEquals(60, loaded.get(3, (short) 11));
+        assertEquals(-1, loaded.get(20, (short) 4095));
+    }
+
+    @Test
+    void clampsDurabilityToShortRange() {
+        ChunkDurability chunk = new ChunkDurability();
+        chunk.put(0, (short) 1, 100_000);
+        chunk.put(0, (short) 2, -5);
+
+        ChunkDurability loaded = ChunkDurability.fromBytes(chunk.toBytes());
+        assertEquals(Short.MAX_VALUE, loaded.get(0, (short) 1));
+        assertEquals(0, loaded.get(0, (short) 2));
+    }
+
+    @Test
+    void unknownFormatVersionLoadsEmpty() {
+        ByteBuffer bytes = ByteBuffer.wrap(new byte[] {99, 0, 1, 0, 0, 1, 0, 1, 0, 1});
+        assertTrue(ChunkDurability.fromBytes(bytes).isEmpty());
+        assertTrue(ChunkDurability.fromBytes(ByteBuffer.allocate(0)).isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package com.stn.fortifications.durability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurabilityMapTest {
+
+    @Test
+    void putGetAndOverwrite() {
+        DurabilityMap map = new DurabilityMap();
+        assertEquals(-1, map.get((short) 5));
+
+        map.put((short) 5, (short) 100);
+        map.put((short) 5, (short) 40);
+        assertEquals(40, map.get((short) 5));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        DurabilityMap map = new DurabilityMap();
+        for (short local = 0; local < 4096; local++) {
+            map.put(local, (short) (local % 700));
+        }
+        assertEquals(4096, map.size());
+        for (short local = 0; local < 4096; local++) {
+            assertEquals(local % 700, map.get(local));
+        }
+    }
+
+    @Test
+    void removeKeepsDisplacedEntriesReachable() {
+        // A small table forces long probe runs, so removals must shift entries back
+        DurabilityMap map = new DurabilityMap(2);
+        for (short local = 0; local < 64; local++) {
+            map.put(local, local);
+        }
+        for (short local = 0; local < 64; local += 2) {
+            assertTrue(map.remove(local));
+        }
+        assertFalse(map.remove((short) 0));
+
+        assertEquals(32, map.size());
+        for (short local = 0; local < 64; local++) {
+            assertEquals(local % 2 == 0 ? -1 : local, map.get(local));
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        DurabilityMap map = new DurabilityMap();
+        Map<Short, Short> reference = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            short local = (short) random.nextInt(4096);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    short durability = (short) random.nextInt(Short.MAX_VALUE);
+                    map.put(local, durability);
+                    reference.put(local, durability);
+                }
+                case 1 -> assertEquals(reference.remove(local) != null, map.remove(local));
+                default -> assertEquals(reference.getOrDefault(local, (short) -1).intValue(), map.get(local));
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        Map<Short, Short> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(reference, visited);
+    }
+}
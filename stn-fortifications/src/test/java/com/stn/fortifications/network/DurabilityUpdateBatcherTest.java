@@ -0,0 +1,152 @@
+package com.stn.fortifications.network;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurabilityUpdateBatcherTest {
+
+    private static final int MAX = 300;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    private static RegistryByteBuf buffer() {
+        return new RegistryByteBuf(Unpooled.buffer(), DynamicRegistryManager.EMPTY);
+    }
+
+    private static int encodedSize(DurabilityBatchPayload payload) {
+        RegistryByteBuf buf = buffer();
+        DurabilityBatchPayload.CODEC.encode(buf, payload);
+        return buf.readableBytes();
+    }
+
+    // What a custom payload packet adds on top of its payload: the packet id and the payload's identifier
+    private static int packetOverhead() {
+        RegistryByteBuf buf = buffer();
+        buf.writeIdentifier(DurabilityBatchPayload.ID.id());
+        return 1 + buf.readableBytes();
+    }
+
+    private static DurabilityBatchPayload roundTrip(DurabilityBatchPayload payload) {
+        RegistryByteBuf buf = buffer();
+        DurabilityBatchPayload.CODEC.encode(buf, payload);
+        return DurabilityBatchPayload.CODEC.decode(buf);
+    }
+
+    @Test
+    void positionsRoundTripOnBothSidesOfZero() {
+        BlockPos[] positions = {
+            new BlockPos(0, 0, 0), new BlockPos(-1, -1, -1), new BlockPos(-200, -64, -100),
+            new BlockPos(29_999_999, 319, -29_999_999), new BlockPos(15, 64, -16)
+        };
+        for (BlockPos pos : positions) {
+            DurabilityBatchPayload decoded = roundTrip(DurabilityBatchPayload.of(pos, 7, MAX));
+            assertEquals(1, decoded.size());
+            assertEquals(pos, decoded.getPos(0));
+            assertEquals(7, decoded.current()[0]);
+            assertEquals(MAX, decoded.max()[0]);
+        }
+    }
+
+    @Test
+    void negativeCoordinatesCostNoMoreThanPositiveOnes() {
+        // Chunk -13, -7 and y -40 take one byte each, as chunk 12, 6 and y 39 do
+        int negative = encodedSize(DurabilityBatchPayload.of(new BlockPos(-200, -40, -100), 150, MAX));
+        int positive = encodedSize(DurabilityBatchPayload.of(new BlockPos(199, 39, 99), 150, MAX));
+        assertEquals(positive, negative);
+        assertEquals(9, negative);
+    }
+
+    @Test
+    void laterUpdatesToABlockReplaceEarlierOnes() {
+        Long2ObjectOpenHashMap<Long2LongOpenHashMap> chunks = new Long2ObjectOpenHashMap<>();
+        BlockPos pos = new BlockPos(-5, 70, 3);
+        DurabilityUpdateBatcher.queue(chunks, pos, 299, MAX);
+        DurabilityUpdateBatcher.queue(chunks, pos, 297, MAX);
+        DurabilityUpdateBatcher.queue(chunks, pos.east(), 250, MAX);
+
+        assertEquals(1, chunks.size());
+        Long2ObjectMap.Entry<Long2LongOpenHashMap> entry = chunks.long2ObjectEntrySet().iterator().next();
+        DurabilityBatchPayload payload = roundTrip(DurabilityUpdateBatcher.buildPayload(new ChunkPos(entry.getLongKey()), entry.getValue()));
+        assertEquals(2, payload.size());
+        for (int i = 0; i < payload.size(); i++) {
+            assertEquals(payload.getPos(i).equals(pos) ? 297 : 250, payload.current()[i]);
+        }
+    }
+
+    @Test
+    void fiftyAttackersOnOneWall() {
+        // A 32-wide, 3-high wall west of spawn crossing three chunks, and 50 mobs each chewing one block of it
+        SplittableRandom random = new SplittableRandom(6);
+        List<BlockPos> wall = new ArrayList<>();
+        for (int x = -40; x < -8; x++) {
+            for (int y = 64; y < 67; y++) {
+                wall.add(new BlockPos(x, y, -100));
+            }
+        }
+        BlockPos[] targets = new BlockPos[50];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = wall.get(random.nextInt(wall.size()));
+        }
+
+        Long2IntOpenHashMap durability = new Long2IntOpenHashMap();
+        durability.defaultReturnValue(MAX);
+        Long2IntOpenHashMap clientView = new Long2IntOpenHashMap();
+        int ticks = 20;
+        int perHitPackets = 0, perHitBytes = 0, batchedPackets = 0, batchedBytes = 0;
+
+        for (int tick = 0; tick < ticks; tick++) {
+            Long2ObjectOpenHashMap<Long2LongOpenHashMap> chunks = new Long2ObjectOpenHashMap<>();
+            for (BlockPos target : targets) {
+                int current = durability.get(target.asLong()) - 1;
+                durability.put(target.asLong(), current);
+
+                // Before batching: a packet per hit to each tracking player
+                perHitPackets++;
+                perHitBytes += packetOverhead() + encodedSize(DurabilityBatchPayload.of(target, current, MAX));
+                DurabilityUpdateBatcher.queue(chunks, target, current, MAX);
+            }
+
+            for (Long2ObjectMap.Entry<Long2LongOpenHashMap> entry : chunks.long2ObjectEntrySet()) {
+                DurabilityBatchPayload payload = DurabilityUpdateBatcher.buildPayload(new ChunkPos(entry.getLongKey()), entry.getValue());
+                batchedPackets++;
+                batchedBytes += packetOverhead() + encodedSize(payload);
+
+                DurabilityBatchPayload received = roundTrip(payload);
+                for (int i = 0; i < received.size(); i++) {
+                    clientView.put(received.getPos(i).asLong(), received.current()[i]);
+                }
+            }
+
+            // The client ends every tick seeing what the server has
+            for (BlockPos target : targets) {
+                assertEquals(durability.get(target.asLong()), clientView.get(target.asLong()));
+            }
+        }
+
+        assertEquals(50 * ticks, perHitPackets);
+        assertEquals(3 * ticks, batchedPackets);
+        assertTrue(batchedBytes * 4 < perHitBytes, batchedBytes + " batched bytes against " + perHitBytes + " per hit");
+    }
+}
@@ -0,0 +1,226 @@
+package com.stn.mobai.entity.ai;
+
+import com.stn.mobai.entity.ai.sense.LoadedSections;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Nearest-door lookups for 64 mobs around a walled base: the shared cache
+ * (warm, and a cold pass that scans every chunk first) against the expanding
+ * ring search BreakBlockGoal ran before it. With {@code doors} at 0 every
+ * search misses, the ring search's worst case of 1,760 block reads.
+ *
+ * The world is flat arrays, so the ring search here pays far less per block
+ * read than a ServerWorld lookup does; treat its numbers as a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoorPositionCacheBenchmark {
+
+    private static final int MOBS = 64;
+    private static final int BOTTOM_SECTION = -4;
+    private static final int SECTIONS = 24;
+
+    @Param({"0", "4", "32"})
+    public int doors;
+
+    private final Long2ObjectOpenHashMap<BlockState[][]> chunks = new Long2ObjectOpenHashMap<>();
+    private LoadedSections world;
+    private Set<Block> doorBlocks;
+    private BlockPos[] mobs;
+    private DoorPositionCache warm;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        doorBlocks = Set.of(Blocks.OAK_DOOR, Blocks.OAK_FENCE_GATE);
+        SplittableRandom random = new SplittableRandom(4);
+
+        // A 48x48 stone wall ring, three high, with doors set into it
+        BlockState stone = Blocks.STONE.getDefaultState();
+        for (int i = -24; i <= 24; i++) {
+            for (int y = 64; y < 67; y++) {
+                set(i, y, -24, stone);
+                set(i, y, 24, stone);
+                set(-24, y, i, stone);
+                set(24, y, i, stone);
+            }
+        }
+        for (int i = 0; i < doors; i++) {
+            int along = random.nextInt(-23, 24);
+            BlockState door = (i % 2 == 0 ? Blocks.OAK_DOOR : Blocks.OAK_FENCE_GATE).getDefaultState();
+            switch (i % 4) {
+                case 0 -> set(along, 64, -24, door);
+                case 1 -> set(along, 64, 24, door);
+                case 2 -> set(-24, 64, along, door);
+                default -> set(24, 64, along, door);
+            }
+        }
+
+        // Mobs pressed against the outside of the wall
+        mobs = new BlockPos[MOBS];
+        for (int i = 0; i < MOBS; i++) {
+            int along = random.nextInt(-30, 31);
+            int out = 25 + random.nextInt(6);
+            mobs[i] = switch (i % 4) {
+                case 0 -> new BlockPos(along, 64, -out);
+                case 1 -> new BlockPos(along, 64, out);
+                case 2 -> new BlockPos(-out, 64, along);
+                default -> new BlockPos(out, 64, along);
+            };
+        }
+
+        world = new ArrayWorld();
+        warm = newCache();
+        cachedSearch(warm); // Scans every chunk the mobs reach
+    }
+
+    private DoorPositionCache newCache() {
+        return new DoorPositionCache(state -> doorBlocks.contains(state.getBlock()) ? DoorPositionCache.DOOR : 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOBS)
+    public int cachedWarm() {
+        return cachedSearch(warm);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOBS)
+    public int cachedCold() {
+        return cachedSearch(newCache());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOBS)
+    public int ringSearch() {
+        int found = 0;
+        for (BlockPos mob : mobs) {
+            if (ringSearch(mob) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private int cachedSearch(DoorPositionCache cache) {
+        int found = 0;
+        for (BlockPos mob : mobs) {
+            if (cache.findNearest(World.OVERWORLD, world, mob, 10, -1, 2, DoorPositionCache.DOOR) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // BreakBlockGoal.findNearbyDoor before the cache
+    private BlockPos ringSearch(BlockPos center) {
+        for (int radius = 1; radius <= 10; radius++) {
+            for (int x = -radius; x <= radius; x++) {
+                for (int z = -radius; z <= radius; z++) {
+                    if (Math.abs(x) != radius && Math.abs(z) != radius) {
+                        continue;
+                    }
+                    for (int y = -1; y <= 2; y++) {
+                        BlockPos checkPos = center.add(x, y, z);
+                        if (doorBlocks.contains(getBlockState(checkPos).getBlock())) {
+                            return checkPos;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void set(int x, int y, int z, BlockState state) {
+        BlockState[][] sections = chunks.computeIfAbsent(ChunkPos.toLong(x >> 4, z >> 4), k -> new BlockState[SECTIONS][]);
+        int sectionIndex = (y >> 4) - BOTTOM_SECTION;
+        if (sections[sectionIndex] == null) {
+            sections[sectionIndex] = new BlockState[4096];
+        }
+        sections[sectionIndex][((y & 15) << 8) | ((z & 15) << 4) | (x & 15)] = state;
+    }
+
+    private BlockState getBlockState(BlockPos pos) {
+        BlockState[][] sections = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        int sectionIndex = (pos.getY() >> 4) - BOTTOM_SECTION;
+        BlockState state = sections != null && sections[sectionIndex] != null
+            ? sections[sectionIndex][((pos.getY() & 15) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15)]
+            : null;
+        return state != null ? state : Blocks.AIR.getDefaultState();
+    }
+
+    // Every chunk counts as loaded; missing ones are all air
+    private final class ArrayWorld implements LoadedSections {
+        @Override
+        public int getBottomSectionCoord() {
+            return BOTTOM_SECTION;
+        }
+
+        @Override
+        public int countVerticalSections() {
+            return SECTIONS;
+        }
+
+        @Override
+        public boolean isChunkLoaded(int chunkX, int chunkZ) {
+            return true;
+        }
+
+        @Override
+        public SectionStates getSection(int chunkX, int chunkZ, int sectionIndex) {
+            BlockState[][] sections = chunks.get(ChunkPos.toLong(chunkX, chunkZ));
+            BlockState[] states = sections != null ? sections[sectionIndex] : null;
+            return new SectionStates() {
+                @Override
+                public boolean hasAny(Predicate<BlockState> predicate) {
+                    if (states == null) {
+                        return false;
+                    }
+                    for (BlockState state : states) {
+                        if (state != null && predicate.test(state)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public BlockState getBlockState(int x, int y, int z) {
+                    BlockState state = states[(y << 8) | (z << 4) | x];
+                    return state != null ? state : Blocks.AIR.getDefaultState();
+                }
+            };
+        }
+    }
+}
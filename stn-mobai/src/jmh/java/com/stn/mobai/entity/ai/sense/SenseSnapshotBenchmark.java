@@ -0,0 +1,166 @@
+package com.stn.mobai.entity.ai.sense;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One survival-night tick of player and smell sensing for a horde around a
+ * base with 4 players and 20 villagers, among 400 other entities (the horde
+ * itself, animals, items): the shared snapshot, rebuilt every tick and then
+ * queried by each mob, against the 48-block player box query and 64-block
+ * smell box query each mob ran before it.
+ *
+ * The world is a map of per-chunk entity lists walked the way the game's
+ * entity lookup walks sections, without vertical sections or the lookup's
+ * own overhead, so the per-mob numbers are a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SenseSnapshotBenchmark {
+
+    private static final int PLAYERS = 4;
+    private static final int VILLAGERS = 20;
+    private static final int OTHERS = 400;
+    private static final double PLAYER_RANGE = 48.0;
+    private static final double SMELL_RANGE = 64.0;
+
+    private static final int OTHER = 0;
+
+    private record Entity(int kind, int x, int y, int z, boolean alive) {
+    }
+
+    @Param({"10", "50", "150"})
+    public int horde;
+
+    private final List<Entity> sensed = new ArrayList<>();
+    private final Long2ObjectOpenHashMap<List<Entity>> chunks = new Long2ObjectOpenHashMap<>();
+    private BlockPos[] mobs;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(2);
+        // Players and villagers inside the base, the horde in a ring around it
+        for (int i = 0; i < PLAYERS + VILLAGERS; i++) {
+            Entity entity = new Entity(i < PLAYERS ? SenseSnapshot.PLAYER : SenseSnapshot.VILLAGER,
+                random.nextInt(-16, 16), 64, random.nextInt(-16, 16), true);
+            sensed.add(entity);
+            add(entity);
+        }
+
+        mobs = new BlockPos[horde];
+        for (int i = 0; i < horde; i++) {
+            double angle = random.nextDouble(Math.PI * 2);
+            double distance = random.nextDouble(20, 60);
+            mobs[i] = new BlockPos((int) (Math.cos(angle) * distance), 64, (int) (Math.sin(angle) * distance));
+            add(new Entity(OTHER, mobs[i].getX(), 64, mobs[i].getZ(), true));
+        }
+        for (int i = 0; i < OTHERS; i++) {
+            add(new Entity(OTHER, random.nextInt(-160, 160), random.nextInt(50, 80), random.nextInt(-160, 160), true));
+        }
+    }
+
+    private void add(Entity entity) {
+        chunks.computeIfAbsent(ChunkPos.toLong(entity.x() >> 4, entity.z() >> 4), k -> new ArrayList<>()).add(entity);
+    }
+
+    @Benchmark
+    public int snapshot() {
+        // Build, as END_WORLD_TICK does
+        int count = sensed.size();
+        int[] xs = new int[count], ys = new int[count], zs = new int[count];
+        byte[] kinds = new byte[count];
+        Entity[] entities = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            Entity entity = sensed.get(i);
+            xs[i] = entity.x();
+            ys[i] = entity.y();
+            zs[i] = entity.z();
+            kinds[i] = (byte) entity.kind();
+        }
+        SenseIndex index = new SenseIndex(xs, ys, zs, kinds);
+        for (int i = 0; i < count; i++) {
+            entities[i] = sensed.get(index.source(i));
+        }
+
+        int found = 0;
+        for (BlockPos mob : mobs) {
+            if (index.findBest(mob, PLAYER_RANGE, SenseSnapshot.PLAYER, 1.0f, 0.0f, i -> entities[i].alive()) >= 0) {
+                found++;
+            }
+            if (index.findBest(mob, SMELL_RANGE, SenseSnapshot.PLAYER | SenseSnapshot.VILLAGER, 100.0f, 75.0f,
+                i -> entities[i].alive()) >= 0) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int boxQueries() {
+        int found = 0;
+        for (BlockPos mob : mobs) {
+            if (bestInBox(mob, PLAYER_RANGE, SenseSnapshot.PLAYER, 1.0f, 0.0f) != null) {
+                found++;
+            }
+            if (bestInBox(mob, SMELL_RANGE, SenseSnapshot.PLAYER | SenseSnapshot.VILLAGER, 100.0f, 75.0f) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // getEntitiesByClass over the range box, then a pass over the result for the best score
+    private Entity bestInBox(BlockPos center, double range, int kindMask, float playerWeight, float villagerWeight) {
+        int reach = (int) Math.ceil(range);
+        List<Entity> inBox = new ArrayList<>();
+        for (int chunkX = (center.getX() - reach) >> 4; chunkX <= (center.getX() + reach) >> 4; chunkX++) {
+            for (int chunkZ = (center.getZ() - reach) >> 4; chunkZ <= (center.getZ() + reach) >> 4; chunkZ++) {
+                List<Entity> chunk = chunks.get(ChunkPos.toLong(chunkX, chunkZ));
+                if (chunk == null) {
+                    continue;
+                }
+                for (Entity entity : chunk) {
+                    if ((entity.kind() & kindMask) != 0 && entity.alive()
+                        && Math.abs(entity.x() - center.getX()) <= range
+                        && Math.abs(entity.y() - center.getY()) <= range
+                        && Math.abs(entity.z() - center.getZ()) <= range) {
+                        inBox.add(entity);
+                    }
+                }
+            }
+        }
+
+        Entity best = null;
+        double bestScore = 0;
+        for (Entity entity : inBox) {
+            double distance = Math.sqrt(center.getSquaredDistance(entity.x(), entity.y(), entity.z()));
+            double score = (1.0 - distance / range) * (entity.kind() == SenseSnapshot.PLAYER ? playerWeight : villagerWeight);
+            if (score > bestScore) {
+                bestScore = score;
+                best = entity;
+            }
+        }
+        return best;
+    }
+}
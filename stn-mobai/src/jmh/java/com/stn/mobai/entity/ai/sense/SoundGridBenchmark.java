@@ -0,0 +1,145 @@
+package com.stn.mobai.entity.ai.sense;
+
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 200 mobs listening for sounds with 2,000 active (20 new sounds a tick with
+ * the default 100-tick decay), through the grid and through the single list
+ * SenseManager scanned before it. Sounds are spread over a {@code spread}
+ * block square around the mobs, so the larger spreads put most sounds out of
+ * earshot.
+ *
+ * The query cases are per listener; the tick cases are one tick of new
+ * sounds plus expiry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoundGridBenchmark {
+
+    private static final int MOBS = 200;
+    private static final int SOUNDS_PER_TICK = 20;
+    private static final int DECAY_TICKS = 100;
+    private static final double HEARING_RANGE = 32.0;
+
+    @Param({"128", "512", "2048"})
+    public int spread;
+
+    private BlockPos[] listeners;
+    private SoundGrid grid;
+    private List<SoundEvent> linear;
+    private SplittableRandom random;
+    private long tick;
+    private final List<SoundEvent> result = new ArrayList<>();
+
+    // Separate stores for the tick cases, which keep adding and expiring
+    private SoundGrid tickingGrid;
+    private List<SoundEvent> tickingLinear;
+    private long tickGrid;
+    private long tickLinear;
+
+    @Setup
+    public void setup() {
+        random = new SplittableRandom(5);
+        listeners = new BlockPos[MOBS];
+        for (int i = 0; i < MOBS; i++) {
+            listeners[i] = new BlockPos(random.nextInt(-64, 64), 64, random.nextInt(-64, 64));
+        }
+
+        grid = new SoundGrid(DECAY_TICKS);
+        linear = new ArrayList<>();
+        tickingGrid = new SoundGrid(DECAY_TICKS);
+        tickingLinear = new ArrayList<>();
+        for (tick = 0; tick < DECAY_TICKS; tick++) {
+            for (int i = 0; i < SOUNDS_PER_TICK; i++) {
+                SoundEvent event = randomSound(tick);
+                grid.add(event);
+                linear.add(event);
+                tickingGrid.add(event);
+                tickingLinear.add(event);
+            }
+        }
+        tickGrid = tick;
+        tickLinear = tick;
+    }
+
+    private SoundEvent randomSound(long createdTick) {
+        int half = spread / 2;
+        return new SoundEvent(new BlockPos(random.nextInt(-half, half), random.nextInt(56, 72), random.nextInt(-half, half)),
+            (float) random.nextDouble(0.1, 1.0), createdTick);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOBS)
+    public int gridQuery() {
+        int heard = 0;
+        for (BlockPos listener : listeners) {
+            result.clear();
+            grid.collectInRange(listener, HEARING_RANGE, tick, result);
+            heard += result.size();
+        }
+        return heard;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOBS)
+    public int linearQuery() {
+        int heard = 0;
+        for (BlockPos listener : listeners) {
+            result.clear();
+            for (SoundEvent event : linear) {
+                if (event.isExpired(tick, DECAY_TICKS)) {
+                    continue;
+                }
+                double distance = listener.getSquaredDistance(event.getPosition());
+                double effectiveRange = event.getMaxDetectionRange(HEARING_RANGE);
+                if (distance <= effectiveRange * effectiveRange) {
+                    result.add(event);
+                }
+            }
+            heard += result.size();
+        }
+        return heard;
+    }
+
+    @Benchmark
+    public int gridTick() {
+        tickGrid++;
+        for (int i = 0; i < SOUNDS_PER_TICK; i++) {
+            tickingGrid.add(randomSound(tickGrid));
+        }
+        tickingGrid.expire(tickGrid);
+        return tickingGrid.size();
+    }
+
+    @Benchmark
+    public int linearTick() {
+        tickLinear++;
+        for (int i = 0; i < SOUNDS_PER_TICK; i++) {
+            tickingLinear.add(randomSound(tickLinear));
+        }
+        long now = tickLinear;
+        tickingLinear.removeIf(event -> event.isExpired(now, DECAY_TICKS));
+        return tickingLinear.size();
+    }
+}
@@ -1,13 +1,19 @@
 package com.stn.mobai;
 
+import com.stn.core.api.BlockBreakTable;
 import com.stn.mobai.command.DebugCommand;
 import com.stn.mobai.debug.SenseDebugger;
+import com.stn.mobai.entity.ai.BreakBlockGoal;
+import com.stn.mobai.entity.ai.MobSenseGoal;
 import com.stn.mobai.entity.ai.sense.SenseManager;
+import com.stn.mobai.entity.ai.sense.SenseSnapshot;
+import com.stn.mobai.event.BlockChangeHandler;
 import com.stn.mobai.event.MobSpawnHandler;
 import com.stn.mobai.event.SoundEventHandler;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.server.world.ServerWorld;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +37,12 @@ public class STNMobAI implements ModInitializer {
         // Register sound event handlers (block break, etc.)
         SoundEventHandler.register();
 
+        // Keep light/heat block indexes in sync with block changes and chunk unloads
+        BlockChangeHandler.register();
+
+        // Base rules for which blocks mobs may break (compiled into a lookup table on tag reload)
+        BlockBreakTable.setBaseRules(BreakBlockGoal::compileBreakRules);
+
         // Register mob spawn handler for AI injection
         MobSpawnHandler.register();
 
@@ -43,10 +55,14 @@ public class STNMobAI implements ModInitializer {
         ServerTickEvents.END_WORLD_TICK.register(world -> {
             if (world instanceof ServerWorld serverWorld) {
                 SenseManager.getInstance().tick(serverWorld);
+                // Shared player/villager snapshot read by every MobSenseGoal next tick
+                SenseSnapshot.build(serverWorld, MobSenseGoal.isSurvivalNight());
                 SenseDebugger.tick(serverWorld);
             }
         });
 
+        ServerWorldEvents.UNLOAD.register((server, world) -> SenseSnapshot.clear(world));
+
         LOGGER.info("Survive The Night - Mob AI initialized!");
         LOGGER.info("Use /mobai debug to toggle debug mode");
     }
@@ -1,6 +1,7 @@
 package com.stn.mobai.entity.ai;
 
 import com.stn.core.STNCore;
+import com.stn.core.api.BlockBreakTable;
 import com.stn.fortifications.durability.BlockDurabilityManager;
 import com.stn.fortifications.network.FortificationsNetworking;
 import com.stn.mobai.config.STNMobAIConfig;
@@ -13,6 +14,7 @@ import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.registry.tag.TagKey;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.util.math.BlockPos;
@@ -23,6 +25,7 @@ import net.minecraft.world.World;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.BiPredicate;
 
 /**
  * AI Goal for mobs to break blocks when pathfinding is blocked.
@@ -210,12 +213,11 @@ public class BreakBlockGoal extends Goal {
         float damagePerTick = (float) (breakSpeedMultiplier * STNMobAIConfig.BLOCK_BREAK_SPEED_MULTIPLIER);
 
         // Apply material-specific multipliers if mob implements IBlockBreaker
+        int breakFlags = BlockBreakTable.getFlags(state);
         if (mob instanceof IBlockBreaker breaker) {
-            if (state.isIn(BlockTags.LOGS) || state.isIn(BlockTags.PLANKS) ||
-                state.isIn(BlockTags.WOODEN_DOORS) || state.isIn(BlockTags.WOODEN_FENCES)) {
+            if ((breakFlags & BlockBreakTable.WOOD) != 0) {
                 damagePerTick *= breaker.getWoodBreakMultiplier();
-            } else if (state.isIn(BlockTags.BASE_STONE_OVERWORLD) ||
-                       state.isIn(BlockTags.STONE_BRICKS)) {
+            } else if ((breakFlags & BlockBreakTable.STONE) != 0) {
                 damagePerTick *= breaker.getStoneBreakMultiplier();
             }
         }
@@ -383,15 +385,18 @@ public class BreakBlockGoal extends Goal {
      * Doors are prioritized because mobs should path through doorways.
      */
     private BlockPos findDoorInPath(int dx, int dz) {
+        if (!(mob.getWorld() instanceof ServerWorld serverWorld)) {
+            return null;
+        }
+
         // Search up to 3 blocks ahead for doors
         for (int dist = 1; dist <= 3; dist++) {
             BlockPos checkBase = mob.getBlockPos().add(dx * dist, 0, dz * dist);
 
             for (int height = 0; height <= 1; height++) {
                 BlockPos checkPos = checkBase.up(height);
-                BlockState state = mob.getWorld().getBlockState(checkPos);
 
-                if (state.isIn(BlockTags.DOORS) || state.isIn(BlockTags.FENCE_GATES)) {
+                if (DoorPositionCache.isDoorAt(serverWorld, checkPos, DoorPositionCache.DOOR)) {
                     return checkPos;
                 }
             }
@@ -404,9 +409,8 @@ public class BreakBlockGoal extends Goal {
                 for (BlockPos base : new BlockPos[]{xCheck, zCheck}) {
                     for (int height = 0; height <= 1; height++) {
                         BlockPos checkPos = base.up(height);
-                        BlockState state = mob.getWorld().getBlockState(checkPos);
 
-                        if (state.isIn(BlockTags.DOORS) || state.isIn(BlockTags.FENCE_GATES)) {
+                        if (DoorPositionCache.isDoorAt(serverWorld, checkPos, DoorPositionCache.DOOR)) {
                             return checkPos;
                         }
                     }
@@ -422,35 +426,17 @@ public class BreakBlockGoal extends Goal {
      * If a door exists nearby, mobs should try to path to it rather than breaking walls.
      */
     private BlockPos findNearbyDoor() {
-        BlockPos mobPos = mob.getBlockPos();
-        int searchRadius = 10;
-
-        // Search in expanding squares for efficiency (check closer doors first)
-        for (int radius = 1; radius <= searchRadius; radius++) {
-            for (int x = -radius; x <= radius; x++) {
-                for (int z = -radius; z <= radius; z++) {
-                    // Only check the perimeter of each radius level
-                    if (Math.abs(x) != radius && Math.abs(z) != radius) {
-                        continue;
-                    }
-
-                    for (int y = -1; y <= 2; y++) {
-                        BlockPos checkPos = mobPos.add(x, y, z);
-                        BlockState state = mob.getWorld().getBlockState(checkPos);
-
-                        if (state.isIn(BlockTags.DOORS) || state.isIn(BlockTags.FENCE_GATES)) {
-                            return checkPos;
-                        }
-                    }
-                }
-            }
+        if (!(mob.getWorld() instanceof ServerWorld serverWorld)) {
+            return null;
         }
 
-        return null;
+        // Closest ring first, same order as an expanding square search
+        return DoorPositionCache.findNearest(serverWorld, mob.getBlockPos(), 10, -1, 2, DoorPositionCache.DOOR);
     }
 
     private boolean isBreakableBlock(BlockState state, BlockPos pos) {
-        if (state.isAir()) {
+        // State-wide rules (air, unbreakable blocks, material whitelist) come from the compiled table
+        if (!BlockBreakTable.isBreakable(state)) {
             return false;
         }
 
@@ -459,12 +445,6 @@ public class BreakBlockGoal extends Goal {
             return false;
         }
 
-        Block block = state.getBlock();
-
-        if (UNBREAKABLE_BLOCKS.contains(block)) {
-            return false;
-        }
-
         // Check if mob-specific block breaking restrictions apply
         if (mob instanceof IBlockBreaker breaker) {
             if (!breaker.canBreakBlock(state, pos)) {
@@ -473,14 +453,55 @@ public class BreakBlockGoal extends Goal {
         }
 
         float hardness = state.getHardness(mob.getWorld(), pos);
-        if (hardness < 0) {
+        return hardness >= 0;
+    }
+
+    /**
+     * Base rules for the mob block break table, compiled once per tag reload.
+     * Registered with {@link BlockBreakTable#setBaseRules} by STNMobAI.
+     */
+    public static void compileBreakRules(BlockBreakTable.Writer writer) {
+        compileBreakRules(writer, BlockState::isIn);
+    }
+
+    // Tag membership is passed in so tests can compile against explicit tags
+    static void compileBreakRules(BlockBreakTable.Writer writer, BiPredicate<BlockState, TagKey<Block>> inTag) {
+        for (BlockState state : Block.STATE_IDS) {
+            int flags = 0;
+
+            if (isBreakableByDefault(state, inTag)) {
+                flags |= BlockBreakTable.BREAKABLE;
+            }
+            if (inTag.test(state, BlockTags.DOORS) || inTag.test(state, BlockTags.FENCE_GATES)) {
+                flags |= BlockBreakTable.DOOR;
+            }
+            if (inTag.test(state, BlockTags.LOGS) || inTag.test(state, BlockTags.PLANKS) ||
+                inTag.test(state, BlockTags.WOODEN_DOORS) || inTag.test(state, BlockTags.WOODEN_FENCES)) {
+                flags |= BlockBreakTable.WOOD;
+            } else if (inTag.test(state, BlockTags.BASE_STONE_OVERWORLD) ||
+                       inTag.test(state, BlockTags.STONE_BRICKS)) {
+                flags |= BlockBreakTable.STONE;
+            }
+
+            writer.set(state, flags);
+        }
+    }
+
+    private static boolean isBreakableByDefault(BlockState state, BiPredicate<BlockState, TagKey<Block>> inTag) {
+        if (state.isAir()) {
+            return false;
+        }
+
+        Block block = state.getBlock();
+
+        if (UNBREAKABLE_BLOCKS.contains(block)) {
             return false;
         }
 
         // Priority defensive structures: doors, fences, glass
-        if (state.isIn(BlockTags.DOORS) ||
-            state.isIn(BlockTags.FENCES) ||
-            state.isIn(BlockTags.FENCE_GATES) ||
+        if (inTag.test(state, BlockTags.DOORS) ||
+            inTag.test(state, BlockTags.FENCES) ||
+            inTag.test(state, BlockTags.FENCE_GATES) ||
             block == Blocks.GLASS ||
             block == Blocks.GLASS_PANE ||
             block == Blocks.IRON_BARS) {
@@ -488,10 +509,10 @@ public class BreakBlockGoal extends Goal {
         }
 
         // Crafted wood blocks
-        if (state.isIn(BlockTags.PLANKS) ||
-            state.isIn(BlockTags.WOODEN_SLABS) ||
-            state.isIn(BlockTags.WOODEN_STAIRS) ||
-            state.isIn(BlockTags.WOODEN_TRAPDOORS)) {
+        if (inTag.test(state, BlockTags.PLANKS) ||
+            inTag.test(state, BlockTags.WOODEN_SLABS) ||
+            inTag.test(state, BlockTags.WOODEN_STAIRS) ||
+            inTag.test(state, BlockTags.WOODEN_TRAPDOORS)) {
             return true;
         }
 
@@ -508,7 +529,7 @@ public class BreakBlockGoal extends Goal {
         }
 
         // Stone bricks (crafted)
-        if (state.isIn(BlockTags.STONE_BRICKS)) {
+        if (inTag.test(state, BlockTags.STONE_BRICKS)) {
             return true;
         }
 
@@ -543,8 +564,8 @@ public class BreakBlockGoal extends Goal {
         }
 
         // Other common building materials
-        if (state.isIn(BlockTags.WOOL) ||
-            state.isIn(BlockTags.TERRACOTTA) ||
+        if (inTag.test(state, BlockTags.WOOL) ||
+            inTag.test(state, BlockTags.TERRACOTTA) ||
             block == Blocks.BOOKSHELF ||
             block == Blocks.CRAFTING_TABLE ||
             block == Blocks.FURNACE ||
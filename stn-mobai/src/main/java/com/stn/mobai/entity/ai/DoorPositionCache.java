@@ -0,0 +1,275 @@
+package com.stn.mobai.entity.ai;
+
+import com.stn.core.api.BlockBreakTable;
+import com.stn.mobai.entity.ai.sense.LoadedSections;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per-chunk cache of door, trapdoor and fence gate positions, shared by every
+ * BreakBlockGoal. Each chunk is filled by a one-time scan of the sections whose
+ * palette contains a door-like block, then kept current from block changes.
+ * Cached chunks are dropped when they unload.
+ */
+public final class DoorPositionCache {
+
+    // Entry kinds (bit flags for query masks)
+    public static final int DOOR = 1;      // Doors and fence gates (BlockBreakTable.DOOR)
+    public static final int TRAPDOOR = 2;
+
+    // The cache every goal shares; tests build their own with a fixed kind function
+    static final DoorPositionCache INSTANCE = new DoorPositionCache(DoorPositionCache::kindOf);
+
+    private final Map<RegistryKey<World>, Long2ObjectOpenHashMap<ChunkDoors>> cache = new ConcurrentHashMap<>();
+    private final ToIntFunction<BlockState> kindFunction;
+
+    DoorPositionCache(ToIntFunction<BlockState> kindFunction) {
+        this.kindFunction = kindFunction;
+    }
+
+    /**
+     * Check whether a door of the given kinds is at a position.
+     */
+    public static boolean isDoorAt(ServerWorld world, BlockPos pos, int kindMask) {
+        return INSTANCE.isDoorAt(world.getRegistryKey(), LoadedSections.of(world), pos, kindMask);
+    }
+
+    boolean isDoorAt(RegistryKey<World> worldKey, LoadedSections world, BlockPos pos, int kindMask) {
+        ChunkDoors doors = getChunk(worldKey, world, pos.getX() >> 4, pos.getZ() >> 4);
+        if (doors == null) {
+            return false;
+        }
+        int kind = doors.kindAt(pack(world.getSectionIndex(pos.getY()), pos.getX(), pos.getY(), pos.getZ()));
+        return (kind & kindMask) != 0;
+    }
+
+    /**
+     * Find the nearest door around a center position, measured as horizontal
+     * ring distance (like an expanding square search). The center column
+     * itself is not considered. Ties resolve in x, then z, then y order.
+     * @return the door position, or null if none is within the radius
+     */
+    public static BlockPos findNearest(ServerWorld world, BlockPos center, int radius, int minDy, int maxDy, int kindMask) {
+        return INSTANCE.findNearest(world.getRegistryKey(), LoadedSections.of(world), center, radius, minDy, maxDy, kindMask);
+    }
+
+    BlockPos findNearest(RegistryKey<World> worldKey, LoadedSections world, BlockPos center, int radius, int minDy, int maxDy, int kindMask) {
+        int minChunkX = (center.getX() - radius) >> 4;
+        int maxChunkX = (center.getX() + radius) >> 4;
+        int minChunkZ = (center.getZ() - radius) >> 4;
+        int maxChunkZ = (center.getZ() + radius) >> 4;
+
+        BlockPos best = null;
+        int bestRing = Integer.MAX_VALUE;
+        int bestDx = 0, bestDz = 0, bestDy = 0;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                ChunkDoors doors = getChunk(worldKey, world, chunkX, chunkZ);
+                if (doors == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < doors.size; i++) {
+                    if ((doors.kinds[i] & kindMask) == 0) continue;
+
+                    int packed = doors.positions[i];
+                    int dx = (chunkX << 4) + (packed & 15) - center.getX();
+                    int dz = (chunkZ << 4) + ((packed >> 4) & 15) - center.getZ();
+                    int dy = unpackY(world, packed) - center.getY();
+                    if (dy < minDy || dy > maxDy) continue;
+
+                    int ring = Math.max(Math.abs(dx), Math.abs(dz));
+                    if (ring == 0 || ring > radius) continue;
+
+                    if (ring < bestRing || (ring == bestRing &&
+                        (dx < bestDx || (dx == bestDx && (dz < bestDz || (dz == bestDz && dy < bestDy)))))) {
+                        bestRing = ring;
+                        bestDx = dx;
+                        bestDz = dz;
+                        bestDy = dy;
+                        best = center.add(dx, dy, dz);
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Update a cached chunk after a block changed.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        INSTANCE.onBlockChanged(world.getRegistryKey(), world.getSectionIndex(pos.getY()), pos, oldState, newState);
+    }
+
+    void onBlockChanged(RegistryKey<World> worldKey, int sectionIndex, BlockPos pos, BlockState oldState, BlockState newState) {
+        int oldKind = kindFunction.applyAsInt(oldState);
+        int newKind = kindFunction.applyAsInt(newState);
+        if (oldKind == 0 && newKind == 0) {
+            return;
+        }
+
+        Long2ObjectOpenHashMap<ChunkDoors> chunks = cache.get(worldKey);
+        if (chunks == null) {
+            return;
+        }
+
+        // Chunks that were never scanned pick the change up on their first scan
+        ChunkDoors doors = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (doors == null) {
+            return;
+        }
+
+        int packed = pack(sectionIndex, pos.getX(), pos.getY(), pos.getZ());
+        doors.remove(packed);
+        if (newKind != 0) {
+            doors.add(packed, (byte) newKind);
+        }
+    }
+
+    public static void onChunkUnload(ServerWorld world, ChunkPos chunkPos) {
+        INSTANCE.onChunkUnload(world.getRegistryKey(), chunkPos);
+    }
+
+    void onChunkUnload(RegistryKey<World> worldKey, ChunkPos chunkPos) {
+        Long2ObjectOpenHashMap<ChunkDoors> chunks = cache.get(worldKey);
+        if (chunks != null) {
+            chunks.remove(chunkPos.toLong());
+        }
+    }
+
+    public static void clear(ServerWorld world) {
+        INSTANCE.clear(world.getRegistryKey());
+    }
+
+    void clear(RegistryKey<World> worldKey) {
+        cache.remove(worldKey);
+    }
+
+    /**
+     * Drop every cached chunk (door tags may have changed on reload).
+     */
+    public static void clearAll() {
+        INSTANCE.cache.clear();
+    }
+
+    int getCachedChunkCount() {
+        int count = 0;
+        for (Long2ObjectOpenHashMap<ChunkDoors> chunks : cache.values()) {
+            count += chunks.size();
+        }
+        return count;
+    }
+
+    private ChunkDoors getChunk(RegistryKey<World> worldKey, LoadedSections world, int chunkX, int chunkZ) {
+        Long2ObjectOpenHashMap<ChunkDoors> chunks = cache.computeIfAbsent(worldKey, k -> new Long2ObjectOpenHashMap<>());
+        long key = ChunkPos.toLong(chunkX, chunkZ);
+
+        ChunkDoors doors = chunks.get(key);
+        if (doors == null) {
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                return null;
+            }
+            doors = scanChunk(world, chunkX, chunkZ);
+            chunks.put(key, doors);
+        }
+        return doors;
+    }
+
+    private ChunkDoors scanChunk(LoadedSections world, int chunkX, int chunkZ) {
+        ChunkDoors doors = new ChunkDoors();
+
+        for (int sectionIndex = 0; sectionIndex < world.countVerticalSections(); sectionIndex++) {
+            LoadedSections.SectionStates section = world.getSection(chunkX, chunkZ, sectionIndex);
+
+            // Palette check: most sections contain no door-like block at all
+            if (!section.hasAny(state -> kindFunction.applyAsInt(state) != 0)) {
+                continue;
+            }
+
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        int kind = kindFunction.applyAsInt(section.getBlockState(x, y, z));
+                        if (kind != 0) {
+                            doors.add((sectionIndex << 12) | (y << 8) | (z << 4) | x, (byte) kind);
+                        }
+                    }
+                }
+            }
+        }
+
+        return doors;
+    }
+
+    private static int kindOf(BlockState state) {
+        if (BlockBreakTable.isDoor(state)) {
+            return DOOR;
+        }
+        if (state.isIn(BlockTags.TRAPDOORS)) {
+            return TRAPDOOR;
+        }
+        return 0;
+    }
+
+    // Chunk-local packing: section index (upper bits), then y, z, x nibbles
+    private static int pack(int sectionIndex, int x, int y, int z) {
+        return (sectionIndex << 12) | ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    private static int unpackY(LoadedSections world, int packed) {
+        return ((world.getBottomSectionCoord() + (packed >>> 12)) << 4) + ((packed >> 8) & 15);
+    }
+
+    /**
+     * Door-like blocks within one chunk.
+     */
+    private static class ChunkDoors {
+        int[] positions = new int[4];
+        byte[] kinds = new byte[4];
+        int size;
+
+        int kindAt(int packed) {
+            for (int i = 0; i < size; i++) {
+                if (positions[i] == packed) {
+                    return kinds[i];
+                }
+            }
+            return 0;
+        }
+
+        void add(int packed, byte kind) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                kinds = Arrays.copyOf(kinds, size * 2);
+            }
+            positions[size] = packed;
+            kinds[size] = kind;
+            size++;
+        }
+
+        void remove(int packed) {
+            for (int i = 0; i < size; i++) {
+                if (positions[i] == packed) {
+                    size--;
+                    positions[i] = positions[size];
+                    kinds[i] = kinds[size];
+                    return;
+                }
+            }
+        }
+    }
+}
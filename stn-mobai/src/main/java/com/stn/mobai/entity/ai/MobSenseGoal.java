@@ -4,20 +4,17 @@ import com.stn.mobai.entity.ISensoryMob;
 import com.stn.mobai.entity.ai.sense.HeatDetection;
 import com.stn.mobai.entity.ai.sense.LightDetection;
 import com.stn.mobai.entity.ai.sense.SenseManager;
+import com.stn.mobai.entity.ai.sense.SenseSnapshot;
 import com.stn.mobai.entity.ai.sense.SoundEvent;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.mob.MobEntity;
-import net.minecraft.entity.passive.VillagerEntity;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Box;
 import net.minecraft.world.poi.PointOfInterestStorage;
 import net.minecraft.world.poi.PointOfInterestTypes;
 
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -58,6 +55,10 @@ public class MobSenseGoal extends Goal {
         survivalNightChecker = checker;
     }
 
+    public static boolean isSurvivalNight() {
+        return survivalNightChecker.isSurvivalNight();
+    }
+
     @Override
     public boolean canStart() {
         // Throttle expensive sense checks with staggered timing
@@ -195,32 +196,21 @@ public class MobSenseGoal extends Goal {
     private SenseTarget evaluatePlayer(ServerWorld world) {
         BlockPos mobPos = mob.getBlockPos();
         double playerRange = sensoryMob.getPlayerDetectionRange();
-        Box searchBox = new Box(mobPos).expand(playerRange);
-
-        SenseTarget bestTarget = null;
-        double bestScore = 0;
 
-        List<PlayerEntity> players = world.getEntitiesByClass(
-            PlayerEntity.class,
-            searchBox,
-            player -> player.isAlive() && !player.isSpectator() && !player.isCreative()
-        );
-
-        for (PlayerEntity player : players) {
-            double distance = mobPos.getSquaredDistance(player.getBlockPos());
-            if (distance > playerRange * playerRange) continue;
-
-            double normalizedDistance = Math.sqrt(distance) / playerRange;
-            // High base score for players - they are the primary target
-            double score = (1.0 - normalizedDistance) * 150.0 * sensoryMob.getPlayerWeight();
-
-            if (score > bestScore) {
-                bestScore = score;
-                bestTarget = new SenseTarget(player.getBlockPos(), player, SenseType.PLAYER, score);
-            }
+        // Shared per-tick snapshot instead of a box query per mob; it skips players
+        // who went creative or spectator since it was built
+        SenseSnapshot snapshot = SenseSnapshot.get(world, false);
+        int best = snapshot.findBest(mobPos, playerRange, SenseSnapshot.PLAYER, 1.0f, 0.0f);
+        if (best < 0) {
+            return null;
         }
 
-        return bestTarget;
+        LivingEntity player = snapshot.getEntity(best);
+        double normalizedDistance = Math.sqrt(mobPos.getSquaredDistance(snapshot.getPosition(best))) / playerRange;
+        // High base score for players - they are the primary target
+        double score = (1.0 - normalizedDistance) * 150.0 * sensoryMob.getPlayerWeight();
+
+        return new SenseTarget(player.getBlockPos(), player, SenseType.PLAYER, score);
     }
 
     private SenseTarget evaluateSound(ServerWorld world) {
@@ -246,36 +236,20 @@ public class MobSenseGoal extends Goal {
     private SenseTarget evaluateSmell(ServerWorld world) {
         BlockPos mobPos = mob.getBlockPos();
         double smellRange = sensoryMob.getSmellRange();
-        Box searchBox = new Box(mobPos).expand(smellRange);
-
-        SenseTarget bestTarget = null;
-        double bestScore = 0;
-
-        // Combined search for living entities - more efficient than two separate queries
-        List<LivingEntity> entities = world.getEntitiesByClass(
-            LivingEntity.class,
-            searchBox,
-            entity -> (entity instanceof PlayerEntity player &&
-                       player.isAlive() && !player.isSpectator() && !player.isCreative()) ||
-                      (entity instanceof VillagerEntity villager && villager.isAlive())
-        );
 
-        for (LivingEntity entity : entities) {
-            double distance = mobPos.getSquaredDistance(entity.getBlockPos());
-            if (distance > smellRange * smellRange) continue;
-
-            double normalizedDistance = Math.sqrt(distance) / smellRange;
-            // Players worth more than villagers
-            double baseScore = (entity instanceof PlayerEntity) ? 100.0 : 75.0;
-            double score = (1.0 - normalizedDistance) * baseScore * sensoryMob.getSmellWeight();
-
-            if (score > bestScore) {
-                bestScore = score;
-                bestTarget = new SenseTarget(entity.getBlockPos(), entity, SenseType.SMELL, score);
-            }
+        // Players and villagers from the shared snapshot - players worth more than villagers
+        SenseSnapshot snapshot = SenseSnapshot.get(world, true);
+        int best = snapshot.findBest(mobPos, smellRange, SenseSnapshot.PLAYER | SenseSnapshot.VILLAGER, 100.0f, 75.0f);
+        if (best < 0) {
+            return null;
         }
 
-        return bestTarget;
+        LivingEntity entity = snapshot.getEntity(best);
+        double normalizedDistance = Math.sqrt(mobPos.getSquaredDistance(snapshot.getPosition(best))) / smellRange;
+        double baseScore = snapshot.isPlayer(best) ? 100.0 : 75.0;
+        double score = (1.0 - normalizedDistance) * baseScore * sensoryMob.getSmellWeight();
+
+        return new SenseTarget(entity.getBlockPos(), entity, SenseType.SMELL, score);
     }
 
     private SenseTarget evaluateLight(ServerWorld world) {
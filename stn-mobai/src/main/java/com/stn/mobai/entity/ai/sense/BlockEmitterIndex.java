@@ -0,0 +1,272 @@
+package com.stn.mobai.entity.ai.sense;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent per-chunk-section index of blocks that emit something mobs sense
+ * (light, heat). Each section stores its emitters as a packed section-local
+ * position (short) plus a quantized weight (byte).
+ *
+ * Sections are indexed lazily the first time a query reaches them, skipping
+ * any section whose palette contains no emitter. The index is kept current
+ * from block change hooks and dropped when the chunk unloads, so memory is
+ * bounded by the loaded area.
+ */
+public class BlockEmitterIndex {
+
+    @FunctionalInterface
+    public interface WeightFunction {
+        float getWeight(BlockState state);
+    }
+
+    private final WeightFunction weightFunction;
+    private final Map<RegistryKey<World>, Long2ObjectOpenHashMap<Section[]>> indexByWorld = new ConcurrentHashMap<>();
+
+    public BlockEmitterIndex(WeightFunction weightFunction) {
+        this.weightFunction = weightFunction;
+    }
+
+    /**
+     * Find the emitter with the best weighted proximity within range.
+     * Score is weight * (1 - distance / range). Only loaded chunks are visited.
+     * @param verticalRange maximum vertical offset from center to consider
+     */
+    public Match findBest(ServerWorld world, BlockPos center, double range, int verticalRange) {
+        return findBest(world.getRegistryKey(), LoadedSections.of(world), center, range, verticalRange);
+    }
+
+    Match findBest(RegistryKey<World> worldKey, LoadedSections world, BlockPos center, double range, int verticalRange) {
+        Long2ObjectOpenHashMap<Section[]> chunks = indexByWorld.computeIfAbsent(worldKey, k -> new Long2ObjectOpenHashMap<>());
+        int reach = (int) Math.ceil(range);
+
+        int minChunkX = (center.getX() - reach) >> 4;
+        int maxChunkX = (center.getX() + reach) >> 4;
+        int minChunkZ = (center.getZ() - reach) >> 4;
+        int maxChunkZ = (center.getZ() + reach) >> 4;
+        int minY = center.getY() - verticalRange;
+        int maxY = center.getY() + verticalRange;
+        int minSection = Math.max(0, world.getSectionIndex(minY));
+        int maxSection = Math.min(world.countVerticalSections() - 1, world.getSectionIndex(maxY));
+
+        Match best = null;
+        double bestScore = 0;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+
+                Section[] sections = chunks.computeIfAbsent(ChunkPos.toLong(chunkX, chunkZ),
+                    k -> new Section[world.countVerticalSections()]);
+
+                for (int sectionIndex = minSection; sectionIndex <= maxSection; sectionIndex++) {
+                    Section section = sections[sectionIndex];
+                    if (section == null) {
+                        section = scanSection(world.getSection(chunkX, chunkZ, sectionIndex));
+                        sections[sectionIndex] = section;
+                    }
+                    if (section.size == 0) {
+                        continue;
+                    }
+
+                    int baseX = chunkX << 4;
+                    int baseY = (world.getBottomSectionCoord() + sectionIndex) << 4;
+                    int baseZ = chunkZ << 4;
+
+                    for (int i = 0; i < section.size; i++) {
+                        short local = section.positions[i];
+                        int x = baseX + (local & 15);
+                        int y = baseY + ((local >> 8) & 15);
+                        int z = baseZ + ((local >> 4) & 15);
+                        if (y < minY || y > maxY) continue;
+
+                        double dx = x - center.getX();
+                        double dy = y - center.getY();
+                        double dz = z - center.getZ();
+                        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                        if (distance > range) continue;
+
+                        float weight = decodeWeight(section.weights[i]);
+                        double score = weight * (1.0 - distance / range);
+                        if (score > bestScore) {
+                            bestScore = score;
+                            best = new Match(new BlockPos(x, y, z), weight, distance);
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Update the index after a block changed. Sections that were never
+     * indexed are left alone; they will be scanned on first query.
+     */
+    public void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        onBlockChanged(world.getRegistryKey(), world.getSectionIndex(pos.getY()), pos, oldState, newState);
+    }
+
+    void onBlockChanged(RegistryKey<World> worldKey, int sectionIndex, BlockPos pos, BlockState oldState, BlockState newState) {
+        float oldWeight = weightFunction.getWeight(oldState);
+        float newWeight = weightFunction.getWeight(newState);
+        if (oldWeight <= 0 && newWeight <= 0) {
+            return;
+        }
+
+        Long2ObjectOpenHashMap<Section[]> chunks = indexByWorld.get(worldKey);
+        if (chunks == null) {
+            return;
+        }
+
+        Section[] sections = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (sections == null) {
+            return;
+        }
+
+        if (sectionIndex < 0 || sectionIndex >= sections.length || sections[sectionIndex] == null) {
+            return;
+        }
+
+        Section section = sections[sectionIndex];
+        short local = packLocal(pos.getX(), pos.getY(), pos.getZ());
+        if (section == Section.EMPTY) {
+            section = new Section();
+            sections[sectionIndex] = section;
+        }
+
+        section.remove(local);
+        if (newWeight > 0) {
+            section.add(local, encodeWeight(newWeight));
+        }
+    }
+
+    /**
+     * Drop all indexed sections of an unloading chunk.
+     */
+    public void onChunkUnload(ServerWorld world, ChunkPos chunkPos) {
+        onChunkUnload(world.getRegistryKey(), chunkPos);
+    }
+
+    void onChunkUnload(RegistryKey<World> worldKey, ChunkPos chunkPos) {
+        Long2ObjectOpenHashMap<Section[]> chunks = indexByWorld.get(worldKey);
+        if (chunks != null) {
+            chunks.remove(chunkPos.toLong());
+        }
+    }
+
+    /**
+     * Drop the whole index for a world.
+     */
+    public void clear(ServerWorld world) {
+        clear(world.getRegistryKey());
+    }
+
+    void clear(RegistryKey<World> worldKey) {
+        indexByWorld.remove(worldKey);
+    }
+
+    /**
+     * Number of chunks currently holding index data for a world.
+     */
+    public int getIndexedChunkCount(ServerWorld world) {
+        return getIndexedChunkCount(world.getRegistryKey());
+    }
+
+    int getIndexedChunkCount(RegistryKey<World> worldKey) {
+        Long2ObjectOpenHashMap<Section[]> chunks = indexByWorld.get(worldKey);
+        return chunks != null ? chunks.size() : 0;
+    }
+
+    private Section scanSection(LoadedSections.SectionStates chunkSection) {
+        // Palette check: skip sections that cannot contain an emitter
+        if (!chunkSection.hasAny(state -> weightFunction.getWeight(state) > 0)) {
+            return Section.EMPTY;
+        }
+
+        Section section = new Section();
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    float weight = weightFunction.getWeight(chunkSection.getBlockState(x, y, z));
+                    if (weight > 0) {
+                        section.add(packLocal(x, y, z), encodeWeight(weight));
+                    }
+                }
+            }
+        }
+        return section.size == 0 ? Section.EMPTY : section;
+    }
+
+    private static short packLocal(int x, int y, int z) {
+        return (short) (((y & 15) << 8) | ((z & 15) << 4) | (x & 15));
+    }
+
+    private static byte encodeWeight(float weight) {
+        return (byte) Math.round(Math.min(1.0f, weight) * 255.0f);
+    }
+
+    private static float decodeWeight(byte weight) {
+        return (weight & 0xFF) / 255.0f;
+    }
+
+    /**
+     * A matched emitter: position, weight and distance from the query center.
+     */
+    public record Match(BlockPos position, float weight, double distance) {}
+
+    /**
+     * Emitters within one 16x16x16 chunk section.
+     */
+    private static class Section {
+        // Shared marker for scanned sections without emitters; replaced before any write
+        static final Section EMPTY = new Section(0);
+
+        short[] positions;
+        byte[] weights;
+        int size;
+
+        Section() {
+            this(4);
+        }
+
+        private Section(int capacity) {
+            positions = new short[capacity];
+            weights = new byte[capacity];
+        }
+
+        void add(short local, byte weight) {
+            if (size == positions.length) {
+                int capacity = Math.max(4, size * 2);
+                positions = Arrays.copyOf(positions, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            positions[size] = local;
+            weights[size] = weight;
+            size++;
+        }
+
+        void remove(short local) {
+            for (int i = 0; i < size; i++) {
+                if (positions[i] == local) {
+                    size--;
+                    positions[i] = positions[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+}
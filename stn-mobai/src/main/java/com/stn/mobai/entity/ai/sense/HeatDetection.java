@@ -6,14 +6,12 @@ import net.minecraft.block.Blocks;
 import net.minecraft.block.CampfireBlock;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.util.math.ChunkPos;
 
 /**
  * Detects heat sources (fire, lava, furnaces) that mobs can sense.
  * Heat can be detected through walls unlike light.
- * Uses caching to avoid expensive block iteration every query.
+ * Uses a persistent chunk-section index instead of scanning blocks on every query.
  */
 public class HeatDetection {
 
@@ -30,82 +28,41 @@ public class HeatDetection {
     public static final float MAGMA_BLOCK_HEAT = 0.4f;
     public static final float SOUL_FIRE_HEAT = 0.7f;
 
-    // Cache for heat sources per chunk region
-    private static final Map<String, CachedHeatData> heatCache = new ConcurrentHashMap<>();
-    private static final int CACHE_VALIDITY_TICKS = 200; // 10 seconds
-    private static final int SAMPLE_STEP = 2; // Check every 2nd block
+    // Emitting blocks indexed per chunk section, kept current from block changes
+    private static final BlockEmitterIndex heatIndex = new BlockEmitterIndex(HeatDetection::getHeatLevel);
 
     /**
-     * Find the hottest heat source in range using cached data.
+     * Find the hottest heat source in range using the chunk-section index.
+     * Vertical search is limited to a third of the range, like the old sampled scan.
      */
     public static HeatSource findHottestSource(ServerWorld world, BlockPos center, double range) {
-        String cacheKey = getCacheKey(world, center);
-        long currentTick = world.getTime();
-
-        CachedHeatData cached = heatCache.get(cacheKey);
-        if (cached != null && !cached.isExpired(currentTick)) {
-            return findBestFromCache(cached.sources, center, range);
+        int verticalRange = (int) Math.ceil(range) / 3;
+        BlockEmitterIndex.Match match = heatIndex.findBest(world, center, range, verticalRange);
+        if (match == null) {
+            return null;
         }
-
-        // Rebuild cache for this region
-        List<HeatSource> sources = scanForHeatSources(world, center, range);
-        heatCache.put(cacheKey, new CachedHeatData(sources, currentTick));
-
-        return findBestFromCache(sources, center, range);
+        return new HeatSource(match.position(), match.weight(), match.distance());
     }
 
-    private static HeatSource findBestFromCache(List<HeatSource> sources, BlockPos center, double range) {
-        HeatSource best = null;
-        double bestScore = 0;
-
-        for (HeatSource source : sources) {
-            double distance = Math.sqrt(center.getSquaredDistance(source.position));
-            if (distance > range) continue;
-
-            double score = source.heat * (1.0 - distance / range);
-            if (score > bestScore) {
-                bestScore = score;
-                best = new HeatSource(source.position, source.heat, distance);
-            }
-        }
-
-        return best;
+    /**
+     * Keep the index current when a block changes.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        heatIndex.onBlockChanged(world, pos, oldState, newState);
     }
 
     /**
-     * Scan for heat sources with reduced iteration (sampling).
+     * Drop indexed sections when their chunk unloads.
      */
-    private static List<HeatSource> scanForHeatSources(ServerWorld world, BlockPos center, double range) {
-        List<HeatSource> sources = new ArrayList<>();
-        int searchRadius = (int) Math.ceil(range);
-
-        // Sample blocks instead of checking every single one
-        for (int x = -searchRadius; x <= searchRadius; x += SAMPLE_STEP) {
-            for (int y = -searchRadius / 3; y <= searchRadius / 3; y += SAMPLE_STEP) {
-                for (int z = -searchRadius; z <= searchRadius; z += SAMPLE_STEP) {
-                    // Quick distance check before expensive getBlockState
-                    if (x * x + y * y + z * z > searchRadius * searchRadius) continue;
-
-                    BlockPos checkPos = center.add(x, y, z);
-                    BlockState state = world.getBlockState(checkPos);
-                    float heat = getHeatLevel(state);
-
-                    if (heat > 0) {
-                        double distance = Math.sqrt(center.getSquaredDistance(checkPos));
-                        sources.add(new HeatSource(checkPos, heat, distance));
-                    }
-                }
-            }
-        }
-
-        return sources;
+    public static void onChunkUnload(ServerWorld world, ChunkPos chunkPos) {
+        heatIndex.onChunkUnload(world, chunkPos);
     }
 
-    private static String getCacheKey(ServerWorld world, BlockPos center) {
-        // Cache by 32-block regions
-        int regionX = center.getX() >> 5;
-        int regionZ = center.getZ() >> 5;
-        return world.getRegistryKey().getValue() + ":" + regionX + "," + regionZ;
+    /**
+     * Drop the index for an unloading world.
+     */
+    public static void clear(ServerWorld world) {
+        heatIndex.clear(world);
     }
 
     /**
@@ -180,13 +137,6 @@ public class HeatDetection {
         return 0.0f;
     }
 
-    /**
-     * Clear expired cache entries. Call periodically.
-     */
-    public static void cleanupCache(long currentTick) {
-        heatCache.entrySet().removeIf(entry -> entry.getValue().isExpired(currentTick));
-    }
-
     /**
      * Represents a detected heat source.
      */
@@ -206,18 +156,4 @@ public class HeatDetection {
             return heat * proximity * 100.0;
         }
     }
-
-    private static class CachedHeatData {
-        final List<HeatSource> sources;
-        final long createdTick;
-
-        CachedHeatData(List<HeatSource> sources, long createdTick) {
-            this.sources = sources;
-            this.createdTick = createdTick;
-        }
-
-        boolean isExpired(long currentTick) {
-            return currentTick - createdTick > CACHE_VALIDITY_TICKS;
-        }
-    }
 }
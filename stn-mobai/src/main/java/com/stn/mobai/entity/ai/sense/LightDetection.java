@@ -5,13 +5,11 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.util.math.ChunkPos;
 
 /**
  * Detects light sources that mobs can see and target.
- * Uses caching to avoid expensive block iteration every query.
+ * Uses a persistent chunk-section index instead of scanning blocks on every query.
  */
 public class LightDetection {
 
@@ -30,83 +28,41 @@ public class LightDetection {
     public static final float JACK_O_LANTERN_WEIGHT = 0.6f;
     public static final float DEFAULT_LIGHT_WEIGHT = 0.4f;
 
-    // Cache for light sources per chunk region
-    private static final Map<String, CachedLightData> lightCache = new ConcurrentHashMap<>();
-    private static final int CACHE_VALIDITY_TICKS = 200; // 10 seconds
-    private static final int SAMPLE_STEP = 2; // Check every 2nd block to reduce iterations
+    // Emitting blocks indexed per chunk section, kept current from block changes
+    private static final BlockEmitterIndex lightIndex = new BlockEmitterIndex(LightDetection::getLightSourceWeight);
 
     /**
-     * Find the most attractive light source in range using cached data.
+     * Find the most attractive light source in range using the chunk-section index.
+     * Vertical search is limited to a third of the range, like the old sampled scan.
      */
     public static LightSource findBrightestLight(ServerWorld world, BlockPos center, double range) {
-        String cacheKey = getCacheKey(world, center);
-        long currentTick = world.getTime();
-
-        CachedLightData cached = lightCache.get(cacheKey);
-        if (cached != null && !cached.isExpired(currentTick)) {
-            return findBestFromCache(cached.sources, center, range);
+        int verticalRange = (int) Math.ceil(range) / 3;
+        BlockEmitterIndex.Match match = lightIndex.findBest(world, center, range, verticalRange);
+        if (match == null) {
+            return null;
         }
-
-        // Rebuild cache for this region
-        List<LightSource> sources = scanForLightSources(world, center, range);
-        lightCache.put(cacheKey, new CachedLightData(sources, currentTick));
-
-        return findBestFromCache(sources, center, range);
+        return new LightSource(match.position(), match.weight(), match.distance());
     }
 
-    private static LightSource findBestFromCache(List<LightSource> sources, BlockPos center, double range) {
-        LightSource best = null;
-        double bestScore = 0;
-
-        for (LightSource source : sources) {
-            double distance = Math.sqrt(center.getSquaredDistance(source.position));
-            if (distance > range) continue;
-
-            double score = source.weight * (1.0 - distance / range);
-            if (score > bestScore) {
-                bestScore = score;
-                best = new LightSource(source.position, source.weight, distance);
-            }
-        }
-
-        return best;
+    /**
+     * Keep the index current when a block changes.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        lightIndex.onBlockChanged(world, pos, oldState, newState);
     }
 
     /**
-     * Scan for light sources with reduced iteration (sampling).
+     * Drop indexed sections when their chunk unloads.
      */
-    private static List<LightSource> scanForLightSources(ServerWorld world, BlockPos center, double range) {
-        List<LightSource> sources = new ArrayList<>();
-        int searchRadius = (int) Math.ceil(range);
-
-        // Sample blocks instead of checking every single one
-        for (int x = -searchRadius; x <= searchRadius; x += SAMPLE_STEP) {
-            for (int y = -searchRadius / 3; y <= searchRadius / 3; y += SAMPLE_STEP) {
-                for (int z = -searchRadius; z <= searchRadius; z += SAMPLE_STEP) {
-                    BlockPos checkPos = center.add(x, y, z);
-
-                    // Quick distance check before expensive getBlockState
-                    if (x * x + y * y + z * z > searchRadius * searchRadius) continue;
-
-                    BlockState state = world.getBlockState(checkPos);
-                    float weight = getLightSourceWeight(state);
-
-                    if (weight > 0) {
-                        double distance = Math.sqrt(center.getSquaredDistance(checkPos));
-                        sources.add(new LightSource(checkPos, weight, distance));
-                    }
-                }
-            }
-        }
-
-        return sources;
+    public static void onChunkUnload(ServerWorld world, ChunkPos chunkPos) {
+        lightIndex.onChunkUnload(world, chunkPos);
     }
 
-    private static String getCacheKey(ServerWorld world, BlockPos center) {
-        // Cache by 32-block regions
-        int regionX = center.getX() >> 5;
-        int regionZ = center.getZ() >> 5;
-        return world.getRegistryKey().getValue() + ":" + regionX + "," + regionZ;
+    /**
+     * Drop the index for an unloading world.
+     */
+    public static void clear(ServerWorld world) {
+        lightIndex.clear(world);
     }
 
     /**
@@ -175,13 +131,6 @@ public class LightDetection {
         return 0.0f;
     }
 
-    /**
-     * Clear expired cache entries. Call periodically.
-     */
-    public static void cleanupCache(long currentTick) {
-        lightCache.entrySet().removeIf(entry -> entry.getValue().isExpired(currentTick));
-    }
-
     /**
      * Represents a detected light source.
      */
@@ -201,18 +150,4 @@ public class LightDetection {
             return weight * proximity * 100.0;
         }
     }
-
-    private static class CachedLightData {
-        final List<LightSource> sources;
-        final long createdTick;
-
-        CachedLightData(List<LightSource> sources, long createdTick) {
-            this.sources = sources;
-            this.createdTick = createdTick;
-        }
-
-        boolean isExpired(long currentTick) {
-            return currentTick - createdTick > CACHE_VALIDITY_TICKS;
-        }
-    }
 }
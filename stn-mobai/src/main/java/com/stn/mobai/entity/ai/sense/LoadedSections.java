@@ -0,0 +1,77 @@
+package com.stn.mobai.entity.ai.sense;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.function.Predicate;
+
+/**
+ * The parts of a world that chunk-section indexes read: the section layout,
+ * which chunks are loaded, and the block states of a loaded chunk's sections.
+ * A ServerWorld in game; indexes take this rather than the world so they can
+ * be driven without one.
+ */
+public interface LoadedSections {
+
+    int getBottomSectionCoord();
+
+    int countVerticalSections();
+
+    boolean isChunkLoaded(int chunkX, int chunkZ);
+
+    /**
+     * Block states of one section of a loaded chunk.
+     */
+    SectionStates getSection(int chunkX, int chunkZ, int sectionIndex);
+
+    default int getSectionIndex(int y) {
+        return (y >> 4) - getBottomSectionCoord();
+    }
+
+    interface SectionStates {
+        /**
+         * Palette check: false if no state in the section can match.
+         */
+        boolean hasAny(Predicate<BlockState> predicate);
+
+        BlockState getBlockState(int x, int y, int z);
+    }
+
+    static LoadedSections of(ServerWorld world) {
+        return new LoadedSections() {
+            @Override
+            public int getBottomSectionCoord() {
+                return world.getBottomSectionCoord();
+            }
+
+            @Override
+            public int countVerticalSections() {
+                return world.countVerticalSections();
+            }
+
+            @Override
+            public boolean isChunkLoaded(int chunkX, int chunkZ) {
+                return world.getChunkManager().getWorldChunk(chunkX, chunkZ) != null;
+            }
+
+            @Override
+            public SectionStates getSection(int chunkX, int chunkZ, int sectionIndex) {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+                ChunkSection section = chunk.getSectionArray()[sectionIndex];
+                return new SectionStates() {
+                    @Override
+                    public boolean hasAny(Predicate<BlockState> predicate) {
+                        return !section.isEmpty() && section.hasAny(predicate);
+                    }
+
+                    @Override
+                    public BlockState getBlockState(int x, int y, int z) {
+                        return section.getBlockState(x, y, z);
+                    }
+                };
+            }
+        };
+    }
+}
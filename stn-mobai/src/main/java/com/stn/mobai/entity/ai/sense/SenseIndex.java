@@ -0,0 +1,142 @@
+package com.stn.mobai.entity.ai.sense;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Positions and kinds of sensed entities in flat primitive arrays sorted by
+ * chunk, so a range query only walks the rows of chunks that overlap the
+ * search area. Entries are addressed by their sorted index; {@link #source}
+ * maps one back to the order it was given in.
+ */
+final class SenseIndex {
+
+    private final int count;
+    private final long[] chunkKeys;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] zs;
+    private final byte[] kinds;
+    private final int[] sources;
+
+    /**
+     * @param kinds SenseSnapshot.PLAYER or VILLAGER for each entry
+     */
+    SenseIndex(int[] xs, int[] ys, int[] zs, byte[] kinds) {
+        this.count = xs.length;
+
+        long[] unsortedKeys = new long[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            unsortedKeys[i] = chunkKey(xs[i] >> 4, zs[i] >> 4);
+            order[i] = i;
+        }
+        IntArrays.quickSort(order, (a, b) -> Long.compare(unsortedKeys[a], unsortedKeys[b]));
+
+        this.chunkKeys = new long[count];
+        this.xs = new int[count];
+        this.ys = new int[count];
+        this.zs = new int[count];
+        this.kinds = new byte[count];
+        this.sources = order;
+
+        for (int i = 0; i < count; i++) {
+            int source = order[i];
+            chunkKeys[i] = unsortedKeys[source];
+            this.xs[i] = xs[source];
+            this.ys[i] = ys[source];
+            this.zs[i] = zs[source];
+            this.kinds[i] = kinds[source];
+        }
+    }
+
+    /**
+     * Find the entry with the best proximity score within range.
+     * Score is (1 - distance / range) * weight of the entry's kind.
+     * @param kindMask which kinds to consider (PLAYER, VILLAGER)
+     * @param live checked per candidate in range, by sorted index
+     * @return sorted index, or -1 if nothing scored above zero
+     */
+    int findBest(BlockPos center, double range, int kindMask, float playerWeight, float villagerWeight, IntPredicate live) {
+        if (count == 0) {
+            return -1;
+        }
+
+        int reach = (int) Math.ceil(range);
+        int minChunkX = (center.getX() - reach) >> 4;
+        int maxChunkX = (center.getX() + reach) >> 4;
+        int minChunkZ = (center.getZ() - reach) >> 4;
+        int maxChunkZ = (center.getZ() + reach) >> 4;
+        double rangeSq = range * range;
+
+        int best = -1;
+        double bestScore = 0;
+
+        for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+            long rowEnd = chunkKey(maxChunkX, chunkZ);
+
+            for (int i = lowerBound(chunkKey(minChunkX, chunkZ)); i < count && chunkKeys[i] <= rowEnd; i++) {
+                if ((kinds[i] & kindMask) == 0) {
+                    continue;
+                }
+
+                double dx = xs[i] - center.getX();
+                double dy = ys[i] - center.getY();
+                double dz = zs[i] - center.getZ();
+                double distanceSq = dx * dx + dy * dy + dz * dz;
+                if (distanceSq > rangeSq) continue;
+
+                float weight = kinds[i] == SenseSnapshot.PLAYER ? playerWeight : villagerWeight;
+                double score = (1.0 - Math.sqrt(distanceSq) / range) * weight;
+
+                // Live check last: it reads the entity, the rest reads the arrays
+                if (score > bestScore && live.test(i)) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    int source(int index) {
+        return sources[index];
+    }
+
+    BlockPos getPosition(int index) {
+        return new BlockPos(xs[index], ys[index], zs[index]);
+    }
+
+    byte getKind(int index) {
+        return kinds[index];
+    }
+
+    int size() {
+        return count;
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunkKeys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Pack chunk coordinates so that signed long order is (z, x) order.
+     * Flipping the sign bit of x keeps negative x before positive x within a row.
+     */
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | ((chunkX ^ 0x80000000) & 0xFFFFFFFFL);
+    }
+}
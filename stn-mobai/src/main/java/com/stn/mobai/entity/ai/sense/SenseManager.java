@@ -21,8 +21,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class SenseManager implements ISoundEmitter {
     private static SenseManager instance;
 
-    // Sound events per dimension
-    private final Map<String, List<SoundEvent>> soundEventsByDimension = new ConcurrentHashMap<>();
+    // Spatially indexed sound events per dimension
+    private final Map<String, SoundGrid> soundGridsByDimension = new ConcurrentHashMap<>();
 
     // Configuration
     private int soundDecayTicks = 100; // 5 seconds default
@@ -41,6 +41,7 @@ public class SenseManager implements ISoundEmitter {
      */
     public void init() {
         soundDecayTicks = STNMobAIConfig.SOUND_DECAY_TICKS;
+        soundGridsByDimension.clear();
         STNMobAI.LOGGER.info("SenseManager initialized with {} tick sound decay", soundDecayTicks);
     }
 
@@ -60,7 +61,7 @@ public class SenseManager implements ISoundEmitter {
         UUID sourceId = source != null ? source.getUuid() : null;
         SoundEvent event = new SoundEvent(position, volume, currentTick, sourceId, type);
 
-        soundEventsByDimension.computeIfAbsent(dimensionKey, k -> Collections.synchronizedList(new ArrayList<>()))
+        soundGridsByDimension.computeIfAbsent(dimensionKey, k -> new SoundGrid(soundDecayTicks))
             .add(event);
 
         // Debug output
@@ -81,27 +82,13 @@ public class SenseManager implements ISoundEmitter {
         String dimensionKey = world.getRegistryKey().getValue().toString();
         long currentTick = world.getTime();
 
-        List<SoundEvent> dimensionSounds = soundEventsByDimension.get(dimensionKey);
-        if (dimensionSounds == null || dimensionSounds.isEmpty()) {
+        SoundGrid grid = soundGridsByDimension.get(dimensionKey);
+        if (grid == null || grid.isEmpty()) {
             return Collections.emptyList();
         }
 
         List<SoundEvent> result = new ArrayList<>();
-
-        synchronized (dimensionSounds) {
-            for (SoundEvent event : dimensionSounds) {
-                if (event.isExpired(currentTick, soundDecayTicks)) {
-                    continue;
-                }
-
-                double distance = listenerPos.getSquaredDistance(event.getPosition());
-                double effectiveRange = event.getMaxDetectionRange(maxRange);
-
-                if (distance <= effectiveRange * effectiveRange) {
-                    result.add(event);
-                }
-            }
-        }
+        grid.collectInRange(listenerPos, maxRange, currentTick, result);
 
         return result;
     }
@@ -147,11 +134,9 @@ public class SenseManager implements ISoundEmitter {
         String dimensionKey = world.getRegistryKey().getValue().toString();
         long currentTick = world.getTime();
 
-        List<SoundEvent> dimensionSounds = soundEventsByDimension.get(dimensionKey);
-        if (dimensionSounds != null) {
-            synchronized (dimensionSounds) {
-                dimensionSounds.removeIf(event -> event.isExpired(currentTick, soundDecayTicks));
-            }
+        SoundGrid grid = soundGridsByDimension.get(dimensionKey);
+        if (grid != null) {
+            grid.expire(currentTick);
         }
     }
 
@@ -159,14 +144,14 @@ public class SenseManager implements ISoundEmitter {
      * Clear all sound events.
      */
     public void clear() {
-        soundEventsByDimension.clear();
+        soundGridsByDimension.clear();
     }
 
     /**
      * Clear sounds for a specific dimension.
      */
     public void clearDimension(String dimensionKey) {
-        soundEventsByDimension.remove(dimensionKey);
+        soundGridsByDimension.remove(dimensionKey);
     }
 
     /**
@@ -174,8 +159,8 @@ public class SenseManager implements ISoundEmitter {
      */
     public int getActiveSoundCount(ServerWorld world) {
         String dimensionKey = world.getRegistryKey().getValue().toString();
-        List<SoundEvent> sounds = soundEventsByDimension.get(dimensionKey);
-        return sounds != null ? sounds.size() : 0;
+        SoundGrid grid = soundGridsByDimension.get(dimensionKey);
+        return grid != null ? grid.size() : 0;
     }
 
     public int getSoundDecayTicks() {
@@ -184,5 +169,7 @@ public class SenseManager implements ISoundEmitter {
 
     public void setSoundDecayTicks(int ticks) {
         this.soundDecayTicks = ticks;
+        // Expiry rings are sized to the decay time, so drop the short-lived sounds and rebuild lazily
+        soundGridsByDimension.clear();
     }
 }
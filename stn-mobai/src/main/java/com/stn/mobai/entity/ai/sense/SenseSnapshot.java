@@ -0,0 +1,148 @@
+package com.stn.mobai.entity.ai.sense;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tick snapshot of the entities mobs can sense directly (players and villagers).
+ * Built once per world tick so that a horde of mobs shares one entity scan
+ * instead of each mob running its own box query.
+ *
+ * Positions are fixed when the snapshot is built, but whether an entity can
+ * still be sensed is checked on the live entity at query time: a player who
+ * dies or switches to creative or spectator mid-tick drops out at once, and
+ * the next best entry is used instead.
+ */
+public final class SenseSnapshot {
+
+    // Entry kinds (bit flags for query masks)
+    public static final int PLAYER = 1;
+    public static final int VILLAGER = 2;
+
+    private static final Map<RegistryKey<World>, SenseSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final long tick;
+    private final boolean includesSmell;
+    private final SenseIndex index;
+    // In sorted index order
+    private final LivingEntity[] entities;
+
+    private SenseSnapshot(long tick, boolean includesSmell, List<LivingEntity> source) {
+        this.tick = tick;
+        this.includesSmell = includesSmell;
+
+        int count = source.size();
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        int[] zs = new int[count];
+        byte[] kinds = new byte[count];
+        for (int i = 0; i < count; i++) {
+            LivingEntity entity = source.get(i);
+            BlockPos pos = entity.getBlockPos();
+            xs[i] = pos.getX();
+            ys[i] = pos.getY();
+            zs[i] = pos.getZ();
+            kinds[i] = entity instanceof PlayerEntity ? PLAYER : VILLAGER;
+        }
+        this.index = new SenseIndex(xs, ys, zs, kinds);
+
+        this.entities = new LivingEntity[count];
+        for (int i = 0; i < count; i++) {
+            entities[i] = source.get(index.source(i));
+        }
+    }
+
+    /**
+     * Rebuild the snapshot for a world. Called once per world tick.
+     * @param includeSmell also collect villagers for smell detection (survival nights only)
+     */
+    public static SenseSnapshot build(ServerWorld world, boolean includeSmell) {
+        List<LivingEntity> sensed = new ArrayList<>();
+
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            if (canSense(player)) {
+                sensed.add(player);
+            }
+        }
+
+        if (includeSmell) {
+            sensed.addAll(world.getEntitiesByType(EntityType.VILLAGER, VillagerEntity::isAlive));
+        }
+
+        SenseSnapshot snapshot = new SenseSnapshot(world.getTime(), includeSmell, sensed);
+        SNAPSHOTS.put(world.getRegistryKey(), snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Get the current snapshot for a world, building one if none exists yet
+     * or if smell data is needed but was not collected this tick.
+     */
+    public static SenseSnapshot get(ServerWorld world, boolean needSmell) {
+        SenseSnapshot snapshot = SNAPSHOTS.get(world.getRegistryKey());
+        if (snapshot == null || (needSmell && !snapshot.includesSmell)) {
+            snapshot = build(world, needSmell);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drop the snapshot for a world (on world unload).
+     */
+    public static void clear(ServerWorld world) {
+        SNAPSHOTS.remove(world.getRegistryKey());
+    }
+
+    /**
+     * Find the entry with the best proximity score within range.
+     * Score is (1 - distance / range) * weight of the entry's kind.
+     * @param kindMask which kinds to consider (PLAYER, VILLAGER)
+     * @return entry index, or -1 if nothing scored above zero
+     */
+    public int findBest(BlockPos center, double range, int kindMask, float playerWeight, float villagerWeight) {
+        return index.findBest(center, range, kindMask, playerWeight, villagerWeight, i -> canSense(entities[i]));
+    }
+
+    /**
+     * Whether mobs can sense an entity right now: alive, and not a creative
+     * or spectator player.
+     */
+    public static boolean canSense(LivingEntity entity) {
+        if (!entity.isAlive()) {
+            return false;
+        }
+        return !(entity instanceof PlayerEntity player) || (!player.isSpectator() && !player.isCreative());
+    }
+
+    public LivingEntity getEntity(int index) {
+        return entities[index];
+    }
+
+    public BlockPos getPosition(int index) {
+        return this.index.getPosition(index);
+    }
+
+    public boolean isPlayer(int index) {
+        return this.index.getKind(index) == PLAYER;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,178 @@
+package com.stn.mobai.entity.ai.sense;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial index of active sound events for a single dimension.
+ * Sounds are bucketed into 16x16 block columns so range queries only
+ * visit the cells that overlap the listener's hearing range.
+ *
+ * Expiry uses a ring buffer keyed by the tick a sound was created in.
+ * Each slot remembers which cells received sounds on that tick, so
+ * expiring a tick only touches those cells instead of scanning every sound.
+ */
+public class SoundGrid {
+    private static final int CELL_SHIFT = 4; // 16 block cells
+
+    // Sounds per cell, in creation order (oldest first)
+    private final Long2ObjectOpenHashMap<ArrayDeque<SoundEvent>> cells = new Long2ObjectOpenHashMap<>();
+
+    // Expiry ring: slot = createdTick % length, holding the cells touched on that tick
+    private final LongArrayList[] expiryRing;
+    private final long[] ringTicks;
+    private final int decayTicks;
+
+    private long lastExpiredTick = Long.MIN_VALUE;
+    private int size;
+
+    public SoundGrid(int decayTicks) {
+        this.decayTicks = Math.max(1, decayTicks);
+        int ringLength = this.decayTicks + 1;
+        this.expiryRing = new LongArrayList[ringLength];
+        this.ringTicks = new long[ringLength];
+        for (int i = 0; i < ringLength; i++) {
+            expiryRing[i] = new LongArrayList();
+        }
+        Arrays.fill(ringTicks, Long.MIN_VALUE);
+    }
+
+    public int getDecayTicks() {
+        return decayTicks;
+    }
+
+    /**
+     * Add a sound event to the grid.
+     */
+    public synchronized void add(SoundEvent event) {
+        long cellKey = cellKey(event.getPosition());
+        cells.computeIfAbsent(cellKey, k -> new ArrayDeque<>()).addLast(event);
+        size++;
+
+        long tick = event.getCreatedTick();
+        int slot = slotFor(tick);
+        if (ringTicks[slot] != tick) {
+            // Slot still holds a tick at least a full decay period old - drop it first
+            if (ringTicks[slot] != Long.MIN_VALUE) {
+                expireSlot(slot, tick);
+            }
+            ringTicks[slot] = tick;
+        }
+
+        LongArrayList touched = expiryRing[slot];
+        if (touched.isEmpty() || touched.getLong(touched.size() - 1) != cellKey) {
+            touched.add(cellKey);
+        }
+    }
+
+    /**
+     * Collect all non-expired sounds that can be heard from the listener position.
+     * Matches the semantics of a full linear scan over every sound.
+     */
+    public synchronized void collectInRange(BlockPos listenerPos, double maxRange, long currentTick, List<SoundEvent> result) {
+        if (size == 0) {
+            return;
+        }
+
+        // Volume is clamped to 1.0, so no sound is audible beyond maxRange
+        int reach = (int) Math.ceil(maxRange);
+        int minCellX = (listenerPos.getX() - reach) >> CELL_SHIFT;
+        int maxCellX = (listenerPos.getX() + reach) >> CELL_SHIFT;
+        int minCellZ = (listenerPos.getZ() - reach) >> CELL_SHIFT;
+        int maxCellZ = (listenerPos.getZ() + reach) >> CELL_SHIFT;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                ArrayDeque<SoundEvent> cell = cells.get(ChunkPos.toLong(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+
+                for (SoundEvent event : cell) {
+                    if (event.isExpired(currentTick, decayTicks)) {
+                        continue;
+                    }
+
+                    double distance = listenerPos.getSquaredDistance(event.getPosition());
+                    double effectiveRange = event.getMaxDetectionRange(maxRange);
+
+                    if (distance <= effectiveRange * effectiveRange) {
+                        result.add(event);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every sound that has decayed by the given tick.
+     * Each elapsed tick costs one ring slot, regardless of how many sounds are active.
+     */
+    public synchronized void expire(long currentTick) {
+        long cutoff = currentTick - decayTicks;
+        if (lastExpiredTick == Long.MIN_VALUE || cutoff - lastExpiredTick >= expiryRing.length) {
+            // First call, or not called for a full turn of the ring: any slot may be due
+            for (int slot = 0; slot < expiryRing.length; slot++) {
+                if (ringTicks[slot] != Long.MIN_VALUE && ringTicks[slot] <= cutoff) {
+                    expireSlot(slot, currentTick);
+                }
+            }
+        } else {
+            for (long tick = lastExpiredTick + 1; tick <= cutoff; tick++) {
+                int slot = slotFor(tick);
+                if (ringTicks[slot] == tick) {
+                    expireSlot(slot, currentTick);
+                }
+            }
+        }
+
+        if (cutoff > lastExpiredTick) {
+            lastExpiredTick = cutoff;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void expireSlot(int slot, long currentTick) {
+        LongArrayList touched = expiryRing[slot];
+        for (int i = 0; i < touched.size(); i++) {
+            long cellKey = touched.getLong(i);
+            ArrayDeque<SoundEvent> cell = cells.get(cellKey);
+            if (cell == null) {
+                continue;
+            }
+
+            // Cells are in creation order, so expired sounds are always at the head
+            while (!cell.isEmpty() && cell.peekFirst().isExpired(currentTick, decayTicks)) {
+                cell.pollFirst();
+                size--;
+            }
+
+            if (cell.isEmpty()) {
+                cells.remove(cellKey);
+            }
+        }
+        touched.clear();
+        ringTicks[slot] = Long.MIN_VALUE;
+    }
+
+    private int slotFor(long tick) {
+        return (int) Math.floorMod(tick, (long) expiryRing.length);
+    }
+
+    private static long cellKey(BlockPos pos) {
+        return ChunkPos.toLong(pos.getX() >> CELL_SHIFT, pos.getZ() >> CELL_SHIFT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.stn.mobai.event;
+
+import com.stn.mobai.entity.ai.DoorPositionCache;
+import com.stn.mobai.entity.ai.sense.HeatDetection;
+import com.stn.mobai.entity.ai.sense.LightDetection;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Keeps block-based indexes (light, heat, doors) in sync with the world.
+ * Block changes arrive from ServerWorldMixin; chunk and world unloads
+ * drop the indexed data so memory stays bounded by the loaded area.
+ */
+public class BlockChangeHandler {
+
+    public static void register() {
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            LightDetection.onChunkUnload(world, chunk.getPos());
+            HeatDetection.onChunkUnload(world, chunk.getPos());
+            DoorPositionCache.onChunkUnload(world, chunk.getPos());
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            LightDetection.clear(world);
+            HeatDetection.clear(world);
+            DoorPositionCache.clear(world);
+        });
+
+        // Door tags may change on datapack reload
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            if (!client) {
+                DoorPositionCache.clearAll();
+            }
+        });
+    }
+
+    /**
+     * Called after a block state changes in a server world.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        if (oldState == newState) {
+            return;
+        }
+        LightDetection.onBlockChanged(world, pos, oldState, newState);
+        HeatDetection.onBlockChanged(world, pos, oldState, newState);
+        DoorPositionCache.onBlockChanged(world, pos, oldState, newState);
+    }
+}
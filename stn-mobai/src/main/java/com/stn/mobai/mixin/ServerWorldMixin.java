@@ -0,0 +1,23 @@
+package com.stn.mobai.mixin;
+
+import com.stn.mobai.event.BlockChangeHandler;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to observe every block state change in a server world.
+ * Keeps the sense block indexes current without rescanning.
+ */
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    @Inject(method = "onBlockStateChanged", at = @At("TAIL"))
+    private void stn_onBlockStateChanged(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        BlockChangeHandler.onBlockChanged((ServerWorld) (Object) this, pos, oldState, newState);
+    }
+}
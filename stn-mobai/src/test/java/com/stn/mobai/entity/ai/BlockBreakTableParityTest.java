@@ -0,0 +1,298 @@
+package com.stn.mobai.entity.ai;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.stn.core.api.BlockBreakTable;
+import com.stn.fortifications.block.ReinforcedBlock;
+import com.stn.fortifications.registry.STNBlocks;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The compiled break table must give the same answers as the if-chain it
+ * replaced, for every registered block state. The legacy rules below are the
+ * state-only part of the old BreakBlockGoal.isBreakableBlock, copied as they
+ * were except that tag checks go through the same explicit tag set the table
+ * is compiled with; position checks (protection, hardness, IBlockBreaker)
+ * still run in the goal and are not part of the table.
+ *
+ * No datapack is loaded in unit tests, so registry tags are unbound. The tag
+ * set is read from the vanilla tag files in the game jar instead.
+ */
+class BlockBreakTableParityTest {
+
+    private static final Map<TagKey<Block>, Set<Block>> TAGS = new HashMap<>();
+    private static final BiPredicate<BlockState, TagKey<Block>> IN_TAG =
+        (state, tag) -> TAGS.computeIfAbsent(tag, key -> loadTag(key.id())).contains(state.getBlock());
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        STNBlocks.register();
+
+        // As if a datapack whitelisted reinforced blocks, so the zombie-proof override has work to do
+        Set<Block> fences = TAGS.computeIfAbsent(BlockTags.FENCES, key -> loadTag(key.id()));
+        fences.add(STNBlocks.REINFORCED_WOOD);
+        fences.add(STNBlocks.STEEL_BLOCK);
+
+        // Same wiring as STNMobAI and STNFortifications
+        BlockBreakTable.setBaseRules(writer -> BreakBlockGoal.compileBreakRules(writer, IN_TAG));
+        BlockBreakTable.registerContributor(ReinforcedBlock::contributeAllBreakRules);
+        BlockBreakTable.rebuild();
+    }
+
+    // Vanilla tag contents from data/<namespace>/tags/block, with nested tags resolved
+    private static Set<Block> loadTag(Identifier id) {
+        String path = "data/" + id.getNamespace() + "/tags/block/" + id.getPath() + ".json";
+        Set<Block> blocks = new HashSet<>();
+        try (InputStream in = BlockBreakTableParityTest.class.getClassLoader().getResourceAsStream(path)) {
+            assertNotNull(in, "Missing vanilla tag " + path);
+            for (JsonElement value : JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8))
+                    .getAsJsonObject().getAsJsonArray("values")) {
+                String entry = value.isJsonObject() ? value.getAsJsonObject().get("id").getAsString() : value.getAsString();
+                if (entry.startsWith("#")) {
+                    blocks.addAll(loadTag(Identifier.of(entry.substring(1))));
+                } else if (Registries.BLOCK.containsId(Identifier.of(entry))) {
+                    blocks.add(Registries.BLOCK.get(Identifier.of(entry)));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(path, e);
+        }
+        return blocks;
+    }
+
+    @Test
+    void tableMatchesLegacyRulesForEveryState() {
+        List<String> mismatches = new ArrayList<>();
+        int checked = 0;
+
+        for (BlockState state : Block.STATE_IDS) {
+            checked++;
+            boolean zombieProof = state.getBlock() instanceof ReinforcedBlock reinforced && reinforced.isZombieProof();
+
+            boolean breakable = LegacyRules.isBreakable(state) && !zombieProof;
+            if (BlockBreakTable.isBreakable(state) != breakable) {
+                mismatches.add(state + " breakable: legacy " + breakable);
+            }
+            if (BlockBreakTable.isDoor(state) != LegacyRules.isDoor(state)) {
+                mismatches.add(state + " door: legacy " + LegacyRules.isDoor(state));
+            }
+
+            int flags = BlockBreakTable.getFlags(state);
+            int material = (flags & BlockBreakTable.WOOD) != 0 ? 1 : (flags & BlockBreakTable.STONE) != 0 ? 2 : 0;
+            if (material != LegacyRules.material(state)) {
+                mismatches.add(state + " material: legacy " + LegacyRules.material(state) + ", table " + material);
+            }
+        }
+
+        assertTrue(checked > 20_000, "Expected every vanilla block state, got " + checked);
+        assertTrue(mismatches.isEmpty(), mismatches.size() + " mismatches, e.g. " + mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
+
+    @Test
+    void everyFlagIsExercised() {
+        // Guards against the comparison above passing because both sides see nothing
+        int[] counts = new int[4];
+        int[] bits = {BlockBreakTable.BREAKABLE, BlockBreakTable.DOOR, BlockBreakTable.WOOD, BlockBreakTable.STONE};
+        for (BlockState state : Block.STATE_IDS) {
+            int flags = BlockBreakTable.getFlags(state);
+            for (int i = 0; i < bits.length; i++) {
+                if ((flags & bits[i]) != 0) {
+                    counts[i]++;
+                }
+            }
+        }
+        String[] names = {"breakable", "door", "wood", "stone"};
+        for (int i = 0; i < bits.length; i++) {
+            assertTrue(counts[i] > 0, "No block state is " + names[i]);
+        }
+
+        assertTrue(BlockBreakTable.isDoor(Blocks.OAK_DOOR.getDefaultState()));
+        assertTrue((BlockBreakTable.getFlags(Blocks.OAK_PLANKS.getDefaultState()) & BlockBreakTable.WOOD) != 0);
+        assertTrue((BlockBreakTable.getFlags(Blocks.STONE.getDefaultState()) & BlockBreakTable.STONE) != 0);
+        assertFalse(BlockBreakTable.isBreakable(Blocks.STONE.getDefaultState()));
+    }
+
+    @Test
+    void reinforcedBlocksAreInTheTable() {
+        // Registered, so their states have ids the table covers
+        assertTrue(Block.getRawIdFromState(STNBlocks.STEEL_BLOCK.getDefaultState()) >= 0);
+
+        // Whitelisted above: the plain variant keeps its base flags, the zombie-proof one loses BREAKABLE
+        assertTrue(LegacyRules.isBreakable(STNBlocks.REINFORCED_WOOD.getDefaultState()));
+        assertTrue(BlockBreakTable.isBreakable(STNBlocks.REINFORCED_WOOD.getDefaultState()));
+        assertTrue(LegacyRules.isBreakable(STNBlocks.STEEL_BLOCK.getDefaultState()));
+        assertFalse(BlockBreakTable.isBreakable(STNBlocks.STEEL_BLOCK.getDefaultState()));
+    }
+
+    // The old state-wide rules, kept verbatim (apart from tag lookups) as the reference
+    private static final class LegacyRules {
+        private static final Set<Block> UNBREAKABLE_BLOCKS = Set.of(
+            Blocks.BEDROCK,
+            Blocks.END_PORTAL_FRAME,
+            Blocks.END_PORTAL,
+            Blocks.NETHER_PORTAL,
+            Blocks.COMMAND_BLOCK,
+            Blocks.CHAIN_COMMAND_BLOCK,
+            Blocks.REPEATING_COMMAND_BLOCK,
+            Blocks.BARRIER,
+            Blocks.STRUCTURE_BLOCK,
+            Blocks.STRUCTURE_VOID,
+            Blocks.JIGSAW
+        );
+
+        static boolean isDoor(BlockState state) {
+            return IN_TAG.test(state, BlockTags.DOORS) || IN_TAG.test(state, BlockTags.FENCE_GATES);
+        }
+
+        // 1 = wood multiplier, 2 = stone multiplier, 0 = neither
+        static int material(BlockState state) {
+            if (IN_TAG.test(state, BlockTags.LOGS) || IN_TAG.test(state, BlockTags.PLANKS) ||
+                IN_TAG.test(state, BlockTags.WOODEN_DOORS) || IN_TAG.test(state, BlockTags.WOODEN_FENCES)) {
+                return 1;
+            } else if (IN_TAG.test(state, BlockTags.BASE_STONE_OVERWORLD) ||
+                       IN_TAG.test(state, BlockTags.STONE_BRICKS)) {
+                return 2;
+            }
+            return 0;
+        }
+
+        static boolean isBreakable(BlockState state) {
+            if (state.isAir()) {
+                return false;
+            }
+
+            Block block = state.getBlock();
+
+            if (UNBREAKABLE_BLOCKS.contains(block)) {
+                return false;
+            }
+
+            // Priority defensive structures: doors, fences, glass
+            if (IN_TAG.test(state, BlockTags.DOORS) ||
+                IN_TAG.test(state, BlockTags.FENCES) ||
+                IN_TAG.test(state, BlockTags.FENCE_GATES) ||
+                block == Blocks.GLASS ||
+                block == Blocks.GLASS_PANE ||
+                block == Blocks.IRON_BARS) {
+                return true;
+            }
+
+            // Crafted wood blocks
+            if (IN_TAG.test(state, BlockTags.PLANKS) ||
+                IN_TAG.test(state, BlockTags.WOODEN_SLABS) ||
+                IN_TAG.test(state, BlockTags.WOODEN_STAIRS) ||
+                IN_TAG.test(state, BlockTags.WOODEN_TRAPDOORS)) {
+                return true;
+            }
+
+            // Crafted stone blocks (processed from raw stone)
+            if (block == Blocks.COBBLESTONE ||
+                block == Blocks.COBBLESTONE_STAIRS ||
+                block == Blocks.COBBLESTONE_SLAB ||
+                block == Blocks.COBBLESTONE_WALL ||
+                block == Blocks.MOSSY_COBBLESTONE ||
+                block == Blocks.MOSSY_COBBLESTONE_STAIRS ||
+                block == Blocks.MOSSY_COBBLESTONE_SLAB ||
+                block == Blocks.MOSSY_COBBLESTONE_WALL) {
+                return true;
+            }
+
+            // Stone bricks (crafted)
+            if (IN_TAG.test(state, BlockTags.STONE_BRICKS)) {
+                return true;
+            }
+
+            // Bricks (crafted from clay)
+            if (block == Blocks.BRICKS ||
+                block == Blocks.BRICK_STAIRS ||
+                block == Blocks.BRICK_SLAB ||
+                block == Blocks.BRICK_WALL) {
+                return true;
+            }
+
+            // Sandstone (crafted)
+            if (block == Blocks.SANDSTONE ||
+                block == Blocks.SANDSTONE_STAIRS ||
+                block == Blocks.SANDSTONE_SLAB ||
+                block == Blocks.SANDSTONE_WALL ||
+                block == Blocks.SMOOTH_SANDSTONE ||
+                block == Blocks.SMOOTH_SANDSTONE_STAIRS ||
+                block == Blocks.SMOOTH_SANDSTONE_SLAB ||
+                block == Blocks.CUT_SANDSTONE ||
+                block == Blocks.CUT_SANDSTONE_SLAB ||
+                block == Blocks.RED_SANDSTONE ||
+                block == Blocks.RED_SANDSTONE_STAIRS ||
+                block == Blocks.RED_SANDSTONE_SLAB ||
+                block == Blocks.RED_SANDSTONE_WALL ||
+                block == Blocks.SMOOTH_RED_SANDSTONE ||
+                block == Blocks.SMOOTH_RED_SANDSTONE_STAIRS ||
+                block == Blocks.SMOOTH_RED_SANDSTONE_SLAB ||
+                block == Blocks.CUT_RED_SANDSTONE ||
+                block == Blocks.CUT_RED_SANDSTONE_SLAB) {
+                return true;
+            }
+
+            // Other common building materials
+            if (IN_TAG.test(state, BlockTags.WOOL) ||
+                IN_TAG.test(state, BlockTags.TERRACOTTA) ||
+                block == Blocks.BOOKSHELF ||
+                block == Blocks.CRAFTING_TABLE ||
+                block == Blocks.FURNACE ||
+                block == Blocks.CHEST ||
+                block == Blocks.BARREL) {
+                return true;
+            }
+
+            // Deepslate variants (crafted)
+            if (block == Blocks.COBBLED_DEEPSLATE ||
+                block == Blocks.COBBLED_DEEPSLATE_STAIRS ||
+                block == Blocks.COBBLED_DEEPSLATE_SLAB ||
+                block == Blocks.COBBLED_DEEPSLATE_WALL ||
+                block == Blocks.POLISHED_DEEPSLATE ||
+                block == Blocks.POLISHED_DEEPSLATE_STAIRS ||
+                block == Blocks.POLISHED_DEEPSLATE_SLAB ||
+                block == Blocks.POLISHED_DEEPSLATE_WALL ||
+                block == Blocks.DEEPSLATE_BRICKS ||
+                block == Blocks.DEEPSLATE_BRICK_STAIRS ||
+                block == Blocks.DEEPSLATE_BRICK_SLAB ||
+                block == Blocks.DEEPSLATE_BRICK_WALL ||
+                block == Blocks.DEEPSLATE_TILES ||
+                block == Blocks.DEEPSLATE_TILE_STAIRS ||
+                block == Blocks.DEEPSLATE_TILE_SLAB ||
+                block == Blocks.DEEPSLATE_TILE_WALL) {
+                return true;
+            }
+
+            // Don't break natural terrain (dirt, stone, logs, etc.)
+            return false;
+        }
+    }
+}
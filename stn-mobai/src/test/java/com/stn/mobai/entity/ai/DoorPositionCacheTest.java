@@ -0,0 +1,216 @@
+package com.stn.mobai.entity.ai;
+
+import com.stn.mobai.entity.ai.sense.FakeSections;
+import com.stn.mobai.event.BlockChangeHandler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DoorPositionCacheTest {
+
+    private static Set<Block> doors;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        // Tags are unbound in unit tests, so door kinds come from a fixed block set
+        doors = Set.of(Blocks.OAK_DOOR, Blocks.IRON_DOOR, Blocks.SPRUCE_FENCE_GATE);
+        BlockChangeHandler.register();
+    }
+
+    private FakeSections world;
+    private DoorPositionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        world = new FakeSections();
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                world.load(x, z);
+            }
+        }
+        cache = new DoorPositionCache(state -> doors.contains(state.getBlock()) ? DoorPositionCache.DOOR
+            : state.isOf(Blocks.OAK_TRAPDOOR) ? DoorPositionCache.TRAPDOOR : 0);
+    }
+
+    // BreakBlockGoal.findNearbyDoor before the cache: expanding squares, x then z then y
+    private BlockPos ringSearch(BlockPos center) {
+        for (int radius = 1; radius <= 10; radius++) {
+            for (int x = -radius; x <= radius; x++) {
+                for (int z = -radius; z <= radius; z++) {
+                    if (Math.abs(x) != radius && Math.abs(z) != radius) {
+                        continue;
+                    }
+                    for (int y = -1; y <= 2; y++) {
+                        BlockPos checkPos = center.add(x, y, z);
+                        if (doors.contains(world.getBlockState(checkPos).getBlock())) {
+                            return checkPos;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private BlockPos findNearest(BlockPos center) {
+        return cache.findNearest(World.OVERWORLD, world, center, 10, -1, 2, DoorPositionCache.DOOR);
+    }
+
+    private void change(BlockPos pos, BlockState state) {
+        BlockState old = world.set(pos, state);
+        cache.onBlockChanged(World.OVERWORLD, FakeSections.sectionIndex(pos.getY()), pos, old, state);
+    }
+
+    @Test
+    void nearestMatchesTheRingSearchIncludingTies() {
+        SplittableRandom random = new SplittableRandom(9);
+        BlockState[] placed = {
+            Blocks.OAK_DOOR.getDefaultState(), Blocks.IRON_DOOR.getDefaultState(),
+            Blocks.SPRUCE_FENCE_GATE.getDefaultState(), Blocks.OAK_TRAPDOOR.getDefaultState()
+        };
+
+        for (int round = 0; round < 500; round++) {
+            setUp();
+            // Chunk borders and negative coordinates inside the search square
+            BlockPos center = new BlockPos(random.nextInt(-20, 20), random.nextInt(-10, 100), random.nextInt(-20, 20));
+            int count = random.nextInt(1, 8);
+            int ring = random.nextInt(1, 11);
+            for (int i = 0; i < count; i++) {
+                // Mostly on one ring, so several doors tie on distance
+                int dx = random.nextInt(-ring, ring + 1);
+                int dz = random.nextBoolean() ? (random.nextBoolean() ? ring : -ring) : random.nextInt(-ring, ring + 1);
+                if (random.nextBoolean()) {
+                    int swap = dx;
+                    dx = dz;
+                    dz = swap;
+                }
+                if (random.nextInt(4) == 0) {
+                    dx = dz = 0; // The mob's own column is never a candidate
+                }
+                int dy = random.nextInt(-3, 5);
+                world.set(center.add(dx, dy, dz), placed[random.nextInt(placed.length)]);
+            }
+
+            assertEquals(ringSearch(center), findNearest(center), "round " + round + " at " + center);
+        }
+    }
+
+    @Test
+    void doorAtChecksKind() {
+        BlockPos door = new BlockPos(5, 64, -7);
+        BlockPos trapdoor = new BlockPos(6, 64, -7);
+        world.set(door, Blocks.OAK_DOOR.getDefaultState());
+        world.set(trapdoor, Blocks.OAK_TRAPDOOR.getDefaultState());
+
+        assertTrue(cache.isDoorAt(World.OVERWORLD, world, door, DoorPositionCache.DOOR));
+        assertFalse(cache.isDoorAt(World.OVERWORLD, world, trapdoor, DoorPositionCache.DOOR));
+        assertTrue(cache.isDoorAt(World.OVERWORLD, world, trapdoor, DoorPositionCache.TRAPDOOR));
+        assertFalse(cache.isDoorAt(World.OVERWORLD, world, door.up(), DoorPositionCache.DOOR | DoorPositionCache.TRAPDOOR));
+    }
+
+    @Test
+    void blockChangesUpdateCachedChunks() {
+        BlockPos center = new BlockPos(8, 64, 8);
+        assertNull(findNearest(center));
+        int scans = world.scans;
+
+        BlockPos door = new BlockPos(12, 65, 3);
+        change(door, Blocks.OAK_DOOR.getDefaultState());
+        assertEquals(door, findNearest(center));
+
+        // A nearer door takes over; the first is found again once the nearer one is broken
+        BlockPos nearer = new BlockPos(9, 64, 9);
+        change(nearer, Blocks.IRON_DOOR.getDefaultState());
+        assertEquals(nearer, findNearest(center));
+        change(nearer, Blocks.AIR.getDefaultState());
+        assertEquals(door, findNearest(center));
+
+        // Door replaced by a trapdoor changes its kind in place
+        change(door, Blocks.OAK_TRAPDOOR.getDefaultState());
+        assertNull(findNearest(center));
+        assertTrue(cache.isDoorAt(World.OVERWORLD, world, door, DoorPositionCache.TRAPDOOR));
+
+        assertEquals(scans, world.scans); // Kept current without rescanning
+    }
+
+    @Test
+    void changesInChunksNotYetScannedAreLeftToTheScan() {
+        BlockPos door = new BlockPos(-30, 64, 2);
+        change(door, Blocks.OAK_DOOR.getDefaultState());
+        assertEquals(0, cache.getCachedChunkCount());
+
+        assertEquals(door, findNearest(new BlockPos(-25, 64, 0)));
+    }
+
+    @Test
+    void chunkUnloadDropsItsDoors() {
+        BlockPos center = new BlockPos(8, 64, 8);
+        BlockPos door = new BlockPos(4, 64, 4);
+        change(door, Blocks.OAK_DOOR.getDefaultState());
+        assertEquals(door, findNearest(center));
+        int cached = cache.getCachedChunkCount();
+
+        cache.onChunkUnload(World.OVERWORLD, new ChunkPos(0, 0));
+        assertEquals(cached - 1, cache.getCachedChunkCount());
+
+        // Changed while unloaded, so no hook ran; the reload scan must see the new contents
+        world.set(door, Blocks.AIR.getDefaultState());
+        world.set(new BlockPos(14, 64, 14), Blocks.SPRUCE_FENCE_GATE.getDefaultState());
+        assertEquals(new BlockPos(14, 64, 14), findNearest(center));
+    }
+
+    @Test
+    void unloadedChunksAreNotScanned() {
+        BlockPos door = new BlockPos(-52, 64, 0); // Chunk -4, outside the loaded square
+        world.set(door, Blocks.OAK_DOOR.getDefaultState());
+        assertNull(findNearest(new BlockPos(-45, 64, 0)));
+
+        world.load(-4, 0);
+        assertEquals(door, findNearest(new BlockPos(-45, 64, 0)));
+    }
+
+    @Test
+    void clearDropsOnlyThatWorld() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        findNearest(center);
+        cache.findNearest(World.NETHER, world, center, 10, -1, 2, DoorPositionCache.DOOR);
+        int cached = cache.getCachedChunkCount();
+
+        cache.clear(World.OVERWORLD);
+        assertEquals(cached / 2, cache.getCachedChunkCount());
+    }
+
+    @Test
+    void serverTagReloadClearsTheSharedCache() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        DoorPositionCache.INSTANCE.findNearest(World.OVERWORLD, world, center, 10, -1, 2, DoorPositionCache.DOOR);
+        int cached = DoorPositionCache.INSTANCE.getCachedChunkCount();
+        assertTrue(cached > 0);
+
+        // The client's own tag load leaves the server cache alone
+        CommonLifecycleEvents.TAGS_LOADED.invoker().onTagsLoaded(null, true);
+        assertEquals(cached, DoorPositionCache.INSTANCE.getCachedChunkCount());
+
+        CommonLifecycleEvents.TAGS_LOADED.invoker().onTagsLoaded(null, false);
+        assertEquals(0, DoorPositionCache.INSTANCE.getCachedChunkCount());
+    }
+}
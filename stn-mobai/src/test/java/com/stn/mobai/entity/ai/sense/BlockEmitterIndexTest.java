@@ -0,0 +1,173 @@
+package com.stn.mobai.entity.ai.sense;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlockEmitterIndexTest {
+
+    private static BlockState AIR;
+    private static BlockState TORCH;
+    private static BlockState CAMPFIRE;
+    private static BlockState STONE;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        AIR = Blocks.AIR.getDefaultState();
+        TORCH = Blocks.TORCH.getDefaultState();
+        CAMPFIRE = Blocks.CAMPFIRE.getDefaultState();
+        STONE = Blocks.STONE.getDefaultState();
+    }
+
+    private FakeSections world;
+    private BlockEmitterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        world = new FakeSections();
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                world.load(x, z);
+            }
+        }
+        index = new BlockEmitterIndex(state -> state.isOf(Blocks.CAMPFIRE) ? 0.9f : state.isOf(Blocks.TORCH) ? 0.6f : 0.0f);
+    }
+
+    private BlockEmitterIndex.Match find(BlockPos center) {
+        return index.findBest(World.OVERWORLD, world, center, 32.0, 10);
+    }
+
+    // What a block change hook does: write the block, then tell the index
+    private void change(BlockPos pos, BlockState state) {
+        BlockState old = world.set(pos, state);
+        index.onBlockChanged(World.OVERWORLD, FakeSections.sectionIndex(pos.getY()), pos, old, state);
+    }
+
+    @Test
+    void bestIsWeightTimesProximity() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        world.set(new BlockPos(4, 64, 0), TORCH);      // 0.6 * (1 - 4/32)  = 0.525
+        world.set(new BlockPos(-16, 64, 0), CAMPFIRE); // 0.9 * (1 - 16/32) = 0.45
+        world.set(new BlockPos(0, 70, 10), CAMPFIRE);  // 0.9 * (1 - 11.66/32) = 0.57
+
+        BlockEmitterIndex.Match match = find(center);
+        assertNotNull(match);
+        assertEquals(new BlockPos(0, 70, 10), match.position());
+        assertEquals(0.9f, match.weight(), 1.0f / 255);
+    }
+
+    @Test
+    void verticalRangeAndDistanceAreRespected() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        world.set(new BlockPos(0, 80, 0), CAMPFIRE); // 16 above, outside the vertical range of 10
+        world.set(new BlockPos(40, 64, 0), CAMPFIRE); // Past the range of 32
+        assertNull(find(center));
+    }
+
+    @Test
+    void unloadedChunksAreSkippedUntilLoaded() {
+        BlockPos center = new BlockPos(-60, 64, 0);
+        BlockPos torch = new BlockPos(-70, 64, 0); // Chunk -5, outside the loaded square
+        world.set(torch, TORCH);
+        assertNull(index.findBest(World.OVERWORLD, world, center, 16.0, 10));
+
+        world.load(-5, 0);
+        assertEquals(torch, index.findBest(World.OVERWORLD, world, center, 16.0, 10).position());
+    }
+
+    @Test
+    void blockChangesUpdateIndexedSections() {
+        BlockPos center = new BlockPos(8, 64, 8);
+        assertNull(find(center)); // Indexes the sections around, all without emitters
+        int scans = world.scans;
+
+        BlockPos torch = new BlockPos(10, 66, 3);
+        change(torch, TORCH);
+        assertEquals(torch, find(center).position());
+
+        // Replacing one emitter with another takes the new weight
+        change(torch, CAMPFIRE);
+        assertEquals(0.9f, find(center).weight(), 1.0f / 255);
+
+        change(torch, STONE);
+        assertNull(find(center));
+        assertEquals(scans, world.scans); // Kept current without rescanning
+    }
+
+    @Test
+    void changesInSectionsNotYetIndexedAreLeftToTheScan() {
+        BlockPos torch = new BlockPos(-20, 64, 5);
+        change(torch, TORCH);
+        assertEquals(0, index.getIndexedChunkCount(World.OVERWORLD));
+
+        assertEquals(torch, find(new BlockPos(-16, 64, 0)).position());
+    }
+
+    @Test
+    void changesToOtherBlocksAreIgnored() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        BlockPos torch = new BlockPos(2, 64, 2);
+        change(torch, TORCH);
+        find(center);
+
+        change(new BlockPos(3, 64, 3), STONE);
+        assertEquals(torch, find(center).position());
+    }
+
+    @Test
+    void chunkUnloadDropsItsSections() {
+        BlockPos center = new BlockPos(8, 64, 8);
+        BlockPos torch = new BlockPos(5, 64, 5);
+        change(torch, TORCH);
+        find(center);
+        int indexed = index.getIndexedChunkCount(World.OVERWORLD);
+
+        index.onChunkUnload(World.OVERWORLD, new ChunkPos(0, 0));
+        assertEquals(indexed - 1, index.getIndexedChunkCount(World.OVERWORLD));
+
+        // Changed while unloaded, so no hook ran; the reload scan must see the new contents
+        world.set(torch, AIR);
+        world.set(new BlockPos(12, 64, 12), CAMPFIRE);
+        assertEquals(new BlockPos(12, 64, 12), find(center).position());
+    }
+
+    @Test
+    void clearDropsOnlyThatWorld() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        world.set(new BlockPos(1, 64, 1), TORCH);
+        find(center);
+        index.findBest(World.NETHER, world, center, 32.0, 10);
+
+        index.clear(World.OVERWORLD);
+        assertEquals(0, index.getIndexedChunkCount(World.OVERWORLD));
+        assertEquals(25, index.getIndexedChunkCount(World.NETHER)); // Chunks -2..2 within 32 blocks
+
+        // Cleared world is rebuilt from the blocks on its next query
+        world.set(new BlockPos(1, 64, 1), AIR);
+        assertNull(find(center));
+    }
+
+    @Test
+    void negativeSectionsBelowZero() {
+        BlockPos center = new BlockPos(-5, -50, -5);
+        BlockPos torch = new BlockPos(-7, -57, -9);
+        world.set(torch, TORCH);
+        assertEquals(torch, find(center).position());
+
+        change(torch, AIR);
+        assertNull(find(center));
+    }
+}
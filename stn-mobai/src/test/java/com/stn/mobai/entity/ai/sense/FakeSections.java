@@ -0,0 +1,97 @@
+package com.stn.mobai.entity.ai.sense;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.function.Predicate;
+
+/**
+ * An overworld-height world whose blocks are set directly, for tests of the
+ * chunk-section indexes. Block change events are fed to the index by hand.
+ * Needs the game bootstrapped for block states.
+ */
+public final class FakeSections implements LoadedSections {
+
+    public static final int BOTTOM_SECTION = -4;
+    public static final int SECTIONS = 24;
+
+    private final Long2ObjectOpenHashMap<BlockState[][]> chunks = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet loaded = new LongOpenHashSet();
+    public int scans = 0;
+
+    public BlockState set(BlockPos pos, BlockState state) {
+        BlockState[][] sections = chunks.computeIfAbsent(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4),
+            k -> new BlockState[SECTIONS][]);
+        int sectionIndex = sectionIndex(pos.getY());
+        if (sections[sectionIndex] == null) {
+            sections[sectionIndex] = new BlockState[4096];
+        }
+        int local = ((pos.getY() & 15) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+        BlockState old = sections[sectionIndex][local];
+        sections[sectionIndex][local] = state;
+        return old != null ? old : Blocks.AIR.getDefaultState();
+    }
+
+    public BlockState getBlockState(BlockPos pos) {
+        BlockState[][] sections = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        int sectionIndex = sectionIndex(pos.getY());
+        BlockState state = sections != null && sections[sectionIndex] != null
+            ? sections[sectionIndex][((pos.getY() & 15) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15)]
+            : null;
+        return state != null ? state : Blocks.AIR.getDefaultState();
+    }
+
+    public void load(int chunkX, int chunkZ) {
+        loaded.add(ChunkPos.toLong(chunkX, chunkZ));
+    }
+
+    public static int sectionIndex(int y) {
+        return (y >> 4) - BOTTOM_SECTION;
+    }
+
+    @Override
+    public int getBottomSectionCoord() {
+        return BOTTOM_SECTION;
+    }
+
+    @Override
+    public int countVerticalSections() {
+        return SECTIONS;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return loaded.contains(ChunkPos.toLong(chunkX, chunkZ));
+    }
+
+    @Override
+    public LoadedSections.SectionStates getSection(int chunkX, int chunkZ, int sectionIndex) {
+        scans++;
+        BlockState[][] sections = chunks.get(ChunkPos.toLong(chunkX, chunkZ));
+        BlockState[] states = sections != null ? sections[sectionIndex] : null;
+        return new LoadedSections.SectionStates() {
+            @Override
+            public boolean hasAny(Predicate<BlockState> predicate) {
+                if (states == null) {
+                    return false;
+                }
+                for (BlockState state : states) {
+                    if (state != null && predicate.test(state)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public BlockState getBlockState(int x, int y, int z) {
+                BlockState state = states[(y << 8) | (z << 4) | x];
+                return state != null ? state : Blocks.AIR.getDefaultState();
+            }
+        };
+    }
+}
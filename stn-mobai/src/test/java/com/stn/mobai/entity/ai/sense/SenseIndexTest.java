@@ -0,0 +1,103 @@
+package com.stn.mobai.entity.ai.sense;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SenseIndexTest {
+
+    private static final byte P = SenseSnapshot.PLAYER;
+    private static final byte V = SenseSnapshot.VILLAGER;
+    private static final IntPredicate ALL = i -> true;
+
+    private static SenseIndex index(int[][] positions, byte[] kinds) {
+        int[] xs = new int[positions.length], ys = new int[positions.length], zs = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            xs[i] = positions[i][0];
+            ys[i] = positions[i][1];
+            zs[i] = positions[i][2];
+        }
+        return new SenseIndex(xs, ys, zs, kinds);
+    }
+
+    // Source index of the best entry, or -1
+    private static int best(SenseIndex index, BlockPos center, double range, int mask, IntPredicate live) {
+        int best = index.findBest(center, range, mask, 1.0f, 0.75f, live);
+        return best < 0 ? -1 : index.source(best);
+    }
+
+    @Test
+    void nearestPlayerWins() {
+        SenseIndex index = index(new int[][]{{10, 64, 0}, {3, 64, 3}, {-20, 64, 0}}, new byte[]{P, P, P});
+        assertEquals(1, best(index, new BlockPos(0, 64, 0), 32.0, P, ALL));
+        assertEquals(new BlockPos(3, 64, 3), index.getPosition(index.findBest(new BlockPos(0, 64, 0), 32.0, P, 1.0f, 0.0f, ALL)));
+    }
+
+    @Test
+    void entriesFailingTheLiveCheckDoNotHideTheNextBest() {
+        // The nearest player went spectator after the snapshot was built
+        SenseIndex index = index(new int[][]{{2, 64, 0}, {12, 64, 0}, {40, 64, 0}}, new byte[]{P, P, P});
+        assertEquals(1, best(index, new BlockPos(0, 64, 0), 32.0, P, i -> index.source(i) != 0));
+        assertEquals(-1, best(index, new BlockPos(0, 64, 0), 32.0, P, i -> false));
+    }
+
+    @Test
+    void kindMaskAndWeights() {
+        // A villager closer than the player; players outweigh it only when near enough
+        SenseIndex index = index(new int[][]{{1, 64, 0}, {20, 64, 0}}, new byte[]{V, P});
+        assertEquals(-1, best(index, BlockPos.ORIGIN.up(64), 32.0, P & V, ALL));
+        assertEquals(1, best(index, BlockPos.ORIGIN.up(64), 32.0, P, ALL));
+        assertEquals(0, best(index, BlockPos.ORIGIN.up(64), 32.0, P | V, ALL));
+    }
+
+    @Test
+    void matchesAFullScanAcrossChunksAndSigns() {
+        SplittableRandom random = new SplittableRandom(2);
+        int count = 500;
+        int[][] positions = new int[count][];
+        byte[] kinds = new byte[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = new int[]{random.nextInt(-300, 300), random.nextInt(40, 90), random.nextInt(-300, 300)};
+            kinds[i] = random.nextInt(3) == 0 ? V : P;
+        }
+        SenseIndex index = index(positions, kinds);
+        boolean[] dead = new boolean[count];
+        for (int i = 0; i < count; i += 7) {
+            dead[i] = true;
+        }
+        IntPredicate live = i -> !dead[index.source(i)];
+
+        for (int query = 0; query < 2_000; query++) {
+            BlockPos center = new BlockPos(random.nextInt(-320, 320), random.nextInt(40, 90), random.nextInt(-320, 320));
+            double range = random.nextBoolean() ? 32.0 : 64.0;
+            int mask = random.nextBoolean() ? P : P | V;
+
+            int expected = -1;
+            double expectedScore = 0;
+            for (int i = 0; i < count; i++) {
+                if ((kinds[i] & mask) == 0 || dead[i]) {
+                    continue;
+                }
+                double distance = Math.sqrt(center.getSquaredDistance(positions[i][0], positions[i][1], positions[i][2]));
+                double score = (1.0 - distance / range) * (kinds[i] == P ? 1.0f : 0.75f);
+                if (distance <= range && score > expectedScore) {
+                    expectedScore = score;
+                    expected = i;
+                }
+            }
+
+            int actual = best(index, center, range, mask, live);
+            if (expected != actual && expected >= 0 && actual >= 0) {
+                // Equal scores may resolve to either entry
+                double actualDistance = Math.sqrt(center.getSquaredDistance(positions[actual][0], positions[actual][1], positions[actual][2]));
+                assertEquals(expectedScore, (1.0 - actualDistance / range) * (kinds[actual] == P ? 1.0f : 0.75f), 1e-9);
+            } else {
+                assertEquals(expected, actual, "query " + query + " at " + center);
+            }
+        }
+    }
+}
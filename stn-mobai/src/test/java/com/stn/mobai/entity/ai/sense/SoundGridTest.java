@@ -0,0 +1,162 @@
+package com.stn.mobai.entity.ai.sense;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SoundGridTest {
+
+    private static final int DECAY_TICKS = 100;
+    private static final double[] RANGES = {8.0, 16.0, 32.0, 64.5};
+
+    // SenseManager before the grid: one list per dimension, scanned in full
+    private static final class LinearScan {
+        final List<SoundEvent> sounds = new ArrayList<>();
+
+        void expire(long currentTick) {
+            sounds.removeIf(event -> event.isExpired(currentTick, DECAY_TICKS));
+        }
+
+        List<SoundEvent> inRange(BlockPos listenerPos, double maxRange, long currentTick) {
+            List<SoundEvent> result = new ArrayList<>();
+            for (SoundEvent event : sounds) {
+                if (event.isExpired(currentTick, DECAY_TICKS)) {
+                    continue;
+                }
+                double distance = listenerPos.getSquaredDistance(event.getPosition());
+                double effectiveRange = event.getMaxDetectionRange(maxRange);
+                if (distance <= effectiveRange * effectiveRange) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static BlockPos randomPos(SplittableRandom random) {
+        return new BlockPos(random.nextInt(-200, 200), random.nextInt(40, 90), random.nextInt(-200, 200));
+    }
+
+    private static void emit(SplittableRandom random, long tick, int count, SoundGrid grid, LinearScan linear) {
+        for (int i = 0; i < count; i++) {
+            SoundEvent event = new SoundEvent(randomPos(random), (float) random.nextDouble(0.05, 1.2), tick);
+            grid.add(event);
+            linear.sounds.add(event);
+        }
+    }
+
+    private static void assertSameSounds(SplittableRandom random, long tick, SoundGrid grid, LinearScan linear) {
+        for (int i = 0; i < 20; i++) {
+            BlockPos listener = randomPos(random);
+            double range = RANGES[random.nextInt(RANGES.length)];
+
+            List<SoundEvent> fromGrid = new ArrayList<>();
+            grid.collectInRange(listener, range, tick, fromGrid);
+            List<SoundEvent> expected = linear.inRange(listener, range, tick);
+
+            assertEquals(expected.size(), fromGrid.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(fromGrid));
+        }
+    }
+
+    @Test
+    void matchesLinearScanWhenExpiredEveryTick() {
+        SplittableRandom random = new SplittableRandom(1);
+        SoundGrid grid = new SoundGrid(DECAY_TICKS);
+        LinearScan linear = new LinearScan();
+
+        for (long tick = 1000; tick < 1400; tick++) {
+            emit(random, tick, random.nextInt(30), grid, linear);
+            grid.expire(tick);
+            linear.expire(tick);
+
+            assertEquals(linear.sounds.size(), grid.size());
+            assertSameSounds(random, tick, grid, linear);
+        }
+    }
+
+    @Test
+    void matchesLinearScanWhenExpiredIrregularly() {
+        SplittableRandom random = new SplittableRandom(2);
+        SoundGrid grid = new SoundGrid(DECAY_TICKS);
+        LinearScan linear = new LinearScan();
+
+        long nextExpire = 0;
+        for (long tick = 0; tick < 2000; tick++) {
+            if (random.nextInt(4) == 0) {
+                emit(random, tick, random.nextInt(40), grid, linear);
+            }
+            // Queries filter expired sounds whether or not they have been dropped yet
+            assertSameSounds(random, tick, grid, linear);
+
+            if (tick >= nextExpire) {
+                grid.expire(tick);
+                linear.expire(tick);
+                assertEquals(linear.sounds.size(), grid.size());
+                nextExpire = tick + random.nextInt(1, 3 * DECAY_TICKS);
+            }
+        }
+    }
+
+    @Test
+    void expiryCatchesUpAfterALongGap() {
+        SoundGrid grid = new SoundGrid(DECAY_TICKS);
+        grid.add(new SoundEvent(new BlockPos(0, 64, 0), 1.0f, 10));
+        grid.add(new SoundEvent(new BlockPos(500, 64, 0), 1.0f, 11));
+        grid.expire(10);
+
+        // Not ticked for several turns of the ring, with nothing added in between
+        grid.expire(10 + 7 * DECAY_TICKS + 3);
+        assertEquals(0, grid.size());
+        assertTrue(grid.isEmpty());
+    }
+
+    @Test
+    void soundsLastExactlyTheDecayTime() {
+        SoundGrid grid = new SoundGrid(DECAY_TICKS);
+        BlockPos pos = new BlockPos(3, 64, 3);
+        grid.add(new SoundEvent(pos, 1.0f, 50));
+
+        List<SoundEvent> heard = new ArrayList<>();
+        grid.collectInRange(pos, 16.0, 50 + DECAY_TICKS - 1, heard);
+        assertEquals(1, heard.size());
+        grid.expire(50 + DECAY_TICKS - 1);
+        assertEquals(1, grid.size());
+
+        heard.clear();
+        grid.collectInRange(pos, 16.0, 50 + DECAY_TICKS, heard);
+        assertEquals(0, heard.size());
+        grid.expire(50 + DECAY_TICKS);
+        assertEquals(0, grid.size());
+    }
+
+    @Test
+    void rangeEdgesAcrossNegativeCellBorders() {
+        SoundGrid grid = new SoundGrid(DECAY_TICKS);
+        LinearScan linear = new LinearScan();
+        BlockPos listener = new BlockPos(-1, 64, -16);
+        int[] offsets = {-17, -16, -15, -1, 0, 1, 15, 16, 17};
+        for (int dx : offsets) {
+            for (int dz : offsets) {
+                SoundEvent event = new SoundEvent(listener.add(dx, 0, dz), 1.0f, 0);
+                grid.add(event);
+                linear.sounds.add(event);
+            }
+        }
+
+        List<SoundEvent> heard = new ArrayList<>();
+        grid.collectInRange(listener, 16.0, 1, heard);
+        List<SoundEvent> expected = linear.inRange(listener, 16.0, 1);
+        assertEquals(new HashSet<>(expected), new HashSet<>(heard));
+        // Straight along an axis at exactly the range is still heard
+        assertTrue(heard.stream().anyMatch(event -> event.getPosition().equals(listener.add(-16, 0, 0))));
+        assertTrue(heard.stream().noneMatch(event -> event.getPosition().equals(listener.add(-17, 0, 0))));
+    }
+}
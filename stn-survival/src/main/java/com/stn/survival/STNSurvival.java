@@ -7,10 +7,12 @@ import com.stn.survival.event.SurvivalNightManager;
 import com.stn.survival.network.GamestageHudPayload;
 import com.stn.survival.network.SurvivalNightSyncPayload;
 import com.stn.survival.progression.GamestageManager;
+import com.stn.survival.spawn.HordeRegistry;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.server.MinecraftServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +46,21 @@ public class STNSurvival implements ModInitializer {
         // Register tick event
         ServerTickEvents.END_SERVER_TICK.register(this::onServerTick);
 
+        // Track horde entities through load/unload/death events
+        HordeRegistry.registerEvents(() -> survivalNightManager != null ? survivalNightManager.getHordeRegistry() : null);
+
+        // Keep the online gamestage aggregate in step with the player list
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (gamestageManager != null) {
+                gamestageManager.onPlayerJoin(handler.getPlayer());
+            }
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (gamestageManager != null) {
+                gamestageManager.onPlayerLeave(handler.getPlayer());
+            }
+        });
+
         // Register commands
         SurvivalNightCommand.register();
 
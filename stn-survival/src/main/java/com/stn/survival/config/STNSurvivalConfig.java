@@ -28,6 +28,7 @@ public class STNSurvivalConfig {
     public static int SPAWN_RADIUS_MIN = 24;
     public static int SPAWN_RADIUS_MAX = 48;
     public static int SPAWN_WAVE_INTERVAL = 600; // 30 seconds between waves (in ticks)
+    public static int SPAWN_TICK_BUDGET_MICROS = 2000; // Time per tick for spawning queued wave mobs
 
     // Zombie Behavior Settings
     public static boolean ZOMBIES_BREAK_BLOCKS = true;
@@ -7,8 +7,10 @@ import com.stn.survival.config.STNSurvivalConfig;
 import com.stn.survival.network.SurvivalNightSyncPayload;
 import com.stn.survival.progression.GamestageManager;
 import com.stn.survival.spawn.HordeMobRegistry;
+import com.stn.survival.spawn.HordeRegistry;
 import com.stn.survival.spawn.JockeySpawner;
 import com.stn.survival.spawn.MobCategory;
+import com.stn.survival.spawn.WaveSpawnScheduler;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.SpawnReason;
@@ -26,7 +28,6 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.Heightmap;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,12 +40,15 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
     private int mobsSpawnedThisNight = 0;
     private int targetHordeSize = 0;
     private int ticksSinceLastWave = 0;
-    private final List<Entity> activeHordeEntities = new ArrayList<>();
+    private final HordeRegistry hordeRegistry;
+    private final WaveSpawnScheduler waveScheduler;
 
     private GamestageManager gamestageManager;
 
     public SurvivalNightManager(MinecraftServer server) {
         this.server = server;
+        this.hordeRegistry = new HordeRegistry(server);
+        this.waveScheduler = new WaveSpawnScheduler(server, this::runSpawnJob);
     }
 
     public void setGamestageManager(GamestageManager manager) {
@@ -69,8 +73,6 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
         if (survivalNightActive) {
             tickSurvivalNight(overworld);
         }
-
-        activeHordeEntities.removeIf(entity -> !entity.isAlive() || entity.isRemoved());
     }
 
     private boolean shouldStartSurvivalNight(long gameDay, long timeOfDay) {
@@ -143,6 +145,7 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
 
     private void endSurvivalNight() {
         survivalNightActive = false;
+        waveScheduler.clear();
 
         STNSurvival.LOGGER.info("Survival Night ended. Mobs spawned: {}/{}", mobsSpawnedThisNight, targetHordeSize);
 
@@ -166,14 +169,7 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
             ServerPlayNetworking.send(player, new SurvivalNightSyncPayload(false));
         }
 
-        int removed = 0;
-        for (Entity entity : activeHordeEntities) {
-            if (entity.isAlive() && !entity.isRemoved()) {
-                entity.discard();
-                removed++;
-            }
-        }
-        activeHordeEntities.clear();
+        int removed = hordeRegistry.discardAll();
 
         if (removed > 0) {
             STNSurvival.LOGGER.info("Cleaned up {} remaining horde entities", removed);
@@ -187,10 +183,15 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
             ticksSinceLastWave = 0;
             spawnHordeWave(world);
         }
+
+        // Spawn queued wave mobs within this tick's budget
+        waveScheduler.tick(STNSurvivalConfig.SPAWN_TICK_BUDGET_MICROS);
     }
 
     private void spawnHordeWave(ServerWorld world) {
-        if (mobsSpawnedThisNight >= targetHordeSize) {
+        // Mobs still queued from the previous wave count toward the night's total
+        int remaining = targetHordeSize - mobsSpawnedThisNight - waveScheduler.getPendingJobs();
+        if (remaining <= 0) {
             return;
         }
 
@@ -200,48 +201,60 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
         Random random = world.getRandom();
         int gamestage = gamestageManager != null ? gamestageManager.getWorldGamestage() : 0;
 
-        int mobsToSpawn = Math.min(
-            10 + random.nextInt(10),
-            targetHordeSize - mobsSpawnedThisNight
-        );
-
-        for (int i = 0; i < mobsToSpawn; i++) {
-            ServerPlayerEntity targetPlayer = players.get(random.nextInt(players.size()));
-
-            if (HordeMobRegistry.shouldAttemptBossSpawn(random, gamestage)) {
-                HordeMobRegistry.HordeMob bossMob = HordeMobRegistry.selectBossMob(random, gamestage);
-                if (bossMob != null) {
-                    BlockPos spawnPos = findSpawnPosition(world, targetPlayer.getBlockPos(), random, bossMob.category());
-                    if (spawnPos != null) {
-                        spawnBossMob(world, spawnPos, random, bossMob, targetPlayer);
-                        continue;
-                    }
-                }
-            }
+        int mobsToSpawn = Math.min(10 + random.nextInt(10), remaining);
+
+        waveScheduler.queueWave(players, mobsToSpawn, gamestage, random);
+
+        STNSurvival.LOGGER.debug("Queued wave of {} mobs: {}/{} total entities", mobsToSpawn, mobsSpawnedThisNight, targetHordeSize);
+    }
+
+    /**
+     * Spawn a single horde mob (boss, jockey or regular) near a target player.
+     * Run by the wave scheduler.
+     * @return true if something was spawned
+     */
+    private boolean runSpawnJob(ServerPlayerEntity targetPlayer, int gamestage) {
+        ServerWorld world = server.getOverworld();
+        if (world == null || !survivalNightActive) return false;
+
+        Random random = world.getRandom();
 
-            if (JockeySpawner.shouldSpawnJockey(random, gamestage)) {
-                BlockPos spawnPos = findSpawnPosition(world, targetPlayer.getBlockPos(), random, MobCategory.GROUND);
+        if (HordeMobRegistry.shouldAttemptBossSpawn(random, gamestage)) {
+            HordeMobRegistry.HordeMob bossMob = HordeMobRegistry.selectBossMob(random, gamestage);
+            if (bossMob != null) {
+                BlockPos spawnPos = findSpawnPosition(world, targetPlayer.getBlockPos(), random, bossMob.category());
                 if (spawnPos != null) {
-                    List<Entity> jockeyEntities = JockeySpawner.spawnJockey(world, spawnPos, random, gamestage, targetPlayer);
-                    activeHordeEntities.addAll(jockeyEntities);
-                    mobsSpawnedThisNight++;
-                    continue;
+                    spawnBossMob(world, spawnPos, random, bossMob, targetPlayer);
+                    return true;
                 }
             }
+        }
 
-            HordeMobRegistry.HordeMob selectedMob = HordeMobRegistry.selectRandomMob(random, gamestage);
-            BlockPos spawnPos = findSpawnPosition(world, targetPlayer.getBlockPos(), random, selectedMob.category());
-
+        if (JockeySpawner.shouldSpawnJockey(random, gamestage)) {
+            BlockPos spawnPos = findSpawnPosition(world, targetPlayer.getBlockPos(), random, MobCategory.GROUND);
             if (spawnPos != null) {
-                Entity spawned = spawnHordeMob(world, spawnPos, random, selectedMob, targetPlayer);
-                if (spawned != null) {
-                    activeHordeEntities.add(spawned);
-                    mobsSpawnedThisNight++;
+                List<Entity> jockeyEntities = JockeySpawner.spawnJockey(world, spawnPos, random, gamestage, targetPlayer);
+                for (Entity entity : jockeyEntities) {
+                    hordeRegistry.add(entity, targetPlayer.getUuid(), MobCategory.GROUND);
                 }
+                mobsSpawnedThisNight++;
+                return true;
             }
         }
 
-        STNSurvival.LOGGER.debug("Spawned wave: {}/{} total entities", mobsSpawnedThisNight, targetHordeSize);
+        HordeMobRegistry.HordeMob selectedMob = HordeMobRegistry.selectRandomMob(random, gamestage);
+        BlockPos spawnPos = findSpawnPosition(world, targetPlayer.getBlockPos(), random, selectedMob.category());
+
+        if (spawnPos != null) {
+            Entity spawned = spawnHordeMob(world, spawnPos, random, selectedMob, targetPlayer);
+            if (spawned != null) {
+                hordeRegistry.add(spawned, targetPlayer.getUuid(), selectedMob.category());
+                mobsSpawnedThisNight++;
+                return true;
+            }
+        }
+
+        return false;
     }
 
     private BlockPos findSpawnPosition(ServerWorld world, BlockPos playerPos, Random random, MobCategory category) {
@@ -340,7 +353,7 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
         }
 
         world.spawnEntity(boss);
-        activeHordeEntities.add(boss);
+        hordeRegistry.add(boss, target != null ? target.getUuid() : null, bossMob.category());
         mobsSpawnedThisNight++;
 
         for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
@@ -423,6 +436,14 @@ public class SurvivalNightManager implements ISurvivalNightProvider {
     }
 
     public int getActiveHordeCount() {
-        return activeHordeEntities.size();
+        return hordeRegistry.size();
+    }
+
+    public HordeRegistry getHordeRegistry() {
+        return hordeRegistry;
+    }
+
+    public WaveSpawnScheduler getWaveScheduler() {
+        return waveScheduler;
     }
 }
@@ -0,0 +1,142 @@
+package com.stn.survival.progression;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.Collection;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Running totals over player gamestage data, so world gamestage and HUD
+ * values never need a pass over every player.
+ *
+ * Online players contribute to the gamestage sum and to a sorted count index
+ * (gamestage -> number of online players), updated in O(log n) per change.
+ * Death counts are summed over every known player, online or not.
+ */
+public class GamestageAggregate {
+
+    // Last gamestage counted for each online player
+    private final Object2IntOpenHashMap<UUID> onlineGamestage = new Object2IntOpenHashMap<>();
+    private final TreeMap<Integer, Integer> gamestageIndex = new TreeMap<>();
+    private long onlineGamestageSum = 0;
+
+    // Last death count counted for each known player
+    private final Object2IntOpenHashMap<UUID> deathsByPlayer = new Object2IntOpenHashMap<>();
+    private int totalDeaths = 0;
+
+    /**
+     * Reset the death totals from loaded player data.
+     */
+    public void reset(Collection<PlayerGamestage> players) {
+        onlineGamestage.clear();
+        gamestageIndex.clear();
+        onlineGamestageSum = 0;
+        deathsByPlayer.clear();
+        totalDeaths = 0;
+
+        for (PlayerGamestage player : players) {
+            deathsByPlayer.put(player.getPlayerUuid(), player.getDeathCount());
+            totalDeaths += player.getDeathCount();
+        }
+    }
+
+    /**
+     * Start counting a player toward the online gamestage (on join).
+     */
+    public void addOnline(PlayerGamestage player) {
+        UUID uuid = player.getPlayerUuid();
+        if (onlineGamestage.containsKey(uuid)) {
+            update(player);
+            return;
+        }
+
+        int gamestage = player.calculateGamestage();
+        onlineGamestage.put(uuid, gamestage);
+        onlineGamestageSum += gamestage;
+        indexAdd(gamestage);
+        updateDeaths(player);
+    }
+
+    /**
+     * Stop counting a player toward the online gamestage (on disconnect).
+     */
+    public void removeOnline(UUID uuid) {
+        if (!onlineGamestage.containsKey(uuid)) {
+            return;
+        }
+
+        int gamestage = onlineGamestage.removeInt(uuid);
+        onlineGamestageSum -= gamestage;
+        indexRemove(gamestage);
+    }
+
+    /**
+     * Re-read a player's stats after they changed.
+     */
+    public void update(PlayerGamestage player) {
+        updateDeaths(player);
+
+        UUID uuid = player.getPlayerUuid();
+        if (!onlineGamestage.containsKey(uuid)) {
+            return;
+        }
+
+        int oldGamestage = onlineGamestage.getInt(uuid);
+        int newGamestage = player.calculateGamestage();
+        if (oldGamestage == newGamestage) {
+            return;
+        }
+
+        onlineGamestage.put(uuid, newGamestage);
+        onlineGamestageSum += newGamestage - oldGamestage;
+        indexRemove(oldGamestage);
+        indexAdd(newGamestage);
+    }
+
+    public int getOnlineCount() {
+        return onlineGamestage.size();
+    }
+
+    /**
+     * Average gamestage of online players (0 if nobody is online).
+     */
+    public int getAverageGamestage() {
+        int count = onlineGamestage.size();
+        return count > 0 ? (int) (onlineGamestageSum / count) : 0;
+    }
+
+    /**
+     * World gamestage for the players online now: their average, or the
+     * current value unchanged while nobody is online.
+     */
+    public int getWorldGamestage(int current) {
+        return onlineGamestage.isEmpty() ? current : getAverageGamestage();
+    }
+
+    public int getHighestGamestage() {
+        return gamestageIndex.isEmpty() ? 0 : gamestageIndex.lastKey();
+    }
+
+    public int getLowestGamestage() {
+        return gamestageIndex.isEmpty() ? 0 : gamestageIndex.firstKey();
+    }
+
+    public int getTotalDeaths() {
+        return totalDeaths;
+    }
+
+    private void updateDeaths(PlayerGamestage player) {
+        int deaths = player.getDeathCount();
+        int previous = deathsByPlayer.put(player.getPlayerUuid(), deaths);
+        totalDeaths += deaths - previous;
+    }
+
+    private void indexAdd(int gamestage) {
+        gamestageIndex.merge(gamestage, 1, Integer::sum);
+    }
+
+    private void indexRemove(int gamestage) {
+        gamestageIndex.computeIfPresent(gamestage, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -14,6 +14,8 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -26,12 +28,20 @@ public class GamestageManager implements IGamestageProvider {
     private int hudSyncTicks = 0;
     private static final int HUD_SYNC_INTERVAL = 20; // Sync every second
 
+    // Last HUD payload sent to each player; only changes are resent
+    private final Map<UUID, GamestageHudPayload> lastHudPayloads = new HashMap<>();
+
     public GamestageManager(MinecraftServer server) {
         this.server = server;
 
         // Load persistent state from world data
         this.state = GamestageState.get(server);
 
+        // Players already online (e.g. manager recreated mid-session)
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            state.getAggregate().addOnline(getOrCreatePlayerData(player));
+        }
+
         ServerLivingEntityEvents.AFTER_DEATH.register(this::onEntityDeath);
 
         STNSurvival.LOGGER.info("Gamestage Manager initialized - World gamestage: {}", state.getWorldGamestage());
@@ -45,11 +55,28 @@ public class GamestageManager implements IGamestageProvider {
         if (entity instanceof ZombieEntity && source.getAttacker() instanceof ServerPlayerEntity player) {
             PlayerGamestage playerData = getOrCreatePlayerData(player);
             playerData.addZombieKill();
-            recalculateWorldGamestage();
-            state.markDirty();
+            onPlayerDataChanged(playerData);
         }
     }
 
+    /**
+     * Count a joining player toward the world gamestage, which follows the
+     * new average right away rather than at the next kill or new day.
+     */
+    public void onPlayerJoin(ServerPlayerEntity player) {
+        state.getAggregate().addOnline(getOrCreatePlayerData(player));
+        recalculateWorldGamestage();
+    }
+
+    /**
+     * Stop counting a leaving player toward the world gamestage.
+     */
+    public void onPlayerLeave(ServerPlayerEntity player) {
+        state.getAggregate().removeOnline(player.getUuid());
+        lastHudPayloads.remove(player.getUuid());
+        recalculateWorldGamestage();
+    }
+
     public void tick() {
         ServerWorld overworld = server.getOverworld();
         if (overworld == null) return;
@@ -69,7 +96,7 @@ public class GamestageManager implements IGamestageProvider {
     }
 
     /**
-     * Syncs gamestage HUD data to all connected players.
+     * Syncs gamestage HUD data to connected players whose values changed since the last sync.
      */
     private void syncHudToAllPlayers() {
         ServerWorld overworld = server.getOverworld();
@@ -77,12 +104,7 @@ public class GamestageManager implements IGamestageProvider {
 
         long currentDay = overworld.getTimeOfDay() / 24000;
         int worldGamestage = state.getWorldGamestage();
-
-        // Calculate global deaths (sum of all player deaths)
-        int globalDeaths = 0;
-        for (PlayerGamestage playerData : state.getPlayerData().values()) {
-            globalDeaths += playerData.getDeathCount();
-        }
+        int globalDeaths = state.getAggregate().getTotalDeaths();
 
         // Send to each player with their personal death count
         for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
@@ -96,7 +118,10 @@ public class GamestageManager implements IGamestageProvider {
                 globalDeaths
             );
 
-            ServerPlayNetworking.send(player, payload);
+            if (!payload.equals(lastHudPayloads.get(player.getUuid()))) {
+                ServerPlayNetworking.send(player, payload);
+                lastHudPayloads.put(player.getUuid(), payload);
+            }
         }
     }
 
@@ -104,11 +129,12 @@ public class GamestageManager implements IGamestageProvider {
         for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
             PlayerGamestage playerData = getOrCreatePlayerData(player);
             playerData.incrementDaysSurvived();
+            state.getAggregate().update(playerData);
+            state.markPlayerDirty(playerData.getPlayerUuid());
         }
 
         recalculateWorldGamestage();
         checkGamestageMilestones();
-        state.markDirty();
     }
 
     public void onSurvivalNightSurvived() {
@@ -117,10 +143,11 @@ public class GamestageManager implements IGamestageProvider {
         for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
             PlayerGamestage playerData = getOrCreatePlayerData(player);
             playerData.addSurvivalNightSurvived();
+            state.getAggregate().update(playerData);
+            state.markPlayerDirty(playerData.getPlayerUuid());
         }
 
         recalculateWorldGamestage();
-        state.markDirty();
 
         for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
             player.sendMessage(
@@ -134,26 +161,23 @@ public class GamestageManager implements IGamestageProvider {
     public void onPlayerDeath(ServerPlayerEntity player) {
         PlayerGamestage playerData = getOrCreatePlayerData(player);
         playerData.onDeath();
+        onPlayerDataChanged(playerData);
+    }
+
+    /**
+     * Fold a player's changed stats into the aggregate, queue them for the
+     * journal and update the world gamestage.
+     */
+    private void onPlayerDataChanged(PlayerGamestage playerData) {
+        state.getAggregate().update(playerData);
+        state.markPlayerDirty(playerData.getPlayerUuid());
         recalculateWorldGamestage();
-        state.markDirty();
     }
 
     private void recalculateWorldGamestage() {
-        if (server.getPlayerManager().getPlayerList().isEmpty()) {
-            return;
-        }
-
-        int totalGamestage = 0;
-        int playerCount = 0;
-
-        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-            PlayerGamestage playerData = getOrCreatePlayerData(player);
-            totalGamestage += playerData.calculateGamestage();
-            playerCount++;
-        }
-
-        if (playerCount > 0) {
-            state.setWorldGamestage(totalGamestage / playerCount);
+        int worldGamestage = state.getAggregate().getWorldGamestage(state.getWorldGamestage());
+        if (worldGamestage != state.getWorldGamestage()) {
+            state.setWorldGamestage(worldGamestage);
         }
     }
 
@@ -220,8 +244,7 @@ public class GamestageManager implements IGamestageProvider {
         for (int i = 0; i < killsToAdd; i++) {
             data.addZombieKill();
         }
-        recalculateWorldGamestage();
-        state.markDirty();
+        onPlayerDataChanged(data);
     }
 
     @Override
@@ -232,8 +255,7 @@ public class GamestageManager implements IGamestageProvider {
         for (int i = 0; i < deathsToAdd; i++) {
             data.onDeath();
         }
-        recalculateWorldGamestage();
-        state.markDirty();
+        onPlayerDataChanged(data);
     }
 
     public boolean canSpawnZombieType(String zombieType) {
@@ -268,7 +290,7 @@ public class GamestageManager implements IGamestageProvider {
     }
 
     public void saveData() {
-        // Data is saved automatically by PersistentState when marked dirty
+        // Full save on shutdown folds the journal back into stn_gamestage.dat
         state.markDirty();
         STNSurvival.LOGGER.info("Gamestage data marked for save");
     }
@@ -2,6 +2,7 @@ package com.stn.survival.progression;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.stn.core.util.StateJournal;
 import com.stn.survival.STNSurvival;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
@@ -9,6 +10,7 @@ import net.minecraft.util.Uuids;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.PersistentStateType;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,14 +20,26 @@ import java.util.UUID;
 /**
  * Persistent state for gamestage data.
  * Saves to world/data/stn_gamestage.dat
+ *
+ * Player records are journaled: a changed player is appended to
+ * world/data/stn_gamestage.journal at the next save instead of re-encoding
+ * every player. World-level fields still mark the whole state dirty.
  */
-public class GamestageState extends PersistentState {
+public class GamestageState extends PersistentState implements StateJournal.Target<PlayerGamestage> {
     private static final String STATE_ID = "stn_gamestage";
+    private static final int JOURNAL_COMPACT_THRESHOLD = 4096;
 
     private int worldGamestage = 0;
     private int survivalNightsSurvived = 0;
     private long lastDayCheck = 0;
     private final Map<UUID, PlayerGamestage> playerData = new HashMap<>();
+    private int journalGeneration = 0;
+
+    // Opened on first access, after the .dat file has loaded
+    private StateJournal<PlayerGamestage> journal;
+
+    // Running totals over playerData (not saved, rebuilt on load)
+    private final GamestageAggregate aggregate = new GamestageAggregate();
 
     // Codec for PlayerGamestage
     private static final Codec<PlayerGamestage> PLAYER_CODEC = RecordCodecBuilder.create(instance ->
@@ -52,12 +66,14 @@ public class GamestageState extends PersistentState {
             Codec.INT.fieldOf("worldGamestage").forGetter(s -> s.worldGamestage),
             Codec.INT.fieldOf("survivalNightsSurvived").forGetter(s -> s.survivalNightsSurvived),
             Codec.LONG.fieldOf("lastDayCheck").forGetter(s -> s.lastDayCheck),
-            Codec.list(PLAYER_CODEC).fieldOf("players").forGetter(s -> List.copyOf(s.playerData.values()))
-        ).apply(instance, (worldGs, survNights, lastDay, players) -> {
+            Codec.list(PLAYER_CODEC).fieldOf("players").forGetter(s -> List.copyOf(s.playerData.values())),
+            Codec.INT.optionalFieldOf("journalGeneration", 0).forGetter(s -> s.journalGeneration)
+        ).apply(instance, (worldGs, survNights, lastDay, players, generation) -> {
             GamestageState state = new GamestageState();
             state.worldGamestage = worldGs;
             state.survivalNightsSurvived = survNights;
             state.lastDayCheck = lastDay;
+            state.journalGeneration = generation;
             for (PlayerGamestage p : players) {
                 state.playerData.put(p.getPlayerUuid(), p);
             }
@@ -83,7 +99,10 @@ public class GamestageState extends PersistentState {
             throw new IllegalStateException("Overworld not available");
         }
         GamestageState state = overworld.getPersistentStateManager().getOrCreate(TYPE);
-        state.markDirty();
+        if (state.journal == null) {
+            state.journal = StateJournal.open(server, World.OVERWORLD, STATE_ID, state, PLAYER_CODEC, JOURNAL_COMPACT_THRESHOLD);
+            state.aggregate.reset(state.playerData.values());
+        }
         return state;
     }
 
@@ -119,7 +138,51 @@ public class GamestageState extends PersistentState {
         return playerData;
     }
 
+    public GamestageAggregate getAggregate() {
+        return aggregate;
+    }
+
     public PlayerGamestage getOrCreatePlayerData(UUID uuid, String name) {
-        return playerData.computeIfAbsent(uuid, id -> new PlayerGamestage(id, name));
+        return playerData.computeIfAbsent(uuid, id -> {
+            markPlayerDirty(id);
+            return new PlayerGamestage(id, name);
+        });
+    }
+
+    /**
+     * Queue a player's record for the journal at the next save.
+     */
+    public void markPlayerDirty(UUID uuid) {
+        if (journal != null) {
+            journal.markDirty(uuid.toString());
+        } else {
+            markDirty();
+        }
+    }
+
+    // StateJournal.Target
+
+    @Override
+    public int getJournalGeneration() {
+        return journalGeneration;
+    }
+
+    @Override
+    public void setJournalGeneration(int generation) {
+        this.journalGeneration = generation;
+    }
+
+    @Override
+    public @Nullable PlayerGamestage getJournalValue(String key) {
+        return playerData.get(UUID.fromString(key));
+    }
+
+    @Override
+    public void applyJournalValue(String key, @Nullable PlayerGamestage value) {
+        if (value != null) {
+            playerData.put(value.getPlayerUuid(), value);
+        } else {
+            playerData.remove(UUID.fromString(key));
+        }
     }
 }
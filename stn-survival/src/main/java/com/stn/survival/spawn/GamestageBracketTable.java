@@ -0,0 +1,66 @@
+package com.stn.survival.spawn;
+
+import com.stn.core.util.WeightedAliasTable;
+import net.minecraft.util.math.random.Random;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One weighted alias table per gamestage bracket.
+ *
+ * A bracket is the interval between consecutive distinct minGamestage
+ * thresholds, so every gamestage in a bracket sees exactly the same set of
+ * available entries. Sampling is a binary search over the thresholds plus an
+ * O(1) alias table draw.
+ */
+public final class GamestageBracketTable<T> {
+
+    private final int[] thresholds;
+    private final WeightedAliasTable<T>[] tables;
+
+    private GamestageBracketTable(int[] thresholds, WeightedAliasTable<T>[] tables) {
+        this.thresholds = thresholds;
+        this.tables = tables;
+    }
+
+    public static <T> GamestageBracketTable<T> build(List<T> entries, ToIntFunction<T> minGamestage, ToIntFunction<T> weight) {
+        int[] thresholds = entries.stream().mapToInt(minGamestage).distinct().sorted().toArray();
+
+        @SuppressWarnings("unchecked")
+        WeightedAliasTable<T>[] tables = new WeightedAliasTable[thresholds.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            int bracketStart = thresholds[i];
+            List<T> available = new ArrayList<>();
+            for (T entry : entries) {
+                if (minGamestage.applyAsInt(entry) <= bracketStart) {
+                    available.add(entry);
+                }
+            }
+            tables[i] = WeightedAliasTable.build(available, weight);
+        }
+
+        return new GamestageBracketTable<>(thresholds, tables);
+    }
+
+    /**
+     * Get the table for a gamestage (empty if below every threshold).
+     */
+    public WeightedAliasTable<T> getTable(int gamestage) {
+        int index = Arrays.binarySearch(thresholds, gamestage);
+        if (index < 0) {
+            // Insertion point - 1 is the last threshold below the gamestage
+            index = -index - 2;
+        }
+        return index >= 0 ? tables[index] : WeightedAliasTable.empty();
+    }
+
+    /**
+     * Sample an entry available at the gamestage, or null if none are.
+     */
+    public T sample(Random random, int gamestage) {
+        return getTable(gamestage).sample(random);
+    }
+}
@@ -6,7 +6,9 @@ import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.util.math.random.Random;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Centralized registry of all mobs that can spawn during Survival Night events.
@@ -28,6 +30,11 @@ public class HordeMobRegistry {
 
     private static final List<HordeMob> HORDE_MOBS = new ArrayList<>();
 
+    // Sampling tables per gamestage bracket, rebuilt lazily after registration changes
+    private static GamestageBracketTable<HordeMob> mobTable;
+    private static Map<MobCategory, GamestageBracketTable<HordeMob>> categoryTables;
+    private static GamestageBracketTable<HordeMob> bossTable;
+
     static {
         // ========== TIER 1: Gamestage 0-10 (Base horde) ==========
 
@@ -45,6 +52,7 @@ public class HordeMobRegistry {
 
     private static void register(String id, EntityType<? extends MobEntity> type, int weight, int minGamestage, MobCategory category, boolean isCustom) {
         HORDE_MOBS.add(new HordeMob(id, type, weight, minGamestage, category, isCustom));
+        invalidateTables();
     }
 
     /**
@@ -52,6 +60,7 @@ public class HordeMobRegistry {
      */
     public static void registerCustomMob(String id, EntityType<? extends MobEntity> type, int weight, int minGamestage, MobCategory category) {
         HORDE_MOBS.add(new HordeMob(id, type, weight, minGamestage, category, true));
+        invalidateTables();
         STNSurvival.LOGGER.info("Registered custom horde mob: {} (weight: {}, gamestage: {})", id, weight, minGamestage);
     }
 
@@ -77,46 +86,19 @@ public class HordeMobRegistry {
      * Select a random mob based on weights and current gamestage.
      */
     public static HordeMob selectRandomMob(Random random, int gamestage) {
-        List<HordeMob> available = getAvailableMobs(gamestage);
-        if (available.isEmpty()) {
+        HordeMob mob = getMobTable().sample(random, gamestage);
+        if (mob == null) {
             return new HordeMob("zombie", EntityType.ZOMBIE, 20, 0, MobCategory.GROUND, false);
         }
-
-        int totalWeight = available.stream().mapToInt(HordeMob::weight).sum();
-        int roll = random.nextInt(totalWeight);
-
-        int accumulated = 0;
-        for (HordeMob mob : available) {
-            accumulated += mob.weight();
-            if (roll < accumulated) {
-                return mob;
-            }
-        }
-
-        return available.get(0);
+        return mob;
     }
 
     /**
      * Select a random mob of a specific category.
      */
     public static HordeMob selectRandomMob(Random random, int gamestage, MobCategory category) {
-        List<HordeMob> available = getAvailableMobs(gamestage, category);
-        if (available.isEmpty()) {
-            return null;
-        }
-
-        int totalWeight = available.stream().mapToInt(HordeMob::weight).sum();
-        int roll = random.nextInt(totalWeight);
-
-        int accumulated = 0;
-        for (HordeMob mob : available) {
-            accumulated += mob.weight();
-            if (roll < accumulated) {
-                return mob;
-            }
-        }
-
-        return available.get(0);
+        GamestageBracketTable<HordeMob> table = getCategoryTables().get(category);
+        return table != null ? table.sample(random, gamestage) : null;
     }
 
     /**
@@ -132,28 +114,45 @@ public class HordeMobRegistry {
      * Get a boss mob for high gamestage.
      */
     public static HordeMob selectBossMob(Random random, int gamestage) {
-        List<HordeMob> bosses = HORDE_MOBS.stream()
-            .filter(mob -> mob.id().equals("giant") || mob.id().equals("warden"))
-            .filter(mob -> gamestage >= mob.minGamestage())
-            .toList();
+        return getBossTable().sample(random, gamestage);
+    }
 
-        if (bosses.isEmpty()) return null;
+    public static List<HordeMob> getAllMobs() {
+        return new ArrayList<>(HORDE_MOBS);
+    }
 
-        int totalWeight = bosses.stream().mapToInt(HordeMob::weight).sum();
-        int roll = random.nextInt(totalWeight);
+    private static synchronized void invalidateTables() {
+        mobTable = null;
+        categoryTables = null;
+        bossTable = null;
+    }
 
-        int accumulated = 0;
-        for (HordeMob boss : bosses) {
-            accumulated += boss.weight();
-            if (roll < accumulated) {
-                return boss;
-            }
+    private static synchronized GamestageBracketTable<HordeMob> getMobTable() {
+        if (mobTable == null) {
+            mobTable = GamestageBracketTable.build(HORDE_MOBS, HordeMob::minGamestage, HordeMob::weight);
         }
+        return mobTable;
+    }
 
-        return bosses.get(0);
+    private static synchronized Map<MobCategory, GamestageBracketTable<HordeMob>> getCategoryTables() {
+        if (categoryTables == null) {
+            Map<MobCategory, GamestageBracketTable<HordeMob>> tables = new EnumMap<>(MobCategory.class);
+            for (MobCategory category : MobCategory.values()) {
+                List<HordeMob> mobs = HORDE_MOBS.stream().filter(mob -> mob.category() == category).toList();
+                tables.put(category, GamestageBracketTable.build(mobs, HordeMob::minGamestage, HordeMob::weight));
+            }
+            categoryTables = tables;
+        }
+        return categoryTables;
     }
 
-    public static List<HordeMob> getAllMobs() {
-        return new ArrayList<>(HORDE_MOBS);
+    private static synchronized GamestageBracketTable<HordeMob> getBossTable() {
+        if (bossTable == null) {
+            List<HordeMob> bosses = HORDE_MOBS.stream()
+                .filter(mob -> mob.id().equals("giant") || mob.id().equals("warden"))
+                .toList();
+            bossTable = GamestageBracketTable.build(bosses, HordeMob::minGamestage, HordeMob::weight);
+        }
+        return bossTable;
     }
 }
@@ -0,0 +1,222 @@
+package com.stn.survival.spawn;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the entities spawned by the current survival night horde.
+ *
+ * Loaded horde entities are kept by network id in a primitive map; entities
+ * that unload with their chunk move to a UUID side table and are re-indexed
+ * under their new id when they load again. No entity references are held, so
+ * unloaded horde mobs can be garbage collected.
+ *
+ * Updates come from entity load/unload and death events rather than polling.
+ * Totals per target player and per mob category are kept as running counters.
+ */
+public class HordeRegistry {
+
+    /**
+     * A tracked horde entity.
+     */
+    private record HordeEntry(UUID uuid, RegistryKey<World> worldKey, UUID targetPlayer, MobCategory category) {}
+
+    private final MinecraftServer server;
+
+    private final Int2ObjectOpenHashMap<HordeEntry> loaded = new Int2ObjectOpenHashMap<>();
+    private final Map<UUID, HordeEntry> unloaded = new HashMap<>();
+    // Unloaded entities still alive at dawn; discarded when their chunk loads again
+    private final Set<UUID> pendingDiscard = new HashSet<>();
+
+    private final Object2IntOpenHashMap<UUID> countByPlayer = new Object2IntOpenHashMap<>();
+    private final Map<MobCategory, Integer> countByCategory = new EnumMap<>(MobCategory.class);
+
+    public HordeRegistry(MinecraftServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Hook entity lifecycle events. Called once from the mod initializer;
+     * the supplier returns the active registry, or null outside a running server.
+     */
+    public static void registerEvents(Supplier<HordeRegistry> registry) {
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            HordeRegistry current = registry.get();
+            if (current != null) current.onEntityLoad(entity);
+        });
+
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            HordeRegistry current = registry.get();
+            if (current != null) current.onEntityUnload(entity);
+        });
+
+        ServerLivingEntityEvents.AFTER_DEATH.register((entity, source) -> {
+            HordeRegistry current = registry.get();
+            if (current != null) current.remove(entity.getId());
+        });
+    }
+
+    /**
+     * Start tracking a freshly spawned horde entity.
+     */
+    public void add(Entity entity, UUID targetPlayer, MobCategory category) {
+        add(entity.getId(), entity.getUuid(), entity.getWorld().getRegistryKey(), targetPlayer, category);
+    }
+
+    void add(int entityId, UUID uuid, RegistryKey<World> worldKey, UUID targetPlayer, MobCategory category) {
+        HordeEntry entry = new HordeEntry(uuid, worldKey, targetPlayer, category);
+        if (loaded.put(entityId, entry) == null) {
+            increment(entry, 1);
+        }
+    }
+
+    private void onEntityLoad(Entity entity) {
+        if (onEntityLoad(entity.getId(), entity.getUuid(), entity.getWorld().getRegistryKey())) {
+            entity.discard();
+        }
+    }
+
+    /**
+     * @return true if the entity outlived its horde's night and should be discarded
+     */
+    boolean onEntityLoad(int entityId, UUID uuid, RegistryKey<World> worldKey) {
+        if (unloaded.isEmpty() && pendingDiscard.isEmpty()) {
+            return false;
+        }
+
+        if (pendingDiscard.remove(uuid)) {
+            return true;
+        }
+
+        // Entity ids change across reloads; re-index under the new id
+        HordeEntry entry = unloaded.remove(uuid);
+        if (entry != null) {
+            loaded.put(entityId, new HordeEntry(uuid, worldKey, entry.targetPlayer(), entry.category()));
+        }
+        return false;
+    }
+
+    private void onEntityUnload(Entity entity) {
+        Entity.RemovalReason reason = entity.getRemovalReason();
+        // Unloading with its chunk (or changing dimension) keeps it in the horde
+        onEntityUnload(entity.getId(), reason == null || reason.shouldDestroy());
+    }
+
+    void onEntityUnload(int entityId, boolean destroyed) {
+        HordeEntry entry = loaded.get(entityId);
+        if (entry == null) {
+            return;
+        }
+
+        if (!destroyed) {
+            loaded.remove(entityId);
+            unloaded.put(entry.uuid(), entry);
+        } else {
+            remove(entityId);
+        }
+    }
+
+    /**
+     * Stop tracking an entity (died or was discarded).
+     */
+    public void remove(int entityId) {
+        HordeEntry entry = loaded.remove(entityId);
+        if (entry != null) {
+            increment(entry, -1);
+        }
+    }
+
+    /**
+     * Discard every remaining horde entity. Loaded entities are discarded now;
+     * unloaded ones are discarded as soon as their chunk loads again.
+     * @return number of loaded entities discarded
+     */
+    public int discardAll() {
+        return discardAll((worldKey, entityId) -> {
+            ServerWorld world = server.getWorld(worldKey);
+            Entity entity = world != null ? world.getEntityById(entityId) : null;
+            if (entity != null && entity.isAlive() && !entity.isRemoved()) {
+                entity.discard();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Discards one loaded entity, returning whether it was still there to discard.
+     */
+    interface Discarder {
+        boolean discard(RegistryKey<World> worldKey, int entityId);
+    }
+
+    int discardAll(Discarder discarder) {
+        // Copy out first: discarding fires unload events back into this registry
+        Int2ObjectOpenHashMap<HordeEntry> toDiscard = new Int2ObjectOpenHashMap<>(loaded);
+        pendingDiscard.addAll(unloaded.keySet());
+        loaded.clear();
+        unloaded.clear();
+        countByPlayer.clear();
+        countByCategory.clear();
+
+        int removed = 0;
+        for (Int2ObjectMap.Entry<HordeEntry> mapEntry : toDiscard.int2ObjectEntrySet()) {
+            if (discarder.discard(mapEntry.getValue().worldKey(), mapEntry.getIntKey())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Total tracked horde entities, loaded or not.
+     */
+    public int size() {
+        return loaded.size() + unloaded.size();
+    }
+
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    public int getCountForPlayer(UUID playerId) {
+        return countByPlayer.getInt(playerId);
+    }
+
+    public int getCountForCategory(MobCategory category) {
+        return countByCategory.getOrDefault(category, 0);
+    }
+
+    /**
+     * Unloaded survivors of a past night still waiting to be discarded.
+     */
+    int getPendingDiscardCount() {
+        return pendingDiscard.size();
+    }
+
+    private void increment(HordeEntry entry, int delta) {
+        if (entry.targetPlayer() != null) {
+            int count = countByPlayer.addTo(entry.targetPlayer(), delta) + delta;
+            if (count <= 0) {
+                countByPlayer.removeInt(entry.targetPlayer());
+            }
+        }
+        countByCategory.merge(entry.category(), delta, (a, b) -> a + b != 0 ? a + b : null);
+    }
+}
@@ -32,6 +32,9 @@ public class JockeySpawner {
 
     private static final List<JockeyType> JOCKEY_TYPES = new ArrayList<>();
 
+    // Sampling tables per gamestage bracket, rebuilt lazily after registration changes
+    private static GamestageBracketTable<JockeyType> jockeyTable;
+
     static {
         // Spider Jockeys
         register("spider_zombie", EntityType.SPIDER, EntityType.ZOMBIE, 10, 25, false);
@@ -68,6 +71,7 @@ public class JockeySpawner {
 
     private static void register(String id, EntityType<?> mount, EntityType<? extends MobEntity> rider, int weight, int minGamestage, boolean riderIsBaby) {
         JOCKEY_TYPES.add(new JockeyType(id, mount, rider, weight, minGamestage, riderIsBaby));
+        invalidateTable();
     }
 
     /**
@@ -75,6 +79,7 @@ public class JockeySpawner {
      */
     public static void registerCustomJockey(String id, EntityType<?> mount, EntityType<? extends MobEntity> rider, int weight, int minGamestage, boolean riderIsBaby) {
         JOCKEY_TYPES.add(new JockeyType(id, mount, rider, weight, minGamestage, riderIsBaby));
+        invalidateTable();
         STNSurvival.LOGGER.info("Registered custom jockey: {}", id);
     }
 
@@ -101,21 +106,7 @@ public class JockeySpawner {
      * Select a random jockey type based on weights and gamestage.
      */
     public static JockeyType selectRandomJockey(Random random, int gamestage) {
-        List<JockeyType> available = getAvailableJockeys(gamestage);
-        if (available.isEmpty()) return null;
-
-        int totalWeight = available.stream().mapToInt(JockeyType::weight).sum();
-        int roll = random.nextInt(totalWeight);
-
-        int accumulated = 0;
-        for (JockeyType jockey : available) {
-            accumulated += jockey.weight();
-            if (roll < accumulated) {
-                return jockey;
-            }
-        }
-
-        return available.get(0);
+        return getJockeyTable().sample(random, gamestage);
     }
 
     /**
@@ -172,4 +163,15 @@ public class JockeySpawner {
     public static List<JockeyType> getAllJockeys() {
         return new ArrayList<>(JOCKEY_TYPES);
     }
+
+    private static synchronized void invalidateTable() {
+        jockeyTable = null;
+    }
+
+    private static synchronized GamestageBracketTable<JockeyType> getJockeyTable() {
+        if (jockeyTable == null) {
+            jockeyTable = GamestageBracketTable.build(JOCKEY_TYPES, JockeyType::minGamestage, JockeyType::weight);
+        }
+        return jockeyTable;
+    }
 }
@@ -0,0 +1,78 @@
+package com.stn.survival.spawn;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Pending spawn jobs grouped by target player, drained one player at a time
+ * in turn until a time budget is spent.
+ */
+final class WaveJobQueue {
+
+    interface Job {
+        /**
+         * @return true if a mob was spawned
+         */
+        boolean run(UUID target, int gamestage);
+    }
+
+    // Pending jobs per player (each job is the gamestage it was queued with)
+    private final Map<UUID, ArrayDeque<Integer>> jobsByPlayer = new HashMap<>();
+    // Round-robin order over players with pending jobs
+    private final ArrayDeque<UUID> rotation = new ArrayDeque<>();
+    private int size = 0;
+
+    void add(UUID target, int gamestage) {
+        ArrayDeque<Integer> jobs = jobsByPlayer.get(target);
+        if (jobs == null) {
+            jobs = new ArrayDeque<>();
+            jobsByPlayer.put(target, jobs);
+            rotation.add(target);
+        }
+        jobs.add(gamestage);
+        size++;
+    }
+
+    /**
+     * Run jobs, one per player in turn, until the budget is used up. The
+     * first job always runs so a wave finishes however slow spawning is.
+     * @return number of jobs that spawned a mob
+     */
+    int drain(long budgetNanos, LongSupplier clock, Job job) {
+        long start = clock.getAsLong();
+        int spawned = 0;
+        int ran = 0;
+
+        while (!rotation.isEmpty() && (ran == 0 || clock.getAsLong() - start < budgetNanos)) {
+            UUID playerId = rotation.poll();
+            ArrayDeque<Integer> jobs = jobsByPlayer.get(playerId);
+            int gamestage = jobs.poll();
+            size--;
+            ran++;
+
+            if (job.run(playerId, gamestage)) {
+                spawned++;
+            }
+
+            if (jobs.isEmpty()) {
+                jobsByPlayer.remove(playerId);
+            } else {
+                rotation.add(playerId);
+            }
+        }
+        return spawned;
+    }
+
+    void clear() {
+        jobsByPlayer.clear();
+        rotation.clear();
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,111 @@
+package com.stn.survival.spawn;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.random.Random;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spreads horde wave spawning over several ticks.
+ *
+ * A wave is queued as one spawn job per mob, grouped by target player. Each
+ * tick runs jobs until the time budget (measured with System.nanoTime) is
+ * used up, taking one job per player in turn so no player's share of the
+ * wave waits behind another's. At least one job runs per tick so a wave
+ * always finishes.
+ */
+public class WaveSpawnScheduler {
+
+    /**
+     * Performs a single spawn job for a target player.
+     * @return true if a mob was spawned
+     */
+    @FunctionalInterface
+    public interface SpawnJobRunner {
+        boolean run(ServerPlayerEntity target, int gamestage);
+    }
+
+    private final MinecraftServer server;
+    private final SpawnJobRunner runner;
+
+    private final WaveJobQueue jobs = new WaveJobQueue();
+
+    // Stats for the last tick that ran jobs
+    private long lastTickNanos = 0;
+    private long maxTickNanos = 0;
+
+    public WaveSpawnScheduler(MinecraftServer server, SpawnJobRunner runner) {
+        this.server = server;
+        this.runner = runner;
+    }
+
+    /**
+     * Queue a wave of spawn jobs. Each job picks a random target from the
+     * given players, same as spawning the wave in one go would.
+     */
+    public void queueWave(List<ServerPlayerEntity> players, int mobCount, int gamestage, Random random) {
+        if (players.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < mobCount; i++) {
+            jobs.add(players.get(random.nextInt(players.size())).getUuid(), gamestage);
+        }
+    }
+
+    /**
+     * Run queued jobs within the tick budget.
+     * @return number of mobs spawned this tick
+     */
+    public int tick(long budgetMicros) {
+        if (jobs.size() == 0) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        int spawned = jobs.drain(budgetMicros * 1000L, System::nanoTime, (playerId, gamestage) -> {
+            ServerPlayerEntity target = resolveTarget(playerId);
+            return target != null && runner.run(target, gamestage);
+        });
+
+        lastTickNanos = System.nanoTime() - start;
+        maxTickNanos = Math.max(maxTickNanos, lastTickNanos);
+        return spawned;
+    }
+
+    /**
+     * Drop all pending jobs (e.g. when the survival night ends).
+     */
+    public void clear() {
+        jobs.clear();
+        maxTickNanos = 0;
+    }
+
+    public int getPendingJobs() {
+        return jobs.size();
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    // The queued target may have logged out; hand the job to someone still online
+    private ServerPlayerEntity resolveTarget(UUID playerId) {
+        ServerPlayerEntity player = server.getPlayerManager().getPlayer(playerId);
+        if (player != null) {
+            return player;
+        }
+
+        List<ServerPlayerEntity> players = server.getPlayerManager().getPlayerList();
+        if (players.isEmpty()) {
+            return null;
+        }
+        return players.get(server.getOverworld().getRandom().nextInt(players.size()));
+    }
+}
@@ -0,0 +1,152 @@
+package com.stn.survival.progression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GamestageAggregateTest {
+
+    private static PlayerGamestage player(int i) {
+        return new PlayerGamestage(new UUID(0, i), "player" + i);
+    }
+
+    // Gamestage of a player given whole days survived
+    private static PlayerGamestage veteran(int i, int days) {
+        PlayerGamestage player = player(i);
+        player.setDaysSurvived(days);
+        return player;
+    }
+
+    // GamestageManager.recalculateWorldGamestage before the aggregate: a pass over the online players
+    private static int scanAverage(Set<PlayerGamestage> online) {
+        int total = 0;
+        for (PlayerGamestage player : online) {
+            total += player.calculateGamestage();
+        }
+        return total / online.size();
+    }
+
+    @Test
+    void joinAndLeaveMoveTheWorldGamestage() {
+        // Before, joining or leaving left the world gamestage alone until the next kill or new day
+        GamestageAggregate aggregate = new GamestageAggregate();
+        PlayerGamestage early = veteran(1, 20);   // Gamestage 3
+        PlayerGamestage late = veteran(2, 200);   // Gamestage 30
+
+        aggregate.addOnline(early);
+        int world = aggregate.getWorldGamestage(0);
+        assertEquals(3, world);
+
+        aggregate.addOnline(late);
+        world = aggregate.getWorldGamestage(world);
+        assertEquals(16, world);
+
+        aggregate.removeOnline(early.getPlayerUuid());
+        world = aggregate.getWorldGamestage(world);
+        assertEquals(30, world);
+
+        // Nobody online: the last value holds
+        aggregate.removeOnline(late.getPlayerUuid());
+        assertEquals(30, aggregate.getWorldGamestage(world));
+        assertEquals(0, aggregate.getOnlineCount());
+    }
+
+    @Test
+    void joiningTwiceCountsOnce() {
+        GamestageAggregate aggregate = new GamestageAggregate();
+        PlayerGamestage player = veteran(1, 100);
+        aggregate.addOnline(player);
+        player.setDaysSurvived(200);
+        aggregate.addOnline(player);
+
+        assertEquals(1, aggregate.getOnlineCount());
+        assertEquals(30, aggregate.getAverageGamestage());
+        assertEquals(30, aggregate.getLowestGamestage());
+    }
+
+    @Test
+    void deathsCountOfflinePlayersToo() {
+        GamestageAggregate aggregate = new GamestageAggregate();
+        PlayerGamestage offline = player(1);
+        offline.setDeathCount(4);
+        PlayerGamestage online = player(2);
+        online.setDeathCount(1);
+        aggregate.reset(List.of(offline, online));
+        aggregate.addOnline(online);
+
+        online.onDeath();
+        aggregate.update(online);
+        offline.onDeath(); // Changed while offline, e.g. by a command
+        aggregate.update(offline);
+        assertEquals(7, aggregate.getTotalDeaths());
+        assertEquals(1, aggregate.getOnlineCount());
+    }
+
+    @Test
+    void hundredPlayersAndTenThousandKillsMatchAFullScan() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<PlayerGamestage> players = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            players.add(veteran(i, random.nextInt(400)));
+        }
+
+        GamestageAggregate aggregate = new GamestageAggregate();
+        aggregate.reset(players);
+        Set<PlayerGamestage> online = new LinkedHashSet<>();
+        for (PlayerGamestage player : players) {
+            if (random.nextInt(4) != 0) {
+                aggregate.addOnline(player);
+                online.add(player);
+            }
+        }
+
+        int world = aggregate.getWorldGamestage(0);
+        for (int kill = 0; kill < 10_000; kill++) {
+            PlayerGamestage killer = players.get(random.nextInt(players.size()));
+            // Kills earn gamestage fast enough here to move the average
+            for (int i = 0; i < 50; i++) {
+                killer.addZombieKill();
+            }
+            aggregate.update(killer);
+
+            int event = random.nextInt(100);
+            if (event < 5) {
+                PlayerGamestage victim = players.get(random.nextInt(players.size()));
+                victim.onDeath();
+                aggregate.update(victim);
+            } else if (event < 8) {
+                PlayerGamestage player = players.get(random.nextInt(players.size()));
+                if (online.remove(player)) {
+                    aggregate.removeOnline(player.getPlayerUuid());
+                } else {
+                    online.add(player);
+                    aggregate.addOnline(player);
+                }
+            } else if (event == 8) {
+                // A new day for everyone online
+                for (PlayerGamestage player : online) {
+                    player.incrementDaysSurvived();
+                    aggregate.update(player);
+                }
+            }
+
+            world = aggregate.getWorldGamestage(world);
+            assertEquals(online.size(), aggregate.getOnlineCount());
+            if (!online.isEmpty()) {
+                assertEquals(scanAverage(online), world, "after kill " + kill);
+                assertEquals(online.stream().mapToInt(PlayerGamestage::calculateGamestage).max().getAsInt(),
+                    aggregate.getHighestGamestage());
+                assertEquals(online.stream().mapToInt(PlayerGamestage::calculateGamestage).min().getAsInt(),
+                    aggregate.getLowestGamestage());
+            }
+            assertEquals(players.stream().mapToInt(PlayerGamestage::getDeathCount).sum(), aggregate.getTotalDeaths());
+        }
+    }
+}
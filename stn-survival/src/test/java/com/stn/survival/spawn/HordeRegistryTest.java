@@ -0,0 +1,241 @@
+package com.stn.survival.spawn;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HordeRegistryTest {
+
+    private static final UUID ALICE = new UUID(0, 1);
+    private static final UUID BOB = new UUID(0, 2);
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    private HordeRegistry registry;
+    // Ids the fake worlds have loaded; discards only count for these
+    private IntOpenHashSet present;
+    private int nextId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new HordeRegistry(null);
+        present = new IntOpenHashSet();
+        nextId = 1;
+    }
+
+    // A horde mob as the world sees it: its id changes every time it loads
+    private final class Mob {
+        final UUID uuid = new UUID(1, nextId);
+        int id;
+
+        Mob(UUID target, MobCategory category) {
+            id = nextId++;
+            present.add(id);
+            registry.add(id, uuid, World.OVERWORLD, target, category);
+        }
+
+        void die() {
+            // AFTER_DEATH, then the unload event with a destroying reason
+            registry.remove(id);
+            unload(true);
+        }
+
+        void unload(boolean destroyed) {
+            present.remove(id);
+            registry.onEntityUnload(id, destroyed);
+        }
+
+        boolean load(RegistryKey<World> world) {
+            id = nextId++;
+            boolean discard = registry.onEntityLoad(id, uuid, world);
+            if (discard) {
+                registry.onEntityUnload(id, true); // discard() fires its own unload
+            } else {
+                present.add(id);
+            }
+            return discard;
+        }
+    }
+
+    private int dawn() {
+        return registry.discardAll((world, id) -> {
+            if (!present.remove(id)) {
+                return false;
+            }
+            registry.onEntityUnload(id, true);
+            return true;
+        });
+    }
+
+    private void assertCounts(int alice, int bob, int ground, int aerial) {
+        assertEquals(alice, registry.getCountForPlayer(ALICE));
+        assertEquals(bob, registry.getCountForPlayer(BOB));
+        assertEquals(ground, registry.getCountForCategory(MobCategory.GROUND));
+        assertEquals(aerial, registry.getCountForCategory(MobCategory.AERIAL));
+    }
+
+    @Test
+    void deathsAndDiscardsStopTracking() {
+        Mob a = new Mob(ALICE, MobCategory.GROUND);
+        Mob b = new Mob(ALICE, MobCategory.AERIAL);
+        Mob c = new Mob(BOB, MobCategory.GROUND);
+        assertEquals(3, registry.size());
+        assertCounts(2, 1, 2, 1);
+
+        a.die();
+        assertCounts(1, 1, 1, 1);
+
+        b.unload(true); // Discarded by something else
+        assertCounts(0, 1, 1, 0);
+
+        c.die();
+        assertEquals(0, registry.size());
+        assertCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    void addingTheSameIdTwiceCountsOnce() {
+        registry.add(7, new UUID(1, 7), World.OVERWORLD, ALICE, MobCategory.GROUND);
+        registry.add(7, new UUID(1, 7), World.OVERWORLD, ALICE, MobCategory.GROUND);
+        assertEquals(1, registry.size());
+        assertCounts(1, 0, 1, 0);
+    }
+
+    @Test
+    void unloadedMobsStayInTheHordeAndAreReindexedOnLoad() {
+        Mob mob = new Mob(ALICE, MobCategory.GROUND);
+        int firstId = mob.id;
+
+        mob.unload(false);
+        assertEquals(1, registry.size());
+        assertEquals(0, registry.getLoadedCount());
+        assertCounts(1, 0, 1, 0);
+
+        assertFalse(mob.load(World.OVERWORLD));
+        assertEquals(1, registry.getLoadedCount());
+
+        // The old id is gone; deaths arrive under the new one
+        registry.remove(firstId);
+        assertEquals(1, registry.size());
+        mob.die();
+        assertEquals(0, registry.size());
+        assertCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    void dimensionChangeKeepsTheMob() {
+        Mob mob = new Mob(BOB, MobCategory.AERIAL);
+        mob.unload(false);
+        assertFalse(mob.load(World.NETHER));
+
+        // Dawn looks it up in the world it moved to
+        List<RegistryKey<World>> worlds = new ArrayList<>();
+        registry.discardAll((world, id) -> worlds.add(world));
+        assertEquals(List.of(World.NETHER), worlds);
+    }
+
+    @Test
+    void dawnDiscardsLoadedMobsNow() {
+        new Mob(ALICE, MobCategory.GROUND);
+        new Mob(BOB, MobCategory.AERIAL);
+        Mob dead = new Mob(BOB, MobCategory.GROUND);
+        present.remove(dead.id); // Died without the registry hearing of it
+
+        assertEquals(2, dawn());
+        assertTrue(present.isEmpty());
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getPendingDiscardCount());
+        assertCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    void unloadedMobIsDiscardedWhenItLoadsAgain() {
+        Mob away = new Mob(ALICE, MobCategory.GROUND);
+        away.unload(false);
+        new Mob(ALICE, MobCategory.GROUND);
+
+        assertEquals(1, dawn());
+        assertEquals(0, registry.size());
+        assertEquals(1, registry.getPendingDiscardCount());
+        assertCounts(0, 0, 0, 0);
+
+        assertTrue(away.load(World.OVERWORLD));
+        assertFalse(present.contains(away.id));
+        assertEquals(0, registry.getPendingDiscardCount());
+
+        // Once only; a later load of the same uuid is left alone
+        assertFalse(away.load(World.OVERWORLD));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void nextNightTracksAfterDawn() {
+        Mob survivor = new Mob(ALICE, MobCategory.GROUND);
+        survivor.unload(false);
+        dawn();
+
+        new Mob(BOB, MobCategory.AERIAL);
+        assertTrue(survivor.load(World.OVERWORLD)); // Last night's mob still goes
+        assertEquals(1, registry.size());
+        assertCounts(0, 1, 0, 1);
+    }
+
+    @Test
+    void countersReturnToZeroAfterRandomHistory() {
+        SplittableRandom random = new SplittableRandom(10);
+        List<Mob> alive = new ArrayList<>();
+        List<Mob> away = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 4 || alive.isEmpty()) {
+                alive.add(new Mob(random.nextBoolean() ? ALICE : BOB, random.nextBoolean() ? MobCategory.GROUND : MobCategory.AERIAL));
+            } else if (action < 6) {
+                alive.remove(random.nextInt(alive.size())).die();
+            } else if (action < 8) {
+                Mob mob = alive.remove(random.nextInt(alive.size()));
+                mob.unload(false);
+                away.add(mob);
+            } else if (!away.isEmpty()) {
+                Mob mob = away.remove(random.nextInt(away.size()));
+                assertFalse(mob.load(random.nextBoolean() ? World.OVERWORLD : World.NETHER));
+                alive.add(mob);
+            }
+            assertEquals(alive.size() + away.size(), registry.size());
+            assertEquals(alive.size(), registry.getLoadedCount());
+        }
+
+        // Every tracked mob, loaded or not, is still counted
+        int total = registry.getCountForPlayer(ALICE) + registry.getCountForPlayer(BOB);
+        assertEquals(registry.size(), total);
+        assertEquals(total, registry.getCountForCategory(MobCategory.GROUND) + registry.getCountForCategory(MobCategory.AERIAL));
+
+        for (Mob mob : new ArrayList<>(alive)) {
+            mob.die();
+        }
+        for (Mob mob : away) {
+            assertFalse(mob.load(World.OVERWORLD));
+            mob.die();
+        }
+        assertEquals(0, registry.size());
+        assertCounts(0, 0, 0, 0);
+    }
+}
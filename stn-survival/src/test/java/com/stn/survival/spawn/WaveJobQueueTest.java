@@ -0,0 +1,169 @@
+package com.stn.survival.spawn;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaveJobQueueTest {
+
+    private static final UUID ALICE = new UUID(0, 1);
+    private static final UUID BOB = new UUID(0, 2);
+    private static final UUID CAROL = new UUID(0, 3);
+
+    private WaveJobQueue queue;
+    // Fake clock; each job advances it by its cost
+    private long now;
+    private long jobNanos;
+    private List<UUID> ran;
+
+    @BeforeEach
+    void setUp() {
+        queue = new WaveJobQueue();
+        now = 0;
+        jobNanos = 100;
+        ran = new ArrayList<>();
+    }
+
+    private int tick(long budgetNanos) {
+        return queue.drain(budgetNanos, () -> now, (target, gamestage) -> {
+            ran.add(target);
+            now += jobNanos;
+            return true;
+        });
+    }
+
+    private void queue(UUID target, int jobs) {
+        for (int i = 0; i < jobs; i++) {
+            queue.add(target, 10);
+        }
+    }
+
+    @Test
+    void playersTakeTurns() {
+        queue(ALICE, 6);
+        queue(BOB, 3);
+        queue(CAROL, 1);
+
+        tick(Long.MAX_VALUE);
+        assertEquals(List.of(ALICE, BOB, CAROL, ALICE, BOB, ALICE, BOB, ALICE, ALICE, ALICE), ran);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void turnsCarryOverBetweenTicks() {
+        queue(ALICE, 4);
+        queue(BOB, 4);
+
+        // Three jobs fit: Alice, Bob, Alice; Bob goes first next tick
+        tick(300);
+        assertEquals(List.of(ALICE, BOB, ALICE), ran);
+        ran.clear();
+        tick(300);
+        assertEquals(List.of(BOB, ALICE, BOB), ran);
+    }
+
+    @Test
+    void budgetCutsTheTickOff() {
+        queue(ALICE, 100);
+        queue(BOB, 100);
+
+        assertEquals(10, tick(1_000));
+        assertEquals(190, queue.size());
+
+        // Slower jobs, fewer per tick
+        jobNanos = 400;
+        assertEquals(3, tick(1_000));
+        assertEquals(187, queue.size());
+    }
+
+    @Test
+    void atLeastOneJobRunsPerTick() {
+        queue(ALICE, 3);
+        queue(BOB, 2);
+        jobNanos = 1_000_000; // Each job alone blows the budget
+
+        for (int tick = 1; tick <= 5; tick++) {
+            assertEquals(1, tick(0));
+            assertEquals(5 - tick, queue.size());
+        }
+        assertEquals(List.of(ALICE, BOB, ALICE, BOB, ALICE), ran);
+        assertEquals(0, tick(0));
+    }
+
+    @Test
+    void failedSpawnsStillUseTheirJob() {
+        queue(ALICE, 5);
+        int spawned = queue.drain(Long.MAX_VALUE, () -> now, (target, gamestage) -> false);
+        assertEquals(0, spawned);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void jobsKeepTheirGamestage() {
+        queue.add(ALICE, 1);
+        queue.add(BOB, 2);
+        queue.add(ALICE, 3);
+        List<Integer> stages = new ArrayList<>();
+        queue.drain(Long.MAX_VALUE, () -> now, (target, gamestage) -> stages.add(gamestage));
+        assertEquals(List.of(1, 2, 3), stages);
+    }
+
+    @Test
+    void waveQueuedMidRotationJoinsAtTheBack() {
+        queue(ALICE, 3);
+        queue(BOB, 3);
+        tick(200); // Alice, Bob
+
+        queue(CAROL, 2);
+        queue(ALICE, 1);
+        ran.clear();
+        tick(Long.MAX_VALUE);
+        assertEquals(List.of(ALICE, BOB, CAROL, ALICE, BOB, CAROL, ALICE), ran);
+    }
+
+    @Test
+    void largeWaveSharesEveryTickFairly() {
+        // 30 players, 300 mobs at a budget of 25 jobs a tick
+        Map<UUID, Integer> queued = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            UUID player = new UUID(1, i % 30);
+            queue.add(player, 10);
+            queued.merge(player, 1, Integer::sum);
+        }
+
+        int ticks = 0;
+        while (queue.size() > 0) {
+            ran.clear();
+            tick(2_500);
+            ticks++;
+            // Within a tick nobody runs twice before everyone waiting has run once
+            Map<UUID, Integer> counts = new HashMap<>();
+            ran.forEach(player -> counts.merge(player, 1, Integer::sum));
+            int min = counts.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+            int max = counts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            assertTrue(max - min <= 1, "tick " + ticks + ": " + counts);
+        }
+        assertEquals(12, ticks);
+    }
+
+    @Test
+    void clearDropsEverything() {
+        queue(ALICE, 3);
+        queue(BOB, 3);
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertEquals(0, tick(Long.MAX_VALUE));
+
+        queue(BOB, 1);
+        tick(Long.MAX_VALUE);
+        assertEquals(List.of(BOB), ran);
+    }
+}
@@ -0,0 +1,184 @@
+package com.stn.traders.protection;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protection checks for block breaks, uses and attacks in and around trader
+ * outposts: the index with a warm chunk cache against the walk that
+ * StructureAccessor.getStructureContaining does per check (every structure
+ * referenced by the chunk, a key match, then the start's box and pieces).
+ * {@code inside} is the share of checks that land in an outpost's bounds.
+ *
+ * Both read structure data from maps, so the accessor walk skips the chunk
+ * lookups it pays in game; its numbers are a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraderStructureIndexBenchmark {
+
+    private static final int CHECKS = 4096;
+    private static final int OUTPOSTS = 64;
+    private static final int PIECES = 12;
+    private static final String TRADER = "stn_traders:trader_outpost";
+    // Other structures sharing the chunks, as a village or mineshaft would
+    private static final String[] OTHERS = {"minecraft:village_plains", "minecraft:mineshaft", "minecraft:ruined_portal"};
+
+    private record Start(BlockBox bounds, BlockBox[] pieces) {
+    }
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double inside;
+
+    // Chunk -> structure id -> referenced start chunks, like Chunk.getStructureReferences()
+    private final Long2ObjectOpenHashMap<Map<String, LongSet>> references = new Long2ObjectOpenHashMap<>();
+    private final Map<String, Long2ObjectOpenHashMap<Start>> starts = new HashMap<>();
+
+    private TraderStructureIndex index;
+    private BlockPos[] checks;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(16);
+        List<BlockBox> bounds = new ArrayList<>();
+
+        for (int i = 0; i < OUTPOSTS; i++) {
+            int baseX = random.nextInt(-2000, 2000), baseZ = random.nextInt(-2000, 2000);
+            bounds.add(addStart(TRADER, baseX, baseZ, random));
+            // Something else nearby in the same chunks
+            addStart(OTHERS[i % OTHERS.length], baseX + random.nextInt(-24, 24), baseZ + random.nextInt(-24, 24), random);
+        }
+
+        index = new TraderStructureIndex(new TraderStructureIndex.Lookup() {
+            @Override
+            public LongSet getReferences(int chunkX, int chunkZ) {
+                Map<String, LongSet> chunk = references.get(ChunkPos.toLong(chunkX, chunkZ));
+                return chunk != null ? chunk.getOrDefault(TRADER, LongSets.EMPTY_SET) : LongSets.EMPTY_SET;
+            }
+
+            @Override
+            public void forEachReferencedStart(ChunkPos chunk, TraderStructureIndex.StartConsumer consumer) {
+                for (long start : getReferences(chunk.x, chunk.z)) {
+                    consumer.accept(start, starts.get(TRADER).get(start).pieces());
+                }
+            }
+        });
+        starts.get(TRADER).forEach((start, s) -> index.onStartLoaded(start, s.pieces()));
+
+        checks = new BlockPos[CHECKS];
+        for (int i = 0; i < CHECKS; i++) {
+            BlockBox box = bounds.get(random.nextInt(bounds.size()));
+            if (random.nextDouble() < inside) {
+                checks[i] = new BlockPos(random.nextInt(box.getMinX(), box.getMaxX() + 1),
+                    random.nextInt(box.getMinY(), box.getMaxY() + 1), random.nextInt(box.getMinZ(), box.getMaxZ() + 1));
+            } else {
+                // Around the outpost, where players build and fight
+                checks[i] = new BlockPos(box.getMinX() + random.nextInt(-48, 48), 64 + random.nextInt(-8, 16),
+                    box.getMinZ() + random.nextInt(-48, 48));
+            }
+        }
+
+        // Warm the chunk cache
+        indexed();
+    }
+
+    private BlockBox addStart(String structure, int baseX, int baseZ, SplittableRandom random) {
+        BlockBox[] pieces = new BlockBox[PIECES];
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < PIECES; i++) {
+            int x = baseX + random.nextInt(0, 40), z = baseZ + random.nextInt(0, 40), y = 60 + random.nextInt(0, 6);
+            pieces[i] = new BlockBox(x, y, z, x + random.nextInt(3, 12), y + random.nextInt(4, 10), z + random.nextInt(3, 12));
+            minX = Math.min(minX, pieces[i].getMinX());
+            minZ = Math.min(minZ, pieces[i].getMinZ());
+            maxX = Math.max(maxX, pieces[i].getMaxX());
+            maxZ = Math.max(maxZ, pieces[i].getMaxZ());
+        }
+        BlockBox bounds = new BlockBox(minX, 60, minZ, maxX, 75, maxZ);
+
+        long start = ChunkPos.toLong(baseX >> 4, baseZ >> 4);
+        starts.computeIfAbsent(structure, k -> new Long2ObjectOpenHashMap<>()).put(start, new Start(bounds, pieces));
+        for (int x = minX >> 4; x <= maxX >> 4; x++) {
+            for (int z = minZ >> 4; z <= maxZ >> 4; z++) {
+                references.computeIfAbsent(ChunkPos.toLong(x, z), k -> new HashMap<>())
+                    .computeIfAbsent(structure, k -> new LongOpenHashSet()).add(start);
+            }
+        }
+        return bounds;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int indexed() {
+        int hits = 0;
+        for (BlockPos pos : checks) {
+            if (index.isInTraderStructure(pos)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int accessorWalk() {
+        int hits = 0;
+        for (BlockPos pos : checks) {
+            if (structureContaining(pos)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    // StructureAccessor.getStructureContaining with the trader key predicate
+    private boolean structureContaining(BlockPos pos) {
+        Map<String, LongSet> chunk = references.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (chunk == null) {
+            return false;
+        }
+        for (Map.Entry<String, LongSet> entry : chunk.entrySet()) {
+            if (!entry.getKey().equals(TRADER)) {
+                continue;
+            }
+            for (long startChunk : entry.getValue()) {
+                Start start = starts.get(entry.getKey()).get(startChunk);
+                if (start.bounds().contains(pos)) {
+                    for (BlockBox piece : start.pieces()) {
+                        if (piece.contains(pos)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.stn.traders.quest;
+
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kill handling with 500 configured quests and 100 players holding three
+ * active quests each: the quest index against the linear getQuest search
+ * every active quest ran before. Most kills are of mobs no quest counts.
+ * Scores are per kill; {@code rebuild} is the cost of one config reload.
+ *
+ * Only the matching is measured; the progress update and message are the
+ * same either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestIndexBenchmark {
+
+    private static final int QUESTS = 500;
+    private static final int PLAYERS = 100;
+    private static final int ACTIVE = 3;
+    private static final int KILLS = 4096;
+
+    private List<Quest> quests;
+    private QuestIndex index;
+    private String[][] activeQuestIds;
+    private int[] killers;
+    private Identifier[] killed;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(500);
+        QuestType[] types = QuestType.values();
+        Identifier[] targets = new Identifier[40];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = Identifier.of("stn_bench", "target_" + i);
+        }
+
+        quests = new ArrayList<>();
+        for (int i = 0; i < QUESTS; i++) {
+            quests.add(new Quest("quest_" + i, types[random.nextInt(types.length)], targets[random.nextInt(targets.length)],
+                10, 1.0, 0, -1, "Quest " + i, new QuestReward(1, 1, null, 1, false)));
+        }
+        index = new QuestIndex(quests);
+
+        activeQuestIds = new String[PLAYERS][ACTIVE];
+        for (String[] active : activeQuestIds) {
+            for (int i = 0; i < ACTIVE; i++) {
+                active[i] = "quest_" + random.nextInt(QUESTS);
+            }
+        }
+
+        // Three in four kills are of mobs outside the quest targets
+        killers = new int[KILLS];
+        killed = new Identifier[KILLS];
+        for (int i = 0; i < KILLS; i++) {
+            killers[i] = random.nextInt(PLAYERS);
+            killed[i] = random.nextInt(4) == 0
+                ? targets[random.nextInt(targets.length)]
+                : Identifier.of("minecraft", "mob_" + random.nextInt(30));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KILLS)
+    public int indexed() {
+        int matched = 0;
+        for (int i = 0; i < KILLS; i++) {
+            Set<String> killQuestIds = index.getKillQuestIds(killed[i]);
+            if (killQuestIds.isEmpty()) {
+                continue;
+            }
+            for (String questId : activeQuestIds[killers[i]]) {
+                if (killQuestIds.contains(questId) && index.getQuest(questId) != null) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KILLS)
+    public int linear() {
+        int matched = 0;
+        for (int i = 0; i < KILLS; i++) {
+            for (String questId : activeQuestIds[killers[i]]) {
+                Quest quest = quests.stream().filter(q -> q.id().equals(questId)).findFirst().orElse(null);
+                if (quest != null && quest.type() == QuestType.KILL && quest.target().equals(killed[i])) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public QuestIndex rebuild() {
+        return new QuestIndex(quests);
+    }
+}
@@ -0,0 +1,109 @@
+package com.stn.traders.structure;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placement checks for villages found during world generation, against a
+ * tracker holding a number of placed trader structures spread one per
+ * village over a 100,000-block square. Half the checks land near an
+ * existing placement, half on fresh ground. Compares the 128-block grid
+ * against the scan over every placement that hasStructureNear did before.
+ *
+ * Both sides read plain maps; the tracker is never attached to a world.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacedStructureTrackerBenchmark {
+
+    private static final int CHECKS = 1024;
+    private static final int SPREAD = 50_000;
+    private static final int VILLAGE_CLUSTER_RADIUS = 100;
+
+    @Param({"1000", "10000"})
+    public int structures;
+
+    private PlacedStructureTracker tracker;
+    // The tracker's storage before the grid
+    private final Map<Long, String> placedVillages = new ConcurrentHashMap<>();
+    private BlockPos[] checks;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(17);
+        tracker = new PlacedStructureTracker();
+        BlockPos[] placed = new BlockPos[structures];
+        for (int i = 0; i < structures; i++) {
+            placed[i] = new BlockPos(random.nextInt(-SPREAD, SPREAD), 64 + random.nextInt(-4, 16), random.nextInt(-SPREAD, SPREAD));
+            Identifier structure = Identifier.of("stn_traders", "trader_outpost_" + (i % 4));
+            tracker.markPlaced(placed[i], structure);
+            placedVillages.put(placed[i].asLong(), structure.toString());
+        }
+
+        checks = new BlockPos[CHECKS];
+        for (int i = 0; i < CHECKS; i++) {
+            if (random.nextBoolean()) {
+                // Another village in an existing cluster
+                BlockPos near = placed[random.nextInt(structures)];
+                checks[i] = near.add(random.nextInt(-80, 80), random.nextInt(-4, 4), random.nextInt(-80, 80));
+            } else {
+                checks[i] = new BlockPos(random.nextInt(-SPREAD, SPREAD), 64, random.nextInt(-SPREAD, SPREAD));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int grid() {
+        int near = 0;
+        for (BlockPos pos : checks) {
+            if (tracker.hasStructureNear(pos)) {
+                near++;
+            }
+        }
+        return near;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int fullScan() {
+        int near = 0;
+        for (BlockPos pos : checks) {
+            if (hasStructureNearScan(pos)) {
+                near++;
+            }
+        }
+        return near;
+    }
+
+    private boolean hasStructureNearScan(BlockPos villagePos) {
+        for (Long existing : placedVillages.keySet()) {
+            BlockPos existingPos = BlockPos.fromLong(existing);
+            if (villagePos.isWithinDistance(existingPos, VILLAGE_CLUSTER_RADIUS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,122 @@
+package com.stn.traders.worldgen;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick cost of the village chunk queue while a player flies over 2,000
+ * newly loaded chunks (view distance 10, so a column of 21 chunks loads
+ * each time they cross into the next chunk). The elytra case crosses a chunk
+ * every 10 ticks, the fast case every tick. Scores are per tick and include
+ * the queue, the processed-chunk marks and their region files; the village
+ * check itself is a set lookup standing in for the POI query.
+ *
+ * Each call flies fresh ground, so every chunk is queued and checked once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VillageChunkFlightBenchmark {
+
+    private static final int VIEW_DISTANCE = 10;
+    private static final int COLUMN = 2 * VIEW_DISTANCE + 1;
+    // 441 chunks around the start, then columns until 2,000 have loaded
+    private static final int STEPS = (2000 - COLUMN * COLUMN + COLUMN - 1) / COLUMN;
+    private static final int ELYTRA_TICKS = STEPS * 10;
+    private static final int FAST_TICKS = STEPS;
+
+    private Path root;
+    private int flights = 0;
+    private final LongOpenHashSet villages = new LongOpenHashSet();
+
+    @Setup
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("stn-village-chunks");
+        // A village every hundred or so chunks along the route
+        for (int x = 0; x < 256; x += 17) {
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z += 7) {
+                villages.add(ChunkPos.toLong(x, z));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELYTRA_TICKS)
+    public int elytraFlight() {
+        return fly(10);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FAST_TICKS)
+    public int fastFlight() {
+        return fly(1);
+    }
+
+    private int fly(int ticksPerChunk) {
+        // A fresh marks folder each call, so nothing is already marked
+        ChunkCheckQueue queue = new ChunkCheckQueue(VillageStructureManager.MAX_QUEUED_CHUNKS);
+        ProcessedChunkRegions processed = new ProcessedChunkRegions(root.resolve(Integer.toString(flights++)));
+        LongOpenHashSet loaded = new LongOpenHashSet();
+        int[] found = {0};
+
+        int playerX = 0;
+        for (int x = -VIEW_DISTANCE; x <= VIEW_DISTANCE; x++) {
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                load(queue, processed, loaded, x, z, playerX);
+            }
+        }
+
+        for (int step = 0; step < STEPS; step++) {
+            for (int t = 0; t < ticksPerChunk; t++) {
+                queue.drain(VillageStructureManager.CHUNK_CHECKS_PER_TICK, chunkKey -> {
+                    if (!loaded.contains(chunkKey)) {
+                        return;
+                    }
+                    if (villages.contains(chunkKey)) {
+                        found[0]++;
+                    }
+                    processed.markProcessed(new ChunkPos(chunkKey));
+                });
+            }
+
+            playerX++;
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                ChunkPos behind = new ChunkPos(playerX - VIEW_DISTANCE - 1, z);
+                loaded.remove(behind.toLong());
+                processed.onChunkUnload(behind);
+                load(queue, processed, loaded, playerX + VIEW_DISTANCE, z, playerX);
+            }
+        }
+        return found[0];
+    }
+
+    private static void load(ChunkCheckQueue queue, ProcessedChunkRegions processed, LongOpenHashSet loaded,
+                             int x, int z, int playerX) {
+        ChunkPos pos = new ChunkPos(x, z);
+        loaded.add(pos.toLong());
+        processed.onChunkLoad(pos);
+        if (!processed.isProcessed(pos)) {
+            double dx = (x - playerX) * 16.0, dz = z * 16.0;
+            queue.offer(pos.toLong(), dx * dx + dz * dz);
+        }
+    }
+}
@@ -13,6 +13,8 @@ import com.stn.traders.registry.STNTraderBlocks;
 import com.stn.traders.registry.STNTraderEntities;
 import com.stn.traders.registry.STNTraderItems;
 import com.stn.traders.registry.STNTraderScreens;
+import com.stn.traders.structure.TraderStructurePlacer;
+import com.stn.traders.structure.TraderStructureRegistry;
 import com.stn.traders.structure.processor.STNProcessors;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
@@ -76,7 +78,11 @@ public class STNTraders implements ModInitializer {
 
         // Register structure processors (biome-aware wood replacement)
         STNProcessors.register();
-        // Structure generation is handled via datapack (worldgen JSON files)
+        // Built-in structure definitions for /stntrader place, written over several ticks
+        TraderStructureRegistry.registerDefaults();
+        TraderStructurePlacer.init();
+        // Structure generation is handled via datapack (worldgen JSON files);
+        // VillageStructureManager's village-anchored placement is not initialised
 
         // Register quest system
         QuestManager.init();
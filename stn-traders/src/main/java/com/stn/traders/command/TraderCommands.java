@@ -2,8 +2,12 @@ package com.stn.traders.command;
 
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.context.CommandContext;
+import com.stn.core.STNCore;
 import com.stn.traders.entity.SurvivalTraderEntity;
 import com.stn.traders.registry.STNTraderEntities;
+import com.stn.traders.structure.TraderStructure;
+import com.stn.traders.structure.TraderStructurePlacer;
+import com.stn.traders.structure.TraderStructureRegistry;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.minecraft.command.CommandRegistryAccess;
 import net.minecraft.server.command.CommandManager;
@@ -36,6 +40,9 @@ public class TraderCommands {
                 .then(CommandManager.literal("spawn")
                     .requires(source -> source.hasPermissionLevel(2))
                     .executes(TraderCommands::spawnTrader))
+                .then(CommandManager.literal("place")
+                    .requires(source -> source.hasPermissionLevel(2))
+                    .executes(TraderCommands::placeStructure))
         );
     }
 
@@ -61,6 +68,35 @@ public class TraderCommands {
         return 1;
     }
 
+    private static int placeStructure(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        ServerPlayerEntity player = source.getPlayer();
+
+        if (player == null) {
+            source.sendError(Text.literal("This command must be run by a player"));
+            return 0;
+        }
+
+        ServerWorld world = (ServerWorld) player.getWorld();
+        int gamestage = STNCore.getGamestageProvider() != null ? STNCore.getGamestageProvider().getWorldGamestage() : 0;
+        TraderStructure structure = TraderStructureRegistry.selectForGamestage(world.getRandom(), gamestage);
+        if (structure == null) {
+            source.sendError(Text.literal("No trader structures registered"));
+            return 0;
+        }
+
+        // Written over the next ticks; the trader spawns once the structure is complete
+        if (!TraderStructurePlacer.placeStaged(world, player.getBlockPos(), structure)) {
+            source.sendError(Text.literal("Failed to place " + structure.id()));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal("Placing " + structure.id() + " at your position")
+            .formatted(Formatting.GREEN), true);
+
+        return 1;
+    }
+
     private static int locateTrader(CommandContext<ServerCommandSource> context) {
         ServerCommandSource source = context.getSource();
         ServerPlayerEntity player = source.getPlayer();
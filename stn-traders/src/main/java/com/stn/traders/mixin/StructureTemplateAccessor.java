@@ -0,0 +1,18 @@
+package com.stn.traders.mixin;
+
+import net.minecraft.structure.StructureTemplate;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.List;
+
+/**
+ * Exposes a template's block lists so staged placements know which
+ * positions the template writes.
+ */
+@Mixin(StructureTemplate.class)
+public interface StructureTemplateAccessor {
+
+    @Accessor("blockInfoLists")
+    List<StructureTemplate.PalettedBlockInfoList> getBlockInfoLists();
+}
@@ -8,10 +8,8 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.structure.StructureStart;
 import net.minecraft.text.Text;
 import net.minecraft.util.ActionResult;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
@@ -125,18 +123,8 @@ public class BlockProtectionEvents {
     /**
      * Check if a position is inside a trader_outpost structure.
      */
-    private static final Identifier TRADER_STRUCTURE_ID = Identifier.of(STNTraders.MOD_ID, "trader_outpost");
-
     private static boolean isInTraderStructure(ServerWorld world, BlockPos pos) {
-        var structureAccessor = world.getStructureAccessor();
-
-        // Use predicate to match our structure
-        StructureStart start = structureAccessor.getStructureContaining(pos, entry -> {
-            var key = entry.getKey();
-            return key.isPresent() && key.get().getValue().equals(TRADER_STRUCTURE_ID);
-        });
-
-        return start.hasChildren();
+        return TraderStructureIndex.get(world).isInTraderStructure(pos);
     }
 
     /**
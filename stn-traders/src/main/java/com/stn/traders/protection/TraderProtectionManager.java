@@ -4,8 +4,6 @@ import com.stn.core.STNCore;
 import com.stn.core.api.IBlockProtectionProvider;
 import com.stn.traders.STNTraders;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.structure.StructureStart;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -34,14 +32,13 @@ public class TraderProtectionManager implements IBlockProtectionProvider {
      * Initialize the protection system and register with STNCore.
      */
     public static void init() {
+        TraderStructureIndex.init();
         STNCore.registerBlockProtectionProvider(getInstance());
         STNTraders.LOGGER.info("Trader protection system initialized");
     }
 
     // === IBlockProtectionProvider Implementation ===
 
-    private static final Identifier TRADER_STRUCTURE_ID = Identifier.of(STNTraders.MOD_ID, "trader_outpost");
-
     @Override
     public boolean isProtected(World world, BlockPos pos) {
         if (!(world instanceof ServerWorld serverWorld)) {
@@ -54,21 +51,7 @@ public class TraderProtectionManager implements IBlockProtectionProvider {
         }
 
         // Check structure-based protection (datapack worldgen)
-        return isInTraderStructure(serverWorld, pos);
-    }
-
-    /**
-     * Check if a position is inside a trader_outpost structure.
-     */
-    private boolean isInTraderStructure(ServerWorld world, BlockPos pos) {
-        var structureAccessor = world.getStructureAccessor();
-
-        StructureStart start = structureAccessor.getStructureContaining(pos, entry -> {
-            var key = entry.getKey();
-            return key.isPresent() && key.get().getValue().equals(TRADER_STRUCTURE_ID);
-        });
-
-        return start.hasChildren();
+        return TraderStructureIndex.get(serverWorld).isInTraderStructure(pos);
     }
 
     @Override
@@ -0,0 +1,228 @@
+package com.stn.traders.protection;
+
+import com.stn.traders.STNTraders;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.structure.StructurePiece;
+import net.minecraft.structure.StructureStart;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.gen.structure.Structure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounding boxes of trader_outpost structures in one world.
+ *
+ * Piece boxes are indexed by the chunk their structure start belongs to,
+ * filled as those chunks load. In front of that sits a per-chunk cache of the
+ * boxes that overlap each queried chunk column, so a protection check is one
+ * map lookup plus a containment test against a handful of boxes instead of a
+ * walk over the chunk's structure references. Both are dropped when their
+ * chunk unloads. A referenced start whose own chunk is not loaded is looked
+ * up through the structure accessor and kept only in the cache entry of the
+ * chunk that asked.
+ */
+public class TraderStructureIndex {
+
+    public static final Identifier TRADER_STRUCTURE_ID = Identifier.of(STNTraders.MOD_ID, "trader_outpost");
+
+    private static final BlockBox[] NO_BOXES = new BlockBox[0];
+
+    private static final Map<RegistryKey<World>, TraderStructureIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * The world's trader structure data as the index reads it (the chunk
+     * manager and structure accessor in game).
+     */
+    interface Lookup {
+        /**
+         * Start chunks of the trader outposts a chunk references.
+         */
+        LongSet getReferences(int chunkX, int chunkZ);
+
+        /**
+         * Resolve every trader start a chunk references, loaded or not.
+         */
+        void forEachReferencedStart(ChunkPos chunk, StartConsumer consumer);
+    }
+
+    interface StartConsumer {
+        void accept(long startChunk, BlockBox[] boxes);
+    }
+
+    // Null when the trader structure is not registered (datapack disabled)
+    private final Structure traderStructure;
+    private final Lookup lookup;
+
+    // Structure start chunk -> piece boxes of the trader outpost starting there
+    private final Long2ObjectOpenHashMap<BlockBox[]> boxesByStart = new Long2ObjectOpenHashMap<>();
+    // Queried chunk -> trader piece boxes overlapping that chunk column
+    private final Long2ObjectOpenHashMap<BlockBox[]> chunkCache = new Long2ObjectOpenHashMap<>();
+
+    private TraderStructureIndex(ServerWorld world) {
+        this.traderStructure = world.getRegistryManager().getOrThrow(RegistryKeys.STRUCTURE).get(TRADER_STRUCTURE_ID);
+        this.lookup = lookupFor(world, traderStructure);
+    }
+
+    // Fed through onStartLoaded rather than chunk loads
+    TraderStructureIndex(Lookup lookup) {
+        this.traderStructure = null;
+        this.lookup = lookup;
+    }
+
+    private static Lookup lookupFor(ServerWorld world, Structure traderStructure) {
+        if (traderStructure == null) {
+            return null;
+        }
+
+        return new Lookup() {
+            @Override
+            public LongSet getReferences(int chunkX, int chunkZ) {
+                return world.getChunk(chunkX, chunkZ).getStructureReferences(traderStructure);
+            }
+
+            @Override
+            public void forEachReferencedStart(ChunkPos chunk, StartConsumer consumer) {
+                for (StructureStart start : world.getStructureAccessor().getStructureStarts(chunk, s -> s == traderStructure)) {
+                    consumer.accept(start.getPos().toLong(), boxesOf(start));
+                }
+            }
+        };
+    }
+
+    public static TraderStructureIndex get(ServerWorld world) {
+        return INDEXES.computeIfAbsent(world.getRegistryKey(), k -> new TraderStructureIndex(world));
+    }
+
+    /**
+     * Register chunk and world hooks. Called once from the mod initializer.
+     */
+    public static void init() {
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> get(world).onChunkLoad(chunk));
+
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            TraderStructureIndex index = INDEXES.get(world.getRegistryKey());
+            if (index != null) {
+                index.onChunkUnload(chunk.getPos());
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> INDEXES.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Check if a position is inside a trader_outpost structure piece.
+     */
+    public boolean isInTraderStructure(BlockPos pos) {
+        if (lookup == null) {
+            return false;
+        }
+
+        for (BlockBox box : getChunkBoxes(pos.getX() >> 4, pos.getZ() >> 4)) {
+            if (box.contains(pos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BlockBox[] getChunkBoxes(int chunkX, int chunkZ) {
+        long chunkKey = ChunkPos.toLong(chunkX, chunkZ);
+        BlockBox[] cached = chunkCache.get(chunkKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        LongSet references = lookup.getReferences(chunkX, chunkZ);
+        BlockBox[] boxes = NO_BOXES;
+
+        if (!references.isEmpty()) {
+            int minX = chunkX << 4, minZ = chunkZ << 4;
+            List<BlockBox> overlapping = new ArrayList<>();
+            boolean unresolved = false;
+            for (LongIterator it = references.iterator(); it.hasNext(); ) {
+                BlockBox[] startBoxes = boxesByStart.get(it.nextLong());
+                if (startBoxes != null) {
+                    addOverlapping(startBoxes, minX, minZ, overlapping);
+                } else {
+                    unresolved = true;
+                }
+            }
+
+            // Starts whose chunk has not loaded go through the structure accessor. They only
+            // reach this chunk's cache entry: no unload event would ever drop them from the index.
+            if (unresolved) {
+                lookup.forEachReferencedStart(new ChunkPos(chunkX, chunkZ), (startChunk, startBoxes) -> {
+                    if (references.contains(startChunk) && !boxesByStart.containsKey(startChunk)) {
+                        addOverlapping(startBoxes, minX, minZ, overlapping);
+                    }
+                });
+            }
+            boxes = overlapping.toArray(NO_BOXES);
+        }
+
+        chunkCache.put(chunkKey, boxes);
+        return boxes;
+    }
+
+    private static void addOverlapping(BlockBox[] boxes, int minX, int minZ, List<BlockBox> overlapping) {
+        for (BlockBox box : boxes) {
+            if (box.getMaxX() >= minX && box.getMinX() <= minX + 15
+                    && box.getMaxZ() >= minZ && box.getMinZ() <= minZ + 15) {
+                overlapping.add(box);
+            }
+        }
+    }
+
+    private void onChunkLoad(WorldChunk chunk) {
+        if (traderStructure == null) {
+            return;
+        }
+
+        StructureStart start = chunk.getStructureStart(traderStructure);
+        if (start != null && start.hasChildren()) {
+            onStartLoaded(start.getPos().toLong(), boxesOf(start));
+        }
+    }
+
+    void onStartLoaded(long startChunk, BlockBox[] boxes) {
+        boxesByStart.put(startChunk, boxes);
+    }
+
+    private static BlockBox[] boxesOf(StructureStart start) {
+        List<StructurePiece> children = start.getChildren();
+        BlockBox[] boxes = new BlockBox[children.size()];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = children.get(i).getBoundingBox();
+        }
+        return boxes;
+    }
+
+    void onChunkUnload(ChunkPos pos) {
+        long key = pos.toLong();
+        chunkCache.remove(key);
+        boxesByStart.remove(key);
+    }
+
+    public int getIndexedStartCount() {
+        return boxesByStart.size();
+    }
+
+    public int getCachedChunkCount() {
+        return chunkCache.size();
+    }
+}
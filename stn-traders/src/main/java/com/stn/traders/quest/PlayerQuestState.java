@@ -2,12 +2,14 @@ package com.stn.traders.quest;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.stn.core.util.StateJournal;
 import com.stn.traders.STNTraders;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.PersistentStateType;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,10 +18,14 @@ import java.util.stream.Collectors;
 /**
  * Persistent state for player quest progress.
  * Tracks active quests (max 3 per player) and completed quest history.
+ *
+ * A player's quest list is journaled when it changes, so quest progress does
+ * not re-encode every player's quests at each autosave.
  */
-public class PlayerQuestState extends PersistentState {
+public class PlayerQuestState extends PersistentState implements StateJournal.Target<List<PlayerQuestState.QuestEntry>> {
     private static final String DATA_KEY = "stn_traders_player_quests";
     private static final int MAX_ACTIVE_QUESTS = 3;
+    private static final int JOURNAL_COMPACT_THRESHOLD = 4096;
 
     // Map of player UUID -> list of active quest instances
     private final Map<UUID, List<QuestInstance>> activeQuests = new ConcurrentHashMap<>();
@@ -30,8 +36,13 @@ public class PlayerQuestState extends PersistentState {
     // Last day tick (for resetting daily completions)
     private long lastDayReset = 0;
 
+    private int journalGeneration = 0;
+
+    // Opened on first access, after the .dat file has loaded
+    private StateJournal<List<QuestEntry>> journal;
+
     // Serialization record for quest instances
-    private record QuestEntry(
+    record QuestEntry(
         String questId,
         String playerId,
         int targetCount,
@@ -83,10 +94,12 @@ public class PlayerQuestState extends PersistentState {
                     .map(QuestEntry::fromInstance)
                     .collect(Collectors.toList())
             ),
-            Codec.LONG.fieldOf("lastDayReset").forGetter(state -> state.lastDayReset)
-        ).apply(instance, (entries, lastDay) -> {
+            Codec.LONG.fieldOf("lastDayReset").forGetter(state -> state.lastDayReset),
+            Codec.INT.optionalFieldOf("journalGeneration", 0).forGetter(state -> state.journalGeneration)
+        ).apply(instance, (entries, lastDay, generation) -> {
             PlayerQuestState state = new PlayerQuestState();
             state.lastDayReset = lastDay;
+            state.journalGeneration = generation;
             for (QuestEntry entry : entries) {
                 QuestInstance qi = entry.toInstance();
                 state.activeQuests.computeIfAbsent(qi.getPlayerId(), k -> new ArrayList<>()).add(qi);
@@ -140,7 +153,7 @@ public class PlayerQuestState extends PersistentState {
         QuestInstance instance = new QuestInstance(quest.id(), playerId, targetCount, gamestage, worldTime);
 
         activeQuests.computeIfAbsent(playerId, k -> new ArrayList<>()).add(instance);
-        markDirty();
+        markPlayerDirty(playerId);
 
         STNTraders.LOGGER.debug("Player {} accepted quest {} (target: {})", playerId, quest.id(), targetCount);
         return instance;
@@ -171,7 +184,7 @@ public class PlayerQuestState extends PersistentState {
         QuestInstance instance = getActiveQuest(playerId, questId);
         if (instance != null) {
             instance.addProgress(amount);
-            markDirty();
+            markPlayerDirty(playerId);
         }
     }
 
@@ -187,7 +200,7 @@ public class PlayerQuestState extends PersistentState {
         boolean removed = quests.removeIf(q -> q.getQuestId().equals(questId));
         if (removed) {
             completedToday.computeIfAbsent(playerId, k -> new HashSet<>()).add(questId);
-            markDirty();
+            markPlayerDirty(playerId);
             STNTraders.LOGGER.debug("Player {} completed quest {}", playerId, questId);
         }
         return removed;
@@ -199,7 +212,7 @@ public class PlayerQuestState extends PersistentState {
     public void failAllQuests(UUID playerId) {
         List<QuestInstance> quests = activeQuests.remove(playerId);
         if (quests != null && !quests.isEmpty()) {
-            markDirty();
+            markPlayerDirty(playerId);
             STNTraders.LOGGER.debug("Player {} failed {} quests on death", playerId, quests.size());
         }
     }
@@ -228,11 +241,61 @@ public class PlayerQuestState extends PersistentState {
         }
     }
 
+    /**
+     * Queue a player's quest list for the journal at the next save.
+     */
+    private void markPlayerDirty(UUID playerId) {
+        if (journal != null) {
+            journal.markDirty(playerId.toString());
+        } else {
+            markDirty();
+        }
+    }
+
+    @Override
+    public int getJournalGeneration() {
+        return journalGeneration;
+    }
+
+    @Override
+    public void setJournalGeneration(int generation) {
+        this.journalGeneration = generation;
+    }
+
+    @Override
+    public @Nullable List<QuestEntry> getJournalValue(String key) {
+        List<QuestInstance> quests = activeQuests.get(UUID.fromString(key));
+        if (quests == null || quests.isEmpty()) {
+            return null;
+        }
+        return quests.stream().map(QuestEntry::fromInstance).toList();
+    }
+
+    @Override
+    public void applyJournalValue(String key, @Nullable List<QuestEntry> value) {
+        UUID playerId = UUID.fromString(key);
+        if (value == null) {
+            activeQuests.remove(playerId);
+            return;
+        }
+
+        List<QuestInstance> quests = new ArrayList<>();
+        for (QuestEntry entry : value) {
+            quests.add(entry.toInstance());
+        }
+        activeQuests.put(playerId, quests);
+    }
+
     /**
      * Get the quest state for a world.
      */
     public static PlayerQuestState get(ServerWorld world) {
-        return world.getPersistentStateManager().getOrCreate(TYPE);
+        PlayerQuestState state = world.getPersistentStateManager().getOrCreate(TYPE);
+        if (state.journal == null) {
+            state.journal = StateJournal.open(world.getServer(), world.getRegistryKey(), DATA_KEY, state,
+                Codec.list(QuestEntry.CODEC), JOURNAL_COMPACT_THRESHOLD);
+        }
+        return state;
     }
 
     /**
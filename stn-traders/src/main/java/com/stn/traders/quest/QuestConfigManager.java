@@ -25,14 +25,17 @@ public class QuestConfigManager {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final String CONFIG_FILE = "stn-traders/quests.json";
 
-    private static List<Quest> loadedQuests = new ArrayList<>();
+    // Replaced whole on each load
+    private static volatile QuestIndex index = QuestIndex.EMPTY;
 
     /**
      * Load quests from config file, creating defaults if needed.
      */
     public static void load() {
-        Path configPath = FabricLoader.getInstance().getConfigDir().resolve(CONFIG_FILE);
+        load(FabricLoader.getInstance().getConfigDir().resolve(CONFIG_FILE));
+    }
 
+    static void load(Path configPath) {
         // Create default config if it doesn't exist
         if (!Files.exists(configPath)) {
             try {
@@ -41,7 +44,7 @@ public class QuestConfigManager {
                 STNTraders.LOGGER.info("Created default quest config at {}", configPath);
             } catch (IOException e) {
                 STNTraders.LOGGER.error("Failed to create default quest config", e);
-                loadedQuests = getDefaultQuests();
+                index = new QuestIndex(getDefaultQuests());
                 return;
             }
         }
@@ -51,7 +54,7 @@ public class QuestConfigManager {
             JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
             JsonArray questsArray = root.getAsJsonArray("quests");
 
-            loadedQuests = new ArrayList<>();
+            List<Quest> loadedQuests = new ArrayList<>();
             for (JsonElement element : questsArray) {
                 try {
                     Quest quest = parseQuest(element.getAsJsonObject());
@@ -61,10 +64,11 @@ public class QuestConfigManager {
                 }
             }
 
+            index = new QuestIndex(loadedQuests);
             STNTraders.LOGGER.info("Loaded {} quests from config", loadedQuests.size());
         } catch (IOException e) {
             STNTraders.LOGGER.error("Failed to load quest config", e);
-            loadedQuests = getDefaultQuests();
+            index = new QuestIndex(getDefaultQuests());
         }
     }
 
@@ -72,17 +76,21 @@ public class QuestConfigManager {
      * Get all loaded quests.
      */
     public static List<Quest> getQuests() {
-        return loadedQuests;
+        return index.getQuests();
     }
 
     /**
      * Get a quest by ID.
      */
     public static Quest getQuest(String id) {
-        return loadedQuests.stream()
-            .filter(q -> q.id().equals(id))
-            .findFirst()
-            .orElse(null);
+        return index.getQuest(id);
+    }
+
+    /**
+     * Get the lookup tables for the current config.
+     */
+    public static QuestIndex getIndex() {
+        return index;
     }
 
     /**
@@ -0,0 +1,60 @@
+package com.stn.traders.quest;
+
+import net.minecraft.util.Identifier;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup tables over one load of the quest config.
+ * Rebuilt on every load and swapped in whole, so readers never see a
+ * half-updated index.
+ */
+public final class QuestIndex {
+
+    public static final QuestIndex EMPTY = new QuestIndex(List.of());
+
+    private final List<Quest> quests;
+    private final Map<String, Quest> byId;
+    // Entity type -> ids of KILL quests that count it
+    private final Map<Identifier, Set<String>> killQuestsByTarget;
+
+    public QuestIndex(List<Quest> quests) {
+        this.quests = List.copyOf(quests);
+
+        Map<String, Quest> ids = new HashMap<>();
+        Map<Identifier, Set<String>> kills = new HashMap<>();
+        for (Quest quest : this.quests) {
+            // First definition wins, as the old linear search did
+            ids.putIfAbsent(quest.id(), quest);
+        }
+        for (Quest quest : ids.values()) {
+            if (quest.type() == QuestType.KILL) {
+                kills.computeIfAbsent(quest.target(), k -> new HashSet<>()).add(quest.id());
+            }
+        }
+
+        this.byId = Map.copyOf(ids);
+        Map<Identifier, Set<String>> frozen = new HashMap<>();
+        kills.forEach((target, questIds) -> frozen.put(target, Set.copyOf(questIds)));
+        this.killQuestsByTarget = Map.copyOf(frozen);
+    }
+
+    public List<Quest> getQuests() {
+        return quests;
+    }
+
+    public Quest getQuest(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Ids of KILL quests targeting an entity type (empty if none).
+     */
+    public Set<String> getKillQuestIds(Identifier entityType) {
+        return killQuestsByTarget.getOrDefault(entityType, Set.of());
+    }
+}
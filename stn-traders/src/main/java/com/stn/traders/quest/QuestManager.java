@@ -13,6 +13,7 @@ import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Central manager for quest operations.
@@ -94,11 +95,16 @@ public class QuestManager {
      * Add progress to a kill quest.
      */
     public static void addKillProgress(ServerPlayerEntity player, Identifier entityType) {
+        // Most kills match no quest at all - skip the player state entirely
+        QuestIndex index = QuestConfigManager.getIndex();
+        Set<String> killQuestIds = index.getKillQuestIds(entityType);
+        if (killQuestIds.isEmpty()) return;
+
         PlayerQuestState state = PlayerQuestState.get((ServerWorld) player.getWorld());
 
         for (QuestInstance instance : state.getActiveQuests(player.getUuid())) {
-            Quest quest = QuestConfigManager.getQuest(instance.getQuestId());
-            if (quest != null && quest.type() == QuestType.KILL && quest.target().equals(entityType)) {
+            if (killQuestIds.contains(instance.getQuestId())) {
+                Quest quest = index.getQuest(instance.getQuestId());
                 int oldProgress = instance.getProgress();
                 state.addProgress(player.getUuid(), instance.getQuestId(), 1);
 
@@ -3,27 +3,38 @@ package com.stn.traders.structure;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.stn.traders.STNTraders;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.PersistentStateType;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Tracks which villages have had trader structures placed near them.
  * Persists to world save to avoid duplicate placement.
+ *
+ * Placements are also bucketed into a grid of 128-block cells, so a lookup
+ * within the cluster radius only checks the few cells it overlaps.
  */
 public class PlacedStructureTracker extends PersistentState {
 
     private static final String DATA_NAME = "stn_trader_structures";
     private static final int VILLAGE_CLUSTER_RADIUS = 100; // Treat nearby villages as one
+    private static final int CELL_SHIFT = 7; // 128-block grid cells
+    private static final long NONE = Long.MIN_VALUE;
 
     // Village position (long) -> structure ID placed
-    private final Map<Long, String> placedVillages = new ConcurrentHashMap<>();
+    private final Long2ObjectOpenHashMap<String> placedVillages = new Long2ObjectOpenHashMap<>();
+
+    // Grid cell (x >> 7, z >> 7 packed like a ChunkPos) -> village positions in that cell
+    private final Long2ObjectOpenHashMap<LongArrayList> grid = new Long2ObjectOpenHashMap<>();
 
     // Serialization record
     private record PlacedEntry(long pos, String structureId) {
@@ -35,17 +46,19 @@ public class PlacedStructureTracker extends PersistentState {
         );
     }
 
-    private static final Codec<PlacedStructureTracker> CODEC = RecordCodecBuilder.create(instance ->
+    static final Codec<PlacedStructureTracker> CODEC = RecordCodecBuilder.create(instance ->
         instance.group(
-            Codec.list(PlacedEntry.CODEC).fieldOf("placed").forGetter(tracker ->
-                tracker.placedVillages.entrySet().stream()
-                    .map(e -> new PlacedEntry(e.getKey(), e.getValue()))
-                    .collect(Collectors.toList())
-            )
+            Codec.list(PlacedEntry.CODEC).fieldOf("placed").forGetter(tracker -> {
+                List<PlacedEntry> entries = new ArrayList<>(tracker.placedVillages.size());
+                for (Long2ObjectMap.Entry<String> e : tracker.placedVillages.long2ObjectEntrySet()) {
+                    entries.add(new PlacedEntry(e.getLongKey(), e.getValue()));
+                }
+                return entries;
+            })
         ).apply(instance, entries -> {
             PlacedStructureTracker tracker = new PlacedStructureTracker();
             for (PlacedEntry entry : entries) {
-                tracker.placedVillages.put(entry.pos(), entry.structureId());
+                tracker.put(entry.pos(), entry.structureId());
             }
             STNTraders.LOGGER.info("Loaded {} placed trader structures", tracker.placedVillages.size());
             return tracker;
@@ -74,35 +87,23 @@ public class PlacedStructureTracker extends PersistentState {
      * Check if a structure has already been placed near a village position.
      */
     public boolean hasStructureNear(BlockPos villagePos) {
-        // Check this position and nearby positions within cluster radius
-        for (Long existing : placedVillages.keySet()) {
-            BlockPos existingPos = BlockPos.fromLong(existing);
-            if (villagePos.isWithinDistance(existingPos, VILLAGE_CLUSTER_RADIUS)) {
-                return true;
-            }
-        }
-        return false;
+        return findNear(villagePos) != NONE;
     }
 
     /**
      * Mark a village as having a structure placed.
      */
     public void markPlaced(BlockPos villagePos, Identifier structureId) {
-        placedVillages.put(villagePos.asLong(), structureId.toString());
+        put(villagePos.asLong(), structureId.toString());
         markDirty();
     }
 
     /**
-     * Get the structure ID placed near a village.
+     * Get the structure ID placed near a village (the closest, if several are).
      */
     public String getStructureNear(BlockPos villagePos) {
-        for (Map.Entry<Long, String> entry : placedVillages.entrySet()) {
-            BlockPos existingPos = BlockPos.fromLong(entry.getKey());
-            if (villagePos.isWithinDistance(existingPos, VILLAGE_CLUSTER_RADIUS)) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        long found = findNear(villagePos);
+        return found != NONE ? placedVillages.get(found) : null;
     }
 
     /**
@@ -116,17 +117,58 @@ public class PlacedStructureTracker extends PersistentState {
      * Remove a placed structure record (for admin commands).
      */
     public void removePlaced(BlockPos villagePos) {
-        Long toRemove = null;
-        for (Long existing : placedVillages.keySet()) {
-            BlockPos existingPos = BlockPos.fromLong(existing);
-            if (villagePos.isWithinDistance(existingPos, VILLAGE_CLUSTER_RADIUS)) {
-                toRemove = existing;
-                break;
+        long toRemove = findNear(villagePos);
+        if (toRemove == NONE) {
+            return;
+        }
+
+        placedVillages.remove(toRemove);
+        long cellKey = cellKey(BlockPos.unpackLongX(toRemove), BlockPos.unpackLongZ(toRemove));
+        LongArrayList cell = grid.get(cellKey);
+        if (cell != null) {
+            cell.rem(toRemove);
+            if (cell.isEmpty()) {
+                grid.remove(cellKey);
             }
         }
-        if (toRemove != null) {
-            placedVillages.remove(toRemove);
-            markDirty();
+        markDirty();
+    }
+
+    private void put(long pos, String structureId) {
+        if (placedVillages.put(pos, structureId) == null) {
+            grid.computeIfAbsent(cellKey(BlockPos.unpackLongX(pos), BlockPos.unpackLongZ(pos)), k -> new LongArrayList()).add(pos);
+        }
+    }
+
+    // Closest placement within the cluster radius, or NONE
+    private long findNear(BlockPos villagePos) {
+        int minCellX = (villagePos.getX() - VILLAGE_CLUSTER_RADIUS) >> CELL_SHIFT;
+        int maxCellX = (villagePos.getX() + VILLAGE_CLUSTER_RADIUS) >> CELL_SHIFT;
+        int minCellZ = (villagePos.getZ() - VILLAGE_CLUSTER_RADIUS) >> CELL_SHIFT;
+        int maxCellZ = (villagePos.getZ() + VILLAGE_CLUSTER_RADIUS) >> CELL_SHIFT;
+
+        long best = NONE;
+        double bestDistance = (double) VILLAGE_CLUSTER_RADIUS * VILLAGE_CLUSTER_RADIUS;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                LongArrayList cell = grid.get(ChunkPos.toLong(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    long pos = cell.getLong(i);
+                    double distance = villagePos.getSquaredDistance(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos), BlockPos.unpackLongZ(pos));
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = pos;
+                    }
+                }
+            }
         }
+        return best;
+    }
+
+    private static long cellKey(int x, int z) {
+        return ChunkPos.toLong(x >> CELL_SHIFT, z >> CELL_SHIFT);
     }
 }
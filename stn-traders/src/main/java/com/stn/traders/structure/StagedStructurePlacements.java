@@ -0,0 +1,324 @@
+package com.stn.traders.structure;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.stn.traders.STNTraders;
+import com.stn.traders.mixin.StructureTemplateAccessor;
+import com.stn.traders.protection.TraderProtectionState;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.structure.StructurePlacementData;
+import net.minecraft.structure.StructureTemplate;
+import net.minecraft.util.BlockMirror;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Trader structures being placed a little at a time.
+ *
+ * A placement is split ahead of time into chunk-section boxes, keeping only
+ * boxes the template writes to. Each tick the template is placed clipped to
+ * as many boxes as fit the block budget, using the same template code as a
+ * full placement but with shape and neighbor updates turned off. Once every
+ * box is written a second budgeted pass fixes shapes and notifies neighbors
+ * for the written positions only. Progress is saved with the world, so a
+ * restart picks up at the next box.
+ *
+ * A placement whose next box is in an unloaded chunk goes to the back of the
+ * queue so it does not hold up the others.
+ */
+public class StagedStructurePlacements extends PersistentState {
+
+    private static final String DATA_NAME = "stn_trader_staged_placements";
+    private static final int BLOCKS_PER_TICK = 4096; // One chunk section's worth
+
+    static final class Placement {
+        final String structureId;
+        final Identifier templateId;
+        final BlockPos pos;       // Requested ground position (trader spawn point)
+        final BlockPos origin;    // Template corner
+        final BlockRotation rotation;
+        final boolean spawnsMerchant;
+        final UUID protectionId;  // Region registered for this placement, or null
+        int section = 0;
+        boolean updating = false; // Writing done, shape/neighbor pass in progress
+
+        // Rebuilt from the template after loading
+        StructureTemplate template;
+        List<BlockBox> sections;
+        List<LongArrayList> written; // Per section: positions the template writes
+
+        Placement(String structureId, Identifier templateId, BlockPos pos, BlockPos origin,
+                  BlockRotation rotation, boolean spawnsMerchant, UUID protectionId) {
+            this.structureId = structureId;
+            this.templateId = templateId;
+            this.pos = pos;
+            this.origin = origin;
+            this.rotation = rotation;
+            this.spawnsMerchant = spawnsMerchant;
+            this.protectionId = protectionId;
+        }
+    }
+
+    // Serialization record
+    private record PlacementEntry(String structureId, String templateId, long pos, long origin,
+                                  int rotation, boolean spawnsMerchant, String protectionId, int section, boolean updating) {
+        private static final Codec<PlacementEntry> CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                Codec.STRING.fieldOf("structure").forGetter(PlacementEntry::structureId),
+                Codec.STRING.fieldOf("template").forGetter(PlacementEntry::templateId),
+                Codec.LONG.fieldOf("pos").forGetter(PlacementEntry::pos),
+                Codec.LONG.fieldOf("origin").forGetter(PlacementEntry::origin),
+                Codec.INT.fieldOf("rotation").forGetter(PlacementEntry::rotation),
+                Codec.BOOL.fieldOf("spawnsMerchant").forGetter(PlacementEntry::spawnsMerchant),
+                Codec.STRING.optionalFieldOf("protection", "").forGetter(PlacementEntry::protectionId),
+                Codec.INT.fieldOf("section").forGetter(PlacementEntry::section),
+                Codec.BOOL.fieldOf("updating").forGetter(PlacementEntry::updating)
+            ).apply(instance, PlacementEntry::new)
+        );
+
+        static PlacementEntry fromPlacement(Placement p) {
+            return new PlacementEntry(p.structureId, p.templateId.toString(), p.pos.asLong(), p.origin.asLong(),
+                p.rotation.ordinal(), p.spawnsMerchant, p.protectionId != null ? p.protectionId.toString() : "",
+                p.section, p.updating);
+        }
+
+        Placement toPlacement() {
+            Placement p = new Placement(structureId, Identifier.of(templateId), BlockPos.fromLong(pos),
+                BlockPos.fromLong(origin), BlockRotation.values()[rotation], spawnsMerchant,
+                protectionId.isEmpty() ? null : UUID.fromString(protectionId));
+            p.section = section;
+            p.updating = updating;
+            return p;
+        }
+    }
+
+    private static final Codec<StagedStructurePlacements> CODEC = RecordCodecBuilder.create(instance ->
+        instance.group(
+            Codec.list(PlacementEntry.CODEC).fieldOf("placements").forGetter(state -> {
+                List<PlacementEntry> entries = new ArrayList<>(state.placements.size());
+                for (Placement placement : state.placements) {
+                    entries.add(PlacementEntry.fromPlacement(placement));
+                }
+                return entries;
+            })
+        ).apply(instance, entries -> {
+            StagedStructurePlacements state = new StagedStructurePlacements();
+            for (PlacementEntry entry : entries) {
+                state.placements.add(entry.toPlacement());
+            }
+            if (!state.placements.isEmpty()) {
+                STNTraders.LOGGER.info("Resuming {} staged trader structure placements", state.placements.size());
+            }
+            return state;
+        })
+    );
+
+    private static final PersistentStateType<StagedStructurePlacements> TYPE = new PersistentStateType<>(
+        DATA_NAME,
+        StagedStructurePlacements::new,
+        CODEC,
+        null
+    );
+
+    // Placed in order; only the head makes progress, unless it is waiting on a chunk
+    private final Deque<Placement> placements = new ArrayDeque<>();
+
+    public StagedStructurePlacements() {
+        super();
+    }
+
+    /**
+     * Get the staged placements for a world.
+     */
+    public static StagedStructurePlacements get(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(TYPE);
+    }
+
+    /**
+     * Queue a template placement. The template must already be loaded.
+     */
+    void add(Placement placement, StructureTemplate template) {
+        placement.template = template;
+        placements.add(placement);
+        markDirty();
+    }
+
+    /**
+     * Number of placements still in progress.
+     */
+    public int getPendingCount() {
+        return placements.size();
+    }
+
+    /**
+     * Advance the head placement(s) by up to one tick's block budget.
+     */
+    void tick(ServerWorld world) {
+        int budget = BLOCKS_PER_TICK;
+        int waiting = 0; // Placements in a row skipped for an unloaded chunk
+
+        while (budget > 0 && waiting < placements.size()) {
+            Placement placement = placements.peekFirst();
+            if (!prepare(world, placement)) {
+                placements.removeFirst();
+                if (placement.protectionId != null) {
+                    TraderProtectionState.get(world).removeRegion(placement.protectionId);
+                }
+                markDirty();
+                continue;
+            }
+
+            if (placement.section >= placement.sections.size()) {
+                if (!placement.updating) {
+                    placement.updating = true;
+                    placement.section = 0;
+                } else {
+                    finish(world, placement);
+                    placements.removeFirst();
+                }
+                markDirty();
+                continue;
+            }
+
+            BlockBox box = placement.sections.get(placement.section);
+            if (!world.isChunkLoaded(box.getMinX() >> 4, box.getMinZ() >> 4)) {
+                // Wait for the chunk rather than generating it here
+                placements.addLast(placements.removeFirst());
+                waiting++;
+                continue;
+            }
+            waiting = 0;
+
+            LongArrayList written = placement.written.get(placement.section);
+            if (placement.updating) {
+                updateSection(world, written);
+            } else {
+                placement.template.place(world, placement.origin, placement.origin,
+                    createStagedPlacementData(placement.rotation).setBoundingBox(box), world.getRandom(), Block.NOTIFY_LISTENERS);
+            }
+
+            budget -= written.size();
+            placement.section++;
+            markDirty();
+        }
+    }
+
+    static StructurePlacementData createPlacementData(BlockRotation rotation) {
+        return new StructurePlacementData()
+            .setMirror(BlockMirror.NONE)
+            .setRotation(rotation)
+            .setIgnoreEntities(false);
+    }
+
+    // Yarn's "update neighbors" flag is the known-shape flag: setting it skips
+    // the template's own shape fixes and neighbor updates, which the second pass does
+    private static StructurePlacementData createStagedPlacementData(BlockRotation rotation) {
+        return createPlacementData(rotation).setUpdateNeighbors(true);
+    }
+
+    // Load the template and split the positions it writes into sections; false if the template is gone
+    private boolean prepare(ServerWorld world, Placement placement) {
+        if (placement.sections != null) {
+            return true;
+        }
+
+        if (placement.template == null) {
+            Optional<StructureTemplate> template = world.getStructureTemplateManager().getTemplate(placement.templateId);
+            if (template.isEmpty()) {
+                STNTraders.LOGGER.warn("Dropping staged placement of '{}': template {} not found",
+                    placement.structureId, placement.templateId);
+                return false;
+            }
+            placement.template = template.get();
+        }
+
+        StructurePlacementData data = createStagedPlacementData(placement.rotation);
+        BlockBox bounds = placement.template.calculateBoundingBox(data, placement.origin);
+
+        // The same block list and processing the template's place() uses
+        List<StructureTemplate.StructureBlockInfo> infos = StructureTemplate.process(world, placement.origin, placement.origin, data,
+            data.getRandomBlockInfos(((StructureTemplateAccessor) placement.template).getBlockInfoLists(), placement.origin).getAll());
+
+        List<BlockPos> positions = new ArrayList<>(infos.size());
+        for (StructureTemplate.StructureBlockInfo info : infos) {
+            positions.add(info.pos());
+        }
+
+        List<BlockBox> sections = new ArrayList<>();
+        List<LongArrayList> written = new ArrayList<>();
+        splitBySection(bounds, positions, sections, written);
+        placement.sections = sections;
+        placement.written = written;
+        return true;
+    }
+
+    /**
+     * Group the positions a template writes by chunk section. Adds one box per
+     * section that has any (clipped to the bounds) and the positions in it;
+     * positions outside the bounds are dropped.
+     */
+    static void splitBySection(BlockBox bounds, List<BlockPos> positions, List<BlockBox> sections, List<LongArrayList> written) {
+        int minSx = bounds.getMinX() >> 4, minSy = bounds.getMinY() >> 4, minSz = bounds.getMinZ() >> 4;
+        int spanSy = (bounds.getMaxY() >> 4) - minSy + 1, spanSz = (bounds.getMaxZ() >> 4) - minSz + 1;
+        LongArrayList[] bySection = new LongArrayList[((bounds.getMaxX() >> 4) - minSx + 1) * spanSz * spanSy];
+        for (BlockPos pos : positions) {
+            if (!bounds.contains(pos)) {
+                continue;
+            }
+            // Columns in order, bottom up within each, so a column's chunk is touched in one run
+            int index = (((pos.getX() >> 4) - minSx) * spanSz + ((pos.getZ() >> 4) - minSz)) * spanSy + ((pos.getY() >> 4) - minSy);
+            if (bySection[index] == null) {
+                bySection[index] = new LongArrayList();
+            }
+            bySection[index].add(pos.asLong());
+        }
+
+        for (int index = 0; index < bySection.length; index++) {
+            if (bySection[index] == null) {
+                continue; // Nothing to write here
+            }
+            int sx = minSx + index / (spanSz * spanSy);
+            int sz = minSz + (index / spanSy) % spanSz;
+            int sy = minSy + index % spanSy;
+            sections.add(new BlockBox(
+                Math.max(bounds.getMinX(), sx << 4), Math.max(bounds.getMinY(), sy << 4), Math.max(bounds.getMinZ(), sz << 4),
+                Math.min(bounds.getMaxX(), (sx << 4) + 15), Math.min(bounds.getMaxY(), (sy << 4) + 15), Math.min(bounds.getMaxZ(), (sz << 4) + 15)
+            ));
+            written.add(bySection[index]);
+        }
+    }
+
+    // Deferred shape fixes and neighbor notifications for the positions written in one section
+    private static void updateSection(ServerWorld world, LongArrayList written) {
+        for (int i = 0; i < written.size(); i++) {
+            BlockPos pos = BlockPos.fromLong(written.getLong(i));
+            BlockState state = world.getBlockState(pos);
+            BlockState updated = Block.postProcessState(state, world, pos);
+            if (updated != state) {
+                world.setBlockState(pos, updated, Block.NOTIFY_LISTENERS | Block.FORCE_STATE);
+            }
+            world.updateNeighbors(pos, updated.getBlock());
+        }
+    }
+
+    private static void finish(ServerWorld world, Placement placement) {
+        if (placement.spawnsMerchant) {
+            TraderStructurePlacer.spawnTrader(world, placement.pos.up());
+        }
+        STNTraders.LOGGER.info("Finished staged placement of '{}' at {}", placement.structureId, placement.pos.toShortString());
+    }
+}
@@ -5,6 +5,7 @@ import com.stn.traders.entity.SurvivalTraderEntity;
 import com.stn.traders.protection.ProtectedRegion;
 import com.stn.traders.protection.TraderProtectionState;
 import com.stn.traders.registry.STNTraderEntities;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.SpawnReason;
@@ -12,7 +13,6 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.structure.StructurePlacementData;
 import net.minecraft.structure.StructureTemplate;
 import net.minecraft.structure.StructureTemplateManager;
-import net.minecraft.util.BlockMirror;
 import net.minecraft.util.BlockRotation;
 import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
@@ -24,9 +24,19 @@ import java.util.UUID;
 /**
  * Handles the actual placement of trader structures in the world.
  * Uses Minecraft's StructureTemplate system to load and place NBT structures.
+ *
+ * {@link #place} writes the whole structure at once; {@link #placeStaged}
+ * spreads the writes over several ticks (see {@link StagedStructurePlacements}).
  */
 public class TraderStructurePlacer {
 
+    /**
+     * Register the tick hook that advances staged placements.
+     */
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> StagedStructurePlacements.get(world).tick(world));
+    }
+
     /**
      * Place a trader structure at the specified position.
      *
@@ -50,10 +60,7 @@ public class TraderStructurePlacer {
             actualSize = template.getSize();
 
             // Configure placement with random rotation
-            StructurePlacementData placementData = new StructurePlacementData()
-                .setMirror(BlockMirror.NONE)
-                .setRotation(getRandomRotation(world))
-                .setIgnoreEntities(false);
+            StructurePlacementData placementData = StagedStructurePlacements.createPlacementData(getRandomRotation(world));
 
             // Adjust position to center structure
             actualPos = pos.add(
@@ -84,11 +91,53 @@ public class TraderStructurePlacer {
             createPlaceholderStructure(world, actualPos, structure);
         }
 
-        // Calculate structure bounds
-        BlockPos minCorner = actualPos;
-        BlockPos maxCorner = actualPos.add(actualSize.getX() - 1, actualSize.getY() - 1, actualSize.getZ() - 1);
+        UUID protectionId = protect(world, actualPos, actualSize, structure);
+
+        // Spawn the trader if configured
+        if (structure.spawnsMerchant()) {
+            spawnTrader(world, pos.up());
+        }
+
+        STNTraders.LOGGER.info("Placed trader structure '{}' at {} (protected: {})",
+            structure.id(), pos.toShortString(), protectionId);
+
+        return true;
+    }
+
+    /**
+     * Start placing a trader structure over the next ticks.
+     * The region is protected straight away; the trader spawns once the last
+     * block is in. Structures without a template fall back to {@link #place}.
+     *
+     * @return true if the placement was started
+     */
+    public static boolean placeStaged(ServerWorld world, BlockPos pos, TraderStructure structure) {
+        Optional<StructureTemplate> templateOpt = world.getStructureTemplateManager().getTemplate(structure.templateId());
+        if (templateOpt.isEmpty()) {
+            return place(world, pos, structure);
+        }
+
+        StructureTemplate template = templateOpt.get();
+        Vec3i actualSize = template.getSize();
+        BlockPos actualPos = pos.add(-actualSize.getX() / 2, 0, -actualSize.getZ() / 2);
+
+        UUID protectionId = protect(world, actualPos, actualSize, structure);
+        StagedStructurePlacements.get(world).add(new StagedStructurePlacements.Placement(
+            structure.id().toString(), structure.templateId(), pos, actualPos,
+            getRandomRotation(world), structure.spawnsMerchant(), protectionId
+        ), template);
+
+        STNTraders.LOGGER.info("Started staged placement of '{}' at {} (protected: {})",
+            structure.id(), pos.toShortString(), protectionId);
+        return true;
+    }
+
+    /**
+     * Register protection for a structure's (unrotated) bounds.
+     */
+    private static UUID protect(ServerWorld world, BlockPos minCorner, Vec3i size, TraderStructure structure) {
+        BlockPos maxCorner = minCorner.add(size.getX() - 1, size.getY() - 1, size.getZ() - 1);
 
-        // Register protection for the structure
         UUID protectionId = UUID.randomUUID();
         BlockBox bounds = BlockBox.create(minCorner, maxCorner);
         ProtectedRegion region = new ProtectedRegion(
@@ -98,16 +147,7 @@ public class TraderStructurePlacer {
             world.getTime()
         );
         TraderProtectionState.get(world).addRegion(region);
-
-        // Spawn the trader if configured
-        if (structure.spawnsMerchant()) {
-            spawnTrader(world, pos.up(), structure);
-        }
-
-        STNTraders.LOGGER.info("Placed trader structure '{}' at {} (protected: {})",
-            structure.id(), pos.toShortString(), protectionId);
-
-        return true;
+        return protectionId;
     }
 
     /**
@@ -149,7 +189,7 @@ public class TraderStructurePlacer {
     /**
      * Spawn a trader entity inside the structure.
      */
-    private static void spawnTrader(ServerWorld world, BlockPos pos, TraderStructure structure) {
+    static void spawnTrader(ServerWorld world, BlockPos pos) {
         SurvivalTraderEntity trader = STNTraderEntities.SURVIVAL_TRADER.create(world, SpawnReason.STRUCTURE);
         if (trader != null) {
             // Position in center of structure, slightly above ground
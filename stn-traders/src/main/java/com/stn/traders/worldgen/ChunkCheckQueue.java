@@ -0,0 +1,64 @@
+package com.stn.traders.worldgen;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Chunks waiting for a village check, each queued once, lowest priority value
+ * (nearest to a player) first. Chunks past the cap are not queued; they are
+ * offered again the next time they load.
+ */
+final class ChunkCheckQueue {
+
+    private record QueuedChunk(long chunkKey, double priority) {}
+
+    private final int maxQueued;
+    private final PriorityQueue<QueuedChunk> queue = new PriorityQueue<>((a, b) -> Double.compare(a.priority(), b.priority()));
+    private final LongOpenHashSet queuedChunks = new LongOpenHashSet();
+
+    ChunkCheckQueue(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Queue a chunk unless it is already queued or the queue is full.
+     * @return true if the chunk was queued
+     */
+    boolean offer(long chunkKey, double priority) {
+        if (queuedChunks.size() >= maxQueued || !queuedChunks.add(chunkKey)) {
+            return false;
+        }
+        queue.add(new QueuedChunk(chunkKey, priority));
+        return true;
+    }
+
+    /**
+     * Hand up to {@code max} chunks to the check, nearest first.
+     * @return the number of chunks handed out
+     */
+    int drain(int max, LongConsumer check) {
+        int count = 0;
+        while (count < max && !queue.isEmpty()) {
+            long chunkKey = queue.poll().chunkKey();
+            queuedChunks.remove(chunkKey);
+            check.accept(chunkKey);
+            count++;
+        }
+        return count;
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    void clear() {
+        queue.clear();
+        queuedChunks.clear();
+    }
+}
@@ -0,0 +1,140 @@
+package com.stn.traders.worldgen;
+
+import com.stn.traders.STNTraders;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Persistent "already checked for a village" marks, one bit per chunk.
+ *
+ * Marks are grouped by 32x32-chunk region, like the world's region files:
+ * each region is a 1024-bit set stored in its own small file. A region is
+ * read the first time one of its chunks is asked about and is written back
+ * and dropped once none of its chunks are loaded any more.
+ */
+class ProcessedChunkRegions {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int WORDS = 32 * 32 / 64;
+
+    private static class Region {
+        final long[] bits = new long[WORDS];
+        int loadedChunks = 0;
+        boolean dirty = false;
+    }
+
+    private final Path directory;
+    private final Long2ObjectOpenHashMap<Region> regions = new Long2ObjectOpenHashMap<>();
+
+    ProcessedChunkRegions(Path directory) {
+        this.directory = directory;
+    }
+
+    boolean isProcessed(ChunkPos pos) {
+        Region region = getRegion(pos);
+        int bit = bitIndex(pos);
+        return (region.bits[bit >> 6] & (1L << (bit & 63))) != 0;
+    }
+
+    void markProcessed(ChunkPos pos) {
+        Region region = getRegion(pos);
+        int bit = bitIndex(pos);
+        region.bits[bit >> 6] |= 1L << (bit & 63);
+        region.dirty = true;
+    }
+
+    void onChunkLoad(ChunkPos pos) {
+        getRegion(pos).loadedChunks++;
+    }
+
+    void onChunkUnload(ChunkPos pos) {
+        long key = ChunkPos.toLong(pos.getRegionX(), pos.getRegionZ());
+        Region region = regions.get(key);
+        if (region != null && --region.loadedChunks <= 0) {
+            save(key, region);
+            regions.remove(key);
+        }
+    }
+
+    /**
+     * Write every changed region, dropping those with no loaded chunks.
+     */
+    void saveAll() {
+        for (Iterator<Long2ObjectMap.Entry<Region>> it = regions.long2ObjectEntrySet().iterator(); it.hasNext(); ) {
+            Long2ObjectMap.Entry<Region> entry = it.next();
+            save(entry.getLongKey(), entry.getValue());
+            if (entry.getValue().loadedChunks <= 0) {
+                it.remove();
+            }
+        }
+    }
+
+    int getLoadedRegionCount() {
+        return regions.size();
+    }
+
+    private Region getRegion(ChunkPos pos) {
+        long key = ChunkPos.toLong(pos.getRegionX(), pos.getRegionZ());
+        Region region = regions.get(key);
+        if (region == null) {
+            region = load(key);
+            regions.put(key, region);
+        }
+        return region;
+    }
+
+    private Region load(long key) {
+        Region region = new Region();
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return region;
+        }
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() == FORMAT_VERSION) {
+                for (int i = 0; i < WORDS; i++) {
+                    region.bits[i] = in.readLong();
+                }
+            }
+        } catch (IOException e) {
+            STNTraders.LOGGER.warn("Failed to read processed village chunks from {}", file, e);
+        }
+        return region;
+    }
+
+    private void save(long key, Region region) {
+        if (!region.dirty) {
+            return;
+        }
+
+        Path file = fileFor(key);
+        try {
+            Files.createDirectories(directory);
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+                out.writeInt(FORMAT_VERSION);
+                for (long word : region.bits) {
+                    out.writeLong(word);
+                }
+            }
+            region.dirty = false;
+        } catch (IOException e) {
+            STNTraders.LOGGER.warn("Failed to write processed village chunks to {}", file, e);
+        }
+    }
+
+    private Path fileFor(long key) {
+        return directory.resolve("r." + ChunkPos.getPackedX(key) + "." + ChunkPos.getPackedZ(key) + ".bin");
+    }
+
+    private static int bitIndex(ChunkPos pos) {
+        return pos.getRegionRelativeX() | (pos.getRegionRelativeZ() << 5);
+    }
+}
@@ -5,33 +5,51 @@ import com.stn.core.api.IGamestageProvider;
 import com.stn.traders.STNTraders;
 import com.stn.traders.structure.*;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.registry.RegistryKey;
-import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.poi.PointOfInterest;
 import net.minecraft.world.poi.PointOfInterestStorage;
 import net.minecraft.world.poi.PointOfInterestType;
 import net.minecraft.world.poi.PointOfInterestTypes;
 
-import java.util.HashSet;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Manages placement of trader structures near villages.
  * Hooks into chunk load events to detect villages and place structures.
+ *
+ * Loaded chunks are queued (once each, closest to a player first) and a fixed
+ * number are checked per tick. A check only looks at the chunk's own POI
+ * sections for a village meeting point, so flying over open country costs a
+ * map lookup per chunk. Checked chunks are remembered in per-region bitsets
+ * saved under the world's data folder.
+ *
+ * Not initialised at the moment: trader outposts generate from the datapack
+ * structure set instead (see STNTraders).
  */
 public class VillageStructureManager {
 
-    private static final int VILLAGE_SEARCH_RADIUS = 96;
     private static final int STRUCTURE_DISTANCE_FROM_VILLAGE = 50;
     private static final int SPAWN_STRUCTURE_DISTANCE = 80; // Distance from world spawn
+    static final int CHUNK_CHECKS_PER_TICK = 8;
+    static final int MAX_QUEUED_CHUNKS = 4096; // Chunks past this are picked up when they load again
 
-    // Track chunks we've already processed to avoid redundant checks
-    private static final Set<Long> processedChunks = new HashSet<>();
+    // Chunks waiting to be checked, nearest to a player first
+    private static final ChunkCheckQueue queue = new ChunkCheckQueue(MAX_QUEUED_CHUNKS);
+
+    // Chunks already checked (overworld only; null while no world is loaded)
+    private static ProcessedChunkRegions processedChunks;
+
+    // Stats for the last tick that checked chunks
+    private static long lastTickNanos = 0;
 
     // Configuration
     private static boolean enabled = true;
@@ -44,26 +62,48 @@ public class VillageStructureManager {
         ServerWorldEvents.LOAD.register((server, world) -> {
             if (world.getRegistryKey() == World.OVERWORLD) {
                 spawnStructurePlaced = false;
-                processedChunks.clear();
+                clearCache();
+                processedChunks = new ProcessedChunkRegions(
+                    server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve("stn_traders").resolve("village_chunks"));
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            if (world.getRegistryKey() == World.OVERWORLD && processedChunks != null) {
+                processedChunks.saveAll();
+                processedChunks = null;
+                clearCache();
             }
         });
 
-        // Listen for chunk loads - only process village structures
+        ServerLifecycleEvents.BEFORE_SAVE.register((server, flush, force) -> {
+            if (processedChunks != null) {
+                processedChunks.saveAll();
+            }
+        });
+
+        // Queue loaded chunks for a village check
         ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
-            if (!enabled) return;
-            if (world.getRegistryKey() != World.OVERWORLD) return;
+            if (world.getRegistryKey() != World.OVERWORLD || processedChunks == null) return;
 
             ChunkPos chunkPos = chunk.getPos();
-            long chunkKey = chunkPos.toLong();
+            processedChunks.onChunkLoad(chunkPos);
+            if (!enabled || processedChunks.isProcessed(chunkPos)) return;
 
-            // Skip if already processed
-            if (processedChunks.contains(chunkKey)) return;
-            processedChunks.add(chunkKey);
+            queue.offer(chunkPos.toLong(), getPriority(world, chunkPos));
+        });
 
-            // Schedule processing on next tick - only village structures
-            world.getServer().execute(() -> {
-                processChunkForStructures(world, chunkPos);
-            });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            if (world.getRegistryKey() == World.OVERWORLD && processedChunks != null) {
+                processedChunks.onChunkUnload(chunk.getPos());
+            }
+        });
+
+        // Work through the queue a few chunks at a time
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            if (world.getRegistryKey() == World.OVERWORLD && !queue.isEmpty()) {
+                processQueue(world);
+            }
         });
 
         // Place spawn structure when first player joins (spawn chunks guaranteed loaded)
@@ -77,6 +117,37 @@ public class VillageStructureManager {
         STNTraders.LOGGER.info("Village structure manager initialized");
     }
 
+    // Squared distance from the chunk to the nearest player
+    private static double getPriority(ServerWorld world, ChunkPos chunkPos) {
+        double best = Double.MAX_VALUE;
+        double x = chunkPos.getCenterX();
+        double z = chunkPos.getCenterZ();
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            double dx = player.getX() - x;
+            double dz = player.getZ() - z;
+            best = Math.min(best, dx * dx + dz * dz);
+        }
+        return best;
+    }
+
+    private static void processQueue(ServerWorld world) {
+        long start = System.nanoTime();
+
+        queue.drain(CHUNK_CHECKS_PER_TICK, chunkKey -> {
+            ChunkPos chunkPos = new ChunkPos(chunkKey);
+            // Unloaded before its turn - it is queued again when it loads
+            if (!enabled || processedChunks == null || !world.isChunkLoaded(chunkPos.x, chunkPos.z)) {
+                return;
+            }
+
+            if (processChunkForStructures(world, chunkPos)) {
+                processedChunks.markProcessed(chunkPos);
+            }
+        });
+
+        lastTickNanos = System.nanoTime() - start;
+    }
+
     // Track if spawn structure has been placed this session
     private static boolean spawnStructurePlaced = false;
 
@@ -121,7 +192,7 @@ public class VillageStructureManager {
         BlockPos structurePos = targetPos.withY(y);
 
         // Place the structure
-        boolean success = TraderStructurePlacer.place(world, structurePos, structure);
+        boolean success = TraderStructurePlacer.placeStaged(world, structurePos, structure);
 
         if (success) {
             tracker.markPlaced(spawnPos, structure.id());
@@ -133,26 +204,25 @@ public class VillageStructureManager {
     }
 
     /**
-     * Process a chunk to check for nearby villages and place structures.
+     * Check a chunk for a village meeting point and place a structure near it.
+     * @return true if the chunk is done with (no village, already served, or placed);
+     *         false if placement failed and should be retried on a later load
      */
-    private static void processChunkForStructures(ServerWorld world, ChunkPos chunkPos) {
-        BlockPos chunkCenter = chunkPos.getCenterAtY(world.getSeaLevel());
-
-        // Check for village meeting point (bell) nearby
+    private static boolean processChunkForStructures(ServerWorld world, ChunkPos chunkPos) {
         PointOfInterestStorage poiStorage = world.getPointOfInterestStorage();
 
         // Get the POI type for village meeting points (bells)
         RegistryKey<PointOfInterestType> meetingKey = PointOfInterestTypes.MEETING;
 
-        Optional<BlockPos> villageCenter = poiStorage.getNearestPosition(
+        // Only this chunk's POI sections - villages are found through their bell's own chunk
+        Optional<BlockPos> villageCenter = poiStorage.getInChunk(
             type -> type.matchesKey(meetingKey),
-            chunkCenter,
-            VILLAGE_SEARCH_RADIUS,
+            chunkPos,
             PointOfInterestStorage.OccupationStatus.ANY
-        );
+        ).map(PointOfInterest::getPos).findFirst();
 
         if (villageCenter.isEmpty()) {
-            return; // No village nearby
+            return true; // No village here
         }
 
         BlockPos village = villageCenter.get();
@@ -160,7 +230,7 @@ public class VillageStructureManager {
         // Check if we've already placed a structure for this village
         PlacedStructureTracker tracker = PlacedStructureTracker.get(world);
         if (tracker.hasStructureNear(village)) {
-            return; // Already placed
+            return true; // Already placed
         }
 
         // Get current gamestage for structure selection
@@ -171,7 +241,7 @@ public class VillageStructureManager {
         TraderStructure structure = TraderStructureRegistry.selectForGamestage(world.getRandom(), gamestage);
         if (structure == null) {
             STNTraders.LOGGER.warn("No trader structures registered!");
-            return;
+            return false;
         }
 
         // Calculate placement position
@@ -181,11 +251,11 @@ public class VillageStructureManager {
 
         if (structurePos == null) {
             STNTraders.LOGGER.debug("Could not find valid position for trader structure near {}", village.toShortString());
-            return;
+            return false;
         }
 
         // Place the structure
-        boolean success = TraderStructurePlacer.place(world, structurePos, structure);
+        boolean success = TraderStructurePlacer.placeStaged(world, structurePos, structure);
 
         if (success) {
             // Mark this village as having a structure
@@ -193,6 +263,7 @@ public class VillageStructureManager {
             STNTraders.LOGGER.info("Placed {} near village at {} (structure at {})",
                 structure.id(), village.toShortString(), structurePos.toShortString());
         }
+        return success;
     }
 
     /**
@@ -210,16 +281,30 @@ public class VillageStructureManager {
     }
 
     /**
-     * Clear the processed chunks cache (for world reload).
+     * Drop all queued chunk checks (for world reload).
      */
     public static void clearCache() {
-        processedChunks.clear();
+        queue.clear();
+    }
+
+    /**
+     * Number of chunks waiting for a village check.
+     */
+    public static int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Time spent checking chunks in the last tick that had any queued.
+     */
+    public static long getLastTickNanos() {
+        return lastTickNanos;
     }
 
     /**
      * Force placement of a structure at a position (for commands/testing).
      */
     public static boolean forcePlace(ServerWorld world, BlockPos pos, TraderStructure structure) {
-        return TraderStructurePlacer.place(world, pos, structure);
+        return TraderStructurePlacer.placeStaged(world, pos, structure);
     }
 }
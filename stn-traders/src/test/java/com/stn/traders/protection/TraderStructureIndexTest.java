@@ -0,0 +1,185 @@
+package com.stn.traders.protection;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraderStructureIndexTest {
+
+    // Structure data as worldgen leaves it: every chunk a start's pieces reach references that start
+    private static final class FakeLookup implements TraderStructureIndex.Lookup {
+        final Long2ObjectOpenHashMap<LongSet> references = new Long2ObjectOpenHashMap<>();
+        final Long2ObjectOpenHashMap<BlockBox[]> starts = new Long2ObjectOpenHashMap<>();
+        int referenceReads;
+        int accessorLookups;
+
+        long outpost(int startChunkX, int startChunkZ, BlockBox... pieces) {
+            long start = ChunkPos.toLong(startChunkX, startChunkZ);
+            starts.put(start, pieces);
+            for (BlockBox piece : pieces) {
+                for (int x = piece.getMinX() >> 4; x <= piece.getMaxX() >> 4; x++) {
+                    for (int z = piece.getMinZ() >> 4; z <= piece.getMaxZ() >> 4; z++) {
+                        references.computeIfAbsent(ChunkPos.toLong(x, z), k -> new LongOpenHashSet()).add(start);
+                    }
+                }
+            }
+            return start;
+        }
+
+        @Override
+        public LongSet getReferences(int chunkX, int chunkZ) {
+            referenceReads++;
+            return references.getOrDefault(ChunkPos.toLong(chunkX, chunkZ), LongSets.EMPTY_SET);
+        }
+
+        @Override
+        public void forEachReferencedStart(ChunkPos chunk, TraderStructureIndex.StartConsumer consumer) {
+            accessorLookups++;
+            for (long start : getReferences(chunk.x, chunk.z)) {
+                consumer.accept(start, starts.get(start));
+            }
+        }
+    }
+
+    private FakeLookup lookup;
+    private TraderStructureIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lookup = new FakeLookup();
+        index = new TraderStructureIndex(lookup);
+    }
+
+    private void load(long start) {
+        index.onStartLoaded(start, lookup.starts.get(start));
+    }
+
+    private boolean protectedAt(int x, int y, int z) {
+        return index.isInTraderStructure(new BlockPos(x, y, z));
+    }
+
+    @Test
+    void onlyPiecesAreProtectedNotTheGapsBetweenThem() {
+        // An L of two pieces; the corner they leave open is outside both
+        load(lookup.outpost(0, 0, new BlockBox(0, 60, 0, 20, 70, 5), new BlockBox(0, 60, 6, 5, 70, 20)));
+
+        assertTrue(protectedAt(18, 65, 3));
+        assertTrue(protectedAt(3, 65, 18));
+        assertFalse(protectedAt(15, 65, 15));
+        assertFalse(protectedAt(3, 71, 3)); // Above
+        assertFalse(protectedAt(-1, 65, 3));
+    }
+
+    @Test
+    void overlappingStructuresAreBothChecked() {
+        // Two outposts starting in different chunks, sharing chunk (1, 0)
+        load(lookup.outpost(0, 0, new BlockBox(2, 60, 2, 20, 64, 10)));
+        load(lookup.outpost(2, 0, new BlockBox(18, 62, 4, 40, 70, 12)));
+
+        assertTrue(protectedAt(17, 61, 5)); // First only
+        assertTrue(protectedAt(25, 68, 5)); // Second only
+        assertTrue(protectedAt(19, 63, 5)); // Both
+        assertFalse(protectedAt(25, 61, 3)); // Neither, in the shared chunk
+        assertFalse(protectedAt(17, 66, 11)); // Below the second, above the first
+    }
+
+    @Test
+    void boxesOutsideTheQueriedChunkAreNotCached() {
+        load(lookup.outpost(0, 0, new BlockBox(0, 60, 0, 4, 64, 4), new BlockBox(20, 60, 0, 24, 64, 4)));
+
+        // Chunk (0, 0) references the start but only the first piece lies in it
+        assertTrue(protectedAt(2, 62, 2));
+        assertFalse(protectedAt(10, 62, 2));
+        assertTrue(protectedAt(22, 62, 2));
+        assertEquals(2, index.getCachedChunkCount());
+    }
+
+    @Test
+    void cachedChunksAreAnsweredWithoutReadingReferences() {
+        load(lookup.outpost(0, 0, new BlockBox(0, 60, 0, 30, 70, 30)));
+
+        protectedAt(5, 65, 5);
+        protectedAt(100, 65, 100); // No structure there; cached as empty
+        int reads = lookup.referenceReads;
+
+        for (int i = 0; i < 100; i++) {
+            protectedAt(i % 16, 65, 5);
+            protectedAt(100 + i % 16, 65, 100);
+        }
+        assertEquals(reads, lookup.referenceReads);
+    }
+
+    @Test
+    void chunkUnloadEvictsItsCacheEntryAndStart() {
+        long start = lookup.outpost(0, 0, new BlockBox(0, 60, 0, 30, 70, 30));
+        load(start);
+        protectedAt(5, 65, 5);
+        protectedAt(20, 65, 5);
+        assertEquals(2, index.getCachedChunkCount());
+        assertEquals(1, index.getIndexedStartCount());
+
+        index.onChunkUnload(new ChunkPos(1, 0));
+        assertEquals(1, index.getCachedChunkCount());
+        assertEquals(1, index.getIndexedStartCount()); // Not the start chunk
+
+        index.onChunkUnload(new ChunkPos(0, 0));
+        assertEquals(0, index.getCachedChunkCount());
+        assertEquals(0, index.getIndexedStartCount());
+
+        // Queried again after reloading, the chunk is rebuilt from its references
+        int reads = lookup.referenceReads;
+        load(start);
+        assertTrue(protectedAt(20, 65, 5));
+        assertEquals(reads + 1, lookup.referenceReads);
+    }
+
+    @Test
+    void startsWithoutTheirChunkLoadedAreLookedUpOncePerChunk() {
+        // Starts in chunk (-1, 0), never loaded; the pieces reach into chunks 0 and 1
+        lookup.outpost(-1, 0, new BlockBox(-10, 60, 0, 25, 70, 8));
+
+        assertTrue(protectedAt(3, 65, 3));
+        assertTrue(protectedAt(7, 62, 1));
+        assertEquals(1, lookup.accessorLookups);
+        assertTrue(protectedAt(20, 65, 3));
+        assertEquals(2, lookup.accessorLookups);
+
+        // Kept in the asking chunks' cache entries only, so unloading them leaves nothing behind
+        assertEquals(0, index.getIndexedStartCount());
+        index.onChunkUnload(new ChunkPos(0, 0));
+        index.onChunkUnload(new ChunkPos(1, 0));
+        assertEquals(0, index.getCachedChunkCount());
+    }
+
+    @Test
+    void loadedStartsSkipTheAccessor() {
+        long loaded = lookup.outpost(0, 0, new BlockBox(0, 60, 0, 10, 70, 10));
+        lookup.outpost(1, 0, new BlockBox(8, 60, 8, 20, 70, 12));
+        load(loaded);
+
+        // Chunk (0, 0) references both; only the missing one comes from the accessor
+        assertTrue(protectedAt(2, 65, 2));
+        assertTrue(protectedAt(9, 65, 11));
+        assertEquals(1, lookup.accessorLookups);
+
+        assertTrue(protectedAt(5, 65, 5));
+        assertEquals(1, lookup.accessorLookups);
+        assertTrue(new TraderStructureIndex(lookup).isInTraderStructure(new BlockPos(9, 65, 11)));
+    }
+
+    @Test
+    void nothingIsProtectedWithoutTheStructure() {
+        lookup.outpost(0, 0, new BlockBox(0, 60, 0, 10, 70, 10));
+        assertFalse(new TraderStructureIndex(null).isInTraderStructure(new BlockPos(5, 65, 5)));
+    }
+}
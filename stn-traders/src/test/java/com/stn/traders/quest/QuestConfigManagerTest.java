@@ -0,0 +1,87 @@
+package com.stn.traders.quest;
+
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestConfigManagerTest {
+
+    private static final Identifier ZOMBIE = Identifier.of("minecraft", "zombie");
+    private static final Identifier SKELETON = Identifier.of("minecraft", "skeleton");
+
+    @TempDir
+    Path dir;
+
+    private static String quest(String id, String type, String target) {
+        return """
+            {"id": "%s", "type": "%s", "target": "%s", "baseCount": 5, "weight": 1.0,
+             "description": "%s", "rewards": {"emeralds": 1}}""".formatted(id, type, target, id);
+    }
+
+    private Path write(String... quests) throws IOException {
+        Path file = dir.resolve("quests.json");
+        Files.writeString(file, "{\"quests\": [" + String.join(",", quests) + "]}");
+        return file;
+    }
+
+    @Test
+    void missingConfigIsCreatedWithTheDefaults() {
+        Path file = dir.resolve("stn-traders/quests.json");
+        QuestConfigManager.load(file);
+
+        assertTrue(Files.exists(file));
+        assertNotNull(QuestConfigManager.getQuest("kill_zombies_basic"));
+        assertEquals(Set.of("kill_zombies_basic"), QuestConfigManager.getIndex().getKillQuestIds(ZOMBIE));
+    }
+
+    @Test
+    void reloadSwapsTheWholeIndex() throws IOException {
+        Path file = write(quest("zombies", "kill", "minecraft:zombie"), quest("iron", "gather", "minecraft:iron_ingot"));
+        QuestConfigManager.load(file);
+        QuestIndex before = QuestConfigManager.getIndex();
+        Quest zombies = before.getQuest("zombies");
+
+        write(quest("skeletons", "kill", "minecraft:skeleton"), quest("zombies", "kill", "minecraft:skeleton"));
+        QuestConfigManager.load(file);
+        QuestIndex after = QuestConfigManager.getIndex();
+
+        // A kill handled during the reload keeps using the index it read, unchanged
+        assertNotSame(before, after);
+        assertSame(zombies, before.getQuest("zombies"));
+        assertEquals(Set.of("zombies"), before.getKillQuestIds(ZOMBIE));
+        assertEquals(2, before.getQuests().size());
+
+        assertNull(QuestConfigManager.getQuest("iron"));
+        assertEquals(SKELETON, QuestConfigManager.getQuest("zombies").target());
+        assertTrue(after.getKillQuestIds(ZOMBIE).isEmpty());
+        assertEquals(Set.of("skeletons", "zombies"), after.getKillQuestIds(SKELETON));
+        assertEquals(after.getQuests(), QuestConfigManager.getQuests());
+    }
+
+    @Test
+    void badEntriesAreSkippedAndDuplicatesKeepTheFirst() throws IOException {
+        QuestConfigManager.load(write(
+            quest("zombies", "kill", "minecraft:zombie"),
+            quest("broken", "not_a_type", "minecraft:zombie"),
+            "{\"id\": \"incomplete\"}",
+            quest("zombies", "kill", "minecraft:skeleton")));
+
+        assertEquals(2, QuestConfigManager.getQuests().size());
+        assertNull(QuestConfigManager.getQuest("broken"));
+        assertNull(QuestConfigManager.getQuest("incomplete"));
+        assertEquals(ZOMBIE, QuestConfigManager.getQuest("zombies").target());
+        assertTrue(QuestConfigManager.getIndex().getKillQuestIds(SKELETON).isEmpty());
+    }
+}
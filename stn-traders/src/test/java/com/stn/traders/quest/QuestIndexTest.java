@@ -0,0 +1,102 @@
+package com.stn.traders.quest;
+
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestIndexTest {
+
+    private static final Identifier ZOMBIE = Identifier.of("minecraft", "zombie");
+    private static final Identifier SKELETON = Identifier.of("minecraft", "skeleton");
+    private static final Identifier IRON = Identifier.of("minecraft", "iron_ingot");
+
+    private static Quest quest(String id, QuestType type, Identifier target) {
+        return new Quest(id, type, target, 10, 1.0, 0, -1, id, new QuestReward(1, 1, null, 1, false));
+    }
+
+    // QuestConfigManager.getQuest and addKillProgress's match before the index
+    private static Quest linearFind(List<Quest> quests, String id) {
+        return quests.stream().filter(q -> q.id().equals(id)).findFirst().orElse(null);
+    }
+
+    private static boolean linearCountsKill(List<Quest> quests, String questId, Identifier entityType) {
+        Quest quest = linearFind(quests, questId);
+        return quest != null && quest.type() == QuestType.KILL && quest.target().equals(entityType);
+    }
+
+    @Test
+    void firstDefinitionWins() {
+        Quest first = quest("hunt", QuestType.KILL, ZOMBIE);
+        Quest second = quest("hunt", QuestType.KILL, SKELETON);
+        QuestIndex index = new QuestIndex(List.of(first, second));
+
+        assertSame(first, index.getQuest("hunt"));
+        // The shadowed definition counts for nothing
+        assertEquals(Set.of("hunt"), index.getKillQuestIds(ZOMBIE));
+        assertTrue(index.getKillQuestIds(SKELETON).isEmpty());
+        // Still listed, as the config has it
+        assertEquals(2, index.getQuests().size());
+    }
+
+    @Test
+    void killIndexHoldsOnlyKillQuestsPerTarget() {
+        QuestIndex index = new QuestIndex(List.of(
+            quest("zombies", QuestType.KILL, ZOMBIE),
+            quest("more_zombies", QuestType.KILL, ZOMBIE),
+            quest("skeletons", QuestType.KILL, SKELETON),
+            quest("iron", QuestType.GATHER, IRON),
+            quest("fetch_zombie", QuestType.FETCH, ZOMBIE)));
+
+        assertEquals(Set.of("zombies", "more_zombies"), index.getKillQuestIds(ZOMBIE));
+        assertEquals(Set.of("skeletons"), index.getKillQuestIds(SKELETON));
+        assertTrue(index.getKillQuestIds(IRON).isEmpty());
+        assertTrue(index.getKillQuestIds(Identifier.of("minecraft", "creeper")).isEmpty());
+        assertNull(index.getQuest("missing"));
+    }
+
+    @Test
+    void matchesTheLinearSearchOverRandomConfigs() {
+        SplittableRandom random = new SplittableRandom(20);
+        Identifier[] targets = new Identifier[12];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = Identifier.of("stn_test", "mob_" + i);
+        }
+        QuestType[] types = QuestType.values();
+
+        for (int round = 0; round < 50; round++) {
+            // Ids drawn from a small pool so duplicates are common
+            List<Quest> quests = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                quests.add(quest("q" + random.nextInt(80), types[random.nextInt(types.length)], targets[random.nextInt(targets.length)]));
+            }
+            QuestIndex index = new QuestIndex(quests);
+
+            for (int id = 0; id < 90; id++) {
+                String questId = "q" + id;
+                assertSame(linearFind(quests, questId), index.getQuest(questId));
+                for (Identifier target : targets) {
+                    assertEquals(linearCountsKill(quests, questId, target), index.getKillQuestIds(target).contains(questId));
+                }
+            }
+        }
+    }
+
+    @Test
+    void indexIsACopy() {
+        List<Quest> quests = new ArrayList<>(List.of(quest("zombies", QuestType.KILL, ZOMBIE)));
+        QuestIndex index = new QuestIndex(quests);
+        quests.add(quest("skeletons", QuestType.KILL, SKELETON));
+
+        assertEquals(1, index.getQuests().size());
+        assertNull(index.getQuest("skeletons"));
+    }
+}
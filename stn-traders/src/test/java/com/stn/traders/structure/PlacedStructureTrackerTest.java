@@ -0,0 +1,91 @@
+package com.stn.traders.structure;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlacedStructureTrackerTest {
+
+    // Saved data as written before the grid existed: a flat list of pos/structure entries
+    private static JsonObject legacySave(BlockPos... positions) {
+        JsonArray placed = new JsonArray();
+        for (int i = 0; i < positions.length; i++) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("pos", positions[i].asLong());
+            entry.addProperty("structure", "stn_traders:trader_" + i);
+            placed.add(entry);
+        }
+        JsonObject root = new JsonObject();
+        root.add("placed", placed);
+        return root;
+    }
+
+    private static PlacedStructureTracker load(JsonElement json) {
+        return PlacedStructureTracker.CODEC.parse(JsonOps.INSTANCE, json).getOrThrow();
+    }
+
+    @Test
+    void legacySaveLoadsIntoGrid() {
+        // Spread across cells, including negative coordinates and cell borders
+        BlockPos[] positions = {
+            new BlockPos(0, 64, 0),
+            new BlockPos(127, 70, 127),
+            new BlockPos(-1, 64, -1),
+            new BlockPos(5000, 64, -3000),
+            new BlockPos(-12800, 90, 640)
+        };
+        PlacedStructureTracker tracker = load(legacySave(positions));
+        assertEquals(positions.length, tracker.getPlacedCount());
+
+        assertEquals("stn_traders:trader_3", tracker.getStructureNear(new BlockPos(5060, 64, -3040)));
+        assertEquals("stn_traders:trader_4", tracker.getStructureNear(new BlockPos(-12830, 64, 700)));
+        assertFalse(tracker.hasStructureNear(new BlockPos(5200, 64, -3000)));
+    }
+
+    @Test
+    void lookupCrossesCellBorders() {
+        // 128 is the first block of the next cell
+        PlacedStructureTracker tracker = load(legacySave(new BlockPos(128, 64, 128)));
+        assertTrue(tracker.hasStructureNear(new BlockPos(60, 64, 60)));
+        assertTrue(tracker.hasStructureNear(new BlockPos(227, 64, 128)));
+        assertFalse(tracker.hasStructureNear(new BlockPos(28, 64, 28)));
+    }
+
+    @Test
+    void closestPlacementWins() {
+        PlacedStructureTracker tracker = load(legacySave(new BlockPos(0, 64, 0), new BlockPos(90, 64, 0)));
+        assertEquals("stn_traders:trader_1", tracker.getStructureNear(new BlockPos(60, 64, 0)));
+        assertEquals("stn_traders:trader_0", tracker.getStructureNear(new BlockPos(30, 64, 0)));
+    }
+
+    @Test
+    void saveRoundTripKeepsFormat() {
+        PlacedStructureTracker tracker = new PlacedStructureTracker();
+        tracker.markPlaced(new BlockPos(10, 64, 10), Identifier.of("stn_traders", "camp"));
+        tracker.markPlaced(new BlockPos(-400, 64, 900), Identifier.of("stn_traders", "outpost"));
+
+        JsonElement saved = PlacedStructureTracker.CODEC.encodeStart(JsonOps.INSTANCE, tracker).getOrThrow();
+        assertEquals(2, saved.getAsJsonObject().getAsJsonArray("placed").size());
+
+        PlacedStructureTracker loaded = load(saved);
+        assertEquals(2, loaded.getPlacedCount());
+        assertEquals("stn_traders:outpost", loaded.getStructureNear(new BlockPos(-420, 64, 880)));
+    }
+
+    @Test
+    void removedPlacementLeavesGrid() {
+        PlacedStructureTracker tracker = load(legacySave(new BlockPos(300, 64, 300)));
+        tracker.removePlaced(new BlockPos(310, 64, 300));
+        assertEquals(0, tracker.getPlacedCount());
+        assertNull(tracker.getStructureNear(new BlockPos(300, 64, 300)));
+    }
+}
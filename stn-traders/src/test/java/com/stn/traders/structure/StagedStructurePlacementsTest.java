@@ -0,0 +1,141 @@
+package com.stn.traders.structure;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StagedStructurePlacementsTest {
+
+    // A processed template: position -> block, in the template's own order
+    private static Map<BlockPos, Integer> template(BlockBox bounds, double fill, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<BlockPos, Integer> blocks = new LinkedHashMap<>();
+        for (int x = bounds.getMinX(); x <= bounds.getMaxX(); x++) {
+            for (int y = bounds.getMinY(); y <= bounds.getMaxY(); y++) {
+                for (int z = bounds.getMinZ(); z <= bounds.getMaxZ(); z++) {
+                    if (random.nextDouble() < fill) {
+                        blocks.put(new BlockPos(x, y, z), random.nextInt(16));
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    // StructureTemplate.place writes every block when unclipped, and only those inside the box when clipped
+    private static void place(Map<BlockPos, Integer> template, BlockBox clip, Map<BlockPos, Integer> world, Map<BlockPos, Integer> writes) {
+        template.forEach((pos, block) -> {
+            if (clip == null || clip.contains(pos)) {
+                world.put(pos, block);
+                writes.merge(pos, 1, Integer::sum);
+            }
+        });
+    }
+
+    private static Map<BlockPos, Integer> placeStaged(Map<BlockPos, Integer> template, BlockBox bounds,
+                                                      Map<BlockPos, Integer> writes, List<BlockBox> sections) {
+        List<LongArrayList> written = new ArrayList<>();
+        StagedStructurePlacements.splitBySection(bounds, new ArrayList<>(template.keySet()), sections, written);
+
+        Map<BlockPos, Integer> world = new HashMap<>();
+        for (BlockBox box : sections) {
+            place(template, box, world, writes);
+        }
+
+        // The update pass visits exactly what was written
+        int listed = 0;
+        for (LongArrayList section : written) {
+            for (int i = 0; i < section.size(); i++) {
+                assertTrue(world.containsKey(BlockPos.fromLong(section.getLong(i))));
+            }
+            listed += section.size();
+        }
+        assertEquals(world.size(), listed);
+        return world;
+    }
+
+    @Test
+    void stagedPlacementEndsInTheSameStateAsFullPlacement() {
+        // Spans section borders on every axis, with negative coordinates
+        BlockBox bounds = new BlockBox(-21, 58, -7, 12, 83, 30);
+        Map<BlockPos, Integer> template = template(bounds, 0.4, 11);
+
+        Map<BlockPos, Integer> full = new HashMap<>();
+        place(template, null, full, new HashMap<>());
+
+        Map<BlockPos, Integer> writes = new HashMap<>();
+        Map<BlockPos, Integer> staged = placeStaged(template, bounds, writes, new ArrayList<>());
+
+        assertEquals(full, staged);
+        // No block is written twice by neighbouring boxes
+        writes.values().forEach(count -> assertEquals(1, count));
+    }
+
+    @Test
+    void sectionsWithNothingToWriteGetNoBox() {
+        BlockBox bounds = new BlockBox(0, 60, 0, 47, 64, 15);
+        Map<BlockPos, Integer> template = new LinkedHashMap<>();
+        template.put(new BlockPos(3, 60, 3), 1);
+        template.put(new BlockPos(40, 64, 10), 2); // Third section along x; the middle one is empty
+
+        List<BlockBox> sections = new ArrayList<>();
+        Map<BlockPos, Integer> staged = placeStaged(template, bounds, new HashMap<>(), sections);
+
+        assertEquals(2, sections.size());
+        assertEquals(template, staged);
+        for (BlockBox box : sections) {
+            assertTrue(box.getMinX() >= 32 || box.getMaxX() < 16);
+        }
+    }
+
+    @Test
+    void boxesStayInsideOneSectionAndTheBounds() {
+        BlockBox bounds = new BlockBox(-5, 10, 9, 40, 50, 20);
+        List<BlockBox> sections = new ArrayList<>();
+        placeStaged(template(bounds, 1.0, 3), bounds, new HashMap<>(), sections);
+
+        int previousColumn = Integer.MIN_VALUE;
+        int previousY = Integer.MIN_VALUE;
+        for (BlockBox box : sections) {
+            assertEquals(box.getMinX() >> 4, box.getMaxX() >> 4);
+            assertEquals(box.getMinY() >> 4, box.getMaxY() >> 4);
+            assertEquals(box.getMinZ() >> 4, box.getMaxZ() >> 4);
+            assertTrue(bounds.contains(new BlockPos(box.getMinX(), box.getMinY(), box.getMinZ())));
+            assertTrue(bounds.contains(new BlockPos(box.getMaxX(), box.getMaxY(), box.getMaxZ())));
+
+            // Columns one after another, bottom up within each
+            int column = (box.getMinX() >> 4) * 1000 + (box.getMinZ() >> 4);
+            if (column == previousColumn) {
+                assertTrue(box.getMinY() > previousY);
+            } else {
+                assertTrue(column > previousColumn);
+            }
+            previousColumn = column;
+            previousY = box.getMinY();
+        }
+    }
+
+    @Test
+    void positionsOutsideTheBoundsAreDropped() {
+        BlockBox bounds = new BlockBox(0, 0, 0, 15, 15, 15);
+        List<BlockBox> sections = new ArrayList<>();
+        List<LongArrayList> written = new ArrayList<>();
+        StagedStructurePlacements.splitBySection(bounds,
+            List.of(new BlockPos(1, 1, 1), new BlockPos(16, 1, 1), new BlockPos(-1, 1, 1)), sections, written);
+
+        assertEquals(1, sections.size());
+        assertEquals(1, written.get(0).size());
+        assertEquals(new BlockPos(1, 1, 1), BlockPos.fromLong(written.get(0).getLong(0)));
+    }
+}
@@ -0,0 +1,203 @@
+package com.stn.traders.worldgen;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkCheckQueueTest {
+
+    private static final int VIEW_DISTANCE = 10;
+
+    @TempDir
+    Path directory;
+
+    // A player flying east along z = 0, with chunk events handled the way VillageStructureManager handles them
+    private static final class Flight {
+        final ChunkCheckQueue queue = new ChunkCheckQueue(VillageStructureManager.MAX_QUEUED_CHUNKS);
+        final ProcessedChunkRegions processed;
+        final LongOpenHashSet loaded = new LongOpenHashSet();
+        int playerX = 0;
+        int loads = 0;
+        int checks = 0;
+        int maxDepth = 0;
+        int ticks = 0;
+
+        Flight(Path directory) {
+            this.processed = new ProcessedChunkRegions(directory);
+        }
+
+        void load(int x, int z) {
+            ChunkPos pos = new ChunkPos(x, z);
+            loaded.add(pos.toLong());
+            loads++;
+            processed.onChunkLoad(pos);
+            if (!processed.isProcessed(pos)) {
+                double dx = (x - playerX) * 16.0, dz = z * 16.0;
+                queue.offer(pos.toLong(), dx * dx + dz * dz);
+            }
+            maxDepth = Math.max(maxDepth, queue.size());
+        }
+
+        void unload(int x, int z) {
+            ChunkPos pos = new ChunkPos(x, z);
+            loaded.remove(pos.toLong());
+            processed.onChunkUnload(pos);
+        }
+
+        void tick() {
+            ticks++;
+            queue.drain(VillageStructureManager.CHUNK_CHECKS_PER_TICK, chunkKey -> {
+                if (!loaded.contains(chunkKey)) {
+                    return; // Queued again when it loads
+                }
+                checks++;
+                processed.markProcessed(new ChunkPos(chunkKey));
+            });
+        }
+
+        void start() {
+            for (int x = -VIEW_DISTANCE; x <= VIEW_DISTANCE; x++) {
+                for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                    load(playerX + x, z);
+                }
+            }
+        }
+
+        // Move one chunk east: a column loads ahead and one unloads behind
+        void step(int direction) {
+            playerX += direction;
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                unload(playerX - direction * (VIEW_DISTANCE + 1), z);
+                load(playerX + direction * VIEW_DISTANCE, z);
+            }
+        }
+
+        void fly(int chunkLoads, int ticksPerChunk, int direction) {
+            int target = loads + chunkLoads;
+            while (loads < target) {
+                for (int i = 0; i < ticksPerChunk; i++) {
+                    tick();
+                }
+                step(direction);
+            }
+        }
+
+        void settle() {
+            while (!queue.isEmpty()) {
+                tick();
+            }
+        }
+    }
+
+    @Test
+    void nearestChunksComeFirst() {
+        ChunkCheckQueue queue = new ChunkCheckQueue(16);
+        queue.offer(1, 300);
+        queue.offer(2, 10);
+        queue.offer(3, 50);
+
+        LongArrayList order = new LongArrayList();
+        assertEquals(2, queue.drain(2, order::add));
+        assertEquals(LongArrayList.of(2, 3), order);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void chunksAreQueuedOnceAndAgainAfterTheirTurn() {
+        ChunkCheckQueue queue = new ChunkCheckQueue(16);
+        assertTrue(queue.offer(7, 1));
+        assertFalse(queue.offer(7, 0));
+        assertEquals(1, queue.size());
+
+        queue.drain(8, chunkKey -> {});
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer(7, 1));
+    }
+
+    @Test
+    void chunksPastTheCapAreNotQueued() {
+        ChunkCheckQueue queue = new ChunkCheckQueue(4);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i, i);
+        }
+        assertEquals(4, queue.size());
+
+        queue.drain(1, chunkKey -> {});
+        assertTrue(queue.offer(42, 0));
+        assertFalse(queue.offer(43, 0));
+    }
+
+    @Test
+    void clearDropsEverything() {
+        ChunkCheckQueue queue = new ChunkCheckQueue(16);
+        queue.offer(1, 1);
+        queue.offer(2, 2);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.drain(8, chunkKey -> {}));
+        assertTrue(queue.offer(1, 1));
+    }
+
+    @Test
+    void elytraFlightOver2000ChunksKeepsUpWithLoading() {
+        // About 30 blocks a second: a new column of 21 chunks every 10 ticks
+        Flight flight = new Flight(directory);
+        flight.start();
+        int initial = flight.loads;
+        flight.settle();
+        assertEquals(initial, flight.checks);
+
+        flight.maxDepth = 0;
+        flight.fly(2000 - initial, 10, 1);
+        // Each column is checked before the next arrives
+        assertEquals(2 * VIEW_DISTANCE + 1, flight.maxDepth);
+
+        flight.settle();
+        for (long chunkKey : flight.loaded) {
+            assertTrue(flight.processed.isProcessed(new ChunkPos(chunkKey)));
+        }
+    }
+
+    @Test
+    void fastFlightOver2000ChunksStaysBounded() {
+        // A column every tick: loading outpaces the checks, far chunks behind unload unchecked
+        Flight flight = new Flight(directory);
+        flight.start();
+        flight.fly(2000 - flight.loads, 1, 1);
+
+        assertTrue(flight.maxDepth <= VillageStructureManager.MAX_QUEUED_CHUNKS);
+        assertTrue(flight.checks <= flight.ticks * VillageStructureManager.CHUNK_CHECKS_PER_TICK);
+
+        flight.settle();
+        for (long chunkKey : flight.loaded) {
+            assertTrue(flight.processed.isProcessed(new ChunkPos(chunkKey)));
+        }
+    }
+
+    @Test
+    void flyingBackOverCheckedChunksQueuesNothing() {
+        Flight flight = new Flight(directory);
+        flight.start();
+        flight.fly(1000, 10, 1);
+        flight.settle();
+
+        int checks = flight.checks;
+        flight.maxDepth = 0;
+        // Back to the start over the same ground; the regions behind were saved when they unloaded
+        flight.fly(flight.playerX * (2 * VIEW_DISTANCE + 1), 10, -1);
+        assertEquals(0, flight.playerX);
+        flight.settle();
+
+        assertEquals(0, flight.maxDepth);
+        assertEquals(checks, flight.checks);
+    }
+}
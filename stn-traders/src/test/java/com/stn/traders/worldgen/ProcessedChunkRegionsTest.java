@@ -0,0 +1,101 @@
+package com.stn.traders.worldgen;
+
+import net.minecraft.util.math.ChunkPos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessedChunkRegionsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void marksSurviveTheirRegionUnloading() {
+        ProcessedChunkRegions regions = new ProcessedChunkRegions(directory);
+        ChunkPos pos = new ChunkPos(5, 7);
+        regions.onChunkLoad(pos);
+        regions.markProcessed(pos);
+        regions.onChunkUnload(pos);
+
+        assertEquals(0, regions.getLoadedRegionCount());
+        assertTrue(Files.exists(directory.resolve("r.0.0.bin")));
+
+        regions.onChunkLoad(pos);
+        assertTrue(regions.isProcessed(pos));
+        assertFalse(regions.isProcessed(new ChunkPos(6, 7)));
+    }
+
+    @Test
+    void regionStaysWhileAnyOfItsChunksIsLoaded() {
+        ProcessedChunkRegions regions = new ProcessedChunkRegions(directory);
+        ChunkPos a = new ChunkPos(0, 0);
+        ChunkPos b = new ChunkPos(31, 31);
+        regions.onChunkLoad(a);
+        regions.onChunkLoad(b);
+        regions.markProcessed(a);
+
+        regions.onChunkUnload(a);
+        assertEquals(1, regions.getLoadedRegionCount());
+        assertFalse(Files.exists(directory.resolve("r.0.0.bin")));
+
+        regions.onChunkUnload(b);
+        assertEquals(0, regions.getLoadedRegionCount());
+        assertTrue(Files.exists(directory.resolve("r.0.0.bin")));
+    }
+
+    @Test
+    void negativeChunksUseTheirOwnRegion() {
+        ProcessedChunkRegions regions = new ProcessedChunkRegions(directory);
+        ChunkPos pos = new ChunkPos(-1, -33);
+        regions.onChunkLoad(pos);
+        regions.markProcessed(pos);
+        regions.onChunkUnload(pos);
+
+        assertTrue(Files.exists(directory.resolve("r.-1.-2.bin")));
+        assertFalse(new ProcessedChunkRegions(directory).isProcessed(new ChunkPos(31, -33)));
+        assertTrue(new ProcessedChunkRegions(directory).isProcessed(pos));
+    }
+
+    @Test
+    void unchangedRegionsAreNotWritten() {
+        ProcessedChunkRegions regions = new ProcessedChunkRegions(directory);
+        ChunkPos pos = new ChunkPos(40, 40);
+        regions.onChunkLoad(pos);
+        assertFalse(regions.isProcessed(pos));
+        regions.onChunkUnload(pos);
+
+        assertFalse(Files.exists(directory.resolve("r.1.1.bin")));
+    }
+
+    @Test
+    void saveAllKeepsLoadedRegionsAndDropsTheRest() {
+        ProcessedChunkRegions regions = new ProcessedChunkRegions(directory);
+        ChunkPos loaded = new ChunkPos(3, 3);
+        ChunkPos idle = new ChunkPos(100, 100);
+        regions.onChunkLoad(loaded);
+        regions.markProcessed(loaded);
+        regions.markProcessed(idle); // Region read without any of its chunks loaded
+
+        regions.saveAll();
+        assertEquals(1, regions.getLoadedRegionCount());
+        assertTrue(Files.exists(directory.resolve("r.0.0.bin")));
+        assertTrue(Files.exists(directory.resolve("r.3.3.bin")));
+        assertTrue(new ProcessedChunkRegions(directory).isProcessed(idle));
+    }
+
+    @Test
+    void unknownFormatIsReadAsEmpty() throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("r.0.0.bin"), new byte[]{0, 0, 0, 99, -1, -1, -1, -1, -1, -1, -1, -1});
+
+        assertFalse(new ProcessedChunkRegions(directory).isProcessed(new ChunkPos(0, 0)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.stn.wastelands.loot;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One enchantment roll on a loot item, across 16 item kinds and all ten
+ * tiers: the per-item candidate table against streaming the 42-entry
+ * enchantment registry through an acceptability filter and working out the
+ * level range on every roll, as GamestageEnchantLootFunction did before.
+ *
+ * Registry entries are placeholders and acceptability is a lookup table, so
+ * the uncached filter is cheaper here than isAcceptableItem is in game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnchantCandidateBenchmark {
+
+    private static final int ENCHANTMENTS = 42;
+    private static final int ITEMS = 16;
+    private static final int ROLLS = 1024;
+
+    private record Entry(RegistryEntry<Enchantment> entry, int index) {
+    }
+
+    private final LootConfig.EnchantConfig config = new LootConfig.EnchantConfig();
+    private final List<Entry> registry = new ArrayList<>();
+    private final int[] maxLevels = new int[ENCHANTMENTS];
+    // [item][enchantment]
+    private final boolean[][] acceptable = new boolean[ITEMS][ENCHANTMENTS];
+    private final Map<Integer, EnchantCandidateCache.Candidates> tables = new ConcurrentHashMap<>();
+
+    private int[] rollItems;
+    private int[] rollTiers;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        SplittableRandom setup = new SplittableRandom(21);
+        for (int i = 0; i < ENCHANTMENTS; i++) {
+            registry.add(new Entry(RegistryEntry.of(null), i));
+            maxLevels[i] = 1 + setup.nextInt(5);
+        }
+        for (boolean[] item : acceptable) {
+            for (int i = 0; i < ENCHANTMENTS; i++) {
+                item[i] = setup.nextInt(4) == 0;
+            }
+            item[setup.nextInt(ENCHANTMENTS)] = true;
+        }
+
+        rollItems = new int[ROLLS];
+        rollTiers = new int[ROLLS];
+        for (int i = 0; i < ROLLS; i++) {
+            rollItems[i] = setup.nextInt(ITEMS);
+            rollTiers[i] = setup.nextInt(config.minLevelMultiplier.length);
+        }
+        random = Random.create(21);
+
+        // Warm the tables, as the cache is after the first roll of each item
+        for (int item = 0; item < ITEMS; item++) {
+            table(item);
+        }
+    }
+
+    private EnchantCandidateCache.Candidates table(int item) {
+        return tables.computeIfAbsent(item, i -> {
+            List<RegistryEntry<Enchantment>> entries = new ArrayList<>();
+            List<Integer> levels = new ArrayList<>();
+            for (Entry entry : registry) {
+                if (acceptable[i][entry.index()]) {
+                    entries.add(entry.entry());
+                    levels.add(maxLevels[entry.index()]);
+                }
+            }
+            return new EnchantCandidateCache.Candidates(entries, levels.stream().mapToInt(Integer::intValue).toArray(), config);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROLLS)
+    public int cached() {
+        int levels = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            EnchantCandidateCache.Candidates candidates = table(rollItems[i]);
+            int index = random.nextInt(candidates.size());
+            levels += candidates.rollLevel(rollTiers[i], index, random);
+        }
+        return levels;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROLLS)
+    public int uncached() {
+        int levels = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            int item = rollItems[i];
+            List<Entry> valid = registry.stream()
+                .filter(entry -> acceptable[item][entry.index()])
+                .collect(Collectors.toList());
+            Entry selected = valid.get(random.nextInt(valid.size()));
+            levels += calculateLevel(rollTiers[i], maxLevels[selected.index()]);
+        }
+        return levels;
+    }
+
+    private int calculateLevel(int tier, int maxLevel) {
+        if (maxLevel == 1) {
+            return 1;
+        }
+        int minLevel = Math.max(1, (int) (maxLevel * config.minLevelMultiplier[tier]));
+        int maxPossible = Math.max(minLevel, (int) (maxLevel * config.maxLevelMultiplier[tier]));
+        return minLevel + random.nextInt(maxPossible - minLevel + 1);
+    }
+}
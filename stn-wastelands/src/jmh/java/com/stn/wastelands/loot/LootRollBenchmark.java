@@ -0,0 +1,137 @@
+package com.stn.wastelands.loot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quantity rolls for village chest items (GamestageCountLootFunction) over
+ * every item in the default config and all ten tiers: the compiled snapshot
+ * against reading the LootConfig item map, as the function did before.
+ *
+ * The reloading group rolls on three threads while a fourth reloads
+ * loot.json from a temporary file in a loop, the way the file watcher would
+ * after each save, to show what a reload costs the rolls running beside it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LootRollBenchmark {
+
+    private static final int ROLLS = 1024;
+
+    private Path dir;
+    private Path file;
+    private String[] rollItems;
+    private int[] rollTiers;
+    private int[] rollNoise;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("stn-loot-bench");
+        file = dir.resolve("loot.json");
+        LootConfigManager.load(file, true);
+
+        List<String> keys = new ArrayList<>(LootConfigManager.getConfig().items.keySet());
+        SplittableRandom random = new SplittableRandom(22);
+        rollItems = new String[ROLLS];
+        rollTiers = new int[ROLLS];
+        rollNoise = new int[ROLLS];
+        for (int i = 0; i < ROLLS; i++) {
+            rollItems[i] = keys.get(random.nextInt(keys.size()));
+            rollTiers[i] = random.nextInt(CompiledLootConfig.TIERS);
+            rollNoise[i] = random.nextInt(1 << 16);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROLLS)
+    public int compiled() {
+        return rollCompiled();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROLLS)
+    public int sourceConfig() {
+        int total = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            LootConfig config = LootConfigManager.getConfig();
+            LootConfig.ItemConfig itemConfig = config.items.get(rollItems[i]);
+            int tier = rollTiers[i];
+            if (itemConfig == null || tier < itemConfig.minTier || tier > itemConfig.maxTier) {
+                continue;
+            }
+            total += count(itemConfig.minQuantity[tier], itemConfig.maxQuantity[tier], rollNoise[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @Group("reloading")
+    @GroupThreads(3)
+    @OperationsPerInvocation(ROLLS)
+    public int rollDuringReloads() {
+        return rollCompiled();
+    }
+
+    @Benchmark
+    @Group("reloading")
+    @GroupThreads(1)
+    public void reload() {
+        LootConfigManager.load(file, false);
+    }
+
+    private int rollCompiled() {
+        int total = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            CompiledLootConfig config = LootConfigManager.getCompiled();
+            int item = config.getItemIndex(rollItems[i]);
+            int tier = rollTiers[i];
+            if (item < 0 || !config.isInTierRange(item, tier)) {
+                continue;
+            }
+            total += count(config.getMinQuantity(item, tier), config.getMaxQuantity(item, tier), rollNoise[i]);
+        }
+        return total;
+    }
+
+    // The count roll, with precomputed noise in place of the loot context's random
+    private static int count(int minQty, int maxQty, int noise) {
+        if (maxQty <= 0) {
+            return 0;
+        }
+        int count = minQty;
+        if (maxQty > minQty) {
+            count = minQty + noise % (maxQty - minQty + 1);
+        }
+        return Math.max(1, count);
+    }
+}
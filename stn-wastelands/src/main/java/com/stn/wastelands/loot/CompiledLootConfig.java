@@ -0,0 +1,111 @@
+package com.stn.wastelands.loot;
+
+import com.stn.wastelands.STNWastelands;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only form of a {@link LootConfig} for use during loot rolls.
+ *
+ * Per-item tier bounds and quantities are packed into one int array, and
+ * the config's item keys are grouped by category once. A new instance is
+ * built for every load and published whole, so a roll that started on the
+ * old config finishes on it.
+ */
+public final class CompiledLootConfig {
+
+    public static final int TIERS = 10;
+
+    // Ints per item: minTier, maxTier, then minQuantity and maxQuantity for each tier
+    private static final int ITEM_STRIDE = 2 + TIERS * 2;
+
+    private final LootConfig source;
+    private final Object2IntOpenHashMap<String> itemIndex = new Object2IntOpenHashMap<>();
+    private final int[] items;
+    private final Map<String, List<String>> itemKeysByCategory;
+    private final double[] enchantChance;
+    private final double[] multiEnchantChance;
+
+    private CompiledLootConfig(LootConfig source) {
+        this.source = source;
+        itemIndex.defaultReturnValue(-1);
+
+        items = new int[source.items.size() * ITEM_STRIDE];
+        Map<String, List<String>> byCategory = new HashMap<>();
+        int index = 0;
+        for (Map.Entry<String, LootConfig.ItemConfig> entry : source.items.entrySet()) {
+            LootConfig.ItemConfig item = entry.getValue();
+            int base = index * ITEM_STRIDE;
+            items[base] = item.minTier;
+            items[base + 1] = item.maxTier;
+            for (int tier = 0; tier < TIERS; tier++) {
+                items[base + 2 + tier * 2] = tier < item.minQuantity.length ? item.minQuantity[tier] : 0;
+                items[base + 3 + tier * 2] = tier < item.maxQuantity.length ? item.maxQuantity[tier] : 0;
+            }
+            itemIndex.put(entry.getKey(), index++);
+            if (item.category == null) {
+                // Never part of a category pool, as before
+                STNWastelands.LOGGER.warn("Loot config item '{}' has no category and will not drop", entry.getKey());
+                continue;
+            }
+            byCategory.computeIfAbsent(item.category, k -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        Map<String, List<String>> frozen = new HashMap<>();
+        byCategory.forEach((category, keys) -> frozen.put(category, List.copyOf(keys)));
+        itemKeysByCategory = Map.copyOf(frozen);
+
+        enchantChance = source.enchantments.enchantChance.clone();
+        multiEnchantChance = source.enchantments.multiEnchantChance.clone();
+    }
+
+    public static CompiledLootConfig compile(LootConfig config) {
+        return new CompiledLootConfig(config);
+    }
+
+    /**
+     * The config this was built from. Treat it as read-only.
+     */
+    public LootConfig getSource() {
+        return source;
+    }
+
+    /**
+     * Index of an item key for the quantity lookups, or -1 if unknown.
+     */
+    public int getItemIndex(String itemKey) {
+        return itemIndex.getInt(itemKey);
+    }
+
+    public boolean isInTierRange(int item, int tier) {
+        int base = item * ITEM_STRIDE;
+        return tier >= items[base] && tier <= items[base + 1];
+    }
+
+    public int getMinQuantity(int item, int tier) {
+        return items[item * ITEM_STRIDE + 2 + tier * 2];
+    }
+
+    public int getMaxQuantity(int item, int tier) {
+        return items[item * ITEM_STRIDE + 3 + tier * 2];
+    }
+
+    /**
+     * Item keys of a category, in config order.
+     */
+    public List<String> getItemKeys(String category) {
+        return itemKeysByCategory.getOrDefault(category, List.of());
+    }
+
+    public double getEnchantChance(int tier) {
+        return enchantChance[tier];
+    }
+
+    public double getMultiEnchantChance(int tier) {
+        return multiEnchantChance[tier];
+    }
+}
@@ -0,0 +1,137 @@
+package com.stn.wastelands.loot;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.random.Random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enchantments a loot roll can pick from, worked out once per item.
+ *
+ * For each item the acceptable enchantments are kept in a flat array along
+ * with their level range at every loot tier, so a roll is an array index
+ * instead of a walk over the enchantment registry. The enchanted book's
+ * table holds every enchantment. Tables are filled lazily and thrown away when
+ * datapacks reload, the server stops, or the loot config is reloaded.
+ */
+public class EnchantCandidateCache {
+
+    /**
+     * The enchantments one item can roll, with per-tier level ranges.
+     */
+    public static final class Candidates {
+        private final List<RegistryEntry<Enchantment>> entries;
+        // [tier][candidate]
+        private final int[][] minLevels;
+        private final int[][] levelRanges;
+
+        // maxLevels[i] is entries[i]'s max level
+        Candidates(List<RegistryEntry<Enchantment>> entries, int[] maxLevels, LootConfig.EnchantConfig config) {
+            this.entries = List.copyOf(entries);
+            int tiers = config.minLevelMultiplier.length;
+            this.minLevels = new int[tiers][this.entries.size()];
+            this.levelRanges = new int[tiers][this.entries.size()];
+
+            for (int tier = 0; tier < tiers; tier++) {
+                for (int i = 0; i < this.entries.size(); i++) {
+                    int maxLevel = maxLevels[i];
+                    if (maxLevel == 1) {
+                        minLevels[tier][i] = 1;
+                        levelRanges[tier][i] = 0; // No roll
+                        continue;
+                    }
+                    int minLevel = Math.max(1, (int) (maxLevel * config.minLevelMultiplier[tier]));
+                    int maxPossible = Math.max(minLevel, (int) (maxLevel * config.maxLevelMultiplier[tier]));
+                    minLevels[tier][i] = minLevel;
+                    levelRanges[tier][i] = maxPossible - minLevel + 1;
+                }
+            }
+        }
+
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public RegistryEntry<Enchantment> get(int index) {
+            return entries.get(index);
+        }
+
+        public int getMinLevel(int tier, int index) {
+            return minLevels[tier][index];
+        }
+
+        /**
+         * Number of levels to roll between, or 0 for single-level enchantments.
+         */
+        public int getLevelRange(int tier, int index) {
+            return levelRanges[tier][index];
+        }
+
+        /**
+         * Roll a candidate's level at a tier. Single-level enchantments take
+         * no draw from the random, as before the ranges were cached.
+         */
+        public int rollLevel(int tier, int index, Random random) {
+            int levelRange = levelRanges[tier][index];
+            return minLevels[tier][index] + (levelRange > 0 ? random.nextInt(levelRange) : 0);
+        }
+    }
+
+    private record Snapshot(DynamicRegistryManager registries, LootConfig config, Map<Item, Candidates> byItem) {}
+
+    private static volatile Snapshot snapshot;
+
+    /**
+     * Register reload hooks. Called once from the loot modifier's init.
+     */
+    public static void init() {
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> invalidate());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> invalidate());
+    }
+
+    /**
+     * Drop all tables; they are rebuilt on the next roll.
+     */
+    public static void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Get the enchantments a stack can roll.
+     */
+    public static Candidates get(DynamicRegistryManager registries, LootConfig config, ItemStack stack, boolean isBook) {
+        Snapshot current = snapshot;
+        if (current == null || current.registries() != registries || current.config() != config) {
+            current = new Snapshot(registries, config, new ConcurrentHashMap<>());
+            snapshot = current;
+        }
+
+        return current.byItem().computeIfAbsent(stack.getItem(), item -> build(registries, config, isBook ? null : stack));
+    }
+
+    // A null stack accepts every enchantment (books)
+    private static Candidates build(DynamicRegistryManager registries, LootConfig config, ItemStack stack) {
+        List<RegistryEntry<Enchantment>> entries = new ArrayList<>();
+        registries.getOrThrow(RegistryKeys.ENCHANTMENT).streamEntries()
+                .filter(entry -> stack == null || entry.value().isAcceptableItem(stack))
+                .forEach(entries::add);
+        int[] maxLevels = new int[entries.size()];
+        for (int i = 0; i < maxLevels.length; i++) {
+            maxLevels[i] = entries.get(i).value().getMaxLevel();
+        }
+        return new Candidates(entries, maxLevels, config.enchantments);
+    }
+}
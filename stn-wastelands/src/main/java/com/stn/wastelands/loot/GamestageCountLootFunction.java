@@ -13,7 +13,7 @@ import net.minecraft.util.math.random.Random;
 
 /**
  * Custom loot function that sets item count based on gamestage tier.
- * Reads min/max quantities from LootConfig for the specific item.
+ * Reads min/max quantities from the compiled LootConfig for the specific item.
  */
 public class GamestageCountLootFunction implements LootFunction {
     private final String itemKey;
@@ -39,7 +39,7 @@ public class GamestageCountLootFunction implements LootFunction {
     @Override
     public ItemStack apply(ItemStack stack, LootContext context) {
         Random random = context.getRandom();
-        LootConfig config = LootConfigManager.getConfig();
+        CompiledLootConfig config = LootConfigManager.getCompiled();
 
         // Get current gamestage and tier
         IGamestageProvider provider = STNCore.getGamestageProvider();
@@ -47,20 +47,20 @@ public class GamestageCountLootFunction implements LootFunction {
         int tier = LootConfig.getTierFromGamestage(gamestage);
 
         // Get item config
-        LootConfig.ItemConfig itemConfig = config.items.get(itemKey);
-        if (itemConfig == null) {
+        int item = config.getItemIndex(itemKey);
+        if (item < 0) {
             return stack;
         }
 
         // Check if this item should appear at this tier
-        if (tier < itemConfig.minTier || tier > itemConfig.maxTier) {
+        if (!config.isInTierRange(item, tier)) {
             stack.setCount(0);
             return stack;
         }
 
         // Get quantity range for this tier
-        int minQty = itemConfig.minQuantity[tier];
-        int maxQty = itemConfig.maxQuantity[tier];
+        int minQty = config.getMinQuantity(item, tier);
+        int maxQty = config.getMaxQuantity(item, tier);
 
         // If quantity is 0, item doesn't drop at this tier
         if (maxQty <= 0) {
@@ -11,13 +11,9 @@ import net.minecraft.item.Items;
 import net.minecraft.loot.context.LootContext;
 import net.minecraft.loot.function.LootFunction;
 import net.minecraft.loot.function.LootFunctionType;
-import net.minecraft.registry.RegistryKeys;
 import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.util.math.random.Random;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Custom loot function that applies enchantments based on the current gamestage.
  * Uses LootConfig for tier-based enchantment levels.
@@ -40,8 +36,7 @@ public class GamestageEnchantLootFunction implements LootFunction {
     @Override
     public ItemStack apply(ItemStack stack, LootContext context) {
         Random random = context.getRandom();
-        LootConfig config = LootConfigManager.getConfig();
-        LootConfig.EnchantConfig enchantConfig = config.enchantments;
+        CompiledLootConfig config = LootConfigManager.getCompiled();
 
         // Get current gamestage and tier
         IGamestageProvider provider = STNCore.getGamestageProvider();
@@ -49,44 +44,38 @@ public class GamestageEnchantLootFunction implements LootFunction {
         int tier = LootConfig.getTierFromGamestage(gamestage);
 
         // Check if we should enchant at all
-        if (random.nextDouble() > enchantConfig.enchantChance[tier]) {
+        if (random.nextDouble() > config.getEnchantChance(tier)) {
             return stack;
         }
 
-        // Get all available enchantments
-        var enchantmentRegistry = context.getWorld().getRegistryManager().getOrThrow(RegistryKeys.ENCHANTMENT);
-
-        // Filter enchantments to only those applicable to this item
+        // Enchantments applicable to this item (cached per item)
         boolean isBook = stack.isOf(Items.ENCHANTED_BOOK);
-        List<RegistryEntry<Enchantment>> validEnchantments = enchantmentRegistry.streamEntries()
-                .filter(entry -> isBook || entry.value().isAcceptableItem(stack))
-                .collect(Collectors.toList());
+        EnchantCandidateCache.Candidates validEnchantments = EnchantCandidateCache.get(
+                context.getWorld().getRegistryManager(), config.getSource(), stack, isBook);
 
         if (validEnchantments.isEmpty()) {
             return stack;
         }
 
         // Apply first enchantment
-        applyEnchantment(stack, validEnchantments, tier, random, isBook, enchantConfig);
+        applyEnchantment(stack, validEnchantments, tier, random, isBook);
 
         // Chance for second enchantment
-        if (random.nextDouble() < enchantConfig.multiEnchantChance[tier]) {
-            applyEnchantment(stack, validEnchantments, tier, random, isBook, enchantConfig);
+        if (random.nextDouble() < config.getMultiEnchantChance(tier)) {
+            applyEnchantment(stack, validEnchantments, tier, random, isBook);
         }
 
         return stack;
     }
 
-    private void applyEnchantment(ItemStack stack, List<RegistryEntry<Enchantment>> validEnchantments,
-                                  int tier, Random random, boolean isBook,
-                                  LootConfig.EnchantConfig enchantConfig) {
+    private void applyEnchantment(ItemStack stack, EnchantCandidateCache.Candidates validEnchantments,
+                                  int tier, Random random, boolean isBook) {
         // Select a random enchantment from valid options
-        RegistryEntry<Enchantment> selectedEnchantment = validEnchantments.get(random.nextInt(validEnchantments.size()));
-        Enchantment enchantment = selectedEnchantment.value();
+        int index = random.nextInt(validEnchantments.size());
+        RegistryEntry<Enchantment> selectedEnchantment = validEnchantments.get(index);
 
-        // Calculate enchantment level based on tier config
-        int maxLevel = enchantment.getMaxLevel();
-        int level = calculateLevel(tier, maxLevel, random, enchantConfig);
+        // Roll the level within the tier's precomputed range
+        int level = validEnchantments.rollLevel(tier, index, random);
 
         // Apply the enchantment (different component for books vs items)
         if (isBook) {
@@ -104,23 +93,6 @@ public class GamestageEnchantLootFunction implements LootFunction {
         }
     }
 
-    /**
-     * Calculate enchantment level based on tier and config.
-     */
-    private int calculateLevel(int tier, int maxLevel, Random random, LootConfig.EnchantConfig config) {
-        if (maxLevel == 1) {
-            return 1;
-        }
-
-        // Calculate level range from config multipliers
-        int minLevel = Math.max(1, (int)(maxLevel * config.minLevelMultiplier[tier]));
-        int maxPossible = Math.max(minLevel, (int)(maxLevel * config.maxLevelMultiplier[tier]));
-
-        // Roll for level within range
-        int levelRange = maxPossible - minLevel + 1;
-        return minLevel + random.nextInt(levelRange);
-    }
-
     public static Builder builder() {
         return new Builder();
     }
@@ -2,17 +2,28 @@ package com.stn.wastelands.loot;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 
 /**
  * Manages loading and saving of loot configuration.
  * Config file is located at config/stn-wastelands/loot.json
+ *
+ * Each load publishes a new {@link CompiledLootConfig} through a volatile
+ * field. While a server runs, the file is watched and reloaded when it
+ * changes on disk; loot functions pick up the new values on their next roll.
  */
 public class LootConfigManager {
     private static final Logger LOGGER = LoggerFactory.getLogger("STN-Wastelands");
@@ -24,14 +35,28 @@ public class LootConfigManager {
     private static final String CONFIG_DIR = "stn-wastelands";
     private static final String CONFIG_FILE = "loot.json";
 
-    private static LootConfig config;
+    private static final long RELOAD_SETTLE_MS = 200; // Let editors finish writing before reading
+
+    private static volatile LootConfig config;
+    private static volatile CompiledLootConfig compiled;
+
+    private static WatchService watchService;
 
     /**
      * Load configuration from file, or create default if not exists.
      */
     public static void load() {
-        Path configDir = FabricLoader.getInstance().getConfigDir().resolve(CONFIG_DIR);
-        Path configFile = configDir.resolve(CONFIG_FILE);
+        load(getConfigFile(), true);
+    }
+
+    /**
+     * Load configuration from a file.
+     * @param write whether defaults merged into the config (or created for a
+     *              missing file) are written back; the file watcher passes
+     *              false so its own reloads don't trigger another one
+     */
+    static void load(Path configFile, boolean write) {
+        Path configDir = configFile.getParent();
 
         try {
             // Create config directory if needed
@@ -42,7 +67,7 @@ public class LootConfigManager {
             if (Files.exists(configFile)) {
                 // Load existing config
                 String json = Files.readString(configFile);
-                config = GSON.fromJson(json, LootConfig.class);
+                LootConfig loaded = GSON.fromJson(json, LootConfig.class);
                 LOGGER.info("Loaded loot config from {}", configFile);
 
                 // Validate and fill in missing items from default
@@ -50,34 +75,55 @@ public class LootConfigManager {
                 boolean needsSave = false;
 
                 for (var entry : defaultConfig.items.entrySet()) {
-                    if (!config.items.containsKey(entry.getKey())) {
-                        config.items.put(entry.getKey(), entry.getValue());
+                    if (!loaded.items.containsKey(entry.getKey())) {
+                        loaded.items.put(entry.getKey(), entry.getValue());
                         needsSave = true;
                         LOGGER.info("Added missing item to config: {}", entry.getKey());
                     }
                 }
 
-                if (needsSave) {
-                    save();
+                // Publish only once complete - rolls may be reading the old one
+                publish(loaded);
+                if (needsSave && write) {
+                    save(configFile);
                 }
             } else {
                 // Create default config
-                config = LootConfig.createDefault();
-                save();
-                LOGGER.info("Created default loot config at {}", configFile);
+                publish(LootConfig.createDefault());
+                if (write) {
+                    save(configFile);
+                    LOGGER.info("Created default loot config at {}", configFile);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (compiled != null) {
+                // A bad edit while running keeps the last good config
+                LOGGER.error("Failed to load loot config, keeping current values", e);
+            } else {
+                LOGGER.error("Failed to load loot config, using defaults", e);
+                publish(LootConfig.createDefault());
             }
-        } catch (IOException e) {
-            LOGGER.error("Failed to load loot config, using defaults", e);
-            config = LootConfig.createDefault();
         }
+
+    }
+
+    private static void publish(LootConfig loaded) {
+        CompiledLootConfig next = CompiledLootConfig.compile(loaded);
+        config = loaded;
+        compiled = next;
+        // Level ranges are derived from the config
+        EnchantCandidateCache.invalidate();
     }
 
     /**
      * Save current configuration to file.
      */
     public static void save() {
-        Path configDir = FabricLoader.getInstance().getConfigDir().resolve(CONFIG_DIR);
-        Path configFile = configDir.resolve(CONFIG_FILE);
+        save(getConfigFile());
+    }
+
+    private static void save(Path configFile) {
+        Path configDir = configFile.getParent();
 
         try {
             if (!Files.exists(configDir)) {
@@ -100,13 +146,101 @@ public class LootConfigManager {
         LOGGER.info("Reloaded loot configuration");
     }
 
+    private static Path getConfigFile() {
+        return FabricLoader.getInstance().getConfigDir().resolve(CONFIG_DIR).resolve(CONFIG_FILE);
+    }
+
     /**
      * Get the current loot configuration.
      */
     public static LootConfig getConfig() {
-        if (config == null) {
-            load();
+        return getCompiled().getSource();
+    }
+
+    /**
+     * Get the compiled form of the current configuration.
+     */
+    public static CompiledLootConfig getCompiled() {
+        CompiledLootConfig current = compiled;
+        if (current == null) {
+            synchronized (LootConfigManager.class) {
+                if (compiled == null) {
+                    load();
+                }
+                current = compiled;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Watch the config file while a server is running.
+     */
+    public static void registerWatcher() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> startWatching());
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> stopWatching());
+    }
+
+    private static synchronized void startWatching() {
+        if (watchService != null) {
+            return;
+        }
+
+        Path configDir = FabricLoader.getInstance().getConfigDir().resolve(CONFIG_DIR);
+        try {
+            Files.createDirectories(configDir);
+            WatchService service = FileSystems.getDefault().newWatchService();
+            configDir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+
+            Thread thread = new Thread(() -> watch(service), "STN-Wastelands loot config watcher");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException e) {
+            LOGGER.warn("Could not watch loot config for changes", e);
+        }
+    }
+
+    private static synchronized void stopWatching() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close loot config watcher", e);
+        }
+        watchService = null;
+    }
+
+    private static void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path && path.getFileName().toString().equals(CONFIG_FILE)) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed) {
+                    Thread.sleep(RELOAD_SETTLE_MS);
+                    // Drop the burst of events a single save produces
+                    WatchKey extra;
+                    while ((extra = service.poll()) != null) {
+                        extra.pollEvents();
+                        extra.reset();
+                    }
+                    synchronized (LootConfigManager.class) {
+                        load(getConfigFile(), false);
+                    }
+                    LOGGER.info("Reloaded loot configuration after it changed on disk");
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Server stopping
         }
-        return config;
     }
 }
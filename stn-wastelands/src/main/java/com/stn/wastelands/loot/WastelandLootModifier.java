@@ -15,7 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -48,6 +47,8 @@ public class WastelandLootModifier {
     public static void init() {
         // Load loot configuration
         LootConfigManager.load();
+        LootConfigManager.registerWatcher();
+        EnchantCandidateCache.init();
 
         // Register our custom loot functions
         Registry.register(
@@ -72,7 +73,7 @@ public class WastelandLootModifier {
 
             // Check if this is a village chest
             if (VILLAGE_CHEST_LOOT_TABLES.contains(id)) {
-                LootConfig config = LootConfigManager.getConfig();
+                CompiledLootConfig config = LootConfigManager.getCompiled();
 
                 // Add loot pools from config
                 LootPool.Builder materialPool = createPoolFromConfig(config, "material");
@@ -104,17 +105,11 @@ public class WastelandLootModifier {
     /**
      * Creates a loot pool from config items of the specified category.
      */
-    private static LootPool.Builder createPoolFromConfig(LootConfig config, String category) {
+    private static LootPool.Builder createPoolFromConfig(CompiledLootConfig config, String category) {
         List<LootPoolEntry.Builder<?>> entries = new ArrayList<>();
 
-        for (Map.Entry<String, LootConfig.ItemConfig> entry : config.items.entrySet()) {
-            String itemKey = entry.getKey();
-            LootConfig.ItemConfig itemConfig = entry.getValue();
-
-            // Skip items not in this category
-            if (!category.equals(itemConfig.category)) {
-                continue;
-            }
+        for (String itemKey : config.getItemKeys(category)) {
+            LootConfig.ItemConfig itemConfig = config.getSource().items.get(itemKey);
 
             // Get the item from registry
             Identifier itemId = Identifier.tryParse(itemConfig.itemId);
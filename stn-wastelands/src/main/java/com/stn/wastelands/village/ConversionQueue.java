@@ -0,0 +1,116 @@
+package com.stn.wastelands.village;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayDeque;
+
+/**
+ * Pending conversions queued per chunk, drained a few at a time with chunks
+ * taking turns. Each chunk remembers which sections had their entities dealt
+ * with, so when its queue empties only those sections are marked.
+ */
+final class ConversionQueue<E> {
+
+    enum Result {
+        CONVERTED,  // Converted; counts against the tick budget
+        GONE,       // Died or was destroyed before its turn
+        SKIPPED     // Unloaded or failed to convert; picked up again on the next load
+    }
+
+    interface Handler<E> {
+        Result convert(E entry);
+
+        /**
+         * Called when a chunk's queue empties, with the sections whose entities were all dealt with.
+         */
+        void markConverted(long chunkKey, long sections);
+    }
+
+    private record Entry<E>(E value, long sectionBit) {
+    }
+
+    private static final class ChunkQueue<E> {
+        final long chunkKey;
+        final ArrayDeque<Entry<E>> entries = new ArrayDeque<>();
+        long doneSections = 0;
+        long skippedSections = 0;
+
+        ChunkQueue(long chunkKey) {
+            this.chunkKey = chunkKey;
+        }
+    }
+
+    private final Long2ObjectOpenHashMap<ChunkQueue<E>> chunks = new Long2ObjectOpenHashMap<>();
+    // Chunks in the order they take turns; entries for unloaded chunks are dropped when reached
+    private final ArrayDeque<ChunkQueue<E>> turns = new ArrayDeque<>();
+
+    void add(long chunkKey, long sectionBit, E value) {
+        ChunkQueue<E> queue = chunks.get(chunkKey);
+        if (queue == null) {
+            queue = new ChunkQueue<>(chunkKey);
+            chunks.put(chunkKey, queue);
+            turns.add(queue);
+        }
+        queue.entries.add(new Entry<>(value, sectionBit));
+    }
+
+    /**
+     * Forget a chunk's pending work without marking anything.
+     */
+    void removeChunk(long chunkKey) {
+        chunks.remove(chunkKey);
+    }
+
+    void clear() {
+        chunks.clear();
+        turns.clear();
+    }
+
+    boolean isEmpty() {
+        return turns.isEmpty();
+    }
+
+    int getChunkCount() {
+        return chunks.size();
+    }
+
+    int getTurnCount() {
+        return turns.size();
+    }
+
+    /**
+     * Handle entries one chunk at a time in turn until the budget of conversions is spent.
+     */
+    void drain(int budget, Handler<E> handler) {
+        // Every turn takes an entry or drops a stale chunk, so this ends
+        while (budget > 0 && !turns.isEmpty()) {
+            ChunkQueue<E> queue = turns.poll();
+            if (chunks.get(queue.chunkKey) != queue) {
+                continue; // Chunk unloaded (and maybe reloaded with a fresh queue)
+            }
+
+            Entry<E> entry = queue.entries.poll();
+            if (entry != null) {
+                switch (handler.convert(entry.value())) {
+                    case CONVERTED -> {
+                        queue.doneSections |= entry.sectionBit();
+                        budget--;
+                    }
+                    case GONE -> queue.doneSections |= entry.sectionBit();
+                    case SKIPPED -> queue.skippedSections |= entry.sectionBit();
+                }
+            }
+
+            if (queue.entries.isEmpty()) {
+                chunks.remove(queue.chunkKey);
+                // A section with anything left unconverted stays unmarked so it is queued again
+                long sections = queue.doneSections & ~queue.skippedSections;
+                if (sections != 0) {
+                    handler.markConverted(queue.chunkKey, sections);
+                }
+            } else {
+                turns.add(queue);
+            }
+        }
+    }
+}
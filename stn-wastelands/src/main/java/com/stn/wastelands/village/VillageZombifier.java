@@ -1,10 +1,17 @@
 package com.stn.wastelands.village;
 
+import com.mojang.serialization.Codec;
 import com.stn.core.STNCore;
 import com.stn.core.api.IGamestageProvider;
+import com.stn.wastelands.STNWastelands;
 import com.stn.wastelands.config.WastelandConfig;
 import com.stn.zombies.registry.STNZombieEntities;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.EquipmentSlot;
@@ -16,30 +23,43 @@ import net.minecraft.entity.mob.ZombieVillagerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
-import java.util.Collections;
 
 /**
  * Handles replacing villagers with zombies in villages to create wasteland towns.
+ *
+ * Villagers and golems are queued per chunk as they load, and a few are
+ * converted each tick, one chunk at a time in turn so a big village does not
+ * convert all at once. When a chunk's queue empties, the vertical sections
+ * whose entities were converted (or died first) are marked in a bitmask
+ * attached to the chunk, so villagers that turn up there later (cured or
+ * bred by players) are left alone. Entities that unloaded before their turn
+ * leave their section unmarked and are queued again on the next load. The
+ * mark is saved and unloaded with the chunk.
  */
 public class VillageZombifier {
     private static final Logger LOGGER = LoggerFactory.getLogger("STN-Wastelands");
     private static final Random RANDOM = new Random();
 
-    // Track processed entities with IdentityHashMap for O(1) identity-based lookup
-    private static final Set<Entity> processedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static final int CONVERSIONS_PER_TICK = 4;
 
-    // Queue for entities to convert (processed on next tick, single-threaded access)
-    private static final List<EntityConversion> conversionQueue = new ArrayList<>();
+    // Bit per chunk section (by section index) whose villagers have been converted
+    public static final AttachmentType<Long> ZOMBIFIED_SECTIONS = AttachmentRegistry.create(
+            Identifier.of(STNWastelands.MOD_ID, "zombified_sections"),
+            builder -> builder.persistent(Codec.LONG)
+    );
+
+    // Overworld only, so keyed by chunk alone (single-threaded access)
+    private static final ConversionQueue<EntityConversion> QUEUE = new ConversionQueue<>();
 
     // Cached zombie type lists per gamestage tier (lazily initialized to avoid compile-time type resolution)
     private static List<EntityType<?>> BASIC_TIER_ZOMBIES;
@@ -83,7 +103,6 @@ public class VillageZombifier {
     }
 
     public static void init() {
-        // Use ENTITY_LOAD with IdentityHashMap tracking for efficient lookups
         ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
             if (!WastelandConfig.enableVillageZombification) {
                 return;
@@ -94,49 +113,100 @@ public class VillageZombifier {
                 return;
             }
 
-            // Check if already processed
-            if (processedEntities.contains(entity)) {
+            ConversionType type;
+            if (entity instanceof VillagerEntity villager && !villager.hasCustomName()) {
+                type = ConversionType.VILLAGER;
+            } else if (entity instanceof IronGolemEntity golem && !golem.isPlayerCreated()) {
+                type = ConversionType.GOLEM;
+            } else {
                 return;
             }
 
-            // Mark as processed
-            processedEntities.add(entity);
+            ChunkPos chunkPos = entity.getChunkPos();
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkPos.x, chunkPos.z);
+            if (chunk == null) {
+                return;
+            }
 
-            // Queue villagers for conversion
-            if (entity instanceof VillagerEntity villager && !villager.hasCustomName()) {
-                conversionQueue.add(new EntityConversion(villager, (ServerWorld) world, ConversionType.VILLAGER));
+            // Skip sections whose original villagers were already converted
+            long sectionBit = sectionBit(world, entity);
+            if ((chunk.getAttachedOrElse(ZOMBIFIED_SECTIONS, 0L) & sectionBit) != 0) {
+                return;
             }
-            // Queue iron golems for conversion
-            else if (entity instanceof IronGolemEntity golem && !golem.isPlayerCreated()) {
-                conversionQueue.add(new EntityConversion(golem, (ServerWorld) world, ConversionType.GOLEM));
+
+            QUEUE.add(chunkPos.toLong(), sectionBit, new EntityConversion(entity, world, type));
+        });
+
+        // Entities in an unloading chunk are gone; re-queued if it loads again unmarked
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            if (world.getRegistryKey() == World.OVERWORLD) {
+                QUEUE.removeChunk(chunk.getPos().toLong());
             }
         });
 
-        // Process conversion queue on server tick
-        net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents.END_SERVER_TICK.register(server -> {
-            if (!conversionQueue.isEmpty()) {
-                List<EntityConversion> toConvert = new ArrayList<>(conversionQueue);
-                conversionQueue.clear();
-
-                // Fetch gamestage once per tick for all conversions
-                IGamestageProvider provider = STNCore.getGamestageProvider();
-                int gamestage = provider != null ? provider.getWorldGamestage() : 0;
-
-                for (EntityConversion conversion : toConvert) {
-                    if (!conversion.entity.isRemoved() && conversion.entity.isAlive()) {
-                        if (conversion.type == ConversionType.VILLAGER) {
-                            convertVillagerToZombie((VillagerEntity) conversion.entity, conversion.world, gamestage);
-                        } else if (conversion.type == ConversionType.GOLEM) {
-                            convertGolemToZombie((IronGolemEntity) conversion.entity, conversion.world, gamestage);
-                        }
-                    }
-                }
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            if (world.getRegistryKey() == World.OVERWORLD) {
+                QUEUE.clear();
             }
         });
 
+        // Convert a few entities per tick, one chunk at a time in turn
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (QUEUE.isEmpty()) {
+                return;
+            }
+
+            // Fetch gamestage once per tick for all conversions
+            IGamestageProvider provider = STNCore.getGamestageProvider();
+            int gamestage = provider != null ? provider.getWorldGamestage() : 0;
+            ServerWorld overworld = server.getOverworld();
+
+            QUEUE.drain(CONVERSIONS_PER_TICK, new ConversionQueue.Handler<>() {
+                @Override
+                public ConversionQueue.Result convert(EntityConversion conversion) {
+                    return VillageZombifier.convert(conversion, gamestage);
+                }
+
+                @Override
+                public void markConverted(long chunkKey, long sections) {
+                    VillageZombifier.markConverted(overworld, chunkKey, sections);
+                }
+            });
+        });
+
         LOGGER.info("Village Zombification system initialized");
     }
 
+    private static long sectionBit(ServerWorld world, Entity entity) {
+        int section = Math.clamp(world.getSectionIndex(entity.getBlockY()), 0, 63);
+        return 1L << section;
+    }
+
+    private static ConversionQueue.Result convert(EntityConversion conversion, int gamestage) {
+        Entity entity = conversion.entity;
+        if (entity.isRemoved()) {
+            // Entity sections unload before the chunk does; those villagers come back on the next load
+            Entity.RemovalReason reason = entity.getRemovalReason();
+            return reason != null && reason.shouldDestroy() ? ConversionQueue.Result.GONE : ConversionQueue.Result.SKIPPED;
+        }
+        if (!entity.isAlive()) {
+            return ConversionQueue.Result.GONE;
+        }
+
+        boolean converted = conversion.type == ConversionType.VILLAGER
+            ? convertVillagerToZombie((VillagerEntity) entity, conversion.world, gamestage)
+            : convertGolemToZombie((IronGolemEntity) entity, conversion.world, gamestage);
+        return converted ? ConversionQueue.Result.CONVERTED : ConversionQueue.Result.SKIPPED;
+    }
+
+    private static void markConverted(ServerWorld world, long chunkKey, long sections) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(ChunkPos.getPackedX(chunkKey), ChunkPos.getPackedZ(chunkKey));
+        if (chunk != null) {
+            chunk.setAttached(ZOMBIFIED_SECTIONS, chunk.getAttachedOrElse(ZOMBIFIED_SECTIONS, 0L) | sections);
+            chunk.markNeedsSaving();
+        }
+    }
+
     private enum ConversionType {
         VILLAGER,
         GOLEM
@@ -148,8 +218,9 @@ public class VillageZombifier {
     /**
      * Converts a villager to either a zombie villager or regular zombie.
      * Uses Minecraft's built-in convertTo() method for proper conversion.
+     * @return whether the villager was replaced
      */
-    private static void convertVillagerToZombie(VillagerEntity villager, ServerWorld world, int gamestage) {
+    private static boolean convertVillagerToZombie(VillagerEntity villager, ServerWorld world, int gamestage) {
         BlockPos pos = villager.getBlockPos();
 
         // Manually spawn zombie villager and remove villager
@@ -173,6 +244,7 @@ public class VillageZombifier {
                 spawnExtraZombies(world, pos, extraCount, gamestage);
             }
         }
+        return zombieVillager != null;
     }
 
     /**
@@ -207,8 +279,9 @@ public class VillageZombifier {
 
     /**
      * Converts an iron golem to a game stage-appropriate zombie.
+     * @return whether the golem was replaced
      */
-    private static void convertGolemToZombie(IronGolemEntity golem, ServerWorld world, int gamestage) {
+    private static boolean convertGolemToZombie(IronGolemEntity golem, ServerWorld world, int gamestage) {
         BlockPos pos = golem.getBlockPos();
 
         // Spawn appropriate zombie based on gamestage BEFORE removing golem
@@ -226,7 +299,9 @@ public class VillageZombifier {
             if (spawned) {
                 golem.discard();
             }
+            return spawned;
         }
+        return false;
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.stn.wastelands.loot;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledLootConfigTest {
+
+    @Test
+    void compilesDefaultConfig() {
+        LootConfig config = LootConfig.createDefault();
+        CompiledLootConfig compiled = CompiledLootConfig.compile(config);
+
+        for (String key : config.items.keySet()) {
+            assertTrue(compiled.getItemIndex(key) >= 0, key);
+        }
+        assertFalse(compiled.getItemKeys("material").isEmpty());
+    }
+
+    @Test
+    void skipsItemsWithoutCategory() {
+        // Gson leaves category null when loot.json omits it
+        LootConfig config = new Gson().fromJson("""
+            {
+              "items": {
+                "nugget": {"itemId": "minecraft:iron_nugget", "category": "material", "minTier": 0, "maxTier": 9},
+                "mystery": {"itemId": "minecraft:stick", "minTier": 0, "maxTier": 9}
+              }
+            }
+            """, LootConfig.class);
+
+        CompiledLootConfig compiled = CompiledLootConfig.compile(config);
+        assertEquals(List.of("nugget"), compiled.getItemKeys("material"));
+        assertTrue(compiled.getItemIndex("mystery") >= 0);
+    }
+
+    @Test
+    void missingTiersHaveNoQuantity() {
+        LootConfig config = new LootConfig();
+        config.items.put("short", new LootConfig.ItemConfig("minecraft:stick", "material", 10, 0, 9,
+            new int[] {2, 3}, new int[] {4, 5}, false));
+
+        CompiledLootConfig compiled = CompiledLootConfig.compile(config);
+        int item = compiled.getItemIndex("short");
+        assertEquals(3, compiled.getMinQuantity(item, 1));
+        assertEquals(5, compiled.getMaxQuantity(item, 1));
+        assertEquals(0, compiled.getMaxQuantity(item, 9));
+        assertEquals(-1, compiled.getItemIndex("absent"));
+    }
+}
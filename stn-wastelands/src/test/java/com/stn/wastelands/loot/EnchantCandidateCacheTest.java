@@ -0,0 +1,106 @@
+package com.stn.wastelands.loot;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.random.Random;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnchantCandidateCacheTest {
+
+    // GamestageEnchantLootFunction.calculateLevel before the ranges were cached
+    private static int calculateLevel(int tier, int maxLevel, Random random, LootConfig.EnchantConfig config) {
+        if (maxLevel == 1) {
+            return 1;
+        }
+
+        int minLevel = Math.max(1, (int) (maxLevel * config.minLevelMultiplier[tier]));
+        int maxPossible = Math.max(minLevel, (int) (maxLevel * config.maxLevelMultiplier[tier]));
+
+        int levelRange = maxPossible - minLevel + 1;
+        return minLevel + random.nextInt(levelRange);
+    }
+
+    // Only the max levels matter here; the entries are placeholders
+    private static EnchantCandidateCache.Candidates candidates(int[] maxLevels, LootConfig.EnchantConfig config) {
+        List<RegistryEntry<Enchantment>> entries = new ArrayList<>();
+        for (int i = 0; i < maxLevels.length; i++) {
+            entries.add(RegistryEntry.of(null));
+        }
+        return new EnchantCandidateCache.Candidates(entries, maxLevels, config);
+    }
+
+    private static LootConfig.EnchantConfig randomConfig(SplittableRandom random) {
+        LootConfig.EnchantConfig config = new LootConfig.EnchantConfig();
+        for (int tier = 0; tier < config.minLevelMultiplier.length; tier++) {
+            // Max below min on purpose now and then; the old code clamped it
+            config.minLevelMultiplier[tier] = random.nextDouble();
+            config.maxLevelMultiplier[tier] = random.nextDouble() * 1.2;
+        }
+        return config;
+    }
+
+    private static void assertSameRolls(int[] maxLevels, LootConfig.EnchantConfig config, long seed) {
+        EnchantCandidateCache.Candidates candidates = candidates(maxLevels, config);
+        Random before = Random.create(seed);
+        Random after = Random.create(seed);
+
+        for (int roll = 0; roll < 2_000; roll++) {
+            int tier = roll % config.minLevelMultiplier.length;
+
+            // The pick and level roll of applyEnchantment, then the next draw apply() makes
+            int oldIndex = before.nextInt(maxLevels.length);
+            int oldLevel = calculateLevel(tier, maxLevels[oldIndex], before, config);
+            int newIndex = after.nextInt(candidates.size());
+            int newLevel = candidates.rollLevel(tier, newIndex, after);
+
+            assertEquals(oldIndex, newIndex);
+            assertEquals(oldLevel, newLevel, "tier " + tier + ", max level " + maxLevels[oldIndex]);
+            assertEquals(before.nextDouble(), after.nextDouble());
+        }
+    }
+
+    @Test
+    void rollsMatchTheUncachedLevelsForTheDefaultConfig() {
+        // Vanilla's spread of max levels: Mending 1, Unbreaking 3, Protection 4, Sharpness 5
+        int[] maxLevels = {1, 3, 4, 5, 1, 2, 3, 4, 5, 3, 1};
+        for (long seed = 0; seed < 20; seed++) {
+            assertSameRolls(maxLevels, new LootConfig.EnchantConfig(), seed);
+        }
+    }
+
+    @Test
+    void rollsMatchTheUncachedLevelsForRandomConfigs() {
+        SplittableRandom random = new SplittableRandom(21);
+        for (int round = 0; round < 100; round++) {
+            int[] maxLevels = new int[1 + random.nextInt(40)];
+            for (int i = 0; i < maxLevels.length; i++) {
+                maxLevels[i] = 1 + random.nextInt(10);
+            }
+            assertSameRolls(maxLevels, randomConfig(random), random.nextLong());
+        }
+    }
+
+    @Test
+    void levelsStayWithinOneAndTheMaxLevel() {
+        LootConfig.EnchantConfig config = new LootConfig.EnchantConfig();
+        int[] maxLevels = {1, 2, 3, 4, 5};
+        EnchantCandidateCache.Candidates candidates = candidates(maxLevels, config);
+        Random random = Random.create(3);
+
+        for (int tier = 0; tier < config.minLevelMultiplier.length; tier++) {
+            for (int i = 0; i < maxLevels.length; i++) {
+                for (int roll = 0; roll < 50; roll++) {
+                    int level = candidates.rollLevel(tier, i, random);
+                    assertTrue(level >= 1 && level <= maxLevels[i], "tier " + tier + ": " + level);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.stn.wastelands.loot;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LootConfigManagerTest {
+
+    private static final Gson GSON = new Gson();
+
+    // The default config with every quantity set to one value, plus an item only this version has
+    private static String version(int quantity) {
+        LootConfig config = LootConfig.createDefault();
+        for (LootConfig.ItemConfig item : config.items.values()) {
+            Arrays.fill(item.minQuantity, quantity);
+            Arrays.fill(item.maxQuantity, quantity);
+        }
+        int[] quantities = new int[CompiledLootConfig.TIERS];
+        Arrays.fill(quantities, quantity);
+        config.items.put("version_" + quantity, new LootConfig.ItemConfig("minecraft:stick", "material", 10, 0, 9,
+            quantities, quantities.clone(), false));
+        return GSON.toJson(config);
+    }
+
+    @Test
+    void rollsDuringReloadsSeeOneWholeConfig(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("loot.json");
+        Files.writeString(file, version(1));
+        LootConfigManager.load(file, false);
+
+        List<String> keys = new ArrayList<>(LootConfig.createDefault().items.keySet());
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger rolls = new AtomicInteger();
+
+        List<Thread> rollers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        // One roll: everything it reads comes from the snapshot taken at the start
+                        CompiledLootConfig config = LootConfigManager.getCompiled();
+                        int quantity = config.getItemIndex("version_1") >= 0 ? 1 : 2;
+                        assertTrue(config.getItemIndex("version_" + (3 - quantity)) < 0);
+                        for (String key : keys) {
+                            int item = config.getItemIndex(key);
+                            for (int tier = 0; tier < CompiledLootConfig.TIERS; tier++) {
+                                assertEquals(quantity, config.getMinQuantity(item, tier), key);
+                                assertEquals(quantity, config.getMaxQuantity(item, tier), key);
+                            }
+                        }
+                        assertTrue(config.getItemKeys("material").contains("version_" + quantity));
+                        rolls.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "loot roller " + t);
+            thread.start();
+            rollers.add(thread);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Files.writeString(file, version(i % 2 == 0 ? 2 : 1));
+            LootConfigManager.load(file, false);
+        }
+        running.set(false);
+        for (Thread thread : rollers) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(rolls.get() > 0);
+        // The last write was version 1
+        assertTrue(LootConfigManager.getCompiled().getItemIndex("version_1") >= 0);
+    }
+
+    @Test
+    void watcherReloadsLeaveTheFileAlone(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("loot.json");
+        // An edit that dropped every item but one
+        String edited = """
+            {
+              "items": {
+                "nugget": {"itemId": "minecraft:iron_nugget", "category": "material", "minTier": 0, "maxTier": 9}
+              }
+            }
+            """;
+        Files.writeString(file, edited);
+
+        LootConfigManager.load(file, false);
+        assertEquals(edited, Files.readString(file));
+        // Missing defaults are still merged in memory
+        for (String key : LootConfig.createDefault().items.keySet()) {
+            assertTrue(LootConfigManager.getCompiled().getItemIndex(key) >= 0, key);
+        }
+
+        // A load at startup writes them back
+        LootConfigManager.load(file, true);
+        LootConfig saved = GSON.fromJson(Files.readString(file), LootConfig.class);
+        assertTrue(saved.items.keySet().containsAll(LootConfig.createDefault().items.keySet()));
+    }
+
+    @Test
+    void watcherDoesNotRecreateADeletedFile(@TempDir Path dir) {
+        Path file = dir.resolve("loot.json");
+        LootConfigManager.load(file, false);
+        assertTrue(Files.notExists(file));
+        assertEquals(LootConfig.createDefault().items.keySet(), LootConfigManager.getConfig().items.keySet());
+    }
+}
@@ -0,0 +1,161 @@
+package com.stn.wastelands.village;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversionQueueTest {
+
+    // A queued entity that reports a fixed outcome when its turn comes
+    private record Fake(String name, ConversionQueue.Result result) {
+        static Fake converts(String name) {
+            return new Fake(name, ConversionQueue.Result.CONVERTED);
+        }
+
+        static Fake unloaded(String name) {
+            return new Fake(name, ConversionQueue.Result.SKIPPED);
+        }
+    }
+
+    private static final class Recorder implements ConversionQueue.Handler<Fake> {
+        final List<String> order = new ArrayList<>();
+        final Long2LongOpenHashMap marks = new Long2LongOpenHashMap();
+
+        @Override
+        public ConversionQueue.Result convert(Fake entry) {
+            order.add(entry.name());
+            return entry.result();
+        }
+
+        @Override
+        public void markConverted(long chunkKey, long sections) {
+            marks.put(chunkKey, marks.get(chunkKey) | sections);
+        }
+    }
+
+    private static final long SECTION_A = 1L << 4;
+    private static final long SECTION_B = 1L << 5;
+
+    @Test
+    void unloadedEntitiesDoNotMarkTheirSection() {
+        ConversionQueue<Fake> queue = new ConversionQueue<>();
+        Recorder recorder = new Recorder();
+
+        // Entity sections unloaded before the chunk did: both villagers were removed, not converted
+        queue.add(1L, SECTION_A, Fake.unloaded("v1"));
+        queue.add(1L, SECTION_A, Fake.unloaded("v2"));
+        queue.drain(4, recorder);
+
+        assertTrue(queue.isEmpty());
+        assertEquals(List.of("v1", "v2"), recorder.order);
+        assertTrue(recorder.marks.isEmpty());
+    }
+
+    @Test
+    void onlyFullyHandledSectionsAreMarked() {
+        ConversionQueue<Fake> queue = new ConversionQueue<>();
+        Recorder recorder = new Recorder();
+
+        queue.add(1L, SECTION_A, Fake.converts("a1"));
+        queue.add(1L, SECTION_A, new Fake("a2", ConversionQueue.Result.GONE));
+        queue.add(1L, SECTION_B, Fake.converts("b1"));
+        queue.add(1L, SECTION_B, Fake.unloaded("b2"));
+        queue.drain(10, recorder);
+
+        assertEquals(SECTION_A, recorder.marks.get(1L));
+    }
+
+    @Test
+    void unloadedChunkIsDroppedWithoutMarking() {
+        ConversionQueue<Fake> queue = new ConversionQueue<>();
+        Recorder recorder = new Recorder();
+
+        queue.add(1L, SECTION_A, Fake.converts("a1"));
+        queue.add(1L, SECTION_A, Fake.converts("a2"));
+        queue.drain(1, recorder);
+        queue.removeChunk(1L);
+        queue.drain(4, recorder);
+
+        assertEquals(List.of("a1"), recorder.order);
+        assertTrue(recorder.marks.isEmpty());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void reloadedChunkGetsOneTurn() {
+        ConversionQueue<Fake> queue = new ConversionQueue<>();
+        Recorder recorder = new Recorder();
+
+        queue.add(1L, SECTION_A, Fake.converts("old"));
+        queue.removeChunk(1L);
+        queue.add(1L, SECTION_A, Fake.converts("new1"));
+        queue.add(1L, SECTION_A, Fake.converts("new2"));
+        queue.add(2L, SECTION_A, Fake.converts("other"));
+
+        // The stale turn is dropped for free, then chunks alternate
+        queue.drain(2, recorder);
+        assertEquals(List.of("new1", "other"), recorder.order);
+        assertEquals(SECTION_A, recorder.marks.get(2L));
+        assertFalse(recorder.marks.containsKey(1L));
+    }
+
+    @Test
+    void chunksTakeTurnsWithinTheBudget() {
+        ConversionQueue<Fake> queue = new ConversionQueue<>();
+        Recorder recorder = new Recorder();
+
+        for (int i = 0; i < 5; i++) {
+            queue.add(1L, SECTION_A, Fake.converts("big" + i));
+        }
+        queue.add(2L, SECTION_A, Fake.converts("small"));
+
+        queue.drain(3, recorder);
+        assertEquals(List.of("big0", "small", "big1"), recorder.order);
+        queue.drain(3, recorder);
+        assertEquals(List.of("big0", "small", "big1", "big2", "big3", "big4"), recorder.order);
+        assertEquals(SECTION_A, recorder.marks.get(1L));
+    }
+
+    @Test
+    void soakLoadingAndUnloadingChunksStaysFlat() {
+        ConversionQueue<Fake> queue = new ConversionQueue<>();
+        Recorder recorder = new Recorder();
+        int chunks = 5_000;
+        int loadedWindow = 16;  // Chunks around a player flying in a straight line
+        int maxChunks = 0;
+        int maxTurns = 0;
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            // A few villagers per chunk; every third chunk's entities unload before it is drained
+            for (int v = 0; v < 6; v++) {
+                String name = chunk + ":" + v;
+                queue.add(chunk, 1L << (v % 3), chunk % 3 == 0 ? Fake.unloaded(name) : Fake.converts(name));
+            }
+            queue.drain(4, recorder);
+            if (chunk >= loadedWindow) {
+                queue.removeChunk(chunk - loadedWindow);
+            }
+
+            maxChunks = Math.max(maxChunks, queue.getChunkCount());
+            maxTurns = Math.max(maxTurns, queue.getTurnCount());
+        }
+        for (int chunk = chunks - loadedWindow; chunk < chunks; chunk++) {
+            queue.removeChunk(chunk);
+        }
+        queue.drain(4, recorder);
+
+        assertTrue(maxChunks <= loadedWindow + 1, "pending chunks grew to " + maxChunks);
+        assertTrue(maxTurns <= 2 * loadedWindow + 1, "turn queue grew to " + maxTurns);
+        assertEquals(0, queue.getChunkCount());
+        assertEquals(0, queue.getTurnCount());
+        for (long chunk : recorder.marks.keySet()) {
+            assertTrue(chunk % 3 != 0, "chunk " + chunk + " was marked without converting anything");
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package com.stn.zombies.entity;
 
+import com.stn.core.util.AoeQueryService;
 import com.stn.mobai.entity.BlockBreakAnimatable;
 import com.stn.zombies.config.STNZombiesConfig;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
-import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.attribute.DefaultAttributeContainer;
 import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.entity.damage.DamageSource;
@@ -14,11 +14,8 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundEvents;
-import net.minecraft.util.math.Box;
 import net.minecraft.world.World;
 
-import java.util.List;
-
 /**
  * Electric Zombie - Area denial role
  * Occasionally summons lightning that strikes itself and damages nearby entities.
@@ -113,33 +110,27 @@ public class ElectricZombieEntity extends ZombieEntity implements BlockBreakAnim
 
         // Damage nearby entities in AOE
         double radius = STNZombiesConfig.ELECTRIC_AOE_RADIUS;
-        Box aoeBox = new Box(this.getBlockPos()).expand(radius);
-
-        List<LivingEntity> nearbyEntities = serverWorld.getEntitiesByClass(
-            LivingEntity.class,
-            aoeBox,
-            entity -> entity != this && !(entity instanceof ZombieEntity)
-        );
-
         DamageSource lightningDamage = serverWorld.getDamageSources().create(DamageTypes.LIGHTNING_BOLT);
 
-        for (LivingEntity entity : nearbyEntities) {
-            double distance = this.distanceTo(entity);
-            if (distance <= radius) {
-                // Damage falls off with distance
-                float damage = (float) (STNZombiesConfig.ELECTRIC_LIGHTNING_DAMAGE * (1.0 - distance / radius));
-                entity.damage(serverWorld, lightningDamage, damage);
-
-                // Spark particles on hit entity
-                serverWorld.spawnParticles(
-                    ParticleTypes.ELECTRIC_SPARK,
-                    entity.getX(),
-                    entity.getY() + 1.0,
-                    entity.getZ(),
-                    5, 0.3, 0.3, 0.3, 0.1
-                );
+        AoeQueryService.get(serverWorld).forEachInRadius(this.getPos(), radius, AoeQueryService.ALL_TEAMS, entity -> {
+            if (entity == this || entity instanceof ZombieEntity) {
+                return;
             }
-        }
+
+            // Damage falls off with distance
+            double distance = this.distanceTo(entity);
+            float damage = (float) (STNZombiesConfig.ELECTRIC_LIGHTNING_DAMAGE * (1.0 - distance / radius));
+            entity.damage(serverWorld, lightningDamage, damage);
+
+            // Spark particles on hit entity
+            serverWorld.spawnParticles(
+                ParticleTypes.ELECTRIC_SPARK,
+                entity.getX(),
+                entity.getY() + 1.0,
+                entity.getZ(),
+                5, 0.3, 0.3, 0.3, 0.1
+            );
+        });
     }
 
     public boolean isCharged() {
@@ -0,0 +1,84 @@
+package com.stn.zombies.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Infections bucketed by the tick their last stack wears off, one slot per
+ * {@link #SLOT_TICKS}. Each slot is visited once per turn of the wheel, and
+ * the carriers whose stacks have run out are cleared.
+ */
+final class ExpiryWheel<E> {
+
+    static final int SLOT_TICKS = 20;
+    static final int SLOTS = 64; // ~64 seconds around the wheel
+
+    /**
+     * Where the wheel finds an entity's stacks (its attachment in game).
+     */
+    interface Carrier<E> {
+        boolean isRemoved(E entity);
+
+        PlagueInfection.Stacks getStacks(E entity);
+
+        void removeStacks(E entity);
+    }
+
+    private record Entry<E>(E entity, long expiresAt) {}
+
+    private final Carrier<E> carrier;
+    @SuppressWarnings("unchecked")
+    private final List<Entry<E>>[] slots = new List[SLOTS];
+    private int size = 0;
+
+    ExpiryWheel(Carrier<E> carrier) {
+        this.carrier = carrier;
+    }
+
+    void schedule(E entity, long expiresAt) {
+        int slot = (int) Math.floorMod(Math.ceilDiv(expiresAt, SLOT_TICKS), (long) SLOTS);
+        if (slots[slot] == null) {
+            slots[slot] = new ArrayList<>();
+        }
+        slots[slot].add(new Entry<>(entity, expiresAt));
+        size++;
+    }
+
+    /**
+     * Visit the slot for a tick. Called on every multiple of SLOT_TICKS.
+     */
+    void advance(long now) {
+        int slot = (int) Math.floorMod(now / SLOT_TICKS, (long) SLOTS);
+        List<Entry<E>> due = slots[slot];
+        if (due == null) {
+            return;
+        }
+        slots[slot] = null;
+        size -= due.size();
+
+        for (Entry<E> entry : due) {
+            E entity = entry.entity();
+            if (carrier.isRemoved(entity)) {
+                continue;
+            }
+            if (entry.expiresAt() > now) {
+                // A full turn or more away - keep it for a later pass
+                schedule(entity, entry.expiresAt());
+                continue;
+            }
+
+            // Re-applied stacks have their own, later entry
+            PlagueInfection.Stacks stacks = carrier.getStacks(entity);
+            if (stacks != null && stacks.expiresAt() == entry.expiresAt()) {
+                carrier.removeStacks(entity);
+            }
+        }
+    }
+
+    /**
+     * Entries waiting in the wheel, superseded ones included.
+     */
+    int size() {
+        return size;
+    }
+}
@@ -1,25 +1,24 @@
 package com.stn.zombies.entity;
 
 import com.stn.core.api.ISoundEmitter;
+import com.stn.core.util.AoeQueryService;
 import com.stn.mobai.entity.BlockBreakAnimatable;
 import com.stn.mobai.entity.ai.sense.SenseManager;
 import com.stn.zombies.config.STNZombiesConfig;
 import net.minecraft.entity.EntityType;
-import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.attribute.DefaultAttributeContainer;
 import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
-import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.entity.mob.ZombieEntity;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
-import net.minecraft.util.math.Box;
 import net.minecraft.world.World;
 
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Howler Zombie - Support/threat escalator role
@@ -27,6 +26,8 @@ import java.util.List;
  */
 public class HowlerZombieEntity extends ZombieEntity implements BlockBreakAnimatable {
 
+    private static final Set<AoeQueryService.Team> HOSTILES = EnumSet.of(AoeQueryService.Team.HOSTILE);
+
     private boolean isBreakingBlock = false;
     private int howlCooldown = 0;
     private boolean isHowling = false;
@@ -124,39 +125,32 @@ public class HowlerZombieEntity extends ZombieEntity implements BlockBreakAnimat
         );
 
         // Buff nearby zombies
-        double range = STNZombiesConfig.HOWLER_HOWL_RANGE;
-        Box searchBox = new Box(this.getBlockPos()).expand(range);
-
-        List<MobEntity> nearbyMobs = serverWorld.getEntitiesByClass(
-            MobEntity.class,
-            searchBox,
-            mob -> mob != this && mob instanceof ZombieEntity
-        );
+        AoeQueryService.get(serverWorld).forEachInRadius(this.getPos(), STNZombiesConfig.HOWLER_HOWL_RANGE, HOSTILES, living -> {
+            if (living == this || !(living instanceof ZombieEntity zombie)) {
+                return;
+            }
 
-        for (MobEntity mob : nearbyMobs) {
             // Apply speed and strength buff
-            if (mob instanceof LivingEntity living) {
-                living.addStatusEffect(new StatusEffectInstance(
-                    StatusEffects.SPEED,
-                    STNZombiesConfig.HOWLER_BUFF_DURATION,
-                    0,
-                    false,
-                    true
-                ));
-                living.addStatusEffect(new StatusEffectInstance(
-                    StatusEffects.STRENGTH,
-                    STNZombiesConfig.HOWLER_BUFF_DURATION,
-                    0,
-                    false,
-                    true
-                ));
-
-                // Alert them to our target
-                if (this.getTarget() != null) {
-                    mob.setTarget(this.getTarget());
-                }
+            zombie.addStatusEffect(new StatusEffectInstance(
+                StatusEffects.SPEED,
+                STNZombiesConfig.HOWLER_BUFF_DURATION,
+                0,
+                false,
+                true
+            ));
+            zombie.addStatusEffect(new StatusEffectInstance(
+                StatusEffects.STRENGTH,
+                STNZombiesConfig.HOWLER_BUFF_DURATION,
+                0,
+                false,
+                true
+            ));
+
+            // Alert them to our target
+            if (this.getTarget() != null) {
+                zombie.setTarget(this.getTarget());
             }
-        }
+        });
 
         // Big particle burst
         serverWorld.spawnParticles(
@@ -0,0 +1,114 @@
+package com.stn.zombies.entity;
+
+import com.stn.zombies.STNZombies;
+import com.stn.zombies.config.STNZombiesConfig;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plague stacks carried by infected entities.
+ *
+ * Stacks live in an attachment on the entity holding the count and the tick
+ * they were last applied; one stack wears off per sickness duration, worked
+ * out when the stacks are read. The attachment goes away with the entity
+ * (death, logout) and follows a player between dimensions.
+ *
+ * Each world keeps a coarse timing wheel of infections by expiry tick, so
+ * attachments on entities nobody hits again are removed without scanning
+ * every entity.
+ */
+public class PlagueInfection {
+
+    /**
+     * Stack count as of the last application.
+     */
+    public record Stacks(int count, long lastApplied) {
+        long expiresAt() {
+            return lastApplied + (long) count * STNZombiesConfig.PLAGUE_SICKNESS_DURATION;
+        }
+
+        int countAt(long now) {
+            long decayed = (now - lastApplied) / Math.max(1, STNZombiesConfig.PLAGUE_SICKNESS_DURATION);
+            return (int) Math.max(0, count - decayed);
+        }
+    }
+
+    public static final AttachmentType<Stacks> PLAGUE_STACKS = AttachmentRegistry.create(
+        Identifier.of(STNZombies.MOD_ID, "plague_stacks")
+    );
+
+    private static final ExpiryWheel.Carrier<LivingEntity> ENTITIES = new ExpiryWheel.Carrier<>() {
+        @Override
+        public boolean isRemoved(LivingEntity entity) {
+            return entity.isRemoved();
+        }
+
+        @Override
+        public Stacks getStacks(LivingEntity entity) {
+            return entity.getAttached(PLAGUE_STACKS);
+        }
+
+        @Override
+        public void removeStacks(LivingEntity entity) {
+            entity.removeAttached(PLAGUE_STACKS);
+        }
+    };
+
+    private static final Map<RegistryKey<World>, ExpiryWheel<LivingEntity>> WHEELS = new ConcurrentHashMap<>();
+
+    /**
+     * Register tick and lifecycle hooks. Called once from the mod initializer.
+     */
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            ExpiryWheel<LivingEntity> wheel = WHEELS.get(world.getRegistryKey());
+            if (wheel != null && world.getTime() % ExpiryWheel.SLOT_TICKS == 0) {
+                wheel.advance(world.getTime());
+            }
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> WHEELS.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Current stack count, after decay.
+     */
+    public static int getStacks(LivingEntity entity) {
+        Stacks stacks = entity.getAttached(PLAGUE_STACKS);
+        return stacks != null ? stacks.countAt(entity.getWorld().getTime()) : 0;
+    }
+
+    /**
+     * Add a stack (up to the configured maximum) and return the new count.
+     */
+    public static int addStack(ServerWorld world, LivingEntity entity) {
+        Stacks stacks = add(entity.getAttached(PLAGUE_STACKS), world.getTime());
+        entity.setAttached(PLAGUE_STACKS, stacks);
+        WHEELS.computeIfAbsent(world.getRegistryKey(), k -> new ExpiryWheel<>(ENTITIES)).schedule(entity, stacks.expiresAt());
+        return stacks.count();
+    }
+
+    /**
+     * Stacks after one more application, up to the configured maximum.
+     */
+    static Stacks add(Stacks current, long now) {
+        int count = current != null ? current.countAt(now) : 0;
+        return new Stacks(Math.min(count + 1, STNZombiesConfig.PLAGUE_MAX_STACKS), now);
+    }
+
+    /**
+     * Remove all stacks (cure).
+     */
+    public static void clear(LivingEntity entity) {
+        entity.removeAttached(PLAGUE_STACKS);
+    }
+}
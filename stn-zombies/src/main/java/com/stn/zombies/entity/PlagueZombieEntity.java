@@ -15,10 +15,6 @@ import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.World;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-
 /**
  * Plague Zombie - Attrition role
  * Applies stacking sickness effect on hit that weakens movement and healing.
@@ -27,9 +23,6 @@ public class PlagueZombieEntity extends ZombieEntity implements BlockBreakAnimat
 
     private boolean isBreakingBlock = false;
 
-    // Track plague stacks per player
-    private static final Map<UUID, Integer> plagueStacks = new HashMap<>();
-
     public PlagueZombieEntity(EntityType<? extends ZombieEntity> entityType, World world) {
         super(entityType, world);
     }
@@ -64,20 +57,14 @@ public class PlagueZombieEntity extends ZombieEntity implements BlockBreakAnimat
         boolean hit = super.tryAttack(world, target);
 
         if (hit && target instanceof PlayerEntity player) {
-            applyPlague(player);
+            applyPlague(world, player);
         }
 
         return hit;
     }
 
-    private void applyPlague(PlayerEntity player) {
-        UUID playerId = player.getUuid();
-        int currentStacks = plagueStacks.getOrDefault(playerId, 0);
-
-        if (currentStacks < STNZombiesConfig.PLAGUE_MAX_STACKS) {
-            currentStacks++;
-            plagueStacks.put(playerId, currentStacks);
-        }
+    private void applyPlague(ServerWorld world, PlayerEntity player) {
+        int currentStacks = PlagueInfection.addStack(world, player);
 
         // Apply effects based on stack count
         int duration = STNZombiesConfig.PLAGUE_SICKNESS_DURATION;
@@ -148,14 +135,14 @@ public class PlagueZombieEntity extends ZombieEntity implements BlockBreakAnimat
     }
 
     /**
-     * Clear plague stacks for a player (call on death or cure).
+     * Clear plague stacks for an entity (call on cure; death clears them already).
      */
-    public static void clearPlagueStacks(UUID playerId) {
-        plagueStacks.remove(playerId);
+    public static void clearPlagueStacks(LivingEntity entity) {
+        PlagueInfection.clear(entity);
     }
 
-    public static int getPlagueStacks(UUID playerId) {
-        return plagueStacks.getOrDefault(playerId, 0);
+    public static int getPlagueStacks(LivingEntity entity) {
+        return PlagueInfection.getStacks(entity);
     }
 
     // BlockBreakAnimatable implementation
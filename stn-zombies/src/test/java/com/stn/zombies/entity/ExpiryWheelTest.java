@@ -0,0 +1,224 @@
+package com.stn.zombies.entity;
+
+import com.stn.zombies.config.STNZombiesConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryWheelTest {
+
+    private static final int DURATION = STNZombiesConfig.PLAGUE_SICKNESS_DURATION;
+    private static final long TURN = (long) ExpiryWheel.SLOTS * ExpiryWheel.SLOT_TICKS;
+
+    // Stands in for a living entity and its attachment
+    private static final class Mob {
+        PlagueInfection.Stacks stacks;
+        boolean removed;
+        int removals;
+    }
+
+    private static final ExpiryWheel.Carrier<Mob> MOBS = new ExpiryWheel.Carrier<>() {
+        @Override
+        public boolean isRemoved(Mob mob) {
+            return mob.removed;
+        }
+
+        @Override
+        public PlagueInfection.Stacks getStacks(Mob mob) {
+            return mob.stacks;
+        }
+
+        @Override
+        public void removeStacks(Mob mob) {
+            mob.stacks = null;
+            mob.removals++;
+        }
+    };
+
+    private ExpiryWheel<Mob> overworld;
+    private ExpiryWheel<Mob> nether;
+    private long time;
+
+    @BeforeEach
+    void setUp() {
+        overworld = new ExpiryWheel<>(MOBS);
+        nether = new ExpiryWheel<>(MOBS);
+        time = 0;
+    }
+
+    // PlagueInfection.addStack against one world's wheel
+    private void hit(ExpiryWheel<Mob> wheel, Mob mob) {
+        mob.stacks = PlagueInfection.add(mob.stacks, time);
+        wheel.schedule(mob, mob.stacks.expiresAt());
+    }
+
+    // The world tick hook, for every wheel (all worlds share the game time)
+    private void runUntil(long until) {
+        for (; time <= until; time++) {
+            if (time % ExpiryWheel.SLOT_TICKS == 0) {
+                overworld.advance(time);
+                nether.advance(time);
+            }
+        }
+    }
+
+    @Test
+    void stacksAreRemovedWithinASlotOfExpiring() {
+        Mob mob = new Mob();
+        time = 7;
+        hit(overworld, mob);
+        long expiresAt = mob.stacks.expiresAt();
+
+        runUntil(expiresAt - 1);
+        assertNotNull(mob.stacks);
+        runUntil(expiresAt + ExpiryWheel.SLOT_TICKS);
+        assertNull(mob.stacks);
+        assertEquals(0, overworld.size());
+    }
+
+    @Test
+    void supersededEntriesLeaveTheNewerStacksAlone() {
+        Mob mob = new Mob();
+        hit(overworld, mob);
+        long firstExpiry = mob.stacks.expiresAt();
+        runUntil(firstExpiry / 2);
+        hit(overworld, mob);
+        assertEquals(2, overworld.size());
+
+        // The first entry comes due and is skipped; the second clears
+        runUntil(firstExpiry + ExpiryWheel.SLOT_TICKS);
+        assertNotNull(mob.stacks);
+        assertEquals(0, mob.removals);
+        assertEquals(1, overworld.size());
+
+        runUntil(mob.stacks.expiresAt() + ExpiryWheel.SLOT_TICKS);
+        assertNull(mob.stacks);
+        assertEquals(1, mob.removals);
+        assertEquals(0, overworld.size());
+    }
+
+    @Test
+    void entriesMoreThanATurnAwayWaitForTheirTurn() {
+        Mob mob = new Mob();
+        // Expiry well past one turn of the wheel
+        mob.stacks = new PlagueInfection.Stacks(1, 3 * TURN);
+        overworld.schedule(mob, mob.stacks.expiresAt());
+
+        runUntil(3 * TURN + DURATION - 1);
+        assertNotNull(mob.stacks);
+        assertEquals(1, overworld.size()); // Passed over each turn, not dropped
+
+        runUntil(3 * TURN + DURATION + ExpiryWheel.SLOT_TICKS);
+        assertNull(mob.stacks);
+        assertEquals(0, overworld.size());
+    }
+
+    @Test
+    void removedEntitiesAreDroppedUntouched() {
+        // Died or logged out: the attachment went with the entity
+        Mob dead = new Mob();
+        hit(overworld, dead);
+        dead.removed = true;
+
+        runUntil(dead.stacks.expiresAt() + ExpiryWheel.SLOT_TICKS);
+        assertEquals(0, dead.removals);
+        assertEquals(0, overworld.size());
+    }
+
+    @Test
+    void respawnedPlayerStartsClean() {
+        Mob before = new Mob();
+        hit(overworld, before);
+        hit(overworld, before);
+        before.removed = true;
+
+        // A respawn is a new entity; the attachment is not copied over
+        Mob after = new Mob();
+        hit(overworld, after);
+        assertEquals(1, after.stacks.count());
+
+        runUntil(2L * DURATION + ExpiryWheel.SLOT_TICKS);
+        assertNull(after.stacks);
+        assertEquals(0, before.removals);
+        assertEquals(0, overworld.size());
+    }
+
+    @Test
+    void stacksFollowAPlayerBetweenWorlds() {
+        Mob player = new Mob();
+        hit(overworld, player);
+        hit(overworld, player);
+        runUntil(DURATION / 2);
+
+        // Same player entity in the nether, hit again there
+        hit(nether, player);
+        assertEquals(3, player.stacks.count());
+
+        // The overworld's entries are superseded and leave the stacks alone
+        runUntil(2L * DURATION + ExpiryWheel.SLOT_TICKS);
+        assertNotNull(player.stacks);
+        assertEquals(0, overworld.size());
+
+        runUntil(player.stacks.expiresAt() + ExpiryWheel.SLOT_TICKS);
+        assertNull(player.stacks);
+        assertEquals(0, nether.size());
+    }
+
+    @Test
+    void overworldEntryClearsStacksCarriedToAnotherWorld() {
+        Mob player = new Mob();
+        hit(overworld, player);
+        long expiresAt = player.stacks.expiresAt();
+
+        // Changed dimension without being hit again; the wheel it was scheduled in still clears it
+        runUntil(expiresAt + ExpiryWheel.SLOT_TICKS);
+        assertNull(player.stacks);
+    }
+
+    @Test
+    void tenThousandMobsLeaveNothingBehind() {
+        SplittableRandom random = new SplittableRandom(24);
+        List<Mob> mobs = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            mobs.add(new Mob());
+        }
+
+        // Ten minutes of fighting: random hits, some deaths, then everyone left alone
+        long fightEnd = 12_000;
+        int peak = 0;
+        while (time < fightEnd) {
+            for (int i = 0; i < 50; i++) {
+                Mob mob = mobs.get(random.nextInt(mobs.size()));
+                if (!mob.removed) {
+                    hit(random.nextBoolean() ? overworld : nether, mob);
+                }
+            }
+            if (random.nextInt(20) == 0) {
+                mobs.get(random.nextInt(mobs.size())).removed = true;
+            }
+            peak = Math.max(peak, overworld.size() + nether.size());
+            runUntil(time);
+        }
+
+        // Entries never outnumber the hits still inside the longest expiry window
+        long window = (long) STNZombiesConfig.PLAGUE_MAX_STACKS * DURATION + 2 * ExpiryWheel.SLOT_TICKS;
+        assertTrue(peak <= 50 * window, "peak " + peak);
+
+        runUntil(fightEnd + (long) STNZombiesConfig.PLAGUE_MAX_STACKS * DURATION + TURN);
+        assertEquals(0, overworld.size());
+        assertEquals(0, nether.size());
+        for (Mob mob : mobs) {
+            if (!mob.removed) {
+                assertNull(mob.stacks);
+            }
+        }
+    }
+}
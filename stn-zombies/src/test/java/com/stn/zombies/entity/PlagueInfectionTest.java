@@ -0,0 +1,70 @@
+package com.stn.zombies.entity;
+
+import com.stn.zombies.config.STNZombiesConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlagueInfectionTest {
+
+    private static final int DURATION = STNZombiesConfig.PLAGUE_SICKNESS_DURATION;
+    private static final int MAX = STNZombiesConfig.PLAGUE_MAX_STACKS;
+
+    @Test
+    void hitsStackUpToTheMaximum() {
+        PlagueInfection.Stacks stacks = null;
+        for (int hit = 1; hit <= MAX + 3; hit++) {
+            stacks = PlagueInfection.add(stacks, 1000 + hit);
+            assertEquals(Math.min(hit, MAX), stacks.count());
+            assertEquals(1000 + hit, stacks.lastApplied());
+        }
+    }
+
+    @Test
+    void oneStackWearsOffPerDuration() {
+        PlagueInfection.Stacks stacks = new PlagueInfection.Stacks(3, 500);
+
+        assertEquals(3, stacks.countAt(500));
+        assertEquals(3, stacks.countAt(500 + DURATION - 1));
+        assertEquals(2, stacks.countAt(500 + DURATION));
+        assertEquals(1, stacks.countAt(500 + 2 * DURATION + 7));
+        assertEquals(0, stacks.countAt(500 + 3 * DURATION));
+        assertEquals(0, stacks.countAt(500 + 100L * DURATION));
+    }
+
+    @Test
+    void expiresWhenTheLastStackWearsOff() {
+        PlagueInfection.Stacks stacks = new PlagueInfection.Stacks(4, 1200);
+        assertEquals(1200 + 4L * DURATION, stacks.expiresAt());
+        assertEquals(1, stacks.countAt(stacks.expiresAt() - 1));
+        assertEquals(0, stacks.countAt(stacks.expiresAt()));
+    }
+
+    @Test
+    void hitAfterDecayStacksOnWhatIsLeft() {
+        PlagueInfection.Stacks stacks = new PlagueInfection.Stacks(4, 0);
+
+        // Two stacks worn off, one added
+        stacks = PlagueInfection.add(stacks, 2L * DURATION + 5);
+        assertEquals(3, stacks.count());
+        assertEquals(2L * DURATION + 5, stacks.lastApplied());
+
+        // Fully worn off: starts over at one
+        stacks = PlagueInfection.add(stacks, stacks.expiresAt() + 1);
+        assertEquals(1, stacks.count());
+    }
+
+    @Test
+    void reapplyingAlwaysPushesExpiryLater() {
+        // The wheel tells superseded entries apart by expiry tick, so it must never repeat.
+        // (A second hit in the same tick at the cap gives identical stacks, which is fine.)
+        for (int count = 1; count <= MAX; count++) {
+            PlagueInfection.Stacks stacks = new PlagueInfection.Stacks(count, 0);
+            for (long at = 1; at < stacks.expiresAt(); at += 13) {
+                assertTrue(PlagueInfection.add(stacks, at).expiresAt() > stacks.expiresAt(),
+                    "count " + count + " hit at " + at);
+            }
+        }
+    }
+}